@@ -0,0 +1,37 @@
+package com.dsacp.dna_analyzer.bench;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar: the standard JMH command line, with two defaults so every run
+ * leaves comparable numbers behind. Results are written as JSON to {@code jmh-result.json} (override
+ * with {@code -rf} / {@code -rff}), and the GC profiler is on, which reports allocation per
+ * operation (any {@code -prof} option replaces it).
+ */
+public final class Benchmarks {
+
+  private Benchmarks() {}
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions cli = new CommandLineOptions(args);
+    if (cli.shouldHelp()
+        || cli.shouldList()
+        || cli.shouldListWithParams()
+        || cli.shouldListProfilers()
+        || cli.shouldListResultFormats()) {
+      Main.main(args);
+      return;
+    }
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+    if (!cli.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+    if (!cli.getResult().hasValue()) options.result("jmh-result.json");
+    if (cli.getProfilers().isEmpty()) options.addProfiler(GCProfiler.class);
+    new Runner(options.build()).run();
+  }
+}
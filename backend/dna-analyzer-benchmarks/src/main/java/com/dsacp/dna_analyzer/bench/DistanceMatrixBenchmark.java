@@ -0,0 +1,66 @@
+package com.dsacp.dna_analyzer.bench;
+
+import com.dsacp.dna_analyzer.dsa.DistanceMatrix;
+import com.dsacp.dna_analyzer.dsa.ProgressMonitor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** All-pairs matrix over variants of one root sequence, exact and with a pruning threshold. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class DistanceMatrixBenchmark {
+
+  @Param({"100", "300"})
+  int sequences;
+
+  @Param({"500", "2000"})
+  int sequenceLength;
+
+  private final List<String> variants = new ArrayList<>();
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(SyntheticGenome.DEFAULT_SEED);
+    String root = SyntheticGenome.random(random, sequenceLength);
+    for (int i = 0; i < sequences; i++) {
+      variants.add(SyntheticGenome.mutate(root, 0.05 * random.nextDouble(), random));
+    }
+    pool = new ForkJoinPool();
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public int[] exact() {
+    return DistanceMatrix.compute(variants, pool).condensed();
+  }
+
+  @Benchmark
+  public int[] thresholded() {
+    return DistanceMatrix.compute(variants, sequenceLength / 50, pool, ProgressMonitor.NONE)
+        .condensed();
+  }
+}
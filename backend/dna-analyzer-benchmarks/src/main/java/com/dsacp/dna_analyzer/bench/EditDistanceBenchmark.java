@@ -0,0 +1,76 @@
+package com.dsacp.dna_analyzer.bench;
+
+import com.dsacp.dna_analyzer.dsa.BoundedEditDistance;
+import com.dsacp.dna_analyzer.dsa.HirschbergAligner;
+import com.dsacp.dna_analyzer.dsa.MyersEditDistance;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pairwise engines on a sequence and a diverged copy of it: exact bit-parallel distance, the
+ * threshold-bounded distance (threshold 2x the expected number of edits, so it answers exactly),
+ * and the linear-space alignment with its edit script.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class EditDistanceBenchmark {
+
+  @Param({"100", "1000", "10000", "100000"})
+  int pairLength;
+
+  @Param({"0.01", "0.1"})
+  double divergence;
+
+  private String a;
+  private String b;
+  private int threshold;
+  private final MyersEditDistance myers = new MyersEditDistance();
+  private final BoundedEditDistance bounded = new BoundedEditDistance();
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(SyntheticGenome.DEFAULT_SEED);
+    a = SyntheticGenome.random(random, pairLength);
+    b = SyntheticGenome.mutate(a, divergence, random);
+    threshold = (int) Math.ceil(2 * divergence * pairLength);
+    pool = new ForkJoinPool();
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public int myersDistance() {
+    return myers.distance(a, b);
+  }
+
+  @Benchmark
+  public int boundedDistance() {
+    return bounded.distance(a, b, threshold);
+  }
+
+  @Benchmark
+  public HirschbergAligner.Alignment hirschbergAlignment() {
+    return new HirschbergAligner(pool).align(a, b);
+  }
+}
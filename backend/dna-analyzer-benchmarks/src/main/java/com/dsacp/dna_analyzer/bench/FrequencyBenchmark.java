@@ -0,0 +1,77 @@
+package com.dsacp.dna_analyzer.bench;
+
+import com.dsacp.dna_analyzer.dsa.KmerCounter;
+import com.dsacp.dna_analyzer.dsa.ParallelKmerCounter;
+import com.dsacp.dna_analyzer.dsa.TopKmerCounter;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * K-mer counting: the sequential and fork-join exact counters and the bounded-memory top-N mode.
+ * k = 8 uses the direct-indexed table, k = 12 and 21 the hash table. At 100 MB and k = 21 the
+ * table grows to 2^28 slots, about 3 GB with the old one still live while it rehashes, so each
+ * fork gets 8 GB of heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class FrequencyBenchmark {
+
+  @Param({"1000", "1000000", "100000000"})
+  int length;
+
+  @Param({"8", "12", "21"})
+  int k;
+
+  @Param({"RANDOM", "REPETITIVE"})
+  SyntheticGenome.Kind genome;
+
+  private String dna;
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setUp() {
+    dna = SyntheticGenome.generate(genome, length, SyntheticGenome.DEFAULT_SEED);
+    pool = new ForkJoinPool();
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public KmerCounter countSequential() {
+    KmerCounter counter = new KmerCounter(k);
+    counter.count(dna);
+    return counter;
+  }
+
+  @Benchmark
+  public KmerCounter countParallel() {
+    return new ParallelKmerCounter(pool).count(dna, k);
+  }
+
+  @Benchmark
+  public List<TopKmerCounter.Estimate> topKmers() {
+    TopKmerCounter counter = new TopKmerCounter(k, 100, 1e-4);
+    counter.count(dna);
+    return counter.top();
+  }
+}
@@ -0,0 +1,52 @@
+package com.dsacp.dna_analyzer.bench;
+
+import com.dsacp.dna_analyzer.dsa.FmIndex;
+import com.dsacp.dna_analyzer.dsa.SuffixArray;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Motif index construction: SA-IS suffix array + Kasai LCP, and the FM-index. 100 MB needs about
+ * 3 GB of heap for the suffix array build, so each fork gets 8 GB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class IndexBuildBenchmark {
+
+  @Param({"1000", "1000000", "10000000", "100000000"})
+  int length;
+
+  @Param({"RANDOM", "REPETITIVE"})
+  SyntheticGenome.Kind genome;
+
+  private String dna;
+
+  @Setup
+  public void setUp() {
+    dna = SyntheticGenome.generate(genome, length, SyntheticGenome.DEFAULT_SEED);
+  }
+
+  @Benchmark
+  public SuffixArray buildSuffixArray() {
+    return new SuffixArray(dna);
+  }
+
+  @Benchmark
+  public FmIndex buildFmIndex() {
+    return new FmIndex(dna);
+  }
+}
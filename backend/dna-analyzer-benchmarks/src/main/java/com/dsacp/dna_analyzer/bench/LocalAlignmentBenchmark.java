@@ -0,0 +1,63 @@
+package com.dsacp.dna_analyzer.bench;
+
+import com.dsacp.dna_analyzer.dsa.SmithWaterman;
+import com.dsacp.dna_analyzer.dsa.StripedSmithWaterman;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Smith-Waterman, scalar reference against the striped SIMD engine, locating a gene (a 5%
+ * diverged copy of a stretch of the target) in a random contig. Both return the same alignment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "--add-modules=jdk.incubator.vector"})
+public class LocalAlignmentBenchmark {
+
+  @Param({"100", "1000", "5000"})
+  int queryLength;
+
+  @Param({"10000", "100000"})
+  int targetLength;
+
+  private String query;
+  private String target;
+  private SmithWaterman scalar;
+  private SmithWaterman striped;
+
+  @Setup
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(SyntheticGenome.DEFAULT_SEED);
+    target = SyntheticGenome.random(random, targetLength);
+    int from = random.nextInt(Math.max(1, targetLength - queryLength));
+    query = SyntheticGenome.mutate(target.substring(from, Math.min(targetLength, from + queryLength)),
+        0.05, random);
+    SmithWaterman.Scoring scoring = SmithWaterman.Scoring.dna(2, -3, 5, 2);
+    scalar = new SmithWaterman(scoring);
+    striped = new StripedSmithWaterman(scoring);
+  }
+
+  @Benchmark
+  public SmithWaterman.Alignment scalar() {
+    return scalar.align(query, target);
+  }
+
+  @Benchmark
+  public SmithWaterman.Alignment striped() {
+    return striped.align(query, target);
+  }
+}
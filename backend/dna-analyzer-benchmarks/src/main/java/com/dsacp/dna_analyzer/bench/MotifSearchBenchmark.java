@@ -0,0 +1,97 @@
+package com.dsacp.dna_analyzer.bench;
+
+import com.dsacp.dna_analyzer.dsa.AhoCorasick;
+import com.dsacp.dna_analyzer.dsa.FmIndex;
+import com.dsacp.dna_analyzer.dsa.SuffixArray;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Motif lookups against prebuilt indexes. Each invocation runs a fixed panel of motifs taken from
+ * seeded positions of the genome, so every motif has at least one hit; times are per motif. At
+ * 100 MB both indexes are held at once, so each fork gets 8 GB of heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class MotifSearchBenchmark {
+
+  private static final int MOTIFS = 64;
+
+  @Param({"1000", "1000000", "10000000", "100000000"})
+  int length;
+
+  @Param({"6", "12", "24"})
+  int motifLength;
+
+  @Param({"RANDOM", "REPETITIVE"})
+  SyntheticGenome.Kind genome;
+
+  private final List<String> motifs = new ArrayList<>();
+  private SuffixArray suffixArray;
+  private FmIndex fmIndex;
+  private AhoCorasick automaton;
+  private String dna;
+
+  @Setup
+  public void setUp() {
+    dna = SyntheticGenome.generate(genome, length, SyntheticGenome.DEFAULT_SEED);
+    SplittableRandom random = new SplittableRandom(SyntheticGenome.DEFAULT_SEED + 1);
+    for (int i = 0; i < MOTIFS; i++) {
+      int at = random.nextInt(length - motifLength + 1);
+      motifs.add(dna.substring(at, at + motifLength));
+    }
+    suffixArray = new SuffixArray(dna);
+    fmIndex = new FmIndex(dna);
+    automaton = new AhoCorasick(motifs);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOTIFS)
+  public void suffixArrayCount(Blackhole bh) {
+    for (String motif : motifs) bh.consume(suffixArray.count(motif));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOTIFS)
+  public void suffixArrayPositions(Blackhole bh) {
+    for (String motif : motifs) bh.consume(suffixArray.positions(motif));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOTIFS)
+  public void fmIndexCount(Blackhole bh) {
+    for (String motif : motifs) bh.consume(fmIndex.count(motif));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MOTIFS)
+  public void fmIndexPositions(Blackhole bh) {
+    for (String motif : motifs) bh.consume(fmIndex.positions(motif));
+  }
+
+  /** One Aho-Corasick scan of the whole genome for the panel, for comparison with the indexes. */
+  @Benchmark
+  @OperationsPerInvocation(MOTIFS)
+  public List<int[]> ahoCorasickScan() {
+    return automaton.searchAll(dna);
+  }
+}
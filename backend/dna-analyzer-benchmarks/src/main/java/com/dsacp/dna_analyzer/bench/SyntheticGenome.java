@@ -0,0 +1,103 @@
+package com.dsacp.dna_analyzer.bench;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seeded synthetic genomes, so every run of a benchmark sees the same bases.
+ *
+ * <p>{@link Kind#RANDOM} is uniform i.i.d. ACGT: the best case for hashing and the suffix sort,
+ * few repeated k-mers and short LCPs. {@link Kind#REPETITIVE} imitates the structure that makes
+ * real assemblies expensive: about half the sequence is diverged copies of a few dozen interspersed
+ * repeat families (hundreds to thousands of bases each), plus microsatellites (tandem runs of 1-6
+ * base units), on a random background with a genome-like 41% GC.
+ */
+public final class SyntheticGenome {
+
+  public enum Kind {
+    RANDOM,
+    REPETITIVE
+  }
+
+  /** Seed the benchmarks use unless they need several independent sequences. */
+  public static final long DEFAULT_SEED = 20240607L;
+
+  private static final char[] BASES = {'A', 'C', 'G', 'T'};
+
+  private SyntheticGenome() {}
+
+  public static String generate(Kind kind, int length, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    return kind == Kind.RANDOM ? random(random, length) : repetitive(random, length);
+  }
+
+  /** Uniform random ACGT. */
+  public static String random(SplittableRandom random, int length) {
+    char[] out = new char[length];
+    for (int i = 0; i < length; i++) out[i] = BASES[random.nextInt(4)];
+    return new String(out);
+  }
+
+  /**
+   * Copy of {@code seq} with about {@code rate * length} point edits, a third each substitutions,
+   * insertions and deletions.
+   */
+  public static String mutate(String seq, double rate, SplittableRandom random) {
+    StringBuilder out = new StringBuilder(seq.length() + 16);
+    for (int i = 0; i < seq.length(); i++) {
+      if (random.nextDouble() >= rate) {
+        out.append(seq.charAt(i));
+        continue;
+      }
+      switch (random.nextInt(3)) {
+        case 0 -> out.append(BASES[(baseIndex(seq.charAt(i)) + 1 + random.nextInt(3)) & 3]);
+        case 1 -> out.append(seq.charAt(i)).append(BASES[random.nextInt(4)]);
+        default -> {} // deletion
+      }
+    }
+    return out.toString();
+  }
+
+  private static String repetitive(SplittableRandom random, int length) {
+    String[] families = new String[Math.max(1, Math.min(40, length / 2_000))];
+    for (int f = 0; f < families.length; f++) {
+      families[f] = background(random, Math.min(length, 300 + random.nextInt(6_000)));
+    }
+    StringBuilder out = new StringBuilder(length);
+    while (out.length() < length) {
+      double pick = random.nextDouble();
+      if (pick < 0.5) {
+        // interspersed repeat: a diverged copy (up to 15%) of one family, sometimes truncated
+        String family = families[random.nextInt(families.length)];
+        int from = random.nextInt(4) == 0 ? random.nextInt(family.length()) : 0;
+        out.append(mutate(family.substring(from), random.nextDouble() * 0.15, random));
+      } else if (pick < 0.6) {
+        // microsatellite: 10-50 copies of a 1-6 base unit
+        String unit = background(random, 1 + random.nextInt(6));
+        for (int copies = 10 + random.nextInt(41); copies > 0; copies--) out.append(unit);
+      } else {
+        out.append(background(random, 200 + random.nextInt(4_000)));
+      }
+    }
+    out.setLength(length);
+    return out.toString();
+  }
+
+  // i.i.d. bases at 41% GC
+  private static String background(SplittableRandom random, int length) {
+    char[] out = new char[length];
+    for (int i = 0; i < length; i++) {
+      boolean gc = random.nextDouble() < 0.41;
+      out[i] = gc ? (random.nextBoolean() ? 'G' : 'C') : (random.nextBoolean() ? 'A' : 'T');
+    }
+    return new String(out);
+  }
+
+  private static int baseIndex(char base) {
+    return switch (base) {
+      case 'C' -> 1;
+      case 'G' -> 2;
+      case 'T' -> 3;
+      default -> 0;
+    };
+  }
+}
@@ -0,0 +1,158 @@
+package com.dsacp.dna_analyzer.config;
+
+import com.dsacp.dna_analyzer.dto.MotifEngine;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Tuning knobs for the analysis engines, bound from the {@code dna.*} keys in
+ * application.properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "dna")
+public class AnalysisProperties {
+
+    private Analysis analysis = new Analysis();
+    private Frequency frequency = new Frequency();
+    private Motif motif = new Motif();
+    private IndexCache indexCache = new IndexCache();
+    private IndexStore indexStore = new IndexStore();
+    private Repeats repeats = new Repeats();
+    private LocalAlignment localAlignment = new LocalAlignment();
+    private Sketch sketch = new Sketch();
+    private Sequences sequences = new Sequences();
+    private Jobs jobs = new Jobs();
+    private Admission admission = new Admission();
+    private Metrics metrics = new Metrics();
+    private Binary binary = new Binary();
+    private Upload upload = new Upload();
+
+    @Data
+    public static class Analysis {
+        /** Worker threads of the shared analysis fork-join pool; 0 means one per core. */
+        private int parallelism = 0;
+    }
+
+    @Data
+    public static class Frequency {
+        /** Sequences at least this long are counted in parallel. */
+        private int parallelThreshold = 1_000_000;
+        /** Default errorBound of topN requests (overcount as a fraction of all k-mers). */
+        private double topNErrorBound = 1e-4;
+    }
+
+    @Data
+    public static class Motif {
+        /** Engine used when a request does not name one. */
+        private MotifEngine engine = MotifEngine.SUFFIX_ARRAY;
+        /** FM-index keeps the suffix array entry of every n-th text position. */
+        private int fmSampleRate = 32;
+        /** Batch requests with at least this many motifs... */
+        private int ahoCorasickMinMotifs = 256;
+        /** ...against a sequence no longer than this are answered by one Aho-Corasick scan. */
+        private int ahoCorasickMaxSequence = 5_000_000;
+    }
+
+    @Data
+    public static class IndexCache {
+        /** Memory budget for cached motif indexes (a suffix array costs about 8 bytes per base). */
+        private DataSize maxSize = DataSize.ofMegabytes(512);
+    }
+
+    @Data
+    public static class IndexStore {
+        /** Directory for persisted, memory-mapped suffix array files; empty disables persistence. */
+        private String directory = "";
+    }
+
+    @Data
+    public static class Repeats {
+        /** Default shortest repeat reported by the /repeats endpoints. */
+        private int minLength = 20;
+        /** Default and largest number of repeats listed per response. */
+        private int maxResults = 1000;
+        /** Default longest tandem repeat unit; requests may ask for up to 100. */
+        private int maxPeriod = 6;
+    }
+
+    @Data
+    public static class LocalAlignment {
+        /** Default scores of local alignment requests (BLASTN's). */
+        private int match = 2;
+        private int mismatch = -3;
+        private int gapOpen = 5;
+        private int gapExtend = 2;
+        /** Use the SIMD engine when the JVM runs with the Vector API module; false forces the scalar one. */
+        private boolean vectorized = true;
+    }
+
+    @Data
+    public static class Sketch {
+        /** Default k-mer length of MinHash sketches (Mash's). */
+        private int k = 21;
+        /** Default hashes kept per sketch; the distance error shrinks with its square root. */
+        private int size = 1000;
+        /** Largest sketch size a request may ask for. */
+        private int maxSize = 100_000;
+        /** Memory budget for cached sketches (8 bytes per hash). */
+        private DataSize cacheSize = DataSize.ofMegabytes(64);
+        /** Default and largest number of matches listed by /mutation/screen. */
+        private int maxResults = 1000;
+    }
+
+    @Data
+    public static class Sequences {
+        /** Memory budget for registered sequences, held off-heap at 2 bits per base. */
+        private DataSize maxSize = DataSize.ofGigabytes(1);
+        /**
+         * Directory for registered sequence files, memory-mapped and reloaded after eviction or a
+         * restart; empty keeps sequences in direct memory only.
+         */
+        private String directory = "";
+    }
+
+    @Data
+    public static class Jobs {
+        /** Jobs running at once; each may still fan out over the analysis pool. */
+        private int workers = 2;
+        /** Queued jobs beyond this are rejected with 503. */
+        private int queueCapacity = 64;
+        /** How long a finished job and its result stay available. */
+        private Duration retention = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Admission {
+        /** Estimate each analysis' working memory and reserve it before running; false admits everything. */
+        private boolean enabled = true;
+        /** Working memory the running analyses may reserve in all; unset means 60% of the maximum heap. */
+        private DataSize memoryBudget;
+        /** Analyses estimated at this much work or more (bases scanned, DP words...) count as large... */
+        private long largeWork = 100_000_000L;
+        /** ...and at most this many of them run at once; 0 means one per two cores (at least one). */
+        private int largeSlots = 0;
+        /** How long a request waits for budget before it is turned away with 503 and Retry-After. */
+        private Duration queueTimeout = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Metrics {
+        /** Adds a Server-Timing header with per-stage durations to /api/v1 responses. */
+        private boolean serverTiming = true;
+    }
+
+    @Data
+    public static class Upload {
+        /** Longest sequence /motif/upload and /sequences/upload read from a file, in bases. */
+        private int maxBases = 1 << 30;
+    }
+
+    @Data
+    public static class Binary {
+        /** Longest sequence a binary (DNAB) request body may carry, in bases. */
+        private int maxBases = 1 << 28;
+    }
+}
@@ -0,0 +1,54 @@
+package com.dsacp.dna_analyzer.config;
+
+import com.dsacp.dna_analyzer.io.DnaBinaryFormat;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Reads and writes the analysis DTOs in {@link DnaBinaryFormat} when a client sends or accepts
+ * {@value DnaBinaryFormat#MEDIA_TYPE}. Registered after the JSON converter, so JSON stays the default.
+ */
+public class BinaryMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(DnaBinaryFormat.MEDIA_TYPE);
+
+    private final int maxBases;
+
+    /** A converter accepting sequences of up to {@code maxBases} bases in request bodies. */
+    public BinaryMessageConverter(int maxBases) {
+        super(MEDIA_TYPE);
+        this.maxBases = maxBases;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return DnaBinaryFormat.supports(clazz);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            // sizes declared in the body are checked against its Content-Length (-1 when chunked)
+            return DnaBinaryFormat.read(new BufferedInputStream(inputMessage.getBody(), 1 << 16), clazz,
+                    inputMessage.getHeaders().getContentLength(), maxBases);
+        } catch (IllegalArgumentException | EOFException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object message, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream out = new BufferedOutputStream(outputMessage.getBody(), 1 << 16);
+        DnaBinaryFormat.write(message, out);
+        out.flush();
+    }
+}
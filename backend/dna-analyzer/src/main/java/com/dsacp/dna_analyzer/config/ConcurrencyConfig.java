@@ -0,0 +1,45 @@
+package com.dsacp.dna_analyzer.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@EnableConfigurationProperties(AnalysisProperties.class)
+public class ConcurrencyConfig {
+
+    /**
+     * Dedicated pool for CPU-bound analysis work, kept apart from the common pool so request
+     * handling and parallel streams elsewhere are not starved.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool analysisPool(AnalysisProperties properties) {
+        int parallelism = properties.getAnalysis().getParallelism();
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        return new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Fixed set of workers for asynchronous jobs. The queue is ordered by job priority, then by
+     * submission; {@link com.dsacp.dna_analyzer.service.JobService} bounds its length.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor jobExecutor(AnalysisProperties properties) {
+        int workers = Math.max(1, properties.getJobs().getWorkers());
+        AtomicInteger threads = new AtomicInteger();
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(),
+                task -> {
+                    Thread thread = new Thread(task, "analysis-job-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
@@ -0,0 +1,94 @@
+package com.dsacp.dna_analyzer.config;
+
+import com.dsacp.dna_analyzer.service.AdmissionControl;
+import com.dsacp.dna_analyzer.service.IndexCache;
+import com.dsacp.dna_analyzer.service.SequenceRegistry;
+import com.dsacp.dna_analyzer.service.SketchCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Gauges over shared state: the motif index and sketch caches, the sequence registry, the
+ * admission budget and the two worker pools (queue depth, active threads, completed tasks). The
+ * per-request meters live in {@link com.dsacp.dna_analyzer.service.AnalysisMetrics}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder indexCacheMetrics(IndexCache indexCache) {
+        return registry -> {
+            Gauge.builder("dna.index.cache.size", indexCache, cache -> cache.stats().getUsedBytes())
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("dna.index.cache.entries", indexCache, cache -> cache.stats().getEntries())
+                    .register(registry);
+            FunctionCounter.builder("dna.index.cache.requests", indexCache, cache -> cache.stats().getHits())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("dna.index.cache.requests", indexCache, cache -> cache.stats().getMisses())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("dna.index.cache.evictions", indexCache, cache -> cache.stats().getEvictions())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder sketchCacheMetrics(SketchCache sketchCache) {
+        return registry -> {
+            Gauge.builder("dna.sketch.cache.size", sketchCache, SketchCache::usedBytes)
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("dna.sketch.cache.entries", sketchCache, SketchCache::size)
+                    .register(registry);
+            FunctionCounter.builder("dna.sketch.cache.requests", sketchCache, SketchCache::hits)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("dna.sketch.cache.requests", sketchCache, SketchCache::misses)
+                    .tag("result", "miss")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder sequenceRegistryMetrics(SequenceRegistry sequenceRegistry) {
+        return registry -> {
+            Gauge.builder("dna.sequences.size", sequenceRegistry, SequenceRegistry::usedBytes)
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("dna.sequences.entries", sequenceRegistry, SequenceRegistry::size)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder admissionMetrics(AdmissionControl admission) {
+        return registry -> {
+            Gauge.builder("dna.admission.reserved", admission, AdmissionControl::reservedBytes)
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("dna.admission.budget", admission, AdmissionControl::budgetBytes)
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("dna.admission.large.running", admission, AdmissionControl::largeRunning)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder poolMetrics(ForkJoinPool analysisPool, ThreadPoolExecutor jobExecutor) {
+        return registry -> {
+            new ExecutorServiceMetrics(analysisPool, "analysis", Tags.empty()).bindTo(registry);
+            new ExecutorServiceMetrics(jobExecutor, "jobs", Tags.empty()).bindTo(registry);
+        };
+    }
+}
@@ -1,15 +1,50 @@
 package com.dsacp.dna_analyzer.controller;
 
+import com.dsacp.dna_analyzer.dto.AlignmentResult;
+import com.dsacp.dna_analyzer.dto.ApproximateMotifRequest;
+import com.dsacp.dna_analyzer.dto.ApproximateMotifResult;
+import com.dsacp.dna_analyzer.dto.BatchMotifRequest;
+import com.dsacp.dna_analyzer.dto.BatchMotifResult;
+import com.dsacp.dna_analyzer.dto.DistanceMatrixRequest;
+import com.dsacp.dna_analyzer.dto.DistanceMatrixResult;
 import com.dsacp.dna_analyzer.dto.FrequencyRequest;
 import com.dsacp.dna_analyzer.dto.FrequencyResult;
+import com.dsacp.dna_analyzer.dto.IndexCacheStats;
+import com.dsacp.dna_analyzer.dto.LocalAlignmentRequest;
+import com.dsacp.dna_analyzer.dto.LocalAlignmentResult;
+import com.dsacp.dna_analyzer.dto.MotifEngine;
 import com.dsacp.dna_analyzer.dto.MotifRequest;
 import com.dsacp.dna_analyzer.dto.MotifResult;
 import com.dsacp.dna_analyzer.dto.MutationRequest;
 import com.dsacp.dna_analyzer.dto.MutationResult;
-
+import com.dsacp.dna_analyzer.dto.RepeatKind;
+import com.dsacp.dna_analyzer.dto.RepeatRequest;
+import com.dsacp.dna_analyzer.dto.RepeatResult;
+import com.dsacp.dna_analyzer.dto.ScreenRequest;
+import com.dsacp.dna_analyzer.dto.ScreenResult;
+import com.dsacp.dna_analyzer.dto.SketchDistance;
+import com.dsacp.dna_analyzer.dto.SketchRequest;
+import com.dsacp.dna_analyzer.dto.TandemRepeatResult;
+import com.dsacp.dna_analyzer.dto.WindowProfile;
+import com.dsacp.dna_analyzer.dto.WindowProfileRequest;
 import com.dsacp.dna_analyzer.service.DnaAnalysisService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 
 @RestController
 @RequestMapping("/api/v1/analyze")
@@ -17,6 +52,9 @@ public class AnalysisController {
 
     @Autowired
     private DnaAnalysisService dnaService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
     /**
      * Frequency Analysis
      * POST /api/v1/analyze/frequency
@@ -25,6 +63,18 @@ public class AnalysisController {
     public FrequencyResult handleFrequencyAnalysis(@RequestBody FrequencyRequest request) {
         return dnaService.analyzeFrequency(request);
     }
+    /**
+     * Frequency Analysis of an uploaded FASTA/FASTQ/plain file (optionally gzipped), parsed as a stream
+     * POST /api/v1/analyze/frequency/upload?k=3 with a multipart "file" part or the file as the raw body
+     */
+    @PostMapping("/frequency/upload")
+    public FrequencyResult handleFrequencyUpload(@RequestParam int k,
+                                                 @RequestParam(value = "file", required = false) MultipartFile file,
+                                                 HttpServletRequest request) throws IOException {
+        try (InputStream in = uploadStream(file, request)) {
+            return dnaService.analyzeFrequencyUpload(in, uploadSize(file, request), k);
+        }
+    }
     /**
      * Motif Search
      * POST /api/v1/analyze/motif
@@ -33,6 +83,105 @@ public class AnalysisController {
     public MotifResult handleMotifSearch(@RequestBody MotifRequest request) {
         return dnaService.analyzeMotif(request);
     }
+    /**
+     * Motif Search streamed as NDJSON: one hit position per line, in increasing order
+     * POST /api/v1/analyze/motif/stream (same body as /motif; offset/limit are honoured)
+     */
+    @PostMapping(value = "/motif/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> handleMotifStream(@RequestBody MotifRequest request) {
+        // located up front so a bad request still gets a 400 before the stream starts
+        int[] positions = dnaService.motifPositions(request);
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.US_ASCII), 1 << 16);
+            for (int position : positions) {
+                writer.write(Integer.toString(position));
+                writer.write('\n');
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+    /**
+     * Motif Search over an uploaded FASTA/FASTQ/plain file (optionally gzipped)
+     * POST /api/v1/analyze/motif/upload?motif=ATG with a multipart "file" part or the file as the raw body
+     */
+    @PostMapping("/motif/upload")
+    public MotifResult handleMotifUpload(@RequestParam String motif,
+                                         @RequestParam(required = false) MotifEngine engine,
+                                         @RequestParam(value = "file", required = false) MultipartFile file,
+                                         HttpServletRequest request) throws IOException {
+        try (InputStream in = uploadStream(file, request)) {
+            return dnaService.analyzeMotifUpload(in, uploadSize(file, request), motif, engine);
+        }
+    }
+    /**
+     * Batch Motif Search: many motifs against one sequence
+     * POST /api/v1/analyze/motif/batch
+     */
+    @PostMapping("/motif/batch")
+    public BatchMotifResult handleBatchMotifSearch(@RequestBody BatchMotifRequest request) {
+        return dnaService.analyzeMotifBatch(request);
+    }
+    /**
+     * Approximate Motif Search: hits with up to maxDistance substitutions/indels
+     * POST /api/v1/analyze/motif/approximate
+     */
+    @PostMapping("/motif/approximate")
+    public ApproximateMotifResult handleApproximateMotifSearch(@RequestBody ApproximateMotifRequest request) {
+        return dnaService.analyzeApproximateMotif(request);
+    }
+    /**
+     * Sliding-window profile streamed as NDJSON: one line per window with its GC content, k-mer
+     * spectrum summary and motif counts, written as each window is computed
+     * POST /api/v1/analyze/profile
+     */
+    @PostMapping(value = "/profile", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> handleWindowProfile(@RequestBody WindowProfileRequest request) {
+        // validated and motifs located up front, so a bad request still gets a 400
+        Iterator<WindowProfile> windows = dnaService.analyzeWindowProfile(request);
+        ObjectWriter json = objectMapper.writerFor(WindowProfile.class);
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+            while (windows.hasNext()) {
+                writer.write(json.writeValueAsString(windows.next()));
+                writer.write('\n');
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+    /**
+     * Longest repeated substrings
+     * POST /api/v1/analyze/repeats/longest
+     */
+    @PostMapping("/repeats/longest")
+    public RepeatResult handleLongestRepeats(@RequestBody RepeatRequest request) {
+        return dnaService.analyzeRepeats(request, RepeatKind.LONGEST);
+    }
+    /**
+     * Maximal repeats of at least minLength bases with their occurrence counts
+     * POST /api/v1/analyze/repeats/maximal
+     */
+    @PostMapping("/repeats/maximal")
+    public RepeatResult handleMaximalRepeats(@RequestBody RepeatRequest request) {
+        return dnaService.analyzeRepeats(request, RepeatKind.MAXIMAL);
+    }
+    /**
+     * Supermaximal repeats: maximal repeats not contained in a longer one
+     * POST /api/v1/analyze/repeats/supermaximal
+     */
+    @PostMapping("/repeats/supermaximal")
+    public RepeatResult handleSupermaximalRepeats(@RequestBody RepeatRequest request) {
+        return dnaService.analyzeRepeats(request, RepeatKind.SUPERMAXIMAL);
+    }
+    /**
+     * Tandem repeats (microsatellites): adjacent copies of a unit of up to maxPeriod bases
+     * POST /api/v1/analyze/repeats/tandem
+     */
+    @PostMapping("/repeats/tandem")
+    public TandemRepeatResult handleTandemRepeats(@RequestBody RepeatRequest request) {
+        return dnaService.analyzeTandemRepeats(request);
+    }
     /**
      * Mutation Detection
      * A POST request to http://localhost:8080/api/v1/analyze/mutation
@@ -41,4 +190,62 @@ public class AnalysisController {
     public MutationResult handleMutationDetection(@RequestBody MutationRequest request) {
         return dnaService.analyzeMutation(request);
     }
-}
\ No newline at end of file
+    /**
+     * Alignment with mutation calls (CIGAR + substitutions / insertions / deletions)
+     * A POST request to http://localhost:8080/api/v1/analyze/mutation/align
+     */
+    @PostMapping("/mutation/align")
+    public AlignmentResult handleAlignment(@RequestBody MutationRequest request) {
+        return dnaService.analyzeAlignment(request);
+    }
+    /**
+     * Local alignment (Smith-Waterman, affine gaps): where a query, e.g. a gene, lies in a target
+     * A POST request to http://localhost:8080/api/v1/analyze/mutation/local
+     */
+    @PostMapping("/mutation/local")
+    public LocalAlignmentResult handleLocalAlignment(@RequestBody LocalAlignmentRequest request) {
+        return dnaService.analyzeLocalAlignment(request);
+    }
+    /**
+     * Estimated (Mash) distance of two sequences from MinHash sketches, in linear time
+     * A POST request to http://localhost:8080/api/v1/analyze/mutation/sketch
+     */
+    @PostMapping("/mutation/sketch")
+    public SketchDistance handleSketchDistance(@RequestBody SketchRequest request) {
+        return dnaService.analyzeSketchDistance(request);
+    }
+    /**
+     * Registered sequences closest to a query by Mash distance
+     * A POST request to http://localhost:8080/api/v1/analyze/mutation/screen
+     */
+    @PostMapping("/mutation/screen")
+    public ScreenResult handleScreen(@RequestBody ScreenRequest request) {
+        return dnaService.analyzeScreen(request);
+    }
+    /**
+     * All-pairs distance matrix (condensed upper triangle) over a set of sequences
+     * A POST request to http://localhost:8080/api/v1/analyze/mutation/matrix
+     */
+    @PostMapping("/mutation/matrix")
+    public DistanceMatrixResult handleDistanceMatrix(@RequestBody DistanceMatrixRequest request) {
+        return dnaService.analyzeDistanceMatrix(request);
+    }
+    /**
+     * Motif index cache statistics (hits, misses, evictions, memory use)
+     * GET /api/v1/analyze/index-cache
+     */
+    @GetMapping("/index-cache")
+    public IndexCacheStats handleIndexCacheStats() {
+        return dnaService.indexCacheStats();
+    }
+
+    // multipart uploads are spooled by the container; raw bodies are read straight off the socket
+    private static InputStream uploadStream(MultipartFile file, HttpServletRequest request) throws IOException {
+        return file != null ? file.getInputStream() : request.getInputStream();
+    }
+
+    // bytes uploaded, or -1 for a raw body of unknown length
+    private static long uploadSize(MultipartFile file, HttpServletRequest request) {
+        return file != null ? file.getSize() : request.getContentLengthLong();
+    }
+}
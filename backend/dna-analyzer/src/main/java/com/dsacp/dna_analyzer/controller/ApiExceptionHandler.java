@@ -0,0 +1,44 @@
+package com.dsacp.dna_analyzer.controller;
+
+import com.dsacp.dna_analyzer.dto.ApiError;
+import com.dsacp.dna_analyzer.service.AdmissionRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /** Invalid analysis parameters (k out of range, distance budget too large...). */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiError> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(new ApiError(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+    }
+
+    /** Unknown (or evicted) registered sequence. */
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<ApiError> handleNotFound(NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ApiError(HttpStatus.NOT_FOUND.value(), e.getMessage()));
+    }
+
+    /** Job queue full: the client should retry later. */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ApiError> handleRejected(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ApiError(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage()));
+    }
+
+    /** Not enough analysis memory free in time: the client should retry after the given delay. */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ApiError> handleOverloaded(AdmissionRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfter().toSeconds()))
+                .body(new ApiError(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage()));
+    }
+}
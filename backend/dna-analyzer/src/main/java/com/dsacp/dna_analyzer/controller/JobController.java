@@ -0,0 +1,228 @@
+package com.dsacp.dna_analyzer.controller;
+
+import com.dsacp.dna_analyzer.dsa.ProgressMonitor;
+import com.dsacp.dna_analyzer.dto.ApiError;
+import com.dsacp.dna_analyzer.dto.ApproximateMotifRequest;
+import com.dsacp.dna_analyzer.dto.BatchMotifRequest;
+import com.dsacp.dna_analyzer.dto.DistanceMatrixRequest;
+import com.dsacp.dna_analyzer.dto.FrequencyRequest;
+import com.dsacp.dna_analyzer.dto.JobPriority;
+import com.dsacp.dna_analyzer.dto.JobStatus;
+import com.dsacp.dna_analyzer.dto.LocalAlignmentRequest;
+import com.dsacp.dna_analyzer.dto.MotifRequest;
+import com.dsacp.dna_analyzer.dto.MutationRequest;
+import com.dsacp.dna_analyzer.dto.RepeatKind;
+import com.dsacp.dna_analyzer.dto.RepeatRequest;
+import com.dsacp.dna_analyzer.dto.ScreenRequest;
+import com.dsacp.dna_analyzer.dto.SketchRequest;
+import com.dsacp.dna_analyzer.service.AdmissionRejectedException;
+import com.dsacp.dna_analyzer.service.DnaAnalysisService;
+import com.dsacp.dna_analyzer.service.JobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Asynchronous versions of the /api/v1/analyze endpoints: submit, then poll status and result.
+ * Submissions take the same bodies as their synchronous counterparts plus an optional
+ * {@code ?priority=HIGH|NORMAL|LOW}, and answer 202 with the job status.
+ */
+@RestController
+@RequestMapping("/api/v1/jobs")
+public class JobController {
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private DnaAnalysisService dnaService;
+    /**
+     * Frequency Analysis job
+     * POST /api/v1/jobs/frequency
+     */
+    @PostMapping("/frequency")
+    public ResponseEntity<JobStatus> submitFrequency(@RequestBody FrequencyRequest request,
+                                                     @RequestParam(required = false) JobPriority priority) {
+        return submit("frequency", priority, monitor -> dnaService.analyzeFrequency(request, monitor));
+    }
+    /**
+     * Motif Search job
+     * POST /api/v1/jobs/motif
+     */
+    @PostMapping("/motif")
+    public ResponseEntity<JobStatus> submitMotif(@RequestBody MotifRequest request,
+                                                 @RequestParam(required = false) JobPriority priority) {
+        return submit("motif", priority, monitor -> dnaService.analyzeMotif(request, monitor));
+    }
+    /**
+     * Batch Motif Search job
+     * POST /api/v1/jobs/motif/batch
+     */
+    @PostMapping("/motif/batch")
+    public ResponseEntity<JobStatus> submitBatchMotif(@RequestBody BatchMotifRequest request,
+                                                      @RequestParam(required = false) JobPriority priority) {
+        return submit("motif/batch", priority, monitor -> dnaService.analyzeMotifBatch(request, monitor));
+    }
+    /**
+     * Approximate Motif Search job
+     * POST /api/v1/jobs/motif/approximate
+     */
+    @PostMapping("/motif/approximate")
+    public ResponseEntity<JobStatus> submitApproximateMotif(@RequestBody ApproximateMotifRequest request,
+                                                            @RequestParam(required = false) JobPriority priority) {
+        return submit("motif/approximate", priority, monitor -> dnaService.analyzeApproximateMotif(request, monitor));
+    }
+    /**
+     * Repeat discovery job: kind is longest, maximal or supermaximal
+     * POST /api/v1/jobs/repeats/{kind}
+     */
+    @PostMapping("/repeats/{kind:longest|maximal|supermaximal}")
+    public ResponseEntity<JobStatus> submitRepeats(@PathVariable String kind, @RequestBody RepeatRequest request,
+                                                   @RequestParam(required = false) JobPriority priority) {
+        RepeatKind repeatKind = RepeatKind.valueOf(kind.toUpperCase(Locale.ROOT));
+        return submit("repeats/" + kind, priority, monitor -> dnaService.analyzeRepeats(request, repeatKind, monitor));
+    }
+    /**
+     * Tandem repeat job
+     * POST /api/v1/jobs/repeats/tandem
+     */
+    @PostMapping("/repeats/tandem")
+    public ResponseEntity<JobStatus> submitTandemRepeats(@RequestBody RepeatRequest request,
+                                                         @RequestParam(required = false) JobPriority priority) {
+        return submit("repeats/tandem", priority, monitor -> dnaService.analyzeTandemRepeats(request, monitor));
+    }
+    /**
+     * Mutation Detection job
+     * POST /api/v1/jobs/mutation
+     */
+    @PostMapping("/mutation")
+    public ResponseEntity<JobStatus> submitMutation(@RequestBody MutationRequest request,
+                                                    @RequestParam(required = false) JobPriority priority) {
+        return submit("mutation", priority, monitor -> dnaService.analyzeMutation(request, monitor));
+    }
+    /**
+     * Alignment job
+     * POST /api/v1/jobs/mutation/align
+     */
+    @PostMapping("/mutation/align")
+    public ResponseEntity<JobStatus> submitAlignment(@RequestBody MutationRequest request,
+                                                     @RequestParam(required = false) JobPriority priority) {
+        return submit("mutation/align", priority, monitor -> dnaService.analyzeAlignment(request, monitor));
+    }
+    /**
+     * Local alignment job
+     * POST /api/v1/jobs/mutation/local
+     */
+    @PostMapping("/mutation/local")
+    public ResponseEntity<JobStatus> submitLocalAlignment(@RequestBody LocalAlignmentRequest request,
+                                                          @RequestParam(required = false) JobPriority priority) {
+        return submit("mutation/local", priority, monitor -> dnaService.analyzeLocalAlignment(request, monitor));
+    }
+    /**
+     * Sketch distance job
+     * POST /api/v1/jobs/mutation/sketch
+     */
+    @PostMapping("/mutation/sketch")
+    public ResponseEntity<JobStatus> submitSketchDistance(@RequestBody SketchRequest request,
+                                                          @RequestParam(required = false) JobPriority priority) {
+        return submit("mutation/sketch", priority, monitor -> dnaService.analyzeSketchDistance(request, monitor));
+    }
+    /**
+     * Screening job
+     * POST /api/v1/jobs/mutation/screen
+     */
+    @PostMapping("/mutation/screen")
+    public ResponseEntity<JobStatus> submitScreen(@RequestBody ScreenRequest request,
+                                                  @RequestParam(required = false) JobPriority priority) {
+        return submit("mutation/screen", priority, monitor -> dnaService.analyzeScreen(request, monitor));
+    }
+    /**
+     * Distance matrix job
+     * POST /api/v1/jobs/mutation/matrix
+     */
+    @PostMapping("/mutation/matrix")
+    public ResponseEntity<JobStatus> submitDistanceMatrix(@RequestBody DistanceMatrixRequest request,
+                                                          @RequestParam(required = false) JobPriority priority) {
+        return submit("mutation/matrix", priority, monitor -> dnaService.analyzeDistanceMatrix(request, monitor));
+    }
+    /**
+     * All retained jobs, newest first
+     * GET /api/v1/jobs
+     */
+    @GetMapping
+    public List<JobStatus> listJobs() {
+        return jobService.list();
+    }
+    /**
+     * Job status and progress
+     * GET /api/v1/jobs/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getJob(@PathVariable String id) {
+        JobService.Job job = jobService.find(id);
+        return job != null ? ResponseEntity.ok(job.status()) : notFound(id);
+    }
+    /**
+     * Job result: 200 with the analysis result once it succeeded, 202 with the status while it is
+     * queued or running, the analysis error if it failed (503 with Retry-After if admission control
+     * turned it away), 410 if it was cancelled
+     * GET /api/v1/jobs/{id}/result
+     */
+    @GetMapping("/{id}/result")
+    public ResponseEntity<?> getJobResult(@PathVariable String id) {
+        JobService.Job job = jobService.find(id);
+        if (job == null) {
+            return notFound(id);
+        }
+        switch (job.state()) {
+            case SUCCEEDED:
+                return ResponseEntity.ok(job.result());
+            case FAILED:
+                // same status the synchronous endpoint would have answered with
+                if (job.failure() instanceof AdmissionRejectedException rejected) {
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, Long.toString(rejected.getRetryAfter().toSeconds()))
+                            .body(new ApiError(HttpStatus.SERVICE_UNAVAILABLE.value(), job.status().getError()));
+                }
+                HttpStatus status = job.failure() instanceof IllegalArgumentException ? HttpStatus.BAD_REQUEST
+                        : job.failure() instanceof NoSuchElementException ? HttpStatus.NOT_FOUND
+                        : job.failure() instanceof RejectedExecutionException ? HttpStatus.SERVICE_UNAVAILABLE
+                        : HttpStatus.INTERNAL_SERVER_ERROR;
+                return ResponseEntity.status(status).body(new ApiError(status.value(), job.status().getError()));
+            case CANCELLED:
+                return ResponseEntity.status(HttpStatus.GONE)
+                        .body(new ApiError(HttpStatus.GONE.value(), "Job " + id + " was cancelled"));
+            default:
+                return ResponseEntity.accepted().body(job.status());
+        }
+    }
+    /**
+     * Cancel a job (queued jobs are dropped, running ones stop at their next checkpoint)
+     * DELETE /api/v1/jobs/{id}
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> cancelJob(@PathVariable String id) {
+        JobStatus status = jobService.cancel(id);
+        return status != null ? ResponseEntity.ok(status) : notFound(id);
+    }
+
+    private ResponseEntity<JobStatus> submit(String type, JobPriority priority,
+                                             Function<ProgressMonitor, Object> analysis) {
+        JobStatus status = jobService.submit(type, priority, analysis);
+        return ResponseEntity.accepted().location(URI.create("/api/v1/jobs/" + status.getId())).body(status);
+    }
+
+    private static ResponseEntity<ApiError> notFound(String id) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ApiError(HttpStatus.NOT_FOUND.value(), "No such job: " + id));
+    }
+}
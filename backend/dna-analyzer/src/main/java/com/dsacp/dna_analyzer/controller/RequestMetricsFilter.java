@@ -0,0 +1,72 @@
+package com.dsacp.dna_analyzer.controller;
+
+import com.dsacp.dna_analyzer.service.AnalysisMetrics;
+import com.dsacp.dna_analyzer.service.StageTimings;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Per-request measurements of the /api/v1 endpoints: opens the request's {@link StageTimings},
+ * and afterwards records body parse and serialization time, the request body size and the bytes
+ * allocated by the request thread (work fanned out to the analysis pool is not included).
+ */
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    // null when the JVM cannot account allocations per thread
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    @Autowired
+    private AnalysisMetrics metrics;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/v1/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StageTimings timings = StageTimings.open();
+        long allocatedBefore = THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long serializeNanos = timings.serializeNanos();
+            StageTimings.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            if (timings.parseNanos() >= 0) {
+                metrics.recordRequestStage(uri, "parse", timings.parseNanos());
+            }
+            if (serializeNanos >= 0) {
+                metrics.recordRequestStage(uri, "serialize", serializeNanos);
+            }
+            if (request.getContentLengthLong() >= 0) {
+                metrics.recordRequestPayload(uri, request.getContentLengthLong());
+            }
+            if (allocatedBefore >= 0) {
+                metrics.recordRequestAllocation(uri, THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore);
+            }
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean counting
+                && counting.isThreadAllocatedMemorySupported() && counting.isThreadAllocatedMemoryEnabled()) {
+            return counting;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.dsacp.dna_analyzer.controller;
+
+import com.dsacp.dna_analyzer.dto.SequenceInfo;
+import com.dsacp.dna_analyzer.dto.SequenceRequest;
+import com.dsacp.dna_analyzer.service.SequenceRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Sequences registered once and then referenced by ID: the /api/v1/analyze and /api/v1/jobs
+ * requests take {@code sequenceId} (or {@code sequenceIdA}/{@code sequenceIdB},
+ * {@code sequenceIds}) in place of the inline sequence.
+ */
+@RestController
+@RequestMapping("/api/v1/sequences")
+public class SequenceController {
+
+    @Autowired
+    private SequenceRegistry registry;
+    /**
+     * Register a sequence sent inline
+     * POST /api/v1/sequences
+     */
+    @PostMapping
+    public ResponseEntity<SequenceInfo> register(@RequestBody SequenceRequest request) {
+        return created(registry.register(request.getDnaSequence()));
+    }
+    /**
+     * Register an uploaded FASTA/FASTQ/plain file (optionally gzipped); records are joined with a single N
+     * POST /api/v1/sequences/upload with a multipart "file" part or the file as the raw body
+     */
+    @PostMapping("/upload")
+    public ResponseEntity<SequenceInfo> upload(@RequestParam(value = "file", required = false) MultipartFile file,
+                                               HttpServletRequest request) throws IOException {
+        try (InputStream in = file != null ? file.getInputStream() : request.getInputStream()) {
+            // bytes uploaded, or -1 for a raw body of unknown length
+            long size = file != null ? file.getSize() : request.getContentLengthLong();
+            return created(registry.register(in, size));
+        }
+    }
+    /**
+     * Registered sequences, least recently used first
+     * GET /api/v1/sequences
+     */
+    @GetMapping
+    public List<SequenceInfo> list() {
+        return registry.list();
+    }
+    /**
+     * GET /api/v1/sequences/{id}
+     */
+    @GetMapping("/{id}")
+    public SequenceInfo info(@PathVariable String id) {
+        return registry.info(id);
+    }
+    /**
+     * DELETE /api/v1/sequences/{id}
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id) {
+        registry.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static ResponseEntity<SequenceInfo> created(SequenceInfo info) {
+        return ResponseEntity.created(URI.create("/api/v1/sequences/" + info.getId())).body(info);
+    }
+}
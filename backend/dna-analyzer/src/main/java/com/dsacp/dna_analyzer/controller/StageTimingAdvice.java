@@ -0,0 +1,73 @@
+package com.dsacp.dna_analyzer.controller;
+
+import com.dsacp.dna_analyzer.config.AnalysisProperties;
+import com.dsacp.dna_analyzer.service.StageTimings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Type;
+
+/**
+ * Times request body parsing and response body writing for {@link StageTimings}, and puts the
+ * request's stage timings in a {@code Server-Timing} header just before the body is written (so
+ * serialization itself only shows up in the metrics). Enabled by {@code dna.metrics.server-timing}.
+ */
+@ControllerAdvice
+public class StageTimingAdvice extends RequestBodyAdviceAdapter implements ResponseBodyAdvice<Object> {
+
+    @Autowired
+    private AnalysisProperties properties;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        StageTimings timings = StageTimings.current();
+        if (timings != null) {
+            timings.bodyReadStarted();
+        }
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        StageTimings timings = StageTimings.current();
+        if (timings != null) {
+            timings.bodyReadFinished();
+        }
+        return body;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        StageTimings timings = StageTimings.current();
+        if (timings != null) {
+            if (properties.getMetrics().isServerTiming()) {
+                response.getHeaders().set("Server-Timing", timings.toServerTiming());
+            }
+            timings.bodyWriteStarted();
+        }
+        return body;
+    }
+}
@@ -0,0 +1,145 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aho-Corasick automaton: finds every occurrence of a whole panel of patterns in one left-to-right
+ * scan of the text, in O(text + total hits) regardless of the panel size.
+ *
+ * <p>Pattern characters are remapped to a dense alphabet (1..sigma, 0 for any character that occurs
+ * in no pattern), and the automaton is fully expanded into a DFA transition table, so the scan does
+ * one array lookup per text character. Duplicate patterns share one trie path and get the same
+ * hits.
+ */
+public class AhoCorasick {
+
+  private final int patternCount;
+  private final int[] alphabet = new int[Character.MAX_VALUE + 1];
+  private final int width; // sigma + 1
+  private final int[] next; // next[state * width + symbol]
+  private final int[] terminal; // distinct-pattern id ending at the state, or -1
+  private final int[] outLink; // nearest proper suffix state that is terminal, or -1
+  private final int[] patternOf; // input index -> distinct-pattern id
+  private final int[] distinctLength;
+
+  public AhoCorasick(List<String> patterns) {
+    this.patternCount = patterns.size();
+
+    int sigma = 0;
+    int totalLength = 0;
+    for (String p : patterns) {
+      for (int i = 0; i < p.length(); i++) {
+        char ch = p.charAt(i);
+        if (alphabet[ch] == 0) alphabet[ch] = ++sigma;
+      }
+      totalLength += p.length();
+    }
+    this.width = sigma + 1;
+
+    // trie (states <= total pattern length + root)
+    int maxStates = totalLength + 1;
+    int[] trie = new int[maxStates * width];
+    Arrays.fill(trie, -1);
+    int[] term = new int[maxStates];
+    Arrays.fill(term, -1);
+    int states = 1;
+    this.patternOf = new int[patternCount];
+    List<Integer> lengths = new ArrayList<>();
+    for (int id = 0; id < patternCount; id++) {
+      String p = patterns.get(id);
+      int state = 0;
+      for (int i = 0; i < p.length(); i++) {
+        int slot = state * width + alphabet[p.charAt(i)];
+        if (trie[slot] < 0) trie[slot] = states++;
+        state = trie[slot];
+      }
+      if (p.isEmpty()) {
+        patternOf[id] = -1; // empty patterns never match, as in SuffixArray.search
+        continue;
+      }
+      if (term[state] < 0) {
+        term[state] = lengths.size();
+        lengths.add(p.length());
+      }
+      patternOf[id] = term[state];
+    }
+    this.distinctLength = lengths.stream().mapToInt(Integer::intValue).toArray();
+
+    // BFS: fill missing transitions from the failure state and compute output links
+    this.next = Arrays.copyOf(trie, states * width);
+    this.terminal = Arrays.copyOf(term, states);
+    this.outLink = new int[states];
+    int[] fail = new int[states];
+    int[] queue = new int[states];
+    int head = 0;
+    int tail = 0;
+    outLink[0] = -1;
+    for (int sym = 0; sym < width; sym++) {
+      int child = next[sym];
+      if (child < 0) {
+        next[sym] = 0;
+      } else {
+        fail[child] = 0;
+        outLink[child] = -1;
+        queue[tail++] = child;
+      }
+    }
+    while (head < tail) {
+      int state = queue[head++];
+      for (int sym = 0; sym < width; sym++) {
+        int slot = state * width + sym;
+        int child = next[slot];
+        int viaFail = next[fail[state] * width + sym];
+        if (child < 0) {
+          next[slot] = viaFail;
+        } else {
+          fail[child] = viaFail;
+          outLink[child] = terminal[viaFail] >= 0 ? viaFail : outLink[viaFail];
+          queue[tail++] = child;
+        }
+      }
+    }
+  }
+
+  /**
+   * Scans {@code text} once and returns, for each input pattern (in input order), its start
+   * positions in increasing order.
+   */
+  public List<int[]> searchAll(CharSequence text) {
+    int distinct = distinctLength.length;
+    int[][] hits = new int[distinct][];
+    int[] hitCount = new int[distinct];
+    for (int d = 0; d < distinct; d++) hits[d] = new int[4];
+
+    int state = 0;
+    for (int i = 0, n = text.length(); i < n; i++) {
+      state = next[state * width + alphabet[text.charAt(i)]];
+      for (int s = terminal[state] >= 0 ? state : outLink[state]; s > 0; s = outLink[s]) {
+        int d = terminal[s];
+        if (hitCount[d] == hits[d].length) hits[d] = Arrays.copyOf(hits[d], hitCount[d] * 2);
+        hits[d][hitCount[d]++] = i - distinctLength[d] + 1;
+      }
+    }
+
+    Map<Integer, int[]> trimmed = new HashMap<>();
+    List<int[]> result = new ArrayList<>(patternCount);
+    for (int id = 0; id < patternCount; id++) {
+      int d = patternOf[id];
+      if (d < 0) {
+        result.add(new int[0]);
+      } else {
+        result.add(trimmed.computeIfAbsent(d, key -> Arrays.copyOf(hits[key], hitCount[key])));
+      }
+    }
+    return result;
+  }
+
+  /** Number of input patterns. */
+  public int size() {
+    return patternCount;
+  }
+}
@@ -0,0 +1,121 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Approximate motif search (substitutions, insertions and deletions) by pigeonhole
+ * seed-and-extend over an exact {@link SequenceIndex}.
+ *
+ * <p>A motif matching with at most k edits must contain at least one of its k+1 disjoint pieces
+ * unchanged. Each piece is looked up exactly in the index; every hit pins the motif start to a
+ * window of 2k+1 positions, and each candidate start is verified with {@link
+ * MutationDetector#prefixEditDistance}. Starts near a site match it too, shifted by indels, so a
+ * start is reported only when no start within k bases of it has a smaller distance. Every exact
+ * occurrence is therefore reported, however close together (e.g. in a tandem repeat).
+ */
+public class ApproximateMatcher {
+
+  /** An approximate occurrence: motif start in the text and its edit distance. */
+  public record Hit(int position, int distance) {}
+
+  private final SequenceIndex index;
+  private final CharSequence text;
+  private final MutationDetector detector;
+
+  public ApproximateMatcher(SequenceIndex index, CharSequence text, MutationDetector detector) {
+    this.index = index;
+    this.text = text;
+    this.detector = detector;
+  }
+
+  /**
+   * Finds the sites where {@code pattern} occurs with at most {@code maxDistance} edits.
+   *
+   * @throws IllegalArgumentException if maxDistance is negative or not smaller than the pattern
+   *     length (every position would match)
+   */
+  public List<Hit> search(String pattern, int maxDistance) {
+    int m = pattern.length();
+    if (maxDistance < 0 || maxDistance >= m) {
+      throw new IllegalArgumentException("maxDistance must be between 0 and motif length - 1");
+    }
+    if (maxDistance == 0) {
+      List<Hit> exact = new ArrayList<>();
+      for (int pos : index.positions(pattern)) exact.add(new Hit(pos, 0));
+      return exact;
+    }
+
+    // each piece's hits come sorted, so the motif starts they imply (anchors) are merged in order,
+    // and the windows of 2k+1 starts around them are verified run by run as the anchors arrive
+    int pieces = maxDistance + 1;
+    int[] offsets = new int[pieces];
+    int[][] anchors = new int[pieces][];
+    for (int p = 0; p < pieces; p++) {
+      offsets[p] = p * m / pieces;
+      anchors[p] = index.positions(pattern.substring(offsets[p], (p + 1) * m / pieces));
+    }
+    int[] next = new int[pieces];
+    int[] distances = new int[2 * maxDistance + 1];
+    List<Hit> hits = new ArrayList<>();
+    int lo = 0;
+    int hi = -1; // current run of starts to verify, empty while hi < lo
+    while (true) {
+      long anchor = nextAnchor(anchors, offsets, next);
+      if (anchor == Long.MAX_VALUE) break;
+      if (anchor + maxDistance < 0) continue;
+      int from = (int) Math.max(0, anchor - maxDistance);
+      int to = (int) Math.min(text.length() - 1, anchor + maxDistance);
+      // runs closer than k apart are joined, so a start's neighbours are always in its own run
+      if (hi >= lo && from > hi + maxDistance + 1) {
+        verify(pattern, maxDistance, lo, hi, distances, hits);
+        lo = from;
+      } else if (hi < lo) {
+        lo = from;
+      }
+      hi = Math.max(hi, to);
+    }
+    if (hi >= lo) verify(pattern, maxDistance, lo, hi, distances, hits);
+    return hits;
+  }
+
+  // smallest pending piece hit minus its offset, or Long.MAX_VALUE once every piece is used up
+  private static long nextAnchor(int[][] anchors, int[] offsets, int[] next) {
+    int best = -1;
+    long bestAnchor = Long.MAX_VALUE;
+    for (int p = 0; p < anchors.length; p++) {
+      if (next[p] < anchors[p].length && (long) anchors[p][next[p]] - offsets[p] < bestAnchor) {
+        best = p;
+        bestAnchor = (long) anchors[p][next[p]] - offsets[p];
+      }
+    }
+    if (best >= 0) next[best]++;
+    return bestAnchor;
+  }
+
+  /*
+   * Verifies starts lo..hi and reports those whose distance no start within k of them beats. A
+   * site shifted by indels scores worse than the site itself, so it is dropped, while sites of a
+   * tandem repeat all score the same and are all kept. distances is a ring over the last 2k+1
+   * starts: the start k behind the one just computed can then be decided.
+   */
+  private void verify(String pattern, int maxDistance, int lo, int hi, int[] distances,
+      List<Hit> hits) {
+    int window = distances.length;
+    for (int s = lo; s <= hi + maxDistance; s++) {
+      if (s <= hi) {
+        distances[s % window] = detector.prefixEditDistance(pattern, text, s, maxDistance);
+      }
+      int start = s - maxDistance;
+      if (start < lo) continue;
+      int distance = distances[start % window];
+      if (distance > maxDistance) continue;
+      boolean best = true;
+      int last = Math.min(hi, start + maxDistance);
+      for (int t = Math.max(lo, start - maxDistance); t <= last && best; t++) {
+        best = distances[t % window] >= distance;
+      }
+      if (best) hits.add(new Hit(start, distance));
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package com.dsacp.dna_analyzer.dsa;
+
+/**
+ * Threshold-bounded edit distance: "is the distance at most t, and if so what is it?".
+ *
+ * <p>Only the cells within a band around the main diagonal are computed. The band starts narrow
+ * and is doubled up to t (Ukkonen): a result of at most b from a band of half-width b is exact,
+ * since any path leaving the band already costs more than b. A band pass also stops as soon as a
+ * whole row exceeds the band, because values never decrease along a path. Cost is O(n * d) for a
+ * true distance d instead of O(n * m). When t is so large that the band would cost more than the
+ * whole matrix, the bit-parallel {@link MyersEditDistance} runs instead.
+ *
+ * <p>Like {@link MyersEditDistance}, an instance keeps its row buffers (and its Myers engine)
+ * between calls: reuse one per thread when computing many distances. Not thread-safe.
+ */
+public final class BoundedEditDistance {
+
+  // banded DP rows computed between two progress reports
+  private static final int PROGRESS_ROWS = 1 << 10;
+
+  private final MyersEditDistance myers = new MyersEditDistance();
+  private int[] prev = new int[0];
+  private int[] cur = new int[0];
+  private long cells;
+
+  /** Exact distance, on the reused bit-parallel engine. */
+  public int distance(CharSequence a, CharSequence b) {
+    cells += (long) a.length() * b.length();
+    return myers.distance(a, b);
+  }
+
+  /** @return the distance if it is at most {@code maxDistance}, otherwise {@code maxDistance + 1} */
+  public int distance(CharSequence a, CharSequence b, int maxDistance) {
+    return distance(a, b, maxDistance, ProgressMonitor.NONE);
+  }
+
+  /**
+   * Same as {@link #distance(CharSequence, CharSequence, int)}, reporting to {@code monitor}: each
+   * band pass is a phase of one unit per row.
+   */
+  public int distance(CharSequence a, CharSequence b, int maxDistance, ProgressMonitor monitor) {
+    if (maxDistance < 0) throw new IllegalArgumentException("maxDistance must be >= 0");
+    int lenA = a.length();
+    int lenB = b.length();
+    int lengthGap = Math.abs(lenA - lenB);
+    if (lengthGap > maxDistance) return maxDistance + 1;
+
+    // a band this wide costs more than the bit-parallel engine over the whole matrix: a band cell
+    // is about a third of a 64-row block step, and the doubling passes add up to ~2x the last one
+    if ((2L * maxDistance + 1) * 24 > Math.max(lenA, lenB)) {
+      monitor.begin("edit distance", (long) lenA * lenB);
+      cells += (long) lenA * lenB;
+      return Math.min(myers.distance(a, b, monitor), maxDistance + 1);
+    }
+
+    int band = Math.max(lengthGap, Math.min(maxDistance, 16));
+    if (prev.length < lenB + 2) {
+      prev = new int[lenB + 2];
+      cur = new int[lenB + 2];
+    }
+    while (true) {
+      monitor.begin("banded edit distance, band " + band, lenA);
+      int d = banded(a, b, band, monitor);
+      if (d <= band) return d;
+      if (band >= maxDistance) return maxDistance + 1;
+      band = (int) Math.min(2L * band, maxDistance);
+    }
+  }
+
+  /**
+   * DP cells evaluated by this instance so far, over all calls: m x n for each bit-parallel run
+   * (64 of them per word operation), the band cells actually visited for banded runs.
+   */
+  public long cellsComputed() {
+    return cells;
+  }
+
+  // DP restricted to |i - j| <= t; returns the exact distance if it is <= t, otherwise some value
+  // > t. Cells just outside the band are set to INF so the recurrence never reads stale values.
+  private int banded(CharSequence a, CharSequence b, int t, ProgressMonitor monitor) {
+    final int inf = Integer.MAX_VALUE / 2;
+    int[] prev = this.prev;
+    int[] cur = this.cur;
+    int m = a.length();
+    int n = b.length();
+    int hi = Math.min(n, t);
+    for (int j = 0; j <= hi; j++) prev[j] = j;
+    prev[hi + 1] = inf;
+    for (int i = 1; i <= m; i++) {
+      int lo = Math.max(0, i - t);
+      hi = Math.min(n, i + t);
+      int rowMin = inf;
+      int j = lo;
+      if (lo == 0) {
+        cur[0] = i;
+        rowMin = i;
+        j = 1;
+      } else {
+        cur[lo - 1] = inf;
+      }
+      char ca = a.charAt(i - 1);
+      for (; j <= hi; j++) {
+        int best = prev[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+        best = Math.min(best, Math.min(prev[j] + 1, cur[j - 1] + 1));
+        cur[j] = best;
+        if (best < rowMin) rowMin = best;
+      }
+      cur[hi + 1] = inf;
+      cells += hi - lo + 1;
+      if (rowMin > t) return t + 1;
+      if ((i & (PROGRESS_ROWS - 1)) == 0) monitor.worked(PROGRESS_ROWS);
+      int[] swap = prev;
+      prev = cur;
+      cur = swap;
+    }
+    return prev[n];
+  }
+}
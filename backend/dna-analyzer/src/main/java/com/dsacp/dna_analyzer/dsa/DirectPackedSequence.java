@@ -0,0 +1,236 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Immutable 2-bit sequence whose bases live outside the Java heap, in a direct buffer or a
+ * memory-mapped file. It reads exactly like the {@link PackedSequence} it was made from (same
+ * packing, N runs, upper case), so every engine taking a {@link CharSequence} can run on it without
+ * the bases ever being copied into a {@code String}.
+ *
+ * <p>File layout (little-endian, sections 8-byte aligned):
+ *
+ * <pre>
+ *   0  magic "DNA2BITS"
+ *   8  int  format version (1)
+ *  12  int  length n
+ *  16  int  number of N runs r
+ *  20  int  reserved
+ *  24  long packed words offset
+ *  32  r pairs of ints: N run [start, end)
+ *   .  (n + 31) / 32 longs: 32 bases each, first base in the two high bits
+ * </pre>
+ *
+ * <p>Reads use absolute buffer access only, so an instance is safe to share between threads. The
+ * off-heap memory is released when the instance becomes unreachable.
+ */
+public final class DirectPackedSequence implements CharSequence {
+
+  static final byte[] MAGIC = {'D', 'N', 'A', '2', 'B', 'I', 'T', 'S'};
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 32;
+
+  private final LongBuffer words;
+  private final int length;
+  private final int[] runStart;
+  private final int[] runEnd;
+  private final boolean mapped;
+
+  private DirectPackedSequence(
+      LongBuffer words, int length, int[] runStart, int[] runEnd, boolean mapped) {
+    this.words = words;
+    this.length = length;
+    this.runStart = runStart;
+    this.runEnd = runEnd;
+    this.mapped = mapped;
+  }
+
+  /** Copies a packed sequence into a direct buffer. */
+  public static DirectPackedSequence copyOf(PackedSequence packed) {
+    int wordCount = wordCount(packed.length());
+    LongBuffer words =
+        ByteBuffer.allocateDirect(Math.max(8, 8 * wordCount))
+            .order(ByteOrder.nativeOrder())
+            .asLongBuffer();
+    for (int w = 0; w < wordCount; w++) words.put(w, packed.word(w));
+    int runs = packed.nRunCount();
+    int[] runStart = new int[runs];
+    int[] runEnd = new int[runs];
+    for (int r = 0; r < runs; r++) {
+      runStart[r] = packed.runStart(r);
+      runEnd[r] = packed.runEnd(r);
+    }
+    return new DirectPackedSequence(words, packed.length(), runStart, runEnd, false);
+  }
+
+  /**
+   * Writes a packed sequence to {@code path}, next to its destination first and then moved into
+   * place atomically, and returns its mapping.
+   */
+  public static DirectPackedSequence write(PackedSequence packed, Path path) throws IOException {
+    int n = packed.length();
+    int runs = packed.nRunCount();
+    long wordsOffset = HEADER_SIZE + 8L * runs; // already 8-byte aligned
+    Path dir = path.toAbsolutePath().getParent();
+    Path tmp = Files.createTempFile(dir, path.getFileName() + ".", ".tmp");
+    try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+      ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+      buf.put(MAGIC).putInt(VERSION).putInt(n).putInt(runs).putInt(0).putLong(wordsOffset);
+      for (int r = 0; r < runs; r++) {
+        if (buf.remaining() < 8) flush(out, buf);
+        buf.putInt(packed.runStart(r)).putInt(packed.runEnd(r));
+      }
+      for (int w = 0, words = wordCount(n); w < words; w++) {
+        if (buf.remaining() < 8) flush(out, buf);
+        buf.putLong(packed.word(w));
+      }
+      flush(out, buf);
+      out.force(true);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(tmp);
+      throw e;
+    }
+    Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    return map(path);
+  }
+
+  /** Maps a file written by {@link #write}. */
+  public static DirectPackedSequence map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+        throw new IOException("Not a packed sequence file: " + path);
+      }
+      ByteBuffer file =
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+      byte[] magic = new byte[MAGIC.length];
+      file.get(0, magic);
+      if (!Arrays.equals(magic, MAGIC) || file.getInt(8) != VERSION) {
+        throw new IOException("Not a packed sequence file (or unknown version): " + path);
+      }
+      int n = file.getInt(12);
+      int runs = file.getInt(16);
+      long wordsOffset = file.getLong(24);
+      long wordBytes = 8L * wordCount(n);
+      if (n < 0 || runs < 0 || wordsOffset < HEADER_SIZE + 8L * runs || (wordsOffset & 7) != 0
+          || wordsOffset + wordBytes > size) {
+        throw new IOException("Truncated or corrupt packed sequence file: " + path);
+      }
+      int[] runStart = new int[runs];
+      int[] runEnd = new int[runs];
+      for (int r = 0; r < runs; r++) {
+        runStart[r] = file.getInt(HEADER_SIZE + 8 * r);
+        runEnd[r] = file.getInt(HEADER_SIZE + 8 * r + 4);
+      }
+      LongBuffer words = file.slice((int) wordsOffset, (int) wordBytes)
+          .order(ByteOrder.LITTLE_ENDIAN)
+          .asLongBuffer();
+      return new DirectPackedSequence(words, n, runStart, runEnd, true);
+    }
+  }
+
+  /** 2-bit code of the base at {@code index}, or -1 for N. */
+  public int codeAt(int index) {
+    if (index < 0 || index >= length) throw new IndexOutOfBoundsException(index);
+    if (runStart.length > 0 && PackedSequence.inRuns(runStart, runEnd, runStart.length, index)) {
+      return -1;
+    }
+    return (int) (words.get(index >>> 5) >>> (62 - 2 * (index & 31))) & 3;
+  }
+
+  /**
+   * Decodes the 2-bit codes of {@code [from, to)} into {@code out}, -1 for N. Costs one bounds
+   * check and one run lookup for the whole range, where {@link #codeAt} pays both per base.
+   */
+  public void codesAt(int from, int to, byte[] out) {
+    if (from < 0 || to > length || from > to || to - from > out.length) {
+      throw new IndexOutOfBoundsException("[" + from + ", " + to + ") of " + length);
+    }
+    int i = from;
+    while (i < to) {
+      long word = words.get(i >>> 5);
+      int last = Math.min(to, (i | 31) + 1);
+      for (; i < last; i++) out[i - from] = (byte) ((word >>> (62 - 2 * (i & 31))) & 3);
+    }
+    for (int r = firstRunEndingAfter(from); r < runStart.length && runStart[r] < to; r++) {
+      int start = Math.max(runStart[r], from) - from;
+      Arrays.fill(out, start, Math.min(runEnd[r], to) - from, (byte) -1);
+    }
+  }
+
+  // index of the first N run ending after index (runs are sorted and disjoint)
+  private int firstRunEndingAfter(int index) {
+    int lo = 0;
+    int hi = runEnd.length;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (runEnd[mid] <= index) lo = mid + 1;
+      else hi = mid;
+    }
+    return lo;
+  }
+
+  @Override
+  public char charAt(int index) {
+    int code = codeAt(index);
+    return code < 0 ? 'N' : KmerCodec.base(code);
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  /** Number of maximal runs of N. */
+  public int nRunCount() {
+    return runStart.length;
+  }
+
+  /** True if backed by a file mapping, false for a direct buffer. */
+  public boolean isMapped() {
+    return mapped;
+  }
+
+  /** Off-heap bytes held by the packed bases (about length / 4). */
+  public long sizeInBytes() {
+    return 8L * words.capacity();
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    if (start < 0 || end > length || start > end) {
+      throw new IndexOutOfBoundsException("[" + start + ", " + end + ") of " + length);
+    }
+    byte[] text = new byte[end - start];
+    codesAt(start, end, text);
+    for (int i = 0; i < text.length; i++) {
+      text[i] = (byte) (text[i] < 0 ? 'N' : KmerCodec.base(text[i]));
+    }
+    return new String(text, StandardCharsets.ISO_8859_1);
+  }
+
+  @Override
+  public String toString() {
+    return subSequence(0, length).toString();
+  }
+
+  private static int wordCount(int length) {
+    return (length + 31) >>> 5;
+  }
+
+  private static void flush(FileChannel out, ByteBuffer buf) throws IOException {
+    buf.flip();
+    while (buf.hasRemaining()) out.write(buf);
+    buf.clear();
+  }
+}
@@ -0,0 +1,212 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * All-pairs edit distances of a set of sequences, stored as the condensed upper triangle: the
+ * distance of pair (i, j), i &lt; j, is at {@link #index(int, int, int)}, row by row, n (n - 1) / 2
+ * ints in all (the layout of SciPy's {@code pdist}).
+ *
+ * <p>The pairs are cut into square tiles of {@value #TILE} x {@value #TILE} sequences so a tile
+ * keeps its few sequences hot in cache, and runs of tiles are handed to the fork-join pool. Each
+ * leaf task owns one {@link BoundedEditDistance} for all the pairs it computes, so DP buffers are
+ * reused rather than allocated per pair.
+ *
+ * <p>With a threshold t, a pair whose distance is certainly above t is not aligned at all: the
+ * distance is at least the length difference, and at least half the L1 difference of the base
+ * compositions (an edit changes the counts by at most 2). Pairs that pass go through the banded
+ * engine, which stops once a row exceeds t. Distances above t are reported as t + 1.
+ */
+public final class DistanceMatrix {
+
+  /** Sequences per tile side. */
+  static final int TILE = 32;
+
+  /** Largest set accepted: the triangle has about 50 million entries. */
+  public static final int MAX_SEQUENCES = 10_000;
+
+  private final int size;
+  private final int[] distances;
+  private final long prunedPairs;
+  private final long cellsComputed;
+
+  private DistanceMatrix(int size, int[] distances, long prunedPairs, long cellsComputed) {
+    this.size = size;
+    this.distances = distances;
+    this.prunedPairs = prunedPairs;
+    this.cellsComputed = cellsComputed;
+  }
+
+  /** Exact distances of every pair. */
+  public static DistanceMatrix compute(List<? extends CharSequence> sequences, ForkJoinPool pool) {
+    return compute(sequences, -1, pool, ProgressMonitor.NONE);
+  }
+
+  /**
+   * Distances of every pair, capped at {@code maxDistance + 1} when {@code maxDistance} is not
+   * negative. Reports one unit per pair to {@code monitor}, a tile at a time.
+   */
+  public static DistanceMatrix compute(
+      List<? extends CharSequence> sequences,
+      int maxDistance,
+      ForkJoinPool pool,
+      ProgressMonitor monitor) {
+    int n = sequences.size();
+    if (n > MAX_SEQUENCES) {
+      throw new IllegalArgumentException("At most " + MAX_SEQUENCES + " sequences per matrix");
+    }
+    CharSequence[] seqs = sequences.toArray(new CharSequence[0]);
+    int[][] composition = new int[n][];
+    for (int i = 0; i < n; i++) {
+      if (seqs[i] == null) throw new IllegalArgumentException("sequences[" + i + "] is null");
+      composition[i] = maxDistance >= 0 ? composition(seqs[i]) : null;
+    }
+
+    int[] distances = new int[n * (n - 1) / 2];
+    int tiles = (n + TILE - 1) / TILE;
+    int[] tileRow = new int[tiles * (tiles + 1) / 2];
+    int[] tileCol = new int[tileRow.length];
+    for (int r = 0, t = 0; r < tiles; r++) {
+      for (int c = r; c < tiles; c++, t++) {
+        tileRow[t] = r;
+        tileCol[t] = c;
+      }
+    }
+    monitor.begin("distance matrix", (long) n * (n - 1) / 2);
+    AtomicLong pruned = new AtomicLong();
+    AtomicLong cells = new AtomicLong();
+    int leaf = Math.max(1, tileRow.length / (pool.getParallelism() * 8));
+    Work work =
+        new Work(
+            seqs, composition, maxDistance, distances, tileRow, tileCol, pruned, cells, monitor);
+    pool.invoke(new TileTask(work, 0, tileRow.length, leaf));
+    return new DistanceMatrix(n, distances, pruned.get(), cells.get());
+  }
+
+  /** Position of pair (i, j), i &lt; j, in the condensed triangle of n sequences. */
+  public static long index(int i, int j, int n) {
+    return (long) i * n - (long) i * (i + 1) / 2 + (j - i - 1);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** Distance between sequences i and j (0 when i == j). */
+  public int get(int i, int j) {
+    if (i == j) return 0;
+    return i < j ? distances[(int) index(i, j, size)] : distances[(int) index(j, i, size)];
+  }
+
+  /** The condensed upper triangle itself (not a copy). */
+  public int[] condensed() {
+    return distances;
+  }
+
+  /** Pairs settled by the composition / length bound without running an alignment. */
+  public long prunedPairs() {
+    return prunedPairs;
+  }
+
+  /** DP cells evaluated over all pairs (see {@link BoundedEditDistance#cellsComputed()}). */
+  public long cellsComputed() {
+    return cellsComputed;
+  }
+
+  // counts of A, C, G, T (any case) and everything else
+  private static int[] composition(CharSequence seq) {
+    int[] counts = new int[5];
+    for (int i = 0, len = seq.length(); i < len; i++) {
+      int code = KmerCodec.baseCode(seq.charAt(i));
+      counts[code < 0 ? 4 : code]++;
+    }
+    return counts;
+  }
+
+  // lower bound on the edit distance: a substitution moves one count down and another up, an
+  // indel moves one count, so distance >= ceil(L1 / 2); and always >= the length difference
+  private static int lowerBound(int[] a, int[] b, int lengthGap) {
+    int l1 = 0;
+    for (int c = 0; c < a.length; c++) l1 += Math.abs(a[c] - b[c]);
+    return Math.max(lengthGap, (l1 + 1) / 2);
+  }
+
+  // shared, read-only state of one computation (only distances and the counters are written,
+  // each distance slot by exactly one task)
+  private record Work(
+      CharSequence[] seqs,
+      int[][] composition,
+      int maxDistance,
+      int[] distances,
+      int[] tileRow,
+      int[] tileCol,
+      AtomicLong pruned,
+      AtomicLong cells,
+      ProgressMonitor monitor) {}
+
+  private static final class TileTask extends RecursiveAction {
+    private final Work work;
+    private final int from;
+    private final int to;
+    private final int leaf;
+
+    TileTask(Work work, int from, int to, int leaf) {
+      this.work = work;
+      this.from = from;
+      this.to = to;
+      this.leaf = leaf;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > leaf) {
+        int mid = (from + to) >>> 1;
+        invokeAll(new TileTask(work, from, mid, leaf), new TileTask(work, mid, to, leaf));
+        return;
+      }
+      BoundedEditDistance engine = new BoundedEditDistance();
+      for (int t = from; t < to; t++) {
+        computeTile(engine, work.tileRow()[t] * TILE, work.tileCol()[t] * TILE);
+      }
+      work.cells().addAndGet(engine.cellsComputed());
+    }
+
+    private void computeTile(BoundedEditDistance engine, int rowStart, int colStart) {
+      CharSequence[] seqs = work.seqs();
+      int n = seqs.length;
+      int maxDistance = work.maxDistance();
+      int rowEnd = Math.min(rowStart + TILE, n);
+      int colEnd = Math.min(colStart + TILE, n);
+      long pairs = 0;
+      long pruned = 0;
+      for (int i = rowStart; i < rowEnd; i++) {
+        CharSequence a = seqs[i];
+        int base = (int) index(i, i + 1, n) - (i + 1); // index(i, j) = base + j on this row
+        for (int j = Math.max(colStart, i + 1); j < colEnd; j++) {
+          CharSequence b = seqs[j];
+          int d;
+          if (maxDistance < 0) {
+            d = engine.distance(a, b);
+          } else if (certainlyAbove(i, j, maxDistance)) {
+            d = maxDistance + 1;
+            pruned++;
+          } else {
+            d = engine.distance(a, b, maxDistance);
+          }
+          work.distances()[base + j] = d;
+          pairs++;
+        }
+      }
+      if (pruned > 0) work.pruned().addAndGet(pruned);
+      work.monitor().worked(pairs);
+    }
+
+    private boolean certainlyAbove(int i, int j, int maxDistance) {
+      int lengthGap = Math.abs(work.seqs()[i].length() - work.seqs()[j].length());
+      return lowerBound(work.composition()[i], work.composition()[j], lengthGap) > maxDistance;
+    }
+  }
+}
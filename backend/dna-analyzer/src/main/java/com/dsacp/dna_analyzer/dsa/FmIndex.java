@@ -0,0 +1,200 @@
+package com.dsacp.dna_analyzer.dsa;
+
+/**
+ * Compressed full-text index (FM-index) over an upper-case ACGT text.
+ *
+ * <p>Holds only:
+ *
+ * <ul>
+ *   <li>the Burrows-Wheeler transform, 2 bits per symbol (the single sentinel row is remembered
+ *       separately);
+ *   <li>occurrence checkpoints every 64 rows, so rank(c, i) is one checkpoint read plus a popcount;
+ *   <li>a suffix array sampled at every {@code sampleRate}-th text position, with a rank bit vector
+ *       marking the sampled rows.
+ * </ul>
+ *
+ * <p>With the default rate of 32 that is under one byte per base, against 8+ bytes for {@link
+ * SuffixArray}. {@link #count} is an O(m) backward search; {@link #positions} additionally walks each
+ * hit back to a sampled row (at most {@code sampleRate} LF steps per hit).
+ */
+public class FmIndex implements SequenceIndex {
+
+  public static final int DEFAULT_SAMPLE_RATE = 32;
+
+  private static final long LOW_BITS = 0x5555555555555555L;
+
+  private final int n; // text length (rows = n + 1, row 0 is the sentinel suffix)
+  private final int rows;
+  private final long[] bwt; // 2-bit symbols, 32 per word, row r at bits 62 - 2 * (r & 31)
+  private final int dollarRow; // row whose BWT symbol is the sentinel (encoded as A in bwt)
+  private final int[] occ; // occ[4 * b + c] = count of c in bwt rows [0, 64 * b)
+  private final int[] c = new int[5]; // c[x] = rows whose suffix starts with a symbol < x
+  private final int sampleRate;
+  private final long[] sampled; // 1 bit per row: SA value of the row is sampled
+  private final int[] sampledRank; // sampled rows before each 64-row block
+  private final int[] samples; // SA values of sampled rows, in row order
+
+  public FmIndex(CharSequence text) {
+    this(text, DEFAULT_SAMPLE_RATE);
+  }
+
+  public FmIndex(CharSequence text, int sampleRate) {
+    this(text, sampleRate, ProgressMonitor.NONE);
+  }
+
+  /** Build reporting to {@code monitor}; cancelling it aborts the suffix sort. */
+  public FmIndex(CharSequence text, int sampleRate, ProgressMonitor monitor) {
+    if (sampleRate < 1) throw new IllegalArgumentException("sampleRate must be >= 1");
+    if (!supports(text)) {
+      throw new IllegalArgumentException("FM-index text must contain only upper-case A, C, G, T");
+    }
+    this.n = text.length();
+    this.rows = n + 1;
+    this.sampleRate = sampleRate;
+
+    // suffix array of text + sentinel over the alphabet $=0 A=1 C=2 G=3 T=4
+    int[] s = new int[rows];
+    for (int i = 0; i < n; i++) s[i] = KmerCodec.baseCode(text.charAt(i)) + 1;
+    monitor.begin("suffix array", 7L * rows);
+    int[] sa = SuffixArray.sais(s, 4, monitor);
+
+    int blocks = (rows >>> 6) + 1;
+    this.bwt = new long[(rows + 31) >>> 5];
+    this.occ = new int[4 * blocks];
+    this.sampled = new long[blocks];
+    this.sampledRank = new int[blocks];
+    this.samples = new int[n / sampleRate + 1];
+
+    int[] counts = new int[4];
+    int dollar = -1;
+    int sampleCount = 0;
+    for (int r = 0; r < rows; r++) {
+      if ((r & 63) == 0) {
+        System.arraycopy(counts, 0, occ, 4 * (r >>> 6), 4);
+        sampledRank[r >>> 6] = sampleCount;
+      }
+      int pos = sa[r];
+      if (pos == 0) {
+        dollar = r;
+      } else {
+        int sym = s[pos - 1] - 1;
+        bwt[r >>> 5] |= (long) sym << (62 - 2 * (r & 31));
+        counts[sym]++;
+      }
+      if (pos % sampleRate == 0) {
+        sampled[r >>> 6] |= 1L << (r & 63);
+        samples[sampleCount++] = pos;
+      }
+    }
+    if ((rows & 63) == 0) {
+      // rank(sym, rows) reads the checkpoint just past the last row
+      System.arraycopy(counts, 0, occ, 4 * (rows >>> 6), 4);
+      sampledRank[rows >>> 6] = sampleCount;
+    }
+    this.dollarRow = dollar;
+
+    c[0] = 1; // the sentinel row
+    for (int x = 0; x < 4; x++) c[x + 1] = c[x] + counts[x];
+  }
+
+  /** True if the text can be indexed (upper-case ACGT only). */
+  public static boolean supports(CharSequence text) {
+    for (int i = 0, len = text.length(); i < len; i++) {
+      char ch = text.charAt(i);
+      if (ch != 'A' && ch != 'C' && ch != 'G' && ch != 'T') return false;
+    }
+    return true;
+  }
+
+  public int getSampleRate() {
+    return sampleRate;
+  }
+
+  // number of rows r' < r whose BWT symbol is sym (0..3)
+  private int rank(int sym, int r) {
+    int block = r >>> 6;
+    int count = occ[4 * block + sym];
+    int word = block << 1;
+    int inBlock = r & 63;
+    if (inBlock >= 32) {
+      count += countInWord(bwt[word], sym, 32);
+      word++;
+      inBlock -= 32;
+    }
+    if (inBlock > 0) count += countInWord(bwt[word], sym, inBlock);
+    // the sentinel is stored as A
+    if (sym == 0 && dollarRow < r && dollarRow >= (r & ~63)) count--;
+    return count;
+  }
+
+  // occurrences of sym among the first `len` (1..32) symbols of a packed word
+  private static int countInWord(long w, int sym, int len) {
+    long x = w ^ (LOW_BITS * sym); // equal symbols become 00
+    long eq = ~(x | (x >>> 1)) & LOW_BITS; // one bit per matching symbol (its low bit)
+    return Long.bitCount(eq >>> (64 - 2 * len));
+  }
+
+  private int symbolAt(int r) {
+    return (int) (bwt[r >>> 5] >>> (62 - 2 * (r & 31))) & 3;
+  }
+
+  // LF mapping: row of the suffix starting one position earlier
+  private int lf(int r) {
+    int sym = symbolAt(r);
+    return c[sym] + rank(sym, r);
+  }
+
+  /** Half-open row range [lo, hi) of suffixes prefixed by {@code pattern}, or null if none. */
+  private int[] range(String pattern) {
+    int lo = 0;
+    int hi = rows;
+    for (int i = pattern.length() - 1; i >= 0 && lo < hi; i--) {
+      int sym = KmerCodec.baseCode(pattern.charAt(i));
+      if (sym < 0 || Character.isLowerCase(pattern.charAt(i))) return null;
+      lo = c[sym] + rank(sym, lo);
+      hi = c[sym] + rank(sym, hi);
+    }
+    return lo < hi ? new int[] {lo, hi} : null;
+  }
+
+  /** Number of occurrences of {@code pattern}, by backward search only (no locate). */
+  @Override
+  public int count(String pattern) {
+    if (pattern == null || pattern.isEmpty()) return 0;
+    int[] r = range(pattern);
+    return r == null ? 0 : r[1] - r[0];
+  }
+
+  /** Text position of the suffix in row {@code r}. */
+  public int locate(int r) {
+    int steps = 0;
+    while ((sampled[r >>> 6] & (1L << (r & 63))) == 0) {
+      r = lf(r);
+      steps++;
+    }
+    long below = sampled[r >>> 6] & ((1L << (r & 63)) - 1);
+    return samples[sampledRank[r >>> 6] + Long.bitCount(below)] + steps;
+  }
+
+  @Override
+  public int[] positions(String pattern) {
+    if (pattern == null || pattern.isEmpty()) return new int[0];
+    int[] r = range(pattern);
+    if (r == null) return new int[0];
+    int[] hits = new int[r[1] - r[0]];
+    for (int row = r[0]; row < r[1]; row++) hits[row - r[0]] = locate(row);
+    RadixSort.sort(hits, hits.length);
+    return hits;
+  }
+
+  @Override
+  public int length() {
+    return n;
+  }
+
+  @Override
+  public long sizeInBytes() {
+    return 8L * (bwt.length + sampled.length)
+        + 4L * (occ.length + sampledRank.length + samples.length);
+  }
+}
@@ -1,9 +1,8 @@
 package com.dsacp.dna_analyzer.dsa;
 
 import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 // public class FrequencyAnalyzer {
 //     public Map<String, Integer> calculateFrequency(String dna, int k) {
@@ -20,116 +19,144 @@ import java.util.Map;
 // }
 //
 
+/**
+ * K-mer frequency analysis on top of {@link KmerCounter}.
+ *
+ * <p>k-mers are packed 2 bits per base into a {@code long} and counted in a primitive table, so
+ * the scan allocates nothing per position. Characters other than A/C/G/T (e.g. N) break the
+ * k-mer run: windows containing them are skipped rather than counted as their own k-mers.
+ */
 public class FrequencyAnalyzer {
 
-  // --- Custom Entry Class (for the linked list nodes) ---
-  private static class CustomEntry {
-    final String key;
-    long value;
+  /**
+   * Counts k-mers into a packed {@link KmerCounter}; use this when the caller can work with codes
+   * directly instead of strings.
+   */
+  public KmerCounter countKmers(CharSequence dnaSequence, int k) {
+    KmerCounter counter = new KmerCounter(k);
+    counter.count(dnaSequence);
+    return counter;
+  }
 
-    CustomEntry(String key, long value) {
-      this.key = key;
-      this.value = value;
-    }
+  /** Analyzes k-mer frequency and returns the counts keyed by (upper-case) k-mer. */
+  public Map<String, Integer> calculateFrequency(CharSequence dnaSequence, int k) {
+    return calculateFrequency(dnaSequence, k, ProgressMonitor.NONE);
   }
 
-  // --- Custom Simple Map Implementation (built from scratch) ---
-  // NOTE: This class replaces the functionality of java.util.HashMap
-  private static class CustomSimpleMap {
-    private static final int DEFAULT_CAPACITY = 100;
-    // The backing array of linked lists (buckets)
-    private final List<CustomEntry>[] table;
-
-    @SuppressWarnings("unchecked")
-    public CustomSimpleMap() {
-      // Initialize the array of LinkedLists
-      this.table = new LinkedList[DEFAULT_CAPACITY];
-      for (int i = 0; i < DEFAULT_CAPACITY; i++) {
-        // Uses LinkedList, a fundamental list implementation
-        table[i] = new LinkedList<>();
-      }
+  /** Sequential counting that reports the bases scanned to {@code monitor}. */
+  public Map<String, Integer> calculateFrequency(
+      CharSequence dnaSequence, int k, ProgressMonitor monitor) {
+    if (dnaSequence == null || k <= 0 || dnaSequence.length() < k) {
+      return new HashMap<>();
     }
-
-    /**
-     * Custom simple hash function: Sums up character values. IMPORTANT: This avoids using
-     * String.hashCode().
-     */
-    private int getBucketIndex(String key) {
-      int hash = 0;
-      // Simple summation of character values
-      for (char c : key.toCharArray()) {
-        hash += c;
-      }
-      // Modulo by capacity to get the bucket index
-      return Math.abs(hash) % DEFAULT_CAPACITY;
+    if (k > KmerCodec.MAX_K) {
+      monitor.begin("k-mer counting", dnaSequence.length());
+      return calculateLongKmerFrequency(dnaSequence, k, monitor);
     }
+    return countKmers(dnaSequence, k, monitor).toMap();
+  }
 
-    /** Puts a key-value pair, updating the value if the key already exists. */
-    public void put(String key, long value) {
-      int index = getBucketIndex(key);
-      List<CustomEntry> bucket = table[index];
-
-      // 1. Search for an existing key (collision handling)
-      for (CustomEntry entry : bucket) {
-        if (entry.key.equals(key)) {
-          entry.value = value; // Update existing value
-          return;
-        }
-      }
-      // 2. Key not found, add a new entry to the bucket
-      bucket.add(new CustomEntry(key, value));
-    }
+  /**
+   * Sequential packed counting reporting the bases scanned to {@code monitor}; {@code k} must be
+   * between 1 and {@link KmerCodec#MAX_K}.
+   */
+  public KmerCounter countKmers(CharSequence dnaSequence, int k, ProgressMonitor monitor) {
+    monitor.begin("k-mer counting", dnaSequence.length());
+    KmerCounter counter = new KmerCounter(k);
+    counter.count(dnaSequence, 0, dnaSequence.length(), monitor);
+    return counter;
+  }
 
-    /** Retrieves the value for a key or returns a default value if not found. */
-    public long getOrDefault(String key, long defaultValue) {
-      int index = getBucketIndex(key);
-      List<CustomEntry> bucket = table[index];
+  /**
+   * Same result as {@link #calculateFrequency(CharSequence, int)}, but the counting is split across the
+   * given fork-join pool (see {@link ParallelKmerCounter}).
+   */
+  public Map<String, Integer> calculateFrequency(CharSequence dnaSequence, int k, ForkJoinPool pool) {
+    return calculateFrequency(dnaSequence, k, pool, ProgressMonitor.NONE);
+  }
 
-      // Search for the key in the bucket
-      for (CustomEntry entry : bucket) {
-        if (entry.key.equals(key)) {
-          return entry.value;
-        }
-      }
-      // Key not found
-      return defaultValue;
+  /** Parallel counting; the leaves report the bases they scan to {@code monitor}. */
+  public Map<String, Integer> calculateFrequency(
+      CharSequence dnaSequence, int k, ForkJoinPool pool, ProgressMonitor monitor) {
+    if (dnaSequence == null || k <= 0 || dnaSequence.length() < k) {
+      return new HashMap<>();
     }
+    if (k > KmerCodec.MAX_K) {
+      monitor.begin("k-mer counting", dnaSequence.length());
+      return calculateLongKmerFrequency(dnaSequence, k, monitor);
+    }
+    return countKmers(dnaSequence, k, pool, monitor).toMap();
+  }
 
-    /** Converts the custom map structure into a normal Java Map. */
-    public Map<String, Integer> toStandardMap() {
-      Map<String, Integer> map = new HashMap<>();
-      for (List<CustomEntry> bucket : table) {
-        for (CustomEntry entry : bucket) {
-          map.put(entry.key, (int) entry.value);
-        }
+  /** Parallel packed counting; same contract as the sequential {@code countKmers}. */
+  public KmerCounter countKmers(
+      CharSequence dnaSequence, int k, ForkJoinPool pool, ProgressMonitor monitor) {
+    monitor.begin("k-mer counting", dnaSequence.length());
+    return new ParallelKmerCounter(pool).count(dnaSequence, k, monitor);
+  }
+
+  // k-mers longer than 32 bases no longer fit in a long: fall back to string keys, but keep the
+  // same skipping rule for non-ACGT characters as the packed path
+  private Map<String, Integer> calculateLongKmerFrequency(
+      CharSequence dnaSequence, int k, ProgressMonitor monitor) {
+    LongKmerCounter counter = new LongKmerCounter(k);
+    for (int i = 0; i < dnaSequence.length(); i++) {
+      if ((i & (KmerCounter.PROGRESS_STEP - 1)) == KmerCounter.PROGRESS_STEP - 1) {
+        monitor.worked(KmerCounter.PROGRESS_STEP);
       }
-      return map;
+      counter.feed(dnaSequence.charAt(i));
     }
-
-    // You could add a simple display/toString method here for testing
-    // or a method to retrieve all entries if needed.
+    return counter.toMap();
   }
 
-  // --- Original Function Reimlemented using the Custom Map ---
   /**
-   * Analyzes K-mer frequency using a custom-built hash map structure. NOTE: The return type is now
-   * the custom map class itself, as java.util.Map cannot be used without importing it.
+   * String-keyed counting for k-mers too long to pack, fed one base at a time like {@link
+   * KmerCounter#feed}: the last k bases are kept in a ring, so a sequence arriving in pieces (an
+   * upload) is counted without holding it. Same rolling reset on non-ACGT characters.
    */
-  public Map<String, Integer> calculateFrequency(String dnaSequence, int k) {
+  public static final class LongKmerCounter {
+    private final int k;
+    private final char[] window; // last k bases, upper case, the newest at (run - 1) % k
+    private final Map<String, Integer> counts = new HashMap<>();
+    private long run;
+
+    public LongKmerCounter(int k) {
+      if (k <= 0) {
+        throw new IllegalArgumentException("k must be at least 1: " + k);
+      }
+      this.k = k;
+      this.window = new char[k];
+    }
 
-    // Use the custom map
-    CustomSimpleMap frequencyMap = new CustomSimpleMap();
-    int n = dnaSequence.length();
+    public void feed(char base) {
+      int code = KmerCodec.baseCode(base);
+      if (code < 0) {
+        run = 0;
+        return;
+      }
+      window[(int) (run % k)] = KmerCodec.base(code);
+      if (++run >= k) {
+        // the oldest base of the window sits right after the newest
+        int oldest = (int) (run % k);
+        char[] kmer = new char[k];
+        System.arraycopy(window, oldest, kmer, 0, k - oldest);
+        System.arraycopy(window, 0, kmer, k - oldest, oldest);
+        counts.merge(new String(kmer), 1, Integer::sum);
+      }
+    }
 
-    // Single traversal of the sequence (O(n) time)
-    for (int i = 0; i <= n - k; i++) {
-      String kmer = dnaSequence.substring(i, i + k);
+    /** Ends the sequence being fed, so no k-mer spans it and the next one. */
+    public void endFeed() {
+      run = 0;
+    }
 
-      // Core logic: Update the frequency using the custom map's methods
-      frequencyMap.put(kmer, frequencyMap.getOrDefault(kmer, 0L) + 1);
+    /** Distinct k-mers counted so far. */
+    public int distinctKmers() {
+      return counts.size();
     }
 
-    return frequencyMap.toStandardMap();
+    public Map<String, Integer> toMap() {
+      return counts;
+    }
   }
 }
-
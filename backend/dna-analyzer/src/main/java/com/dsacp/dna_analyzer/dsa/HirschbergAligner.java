@@ -0,0 +1,312 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Global alignment in linear space (Hirschberg), returning the edit script rather than just the
+ * distance.
+ *
+ * <p>The longer sequence is halved. The shorter one is split where the forward score row of the
+ * top half plus the reverse score row of the bottom half is smallest, and both halves are then
+ * solved recursively. Score rows come from {@link MyersEditDistance#lastRow}, 64 cells per word
+ * operation. Small blocks are finished with a plain traceback matrix. Besides the one byte per
+ * step of the edit script, a running task holds two score rows over the shorter sequence and a
+ * bit-vector column over the longer one (one bit per base per symbol), never an m x n matrix.
+ *
+ * <p>The two score rows of a split are independent, and so are the two halves, so large
+ * subproblems fork on the pool. Each step of the script is written at slot i + j of its starting
+ * cell (i, j). Sibling subproblems cover disjoint slot ranges, so tasks write to the shared array
+ * without coordination.
+ */
+public class HirschbergAligner {
+
+  /** Kind of a difference of B relative to A (A is the reference). */
+  public enum EditType {
+    SUBSTITUTION,
+    INSERTION,
+    DELETION
+  }
+
+  /**
+   * A run of consecutive edits of one kind. Positions are 0-based starts in A and B; an insertion
+   * goes before {@code positionA}.
+   */
+  public record Edit(
+      EditType type, int positionA, int positionB, String reference, String alternate) {}
+
+  /** Alignment of A against B: edit distance, extended CIGAR (=, X, I, D) and the edit runs. */
+  public record Alignment(int distance, String cigar, List<Edit> edits) {}
+
+  // steps, in the orientation of the task (rows = split sequence, cols = the other one)
+  private static final byte MATCH = '=';
+  private static final byte MISMATCH = 'X';
+  private static final byte ROW_ONLY = 'D';
+  private static final byte COL_ONLY = 'I';
+
+  /** Blocks up to this many DP cells are solved with a full traceback matrix. */
+  private static final int BASE_CELLS = 1 << 14;
+
+  /** Subproblems below this many cells run inline instead of forking. */
+  private static final long PARALLEL_CELLS = 1L << 24;
+
+  private final ForkJoinPool pool;
+  private final ProgressMonitor monitor;
+
+  public HirschbergAligner(ForkJoinPool pool) {
+    this(pool, ProgressMonitor.NONE);
+  }
+
+  /**
+   * Aligner reporting DP cells to {@code monitor}: about 2 m n in all, since each level of the
+   * recursion computes half the cells of the one above it.
+   */
+  public HirschbergAligner(ForkJoinPool pool, ProgressMonitor monitor) {
+    this.pool = pool;
+    this.monitor = monitor;
+  }
+
+  public Alignment align(CharSequence a, CharSequence b) {
+    // split the longer sequence so the score rows are as short as possible
+    boolean swapped = b.length() > a.length();
+    CharSequence rows = swapped ? b : a;
+    CharSequence cols = swapped ? a : b;
+    byte[] steps = new byte[rows.length() + cols.length()];
+    monitor.begin("alignment", 2L * rows.length() * cols.length());
+    pool.invoke(new AlignTask(rows, cols, steps, 0, rows.length(), 0, cols.length(), monitor));
+    return collect(a, b, steps, swapped);
+  }
+
+  // walks the step slots and builds the CIGAR and the merged edit runs
+  private static Alignment collect(CharSequence a, CharSequence b, byte[] steps, boolean swapped) {
+    StringBuilder cigar = new StringBuilder();
+    List<Edit> edits = new ArrayList<>();
+    int distance = 0;
+    int i = 0;
+    int j = 0;
+    int slot = 0;
+    while (slot < steps.length) {
+      byte op = orient(steps[slot], swapped);
+      int runLength = 0;
+      int startA = i;
+      int startB = j;
+      while (slot < steps.length && orient(steps[slot], swapped) == op) {
+        boolean diagonal = op == MATCH || op == MISMATCH;
+        if (diagonal || op == ROW_ONLY) i++;
+        if (diagonal || op == COL_ONLY) j++;
+        slot += diagonal ? 2 : 1;
+        runLength++;
+      }
+      cigar.append(runLength).append((char) op);
+      if (op == MATCH) continue;
+      distance += runLength;
+      String ref = a.subSequence(startA, i).toString();
+      String alt = b.subSequence(startB, j).toString();
+      EditType type =
+          op == MISMATCH
+              ? EditType.SUBSTITUTION
+              : op == COL_ONLY ? EditType.INSERTION : EditType.DELETION;
+      edits.add(new Edit(type, startA, startB, ref, alt));
+    }
+    return new Alignment(distance, cigar.toString(), edits);
+  }
+
+  // steps are recorded with rows = the split sequence; map them back to A/B terms
+  private static byte orient(byte op, boolean swapped) {
+    if (!swapped) return op;
+    if (op == ROW_ONLY) return COL_ONLY;
+    if (op == COL_ONLY) return ROW_ONLY;
+    return op;
+  }
+
+  private static final class AlignTask extends RecursiveAction {
+    private final CharSequence rows;
+    private final CharSequence cols;
+    private final byte[] steps;
+    private final int rowLo;
+    private final int rowHi;
+    private final int colLo;
+    private final int colHi;
+    private final ProgressMonitor monitor;
+
+    AlignTask(
+        CharSequence rows,
+        CharSequence cols,
+        byte[] steps,
+        int rowLo,
+        int rowHi,
+        int colLo,
+        int colHi,
+        ProgressMonitor monitor) {
+      this.rows = rows;
+      this.cols = cols;
+      this.steps = steps;
+      this.rowLo = rowLo;
+      this.rowHi = rowHi;
+      this.colLo = colLo;
+      this.colHi = colHi;
+      this.monitor = monitor;
+    }
+
+    @Override
+    protected void compute() {
+      int height = rowHi - rowLo;
+      int width = colHi - colLo;
+      if (height == 0) {
+        for (int j = colLo; j < colHi; j++) steps[rowLo + j] = COL_ONLY;
+        return;
+      }
+      if (width == 0) {
+        for (int i = rowLo; i < rowHi; i++) steps[i + colLo] = ROW_ONLY;
+        return;
+      }
+      if (height == 1) {
+        alignSingleRow();
+        return;
+      }
+      if ((long) (height + 1) * (width + 1) <= BASE_CELLS) {
+        alignWithMatrix(height, width);
+        return;
+      }
+
+      int mid = (rowLo + rowHi) >>> 1;
+      CharSequence colPart = new Window(cols, colLo, colHi, false);
+      boolean parallel = (long) height * width >= PARALLEL_CELLS;
+      int[] forward;
+      int[] reverse;
+      if (parallel) {
+        ForkJoinTask<int[]> tail = ForkJoinTask.adapt(() -> reverseRow(mid)).fork();
+        forward = forwardRow(mid, colPart);
+        reverse = tail.join();
+      } else {
+        forward = forwardRow(mid, colPart);
+        reverse = reverseRow(mid);
+      }
+
+      // reverse[width - s] is the distance of rows[mid, rowHi) to cols[colLo + s, colHi)
+      int split = 0;
+      int best = Integer.MAX_VALUE;
+      for (int s = 0; s <= width; s++) {
+        int total = forward[s] + reverse[width - s];
+        if (total < best) {
+          best = total;
+          split = s;
+        }
+      }
+      AlignTask top = new AlignTask(rows, cols, steps, rowLo, mid, colLo, colLo + split, monitor);
+      AlignTask bottom =
+          new AlignTask(rows, cols, steps, mid, rowHi, colLo + split, colHi, monitor);
+      if (parallel) {
+        invokeAll(top, bottom);
+      } else {
+        top.compute();
+        bottom.compute();
+      }
+    }
+
+    // score row of rows[mid, rowHi) against every suffix of the column range, computed on the
+    // reversed sequences: result[t] is the distance to the last t column characters
+    private int[] reverseRow(int mid) {
+      return new MyersEditDistance()
+          .lastRow(
+              new Window(rows, mid, rowHi, true), new Window(cols, colLo, colHi, true), monitor);
+    }
+
+    private int[] forwardRow(int mid, CharSequence colPart) {
+      return new MyersEditDistance().lastRow(new Window(rows, rowLo, mid, false), colPart, monitor);
+    }
+
+    // one row character: match it to its first equal column character if any, else substitute
+    private void alignSingleRow() {
+      char c = rows.charAt(rowLo);
+      int at = -1;
+      for (int j = colLo; j < colHi && at < 0; j++) {
+        if (cols.charAt(j) == c) at = j;
+      }
+      byte diagonal = at < 0 ? MISMATCH : MATCH;
+      if (at < 0) at = colLo;
+      for (int j = colLo; j < at; j++) steps[rowLo + j] = COL_ONLY;
+      steps[rowLo + at] = diagonal;
+      for (int j = at + 1; j < colHi; j++) steps[rowLo + 1 + j] = COL_ONLY;
+    }
+
+    private void alignWithMatrix(int height, int width) {
+      int stride = width + 1;
+      int[] d = new int[(height + 1) * stride];
+      for (int j = 0; j <= width; j++) d[j] = j;
+      for (int i = 1; i <= height; i++) {
+        char c = rows.charAt(rowLo + i - 1);
+        int at = i * stride;
+        d[at] = i;
+        for (int j = 1; j <= width; j++) {
+          int sub = d[at - stride + j - 1] + (c == cols.charAt(colLo + j - 1) ? 0 : 1);
+          d[at + j] = Math.min(sub, Math.min(d[at - stride + j], d[at + j - 1]) + 1);
+        }
+      }
+      // trace back, preferring the diagonal
+      int i = height;
+      int j = width;
+      while (i > 0 || j > 0) {
+        int here = d[i * stride + j];
+        if (i > 0 && j > 0) {
+          boolean equal = rows.charAt(rowLo + i - 1) == cols.charAt(colLo + j - 1);
+          if (here == d[(i - 1) * stride + j - 1] + (equal ? 0 : 1)) {
+            i--;
+            j--;
+            steps[rowLo + i + colLo + j] = equal ? MATCH : MISMATCH;
+            continue;
+          }
+        }
+        if (i > 0 && here == d[(i - 1) * stride + j] + 1) {
+          i--;
+          steps[rowLo + i + colLo + j] = ROW_ONLY;
+        } else {
+          j--;
+          steps[rowLo + i + colLo + j] = COL_ONLY;
+        }
+      }
+      monitor.worked((long) height * width);
+    }
+  }
+
+  // read-only window over [from, to) of a sequence, optionally reversed, so sub-alignments don't
+  // copy their inputs
+  private static final class Window implements CharSequence {
+    private final CharSequence seq;
+    private final int from;
+    private final int to;
+    private final boolean reversed;
+
+    Window(CharSequence seq, int from, int to, boolean reversed) {
+      this.seq = seq;
+      this.from = from;
+      this.to = to;
+      this.reversed = reversed;
+    }
+
+    @Override
+    public int length() {
+      return to - from;
+    }
+
+    @Override
+    public char charAt(int index) {
+      return seq.charAt(reversed ? to - 1 - index : from + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return reversed
+          ? new Window(seq, to - end, to - start, true)
+          : new Window(seq, from + start, from + end, false);
+    }
+
+    @Override
+    public String toString() {
+      return new StringBuilder(this).toString();
+    }
+  }
+}
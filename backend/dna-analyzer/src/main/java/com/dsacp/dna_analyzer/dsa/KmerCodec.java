@@ -0,0 +1,90 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.Arrays;
+
+/**
+ * 2-bit packing helpers for k-mers over the DNA alphabet.
+ *
+ * <p>Bases are encoded as A=0, C=1, G=2, T=3 (upper or lower case), so a k-mer of up to 32 bases
+ * fits in a single {@code long}. The first base of the k-mer ends up in the most significant
+ * occupied bits, which keeps the numeric order of codes equal to the lexicographic order of the
+ * k-mers. Any other character (N, IUPAC codes, whitespace...) has no code and breaks a k-mer.
+ */
+public final class KmerCodec {
+
+  /** Largest k whose packed code fits in a {@code long}. */
+  public static final int MAX_K = 32;
+
+  private static final char[] BASES = {'A', 'C', 'G', 'T'};
+
+  // lookup table for the ASCII range, -1 for anything that is not A/C/G/T
+  private static final byte[] CODES = new byte[128];
+
+  static {
+    Arrays.fill(CODES, (byte) -1);
+    CODES['A'] = 0;
+    CODES['a'] = 0;
+    CODES['C'] = 1;
+    CODES['c'] = 1;
+    CODES['G'] = 2;
+    CODES['g'] = 2;
+    CODES['T'] = 3;
+    CODES['t'] = 3;
+  }
+
+  private KmerCodec() {}
+
+  /** Returns the 2-bit code of a base, or -1 if the character is not A/C/G/T. */
+  public static int baseCode(char c) {
+    return c < 128 ? CODES[c] : -1;
+  }
+
+  /** Bases {@link #codes} decodes per call in the scanning loops. */
+  static final int CODE_BLOCK = 1 << 13;
+
+  /**
+   * Writes the 2-bit codes of {@code seq[from, to)} into {@code out}, -1 for non-ACGT. A {@link
+   * DirectPackedSequence} decodes the range in bulk rather than base by base.
+   */
+  public static void codes(CharSequence seq, int from, int to, byte[] out) {
+    if (seq instanceof DirectPackedSequence direct) {
+      direct.codesAt(from, to, out);
+      return;
+    }
+    for (int i = from; i < to; i++) out[i - from] = (byte) baseCode(seq.charAt(i));
+  }
+
+  /** Returns the upper-case base for a 2-bit code. */
+  public static char base(int code) {
+    return BASES[code & 3];
+  }
+
+  /** Bit mask selecting the low 2k bits of a packed code. */
+  public static long mask(int k) {
+    return k >= MAX_K ? -1L : (1L << (2 * k)) - 1;
+  }
+
+  /**
+   * Packs the k-mer starting at {@code from}, or returns -1 if it contains a non-ACGT character.
+   * Only meaningful for k &lt; 32, where -1 cannot be a valid code.
+   */
+  public static long encode(CharSequence seq, int from, int k) {
+    long code = 0;
+    for (int i = 0; i < k; i++) {
+      int b = baseCode(seq.charAt(from + i));
+      if (b < 0) return -1;
+      code = (code << 2) | b;
+    }
+    return code;
+  }
+
+  /** Unpacks a k-mer code back into its upper-case string form. */
+  public static String decode(long code, int k) {
+    char[] out = new char[k];
+    for (int i = k - 1; i >= 0; i--) {
+      out[i] = BASES[(int) (code & 3)];
+      code >>>= 2;
+    }
+    return new String(out);
+  }
+}
@@ -0,0 +1,184 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Allocation-free k-mer counting engine over 2-bit packed codes (see {@link KmerCodec}).
+ *
+ * <p>For small k every possible k-mer gets a slot in a direct-indexed {@code int[4^k]} array; for
+ * larger k (up to 32) counts go into a {@link LongIntHashMap}. The scan keeps a rolling code and a
+ * run length of valid bases, so an N or any other non-ACGT character simply resets the run and no
+ * k-mer spanning it is counted. Nothing is allocated per position.
+ */
+public final class KmerCounter {
+
+  /** Largest k that uses the direct-indexed table (4^10 ints = 4 MB). */
+  public static final int DIRECT_MAX_K = 10;
+
+  /** Bases scanned between two progress reports. */
+  static final int PROGRESS_STEP = 1 << 20;
+
+  private final int k;
+  private final long mask;
+  private final int[] direct; // non-null when k <= DIRECT_MAX_K
+  private final LongIntHashMap table; // non-null otherwise
+  private int directDistinct;
+  private long total;
+  private long feedCode; // rolling state of feed()
+  private int feedRun;
+
+  public KmerCounter(int k) {
+    if (k <= 0 || k > KmerCodec.MAX_K) {
+      throw new IllegalArgumentException("k must be between 1 and " + KmerCodec.MAX_K + ": " + k);
+    }
+    this.k = k;
+    this.mask = KmerCodec.mask(k);
+    if (k <= DIRECT_MAX_K) {
+      this.direct = new int[1 << (2 * k)];
+      this.table = null;
+    } else {
+      this.direct = null;
+      this.table = new LongIntHashMap();
+    }
+  }
+
+  public int getK() {
+    return k;
+  }
+
+  /** Counts every k-mer of the whole sequence. */
+  public void count(CharSequence seq) {
+    count(seq, 0, seq.length());
+  }
+
+  /** Counts every k-mer lying entirely inside {@code seq[from, to)}. */
+  public void count(CharSequence seq, int from, int to) {
+    count(seq, from, to, ProgressMonitor.NONE);
+  }
+
+  /**
+   * Same as {@link #count(CharSequence, int, int)}, reporting one unit per base scanned to {@code
+   * monitor} every {@value #PROGRESS_STEP} bases.
+   */
+  public void count(CharSequence seq, int from, int to, ProgressMonitor monitor) {
+    long code = 0;
+    int run = 0;
+    byte[] codes = new byte[Math.min(KmerCodec.CODE_BLOCK, Math.max(0, to - from))];
+    for (int stepStart = from; stepStart < to; stepStart += PROGRESS_STEP) {
+      int stepEnd = (int) Math.min((long) stepStart + PROGRESS_STEP, to);
+      for (int block = stepStart; block < stepEnd; block += codes.length) {
+        int blockEnd = (int) Math.min((long) block + codes.length, stepEnd);
+        KmerCodec.codes(seq, block, blockEnd, codes);
+        for (int j = 0; j < blockEnd - block; j++) {
+          int b = codes[j];
+          if (b < 0) {
+            run = 0; // rolling reset on N / non-ACGT
+            continue;
+          }
+          code = ((code << 2) | b) & mask;
+          if (++run >= k) add(code, 1);
+        }
+      }
+      monitor.worked(stepEnd - stepStart);
+    }
+  }
+
+  /**
+   * Incremental counting: feeds the next base of a sequence arriving in pieces, with the same
+   * rolling reset as {@link #count} on non-ACGT characters. K-mers span the pieces.
+   */
+  public void feed(char base) {
+    int b = KmerCodec.baseCode(base);
+    if (b < 0) {
+      feedRun = 0;
+      return;
+    }
+    feedCode = ((feedCode << 2) | b) & mask;
+    if (++feedRun >= k) add(feedCode, 1);
+  }
+
+  /** Ends the sequence being fed, so no k-mer spans it and the next one (e.g. between records). */
+  public void endFeed() {
+    feedRun = 0;
+  }
+
+  /** Adds one occurrence of a packed k-mer code. */
+  public void increment(long code) {
+    add(code, 1);
+  }
+
+  /** Adds {@code delta} occurrences of a packed k-mer code. */
+  public void add(long code, int delta) {
+    addAndGet(code, delta);
+  }
+
+  /**
+   * Adds {@code delta} (possibly negative, for rolling windows) occurrences of a packed k-mer code
+   * and returns its new count.
+   */
+  public int addAndGet(long code, int delta) {
+    int after;
+    if (direct != null) {
+      int i = (int) code;
+      int before = direct[i];
+      after = before + delta;
+      direct[i] = after;
+      if (before == 0 && after != 0) directDistinct++;
+      else if (before != 0 && after == 0) directDistinct--;
+    } else {
+      after = table.addAndGet(code, delta);
+    }
+    total += delta;
+    return after;
+  }
+
+  /** Returns the count of a packed k-mer code. */
+  public int get(long code) {
+    return direct != null ? direct[(int) code] : table.get(code);
+  }
+
+  /** Number of distinct k-mers seen. */
+  public int distinctKmers() {
+    return direct != null ? directDistinct : table.size();
+  }
+
+  /** Total number of k-mers counted. */
+  public long totalKmers() {
+    return total;
+  }
+
+  /** Fraction of the table in use: of the 4^k direct slots, or of the hash table's capacity. */
+  public double loadFactor() {
+    return direct != null ? (double) directDistinct / direct.length : table.loadFactor();
+  }
+
+  /** Times the hash table grew while counting; always 0 for a direct table. */
+  public int resizeCount() {
+    return direct != null ? 0 : table.resizeCount();
+  }
+
+  /** Visits every k-mer with a non-zero count. Direct tables are visited in lexicographic order. */
+  public void forEach(LongIntHashMap.EntryConsumer consumer) {
+    if (direct != null) {
+      for (int i = 0; i < direct.length; i++) {
+        if (direct[i] != 0) consumer.accept(i, direct[i]);
+      }
+    } else {
+      table.forEach(consumer);
+    }
+  }
+
+  /** Adds all counts of another counter with the same k into this one. */
+  public void mergeFrom(KmerCounter other) {
+    if (other.k != k) throw new IllegalArgumentException("k mismatch: " + k + " vs " + other.k);
+    other.forEach(this::add);
+  }
+
+  /** Materializes the counts as k-mer strings, the shape returned by the REST API. */
+  public Map<String, Integer> toMap() {
+    Map<String, Integer> map = new HashMap<>(Math.max(16, (int) (distinctKmers() / 0.75f) + 1));
+    forEach((code, count) -> map.put(KmerCodec.decode(code, k), count));
+    return map;
+  }
+}
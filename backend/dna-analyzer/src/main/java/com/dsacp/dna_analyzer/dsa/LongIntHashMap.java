@@ -0,0 +1,213 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.Arrays;
+
+/**
+ * Primitive open-addressing hash map from {@code long} keys to {@code int} counts.
+ *
+ * <p>Built for k-mer counting: keys and values live in two parallel arrays, probing is linear, and
+ * the table doubles itself once it is more than half full. A slot is occupied exactly when its
+ * value is non-zero, so every {@code long} (including 0 and -1) is a valid key and no sentinel is
+ * needed. An entry whose value drops back to zero is removed with backward-shift deletion.
+ */
+public final class LongIntHashMap {
+
+  /** Callback used by {@link #forEach}. */
+  @FunctionalInterface
+  public interface EntryConsumer {
+    void accept(long key, int value);
+  }
+
+  private static final int MIN_CAPACITY = 16;
+
+  private long[] keys;
+  private int[] values;
+  private int mask;
+  private int size;
+  private int resizeCount;
+
+  public LongIntHashMap() {
+    this(MIN_CAPACITY);
+  }
+
+  /** Creates a map able to hold {@code expectedSize} entries without resizing. */
+  public LongIntHashMap(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity < (long) expectedSize * 2 && capacity < (1 << 30)) capacity <<= 1;
+    allocate(capacity);
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new int[capacity];
+    mask = capacity - 1;
+  }
+
+  // murmur3 fmix64: packed k-mers are highly structured, so spread them before masking
+  private static int slot(long key, int mask) {
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    key *= 0xc4ceb9fe1a85ec53L;
+    key ^= key >>> 33;
+    return (int) key & mask;
+  }
+
+  /** Adds {@code delta} to the value stored for {@code key} (absent keys count as 0). */
+  public void addTo(long key, int delta) {
+    addAndGet(key, delta);
+  }
+
+  /**
+   * Same as {@link #addTo}, returning the new value in the same probe; an entry reaching 0 is
+   * removed.
+   */
+  public int addAndGet(long key, int delta) {
+    int i = slot(key, mask);
+    while (values[i] != 0) {
+      if (keys[i] == key) {
+        int v = values[i] + delta;
+        if (v == 0) {
+          removeAt(i);
+        } else {
+          values[i] = v;
+        }
+        return v;
+      }
+      i = (i + 1) & mask;
+    }
+    if (delta == 0) return 0;
+    keys[i] = key;
+    values[i] = delta;
+    if (++size * 2 > keys.length) grow();
+    return delta;
+  }
+
+  /** Shorthand for {@code addTo(key, 1)}, the hot path of k-mer counting. */
+  public void increment(long key) {
+    addTo(key, 1);
+  }
+
+  /** Returns the value stored for {@code key}, or 0 if it is absent. */
+  public int get(long key) {
+    int i = slot(key, mask);
+    while (values[i] != 0) {
+      if (keys[i] == key) return values[i];
+      i = (i + 1) & mask;
+    }
+    return 0;
+  }
+
+  /** Sets the value for {@code key}; a value of 0 removes the entry. */
+  public void put(long key, int value) {
+    int i = slot(key, mask);
+    while (values[i] != 0) {
+      if (keys[i] == key) {
+        if (value == 0) {
+          removeAt(i);
+        } else {
+          values[i] = value;
+        }
+        return;
+      }
+      i = (i + 1) & mask;
+    }
+    if (value == 0) return;
+    keys[i] = key;
+    values[i] = value;
+    if (++size * 2 > keys.length) grow();
+  }
+
+  /** Removes {@code key} and returns its value, or 0 if it was absent. */
+  public int remove(long key) {
+    int i = slot(key, mask);
+    while (values[i] != 0) {
+      if (keys[i] == key) {
+        int v = values[i];
+        removeAt(i);
+        return v;
+      }
+      i = (i + 1) & mask;
+    }
+    return 0;
+  }
+
+  public boolean containsKey(long key) {
+    return get(key) != 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** Number of slots in the backing arrays. */
+  public int capacity() {
+    return keys.length;
+  }
+
+  /** Fraction of slots currently occupied. */
+  public double loadFactor() {
+    return (double) size / keys.length;
+  }
+
+  /** Number of times the table has doubled since it was created. */
+  public int resizeCount() {
+    return resizeCount;
+  }
+
+  public void clear() {
+    Arrays.fill(values, 0);
+    size = 0;
+  }
+
+  /** Visits every entry in table order (not sorted). */
+  public void forEach(EntryConsumer consumer) {
+    long[] k = keys;
+    int[] v = values;
+    for (int i = 0; i < v.length; i++) {
+      if (v[i] != 0) consumer.accept(k[i], v[i]);
+    }
+  }
+
+  /** Adds every entry of {@code other} into this map. */
+  public void addAll(LongIntHashMap other) {
+    other.forEach(this::addTo);
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(oldKeys.length << 1);
+    for (int j = 0; j < oldValues.length; j++) {
+      if (oldValues[j] == 0) continue;
+      int i = slot(oldKeys[j], mask);
+      while (values[i] != 0) i = (i + 1) & mask;
+      keys[i] = oldKeys[j];
+      values[i] = oldValues[j];
+    }
+    resizeCount++;
+  }
+
+  // backward-shift deletion keeps probe chains intact without tombstones
+  private void removeAt(int hole) {
+    int i = hole;
+    while (true) {
+      i = (i + 1) & mask;
+      if (values[i] == 0) break;
+      int home = slot(keys[i], mask);
+      // move entry i into the hole unless its home lies cyclically in (hole, i]
+      boolean stays = hole <= i ? (hole < home && home <= i) : (hole < home || home <= i);
+      if (!stays) {
+        keys[hole] = keys[i];
+        values[hole] = values[i];
+        hole = i;
+      }
+    }
+    values[hole] = 0;
+    size--;
+  }
+}
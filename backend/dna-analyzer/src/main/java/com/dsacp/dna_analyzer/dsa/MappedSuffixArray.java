@@ -0,0 +1,170 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Suffix array index served straight from a memory-mapped {@link SuffixArrayFile}.
+ *
+ * <p>Nothing is deserialized: text, SA and LCP are read from the mapped pages on demand, so opening
+ * even a multi-GB index is instant, its data stays off the Java heap, and several JVMs mapping the
+ * same file share one copy in the OS page cache. Sections larger than 2 GB are mapped as several
+ * 1 GB segments.
+ */
+public final class MappedSuffixArray extends SuffixIndex {
+
+  private static final int SEGMENT_SHIFT = 30;
+  private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+  private final Path path;
+  private final int n; // text length, without sentinel
+  private final boolean packed;
+  private final ByteBuffer[] text;
+  private final ByteBuffer[] sa;
+  private final ByteBuffer[] lcp;
+  private final long fileLength;
+
+  private MappedSuffixArray(
+      Path path,
+      int n,
+      boolean packed,
+      ByteBuffer[] text,
+      ByteBuffer[] sa,
+      ByteBuffer[] lcp,
+      long fileLength) {
+    this.path = path;
+    this.n = n;
+    this.packed = packed;
+    this.text = text;
+    this.sa = sa;
+    this.lcp = lcp;
+    this.fileLength = fileLength;
+  }
+
+  static MappedSuffixArray map(Path path) throws IOException {
+    try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(SuffixArrayFile.HEADER_SIZE);
+      header.order(ByteOrder.LITTLE_ENDIAN);
+      while (header.hasRemaining() && ch.read(header, header.position()) > 0) {}
+      if (header.hasRemaining()) throw corrupt(path, "truncated header");
+      header.flip();
+
+      byte[] magic = new byte[SuffixArrayFile.MAGIC.length];
+      header.get(magic);
+      if (!Arrays.equals(magic, SuffixArrayFile.MAGIC)) throw corrupt(path, "bad magic");
+      int version = header.getInt();
+      if (version != SuffixArrayFile.VERSION) {
+        throw corrupt(path, "unsupported format version " + version);
+      }
+      int encoding = header.getInt();
+      int n = header.getInt();
+      header.getInt();
+      long textOffset = header.getLong();
+      long saOffset = header.getLong();
+      long lcpOffset = header.getLong();
+      long fileLength = header.getLong();
+      if (fileLength != ch.size()) throw corrupt(path, "length mismatch");
+      if (encoding != SuffixArrayFile.TEXT_LATIN1 && encoding != SuffixArrayFile.TEXT_PACKED_2BIT) {
+        throw corrupt(path, "unknown text encoding " + encoding);
+      }
+      if (n < 0) throw corrupt(path, "negative text length");
+
+      boolean packed = encoding == SuffixArrayFile.TEXT_PACKED_2BIT;
+      long textBytes = packed ? (n + 3L) / 4 : n;
+      checkSection(path, "text", textOffset, textBytes, fileLength);
+      checkSection(path, "SA", saOffset, 4L * (n + 1), fileLength);
+      checkSection(path, "LCP", lcpOffset, 4L * (n + 1), fileLength);
+      return new MappedSuffixArray(
+          path,
+          n,
+          packed,
+          mapSection(ch, textOffset, textBytes),
+          mapSection(ch, saOffset, 4L * (n + 1)),
+          mapSection(ch, lcpOffset, 4L * (n + 1)),
+          fileLength);
+    }
+  }
+
+  // mappings stay valid after the channel is closed
+  private static ByteBuffer[] mapSection(FileChannel ch, long offset, long length)
+      throws IOException {
+    int segments = (int) Math.max(1, (length + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+    ByteBuffer[] out = new ByteBuffer[segments];
+    for (int i = 0; i < segments; i++) {
+      long start = (long) i << SEGMENT_SHIFT;
+      long size = Math.min(1L << SEGMENT_SHIFT, length - start);
+      out[i] = ch.map(FileChannel.MapMode.READ_ONLY, offset + start, size);
+      out[i].order(ByteOrder.LITTLE_ENDIAN);
+    }
+    return out;
+  }
+
+  // a section must lie between the header and the end of the file
+  private static void checkSection(Path path, String name, long offset, long length, long fileLength)
+      throws IOException {
+    if (offset < SuffixArrayFile.HEADER_SIZE || offset > fileLength - length) {
+      throw corrupt(path, name + " section out of bounds");
+    }
+  }
+
+  private static IOException corrupt(Path path, String reason) {
+    return new IOException("Not a valid suffix array index file (" + reason + "): " + path);
+  }
+
+  private static int intAt(ByteBuffer[] section, int index) {
+    long offset = 4L * index;
+    return section[(int) (offset >>> SEGMENT_SHIFT)].getInt((int) (offset & SEGMENT_MASK));
+  }
+
+  private static byte byteAt(ByteBuffer[] section, long offset) {
+    return section[(int) (offset >>> SEGMENT_SHIFT)].get((int) (offset & SEGMENT_MASK));
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  /** Size of the mapped file; these pages live in the OS page cache, not on the heap. */
+  public long mappedBytes() {
+    return fileLength;
+  }
+
+  @Override
+  public int length() {
+    return n;
+  }
+
+  @Override
+  public int suffixAt(int rank) {
+    return intAt(sa, rank);
+  }
+
+  @Override
+  public int lcpAt(int rank) {
+    return intAt(lcp, rank);
+  }
+
+  @Override
+  public char charAt(int pos) {
+    if (pos >= n) return '\0';
+    if (packed) {
+      int b = byteAt(text, pos >>> 2);
+      return KmerCodec.base(b >>> (6 - 2 * (pos & 3)));
+    }
+    return (char) (byteAt(text, pos) & 0xFF);
+  }
+
+  /**
+   * Size of the mapped file. The pages are off-heap, but they take the same memory once touched, so
+   * caches charge a mapped index like a heap one.
+   */
+  @Override
+  public long sizeInBytes() {
+    return fileLength;
+  }
+}
@@ -0,0 +1,192 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.Arrays;
+
+/**
+ * Bottom-k MinHash sketch of a sequence's canonical k-mers, for Mash distances (Ondov et al.,
+ * "Mash: fast genome and metagenome distance estimation using MinHash", Genome Biology 17, 2016).
+ *
+ * <p>k-mers are rolled 2 bits per base as in {@link KmerCounter}, together with their reverse
+ * complement, and the smaller of the two codes (the canonical k-mer) is hashed, so a sequence and
+ * its reverse complement get the same sketch. The sketch keeps the {@code size} smallest distinct
+ * hashes. Building it is one pass over the sequence: a hash is only buffered while it is below the
+ * current k-th smallest, which after the first few thousand bases almost none are.
+ *
+ * <p>Comparing two sketches is a merge of their sorted hashes, O(size) whatever the sequence
+ * lengths. The Jaccard index estimate has a standard error of about {@code sqrt(j (1 - j) / size)}.
+ */
+public final class MinHashSketch {
+
+  /** Largest k; canonical codes must fit in a {@code long}. */
+  public static final int MAX_K = KmerCodec.MAX_K;
+
+  private final int k;
+  private final int size;
+  private final long[] hashes; // ascending, distinct, at most size of them
+  private final long kmers;
+
+  private MinHashSketch(int k, int size, long[] hashes, long kmers) {
+    this.k = k;
+    this.size = size;
+    this.hashes = hashes;
+    this.kmers = kmers;
+  }
+
+  /** Sketch of every k-mer of {@code seq} free of non-ACGT characters. */
+  public static MinHashSketch of(CharSequence seq, int k, int size) {
+    return of(seq, k, size, ProgressMonitor.NONE);
+  }
+
+  /** Same, reporting one unit per base scanned to {@code monitor}. */
+  public static MinHashSketch of(CharSequence seq, int k, int size, ProgressMonitor monitor) {
+    if (k < 1 || k > MAX_K) {
+      throw new IllegalArgumentException("k must be between 1 and " + MAX_K);
+    }
+    if (size < 1) {
+      throw new IllegalArgumentException("The sketch size must be at least 1");
+    }
+    long mask = KmerCodec.mask(k);
+    int shift = 2 * (k - 1);
+    // kept hashes plus as many candidates again, compacted back to size whenever it fills up
+    long[] buffer = new long[2 * size];
+    int buffered = 0;
+    long threshold = Long.MAX_VALUE;
+    boolean full = false;
+    long forward = 0;
+    long reverse = 0;
+    int run = 0;
+    long kmers = 0;
+    int length = seq.length();
+    byte[] codes = new byte[Math.min(KmerCodec.CODE_BLOCK, length)];
+    for (int stepStart = 0; stepStart < length; stepStart += KmerCounter.PROGRESS_STEP) {
+      int stepEnd = (int) Math.min((long) stepStart + KmerCounter.PROGRESS_STEP, length);
+      for (int block = stepStart; block < stepEnd; block += codes.length) {
+        int blockEnd = (int) Math.min((long) block + codes.length, stepEnd);
+        KmerCodec.codes(seq, block, blockEnd, codes);
+        for (int j = 0; j < blockEnd - block; j++) {
+          int b = codes[j];
+          if (b < 0) {
+            run = 0;
+            continue;
+          }
+          forward = ((forward << 2) | b) & mask;
+          reverse = (reverse >>> 2) | ((long) (3 - b) << shift);
+          if (++run < k) continue;
+          kmers++;
+          long hash = hash(Math.min(forward, reverse));
+          // once full, a hash equal to the k-th smallest is a duplicate of a kept one
+          if (full ? hash >= threshold : hash > threshold) continue;
+          buffer[buffered++] = hash;
+          if (buffered == buffer.length) {
+            buffered = compact(buffer, buffered, size);
+            if (buffered == size) {
+              full = true;
+              threshold = buffer[size - 1];
+            }
+          }
+        }
+      }
+      monitor.worked(stepEnd - stepStart);
+    }
+    buffered = compact(buffer, buffered, size);
+    return new MinHashSketch(k, size, Arrays.copyOf(buffer, buffered), kmers);
+  }
+
+  // sorts buffer[0, n), drops duplicates and keeps at most limit hashes; returns how many
+  private static int compact(long[] buffer, int n, int limit) {
+    Arrays.sort(buffer, 0, n);
+    int distinct = 0;
+    for (int i = 0; i < n && distinct < limit; i++) {
+      if (distinct == 0 || buffer[i] != buffer[distinct - 1]) buffer[distinct++] = buffer[i];
+    }
+    return distinct;
+  }
+
+  // murmur3 fmix64: a bijection, so distinct canonical k-mers never share a hash
+  static long hash(long code) {
+    code ^= code >>> 33;
+    code *= 0xff51afd7ed558ccdL;
+    code ^= code >>> 33;
+    code *= 0xc4ceb9fe1a85ec53L;
+    code ^= code >>> 33;
+    return code;
+  }
+
+  /**
+   * Compares two sketches of the same k. The smallest {@code min(size)} hashes of their union
+   * stand for a random sample of the union of the two k-mer sets, and the share of them found in
+   * both sketches estimates the Jaccard index.
+   */
+  public Comparison compare(MinHashSketch other) {
+    if (other.k != k) {
+      throw new IllegalArgumentException("Sketches of different k (" + k + " and " + other.k
+          + ") cannot be compared");
+    }
+    int limit = Math.min(size, other.size);
+    long[] a = hashes;
+    long[] b = other.hashes;
+    int i = 0;
+    int j = 0;
+    int union = 0;
+    int shared = 0;
+    while (union < limit && i < a.length && j < b.length) {
+      if (a[i] < b[j]) {
+        i++;
+      } else if (a[i] > b[j]) {
+        j++;
+      } else {
+        shared++;
+        i++;
+        j++;
+      }
+      union++;
+    }
+    // one sketch ran out: the rest of the sample comes from the other alone
+    union = Math.min(limit, union + (a.length - i) + (b.length - j));
+    return new Comparison(shared, union, k);
+  }
+
+  /**
+   * Outcome of {@link #compare}: {@code shared} of the {@code sampled} smallest hashes of the union
+   * are in both sketches.
+   */
+  public record Comparison(int shared, int sampled, int k) {
+
+    /** Estimated Jaccard index of the two k-mer sets; 0 when both are empty. */
+    public double jaccard() {
+      return sampled == 0 ? 0 : (double) shared / sampled;
+    }
+
+    /**
+     * Mash distance, {@code -ln(2j / (1 + j)) / k}: an estimate of the per-base divergence of the
+     * two sequences. 1 when they share no sampled k-mer.
+     */
+    public double mashDistance() {
+      double j = jaccard();
+      return j == 0 ? 1 : Math.min(1, Math.log((1 + j) / (2 * j)) / k);
+    }
+  }
+
+  public int k() {
+    return k;
+  }
+
+  /** Hashes kept at most; a sequence with fewer distinct k-mers keeps them all. */
+  public int size() {
+    return size;
+  }
+
+  /** The kept hashes, ascending. */
+  public long[] hashes() {
+    return hashes.clone();
+  }
+
+  /** Number of k-mers scanned (with repeats). */
+  public long kmers() {
+    return kmers;
+  }
+
+  public long sizeInBytes() {
+    return 8L * hashes.length + 32;
+  }
+}
@@ -1,7 +1,52 @@
 package com.dsacp.dna_analyzer.dsa;
 
+/**
+ * Edit distance (Levenshtein) engines.
+ *
+ * <p>{@link #calculateEditDistance} runs the bit-parallel {@link MyersEditDistance}: O(m n / 64)
+ * time and O(m) memory. {@link #calculateEditDistanceDp} is the original full-matrix DP, kept as
+ * the reference implementation to verify the faster engines against; it needs (m+1)(n+1) ints.
+ * {@link #calculateEditDistance(String, String, int)} answers "is the distance at most d?" in
+ * O(n d) by computing only a diagonal band of the matrix. {@link DistanceMatrix} runs the same
+ * engines over every pair of a set of sequences.
+ */
 public class MutationDetector {
+
   public int calculateEditDistance(String strA, String strB) {
+    return calculateEditDistance(strA, strB, ProgressMonitor.NONE);
+  }
+
+  /** Bit-parallel edit distance reporting DP cells to {@code monitor}. */
+  public int calculateEditDistance(CharSequence strA, CharSequence strB, ProgressMonitor monitor) {
+    if (strA == null) strA = "";
+    if (strB == null) strB = "";
+    monitor.begin("edit distance", (long) strA.length() * strB.length());
+    return new MyersEditDistance().distance(strA, strB, monitor);
+  }
+
+  /**
+   * Threshold-bounded edit distance (see {@link BoundedEditDistance}): O(n * d) for a true
+   * distance d instead of O(n * m).
+   *
+   * @return the distance if it is at most {@code maxDistance}, otherwise {@code maxDistance + 1}
+   */
+  public int calculateEditDistance(String strA, String strB, int maxDistance) {
+    return calculateEditDistance(strA, strB, maxDistance, ProgressMonitor.NONE);
+  }
+
+  /**
+   * Threshold-bounded edit distance reporting to {@code monitor}; each band pass is a phase of
+   * one unit per row.
+   */
+  public int calculateEditDistance(
+      String strA, String strB, int maxDistance, ProgressMonitor monitor) {
+    if (strA == null) strA = "";
+    if (strB == null) strB = "";
+    return new BoundedEditDistance().distance(strA, strB, maxDistance, monitor);
+  }
+
+  /** Reference full-matrix DP. Only suitable for short sequences. */
+  public int calculateEditDistanceDp(String strA, String strB) {
     if (strA == null) strA = "";
     if (strB == null) strB = "";
 
@@ -27,5 +72,41 @@ public class MutationDetector {
     }
     return dp[lenA][lenB];
   }
-}
 
+  /**
+   * Smallest edit distance between {@code pattern} and any prefix of {@code text[from..]}, i.e. how
+   * well the pattern matches when anchored at {@code from} with a free end. Only prefixes of length
+   * m - maxDistance .. m + maxDistance can qualify, so just those columns are computed, two rows at
+   * a time, and the scan stops once a whole row exceeds {@code maxDistance}.
+   *
+   * @return the distance, or {@code maxDistance + 1} if it is larger than {@code maxDistance}
+   */
+  public int prefixEditDistance(
+      CharSequence pattern, CharSequence text, int from, int maxDistance) {
+    int m = pattern.length();
+    int width = Math.min(m + maxDistance, text.length() - from);
+    if (width < m - maxDistance) return maxDistance + 1;
+
+    int[] prev = new int[width + 1];
+    int[] cur = new int[width + 1];
+    for (int j = 0; j <= width; j++) prev[j] = j;
+    for (int i = 1; i <= m; i++) {
+      cur[0] = i;
+      int rowMin = cur[0];
+      char pc = pattern.charAt(i - 1);
+      for (int j = 1; j <= width; j++) {
+        int cost = pc == text.charAt(from + j - 1) ? 0 : 1;
+        int best = Math.min(prev[j - 1] + cost, Math.min(prev[j] + 1, cur[j - 1] + 1));
+        cur[j] = best;
+        if (best < rowMin) rowMin = best;
+      }
+      if (rowMin > maxDistance) return maxDistance + 1;
+      int[] swap = prev;
+      prev = cur;
+      cur = swap;
+    }
+    int best = maxDistance + 1;
+    for (int j = Math.max(0, m - maxDistance); j <= width; j++) best = Math.min(best, prev[j]);
+    return best;
+  }
+}
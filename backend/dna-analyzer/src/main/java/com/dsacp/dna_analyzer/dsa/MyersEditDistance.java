@@ -0,0 +1,148 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bit-parallel Levenshtein distance (Myers 1999, blocked as in Hyyrö 2003).
+ *
+ * <p>The DP matrix is never stored. The shorter string runs down the rows, and one column is kept
+ * as vertical +1/-1 delta bit vectors, 64 rows per {@code long}. Each character of the longer
+ * string advances the column with a handful of word operations per block, the blocks being chained
+ * by the horizontal delta carried out of each one. Time is O(ceil(m/64) * n), memory O(m / 64 *
+ * sigma) words.
+ *
+ * <p>Instances keep their work arrays between calls, so reuse one per thread when computing many
+ * distances. Not thread-safe.
+ */
+public final class MyersEditDistance {
+
+  // text columns advanced between two progress reports
+  private static final int PROGRESS_COLUMNS = 1 << 10;
+
+  // dense symbol ids for the characters of the pattern (0 = not in the pattern)
+  private final int[] asciiSymbol = new int[128];
+  private final Map<Character, Integer> otherSymbol = new HashMap<>();
+  private long[] peq = new long[0]; // peq[symbol * blocks + b]: rows of block b equal to symbol
+  private long[] pv = new long[0];
+  private long[] mv = new long[0];
+
+  /** Edit distance between {@code a} and {@code b} (unit cost insert / delete / substitute). */
+  public int distance(CharSequence a, CharSequence b) {
+    CharSequence pattern = a.length() <= b.length() ? a : b;
+    CharSequence text = pattern == a ? b : a;
+    return run(pattern, text, null, ProgressMonitor.NONE);
+  }
+
+  /**
+   * {@link #distance(CharSequence, CharSequence)} reporting DP cells (m x n in all) to {@code
+   * monitor}; cancelling it stops the column scan.
+   */
+  public int distance(CharSequence a, CharSequence b, ProgressMonitor monitor) {
+    CharSequence pattern = a.length() <= b.length() ? a : b;
+    CharSequence text = pattern == a ? b : a;
+    return run(pattern, text, null, monitor);
+  }
+
+  /**
+   * Bottom row of the DP matrix of {@code pattern} against {@code text}: {@code row[j]} is the
+   * distance between the whole pattern and {@code text[0, j)}, for j = 0..n. This is the score
+   * vector linear-space alignment splits on.
+   */
+  public int[] lastRow(CharSequence pattern, CharSequence text) {
+    return lastRow(pattern, text, ProgressMonitor.NONE);
+  }
+
+  /** {@link #lastRow(CharSequence, CharSequence)} reporting DP cells to {@code monitor}. */
+  public int[] lastRow(CharSequence pattern, CharSequence text, ProgressMonitor monitor) {
+    int[] row = new int[text.length() + 1];
+    run(pattern, text, row, monitor);
+    return row;
+  }
+
+  // advances the column over the whole text; records D[m][j] in row if it is not null
+  private int run(CharSequence pattern, CharSequence text, int[] row, ProgressMonitor monitor) {
+    int m = pattern.length();
+    int n = text.length();
+    if (m == 0) {
+      if (row != null) for (int j = 0; j <= n; j++) row[j] = j;
+      return n;
+    }
+
+    int blocks = (m + 63) >>> 6;
+    buildPeq(pattern, blocks);
+    if (pv.length < blocks) {
+      pv = new long[blocks];
+      mv = new long[blocks];
+    }
+    Arrays.fill(pv, 0, blocks, -1L); // first column: D[i][0] = i, all vertical deltas +1
+    Arrays.fill(mv, 0, blocks, 0L);
+
+    int last = blocks - 1;
+    int lastShift = (m - 1) & 63; // row m inside the last block
+    int score = m;
+    if (row != null) row[0] = m;
+    for (int j = 0; j < n; j++) {
+      int base = symbolOf(text.charAt(j)) * blocks;
+      int hin = 1; // top boundary D[0][j] = j: horizontal delta +1 into the first block
+      for (int blk = 0; blk < last; blk++) {
+        hin = advanceBlock(blk, peq[base + blk], hin, 63);
+      }
+      score += advanceBlock(last, peq[base + last], hin, lastShift);
+      if (row != null) row[j + 1] = score;
+      if ((j & (PROGRESS_COLUMNS - 1)) == PROGRESS_COLUMNS - 1) {
+        monitor.worked((long) PROGRESS_COLUMNS * m);
+      }
+    }
+    monitor.worked((long) (n & (PROGRESS_COLUMNS - 1)) * m);
+    return score;
+  }
+
+  // one column step of block blk; hin/hout are the horizontal deltas (-1, 0, +1) entering the
+  // block's top row and leaving the row at bit `outBit`
+  private int advanceBlock(int blk, long eq, int hin, int outBit) {
+    long p = pv[blk];
+    long mm = mv[blk];
+    long hinNeg = (hin >>> 1) & 1; // 1 iff hin == -1
+    long hinPos = (hin + 1) >> 1; // 1 iff hin == +1
+    long xv = eq | mm;
+    eq |= hinNeg;
+    long xh = (((eq & p) + p) ^ p) | eq;
+    long ph = mm | ~(xh | p);
+    long mh = p & xh;
+    int hout = (int) ((ph >>> outBit) & 1) - (int) ((mh >>> outBit) & 1);
+    ph = (ph << 1) | hinPos;
+    mh = (mh << 1) | hinNeg;
+    pv[blk] = mh | ~(xv | ph);
+    mv[blk] = ph & xv;
+    return hout;
+  }
+
+  // fills peq for the pattern; symbol 0 ("not in the pattern") keeps all-zero masks
+  private void buildPeq(CharSequence pattern, int blocks) {
+    Arrays.fill(asciiSymbol, 0);
+    otherSymbol.clear();
+    int sigma = 1;
+    for (int i = 0, m = pattern.length(); i < m; i++) {
+      char c = pattern.charAt(i);
+      if (c < 128) {
+        if (asciiSymbol[c] == 0) asciiSymbol[c] = sigma++;
+      } else if (!otherSymbol.containsKey(c)) {
+        otherSymbol.put(c, sigma++);
+      }
+    }
+    int size = sigma * blocks;
+    if (peq.length < size) peq = new long[size];
+    Arrays.fill(peq, 0, size, 0L);
+    for (int i = 0, m = pattern.length(); i < m; i++) {
+      int sym = symbolOf(pattern.charAt(i));
+      peq[sym * blocks + (i >>> 6)] |= 1L << (i & 63);
+    }
+  }
+
+  private int symbolOf(char c) {
+    if (c < 128) return asciiSymbol[c];
+    return otherSymbol.getOrDefault(c, 0);
+  }
+}
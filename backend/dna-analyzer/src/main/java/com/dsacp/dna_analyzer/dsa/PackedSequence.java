@@ -0,0 +1,133 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.Arrays;
+
+/**
+ * Append-only nucleotide sequence stored at 2 bits per base, readable as a {@link CharSequence}.
+ *
+ * <p>Bases are packed 32 per {@code long} with the codes of {@link KmerCodec}. Anything that is not
+ * A, C, G or T (N, IUPAC ambiguity codes, gaps) is read back as {@code 'N'}. Such positions are
+ * kept as a sorted list of runs, which for real assemblies is a handful of intervals. Input case is
+ * not preserved: everything reads back upper case.
+ *
+ * <p>{@link #charAt} is a shift and a mask; only when the sequence has N runs does it also do a
+ * binary search over the runs. Not thread-safe while being appended to; safe to read concurrently
+ * once complete.
+ */
+public final class PackedSequence implements CharSequence {
+
+  private long[] words = new long[16];
+  private int length;
+  private int[] runStart = new int[0]; // N runs [runStart[r], runEnd[r]), sorted, disjoint
+  private int[] runEnd = new int[0];
+  private int runs;
+
+  /** Appends one base; characters other than A, C, G, T (any case) are stored as N. */
+  public void append(char ch) {
+    if (length == Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException("Sequence longer than " + length + " bases");
+    }
+    int word = length >>> 5;
+    if (word == words.length) words = Arrays.copyOf(words, words.length * 2);
+    int code = KmerCodec.baseCode(ch);
+    if (code < 0) {
+      markN(length);
+      code = 0;
+    }
+    words[word] |= (long) code << (62 - 2 * (length & 31));
+    length++;
+  }
+
+  // extends the last run when the N is adjacent to it
+  private void markN(int pos) {
+    if (runs > 0 && runEnd[runs - 1] == pos) {
+      runEnd[runs - 1] = pos + 1;
+      return;
+    }
+    if (runs == runStart.length) {
+      int capacity = Math.max(8, runs * 2);
+      runStart = Arrays.copyOf(runStart, capacity);
+      runEnd = Arrays.copyOf(runEnd, capacity);
+    }
+    runStart[runs] = pos;
+    runEnd[runs] = pos + 1;
+    runs++;
+  }
+
+  /** 2-bit code of the base at {@code index}, or -1 for N. */
+  public int codeAt(int index) {
+    if (index < 0 || index >= length) throw new IndexOutOfBoundsException(index);
+    if (runs > 0 && inRuns(runStart, runEnd, runs, index)) return -1;
+    return (int) (words[index >>> 5] >>> (62 - 2 * (index & 31))) & 3;
+  }
+
+  // binary search of sorted, disjoint runs [start[r], end[r])
+  static boolean inRuns(int[] runStart, int[] runEnd, int runs, int index) {
+    int lo = 0;
+    int hi = runs - 1;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      if (runEnd[mid] <= index) lo = mid + 1;
+      else if (runStart[mid] > index) hi = mid - 1;
+      else return true;
+    }
+    return false;
+  }
+
+  @Override
+  public char charAt(int index) {
+    int code = codeAt(index);
+    return code < 0 ? 'N' : KmerCodec.base(code);
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  /** Number of maximal runs of N. */
+  public int nRunCount() {
+    return runs;
+  }
+
+  // raw access for DirectPackedSequence, which copies the packed layout as is
+
+  long word(int index) {
+    return words[index];
+  }
+
+  int runStart(int run) {
+    return runStart[run];
+  }
+
+  int runEnd(int run) {
+    return runEnd[run];
+  }
+
+  /** Heap bytes held: about length / 4 plus 8 bytes per N run. */
+  public long sizeInBytes() {
+    return 8L * words.length + 4L * (runStart.length + runEnd.length);
+  }
+
+  /** Drops the spare capacity left over from appending. */
+  public void trimToSize() {
+    words = Arrays.copyOf(words, Math.max(1, (length + 31) >>> 5));
+    runStart = Arrays.copyOf(runStart, runs);
+    runEnd = Arrays.copyOf(runEnd, runs);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    if (start < 0 || end > length || start > end) {
+      throw new IndexOutOfBoundsException("[" + start + ", " + end + ") of " + length);
+    }
+    StringBuilder sb = new StringBuilder(end - start);
+    for (int i = start; i < end; i++) sb.append(charAt(i));
+    return sb.toString();
+  }
+
+  @Override
+  public String toString() {
+    return subSequence(0, length).toString();
+  }
+}
@@ -0,0 +1,82 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join k-mer counting for large sequences.
+ *
+ * <p>The sequence is split into chunks of k-mer start positions. Each leaf task scans its chunk
+ * plus the k-1 bases that follow it, so every k-mer is counted by exactly one task. Leaves count
+ * into a {@link KmerCounter} per thread rather than per leaf: a thread runs one leaf at a time, so
+ * there are at most as many tables as threads taking part (the pool's workers, and the caller when
+ * it helps), and they are merged once at the end. The result is identical to a sequential
+ * {@link KmerCounter#count(CharSequence)}.
+ */
+public class ParallelKmerCounter {
+
+  /** Leaves never get smaller than this, so merge cost stays small next to counting cost. */
+  private static final int MIN_CHUNK = 1 << 16;
+
+  private final ForkJoinPool pool;
+
+  public ParallelKmerCounter(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  public KmerCounter count(CharSequence seq, int k) {
+    return count(seq, k, ProgressMonitor.NONE);
+  }
+
+  /** Counts with every leaf reporting the bases it scans to {@code monitor}. */
+  public KmerCounter count(CharSequence seq, int k, ProgressMonitor monitor) {
+    int starts = seq.length() - k + 1; // number of k-mer start positions
+    if (starts <= 0) return new KmerCounter(k);
+    // a few leaves per worker so uneven chunks (e.g. N-rich regions) still balance out
+    int chunk = Math.max(MIN_CHUNK, starts / (pool.getParallelism() * 4) + 1);
+    Map<Thread, KmerCounter> counters = new ConcurrentHashMap<>();
+    pool.invoke(new CountTask(seq, k, 0, starts, chunk, monitor, counters));
+    Iterator<KmerCounter> tables = counters.values().iterator();
+    KmerCounter counts = tables.next();
+    while (tables.hasNext()) counts.mergeFrom(tables.next());
+    return counts;
+  }
+
+  private static final class CountTask extends RecursiveAction {
+    private final CharSequence seq;
+    private final int k;
+    private final int from; // first k-mer start (inclusive)
+    private final int to; // last k-mer start (exclusive)
+    private final int chunk;
+    private final ProgressMonitor monitor;
+    private final Map<Thread, KmerCounter> counters;
+
+    CountTask(CharSequence seq, int k, int from, int to, int chunk, ProgressMonitor monitor,
+        Map<Thread, KmerCounter> counters) {
+      this.seq = seq;
+      this.k = k;
+      this.from = from;
+      this.to = to;
+      this.chunk = chunk;
+      this.monitor = monitor;
+      this.counters = counters;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= chunk) {
+        // leaves never join, so no other leaf can run on this thread while it counts
+        KmerCounter counter = counters.computeIfAbsent(Thread.currentThread(), t -> new KmerCounter(k));
+        // overlap by k-1 bases so the k-mers starting near the end of the chunk are complete
+        counter.count(seq, from, to + k - 1, monitor);
+        return;
+      }
+      int mid = (from + to) >>> 1;
+      invokeAll(new CountTask(seq, k, from, mid, chunk, monitor, counters),
+          new CountTask(seq, k, mid, to, chunk, monitor, counters));
+    }
+  }
+}
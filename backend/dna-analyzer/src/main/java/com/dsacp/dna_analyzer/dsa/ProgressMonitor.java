@@ -0,0 +1,34 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Progress and cancellation hook for the long-running engine loops.
+ *
+ * <p>Engines announce each phase with its amount of work, then report completed units every few
+ * thousand iterations (never per element). {@link #worked} is also the cancellation point: once the
+ * owner has cancelled, it throws {@link CancellationException} and the engine unwinds. Calls may
+ * come from several fork-join workers at once, so implementations must be thread-safe.
+ */
+public interface ProgressMonitor {
+
+  /** Monitor that ignores progress and is never cancelled. */
+  ProgressMonitor NONE =
+      new ProgressMonitor() {
+        @Override
+        public void begin(String phase, long totalUnits) {}
+
+        @Override
+        public void worked(long units) {}
+      };
+
+  /** Starts a phase of about {@code totalUnits} units of work. */
+  void begin(String phase, long totalUnits);
+
+  /**
+   * Adds {@code units} completed units to the current phase.
+   *
+   * @throws CancellationException if the work has been cancelled
+   */
+  void worked(long units);
+}
@@ -0,0 +1,44 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.Arrays;
+
+/**
+ * LSD radix sort for non-negative ints, used to put suffix array hits back into text order.
+ *
+ * <p>Two stable counting passes over 16-bit digits (one when every value is below 2^16), O(n) with
+ * a single scratch array. Small inputs go to {@link Arrays#sort}, which is faster there.
+ */
+public final class RadixSort {
+
+  private static final int SMALL = 1 << 11;
+
+  private RadixSort() {}
+
+  /** Sorts {@code a[0, length)} ascending; values must be non-negative. */
+  public static void sort(int[] a, int length) {
+    if (length < SMALL) {
+      Arrays.sort(a, 0, length);
+      return;
+    }
+    int max = 0;
+    for (int i = 0; i < length; i++) max |= a[i];
+    int[] scratch = new int[length];
+    int[] from = a;
+    int[] to = scratch;
+    for (int shift = 0; shift < 32 && (max >>> shift) != 0; shift += 16) {
+      int[] offsets = new int[1 << 16];
+      for (int i = 0; i < length; i++) offsets[(from[i] >>> shift) & 0xFFFF]++;
+      int sum = 0;
+      for (int d = 0; d < offsets.length; d++) {
+        int c = offsets[d];
+        offsets[d] = sum;
+        sum += c;
+      }
+      for (int i = 0; i < length; i++) to[offsets[(from[i] >>> shift) & 0xFFFF]++] = from[i];
+      int[] swap = from;
+      from = to;
+      to = swap;
+    }
+    if (from != a) System.arraycopy(from, 0, a, 0, length);
+  }
+}
@@ -0,0 +1,273 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Repeat discovery over a {@link SuffixIndex}: longest repeated substrings, maximal and
+ * supermaximal repeats, all from the LCP array.
+ *
+ * <p>Every repeated substring w corresponds to an lcp-interval [lb..rb] of suffix ranks whose
+ * common prefix is w, and is right-maximal when w is that interval's full LCP value. The intervals
+ * are enumerated bottom-up in one left-to-right pass over the LCP array with a stack (Abouelhoda,
+ * Kurtz and Ohlebusch, "Replacing suffix trees with enhanced suffix arrays", 2004), which is O(n)
+ * whatever the repeat content. Left-maximality comes out of the same pass: each interval carries
+ * the character preceding its occurrences, or "diverse" once two differ, merged up from its
+ * children. A supermaximal repeat is a maximal repeat that is not part of a longer one: an interval
+ * with no child interval whose occurrences are all preceded by different characters.
+ *
+ * <p>Runs of N are ordinary characters here, so assembly gaps show up as repeats of N.
+ *
+ * <p>{@link #tandemRepeats} is a separate scan over the text; see there.
+ */
+public final class RepeatFinder {
+
+  /** A repeat as the lcp-interval [lb..rb] of suffix ranks sharing its {@code length} chars. */
+  public record Interval(int length, int lb, int rb) {
+
+    public int occurrences() {
+      return rb - lb + 1;
+    }
+  }
+
+  /** Repeats kept (the longest first) and how many there were in all. */
+  public record Found<T>(List<T> repeats, long total) {}
+
+  /** Period-{@code period} tandem array covering text [start, start + length). */
+  public record Tandem(int start, int period, int length) {
+
+    /** Number of copies of the unit, the last one possibly partial. */
+    public double copies() {
+      return (double) length / period;
+    }
+  }
+
+  private static final int PROGRESS_STEP = 1 << 16;
+
+  // left-character states of an interval: a char value (>= 0) or one of these
+  private static final int EMPTY = -1;
+  private static final int DIVERSE = -2;
+  private static final int START = -3; // the suffix at text position 0 has no left character
+
+  // longest first, then the most frequent, then by rank for a stable order
+  private static final Comparator<Interval> LONGEST_FIRST =
+      Comparator.comparingInt(Interval::length)
+          .thenComparingInt(Interval::occurrences)
+          .reversed()
+          .thenComparingInt(Interval::lb);
+
+  private static final Comparator<Tandem> BY_POSITION =
+      Comparator.comparingInt(Tandem::start).thenComparingInt(Tandem::period);
+
+  private final SuffixIndex index;
+
+  public RepeatFinder(SuffixIndex index) {
+    this.index = index;
+  }
+
+  /** Every repeated substring of the greatest length (there may be several), up to {@code limit}. */
+  public Found<Interval> longestRepeats(int limit, ProgressMonitor monitor) {
+    int ranks = index.suffixCount();
+    monitor.begin("repeat scan", 2L * ranks);
+    int longest = 0;
+    for (int r = 1; r < ranks; r++) {
+      longest = Math.max(longest, index.lcpAt(r));
+      if ((r & (PROGRESS_STEP - 1)) == 0) monitor.worked(PROGRESS_STEP);
+    }
+    List<Interval> repeats = new ArrayList<>();
+    long total = 0;
+    for (int r = 1; longest > 0 && r < ranks; r++) {
+      if ((r & (PROGRESS_STEP - 1)) == 0) monitor.worked(PROGRESS_STEP);
+      if (index.lcpAt(r) != longest) continue;
+      int lb = r - 1;
+      while (r + 1 < ranks && index.lcpAt(r + 1) == longest) r++;
+      total++;
+      if (repeats.size() < limit) repeats.add(new Interval(longest, lb, r));
+    }
+    return new Found<>(repeats, total);
+  }
+
+  /** Maximal repeats of at least {@code minLength} characters, the {@code limit} longest. */
+  public Found<Interval> maximalRepeats(int minLength, int limit, ProgressMonitor monitor) {
+    return traverse(minLength, limit, false, monitor);
+  }
+
+  /** Supermaximal repeats of at least {@code minLength} characters, the {@code limit} longest. */
+  public Found<Interval> supermaximalRepeats(int minLength, int limit, ProgressMonitor monitor) {
+    return traverse(minLength, limit, true, monitor);
+  }
+
+  private Found<Interval> traverse(
+      int minLength, int limit, boolean supermaximal, ProgressMonitor monitor) {
+    if (minLength < 1 || limit < 0) {
+      throw new IllegalArgumentException("minLength must be positive and limit not negative");
+    }
+    int ranks = index.suffixCount();
+    monitor.begin("repeat scan", ranks);
+    // the limit longest so far, shortest on top
+    PriorityQueue<Interval> kept = new PriorityQueue<>(LONGEST_FIRST.reversed());
+    long total = 0;
+
+    int[] lcp = new int[64];
+    int[] lb = new int[64];
+    int[] left = new int[64];
+    boolean[] hasChild = new boolean[64];
+    int top = 0; // root interval, lcp 0: never reported
+    left[0] = EMPTY;
+
+    for (int i = 1; i <= ranks; i++) {
+      if ((i & (PROGRESS_STEP - 1)) == 0) monitor.worked(PROGRESS_STEP);
+      int cur = i < ranks ? index.lcpAt(i) : 0;
+      // what was just completed, leaf i - 1 or the last interval popped, goes to its parent
+      int carry = leftChar(i - 1);
+      boolean carryIsInterval = false;
+      int from = i - 1;
+      while (cur < lcp[top]) {
+        left[top] = merge(left[top], carry);
+        hasChild[top] |= carryIsInterval;
+        int length = lcp[top];
+        from = lb[top];
+        if (length >= minLength
+            && (supermaximal
+                ? !hasChild[top] && distinctLeftChars(from, i - 1)
+                : left[top] == DIVERSE)) {
+          total++;
+          if (limit > 0) {
+            kept.add(new Interval(length, from, i - 1));
+            if (kept.size() > limit) kept.poll();
+          }
+        }
+        carry = left[top];
+        carryIsInterval = true;
+        top--;
+      }
+      if (cur > lcp[top]) {
+        // a new interval starting where the completed part started
+        if (++top == lcp.length) {
+          int capacity = top * 2;
+          lcp = Arrays.copyOf(lcp, capacity);
+          lb = Arrays.copyOf(lb, capacity);
+          left = Arrays.copyOf(left, capacity);
+          hasChild = Arrays.copyOf(hasChild, capacity);
+        }
+        lcp[top] = cur;
+        lb[top] = from;
+        left[top] = carry;
+        hasChild[top] = carryIsInterval;
+      } else {
+        left[top] = merge(left[top], carry);
+        hasChild[top] |= carryIsInterval;
+      }
+    }
+    List<Interval> repeats = new ArrayList<>(kept);
+    repeats.sort(LONGEST_FIRST);
+    return new Found<>(repeats, total);
+  }
+
+  private int leftChar(int rank) {
+    int pos = index.suffixAt(rank);
+    return pos == 0 ? START : index.charAt(pos - 1);
+  }
+
+  private static int merge(int a, int b) {
+    if (a == EMPTY) return b;
+    if (b == EMPTY) return a;
+    return a == b && a != START ? a : DIVERSE;
+  }
+
+  // only called for intervals without child intervals, so each rank is checked at most once
+  private boolean distinctLeftChars(int from, int to) {
+    int[] chars = new int[to - from + 1];
+    for (int r = from; r <= to; r++) chars[r - from] = leftChar(r);
+    Arrays.sort(chars);
+    for (int c = 1; c < chars.length; c++) {
+      if (chars[c] == chars[c - 1]) return false;
+    }
+    return true;
+  }
+
+  /** Start positions of a repeat's occurrences, in increasing order. */
+  public int[] positions(Interval repeat) {
+    int[] positions = new int[repeat.occurrences()];
+    for (int r = repeat.lb(); r <= repeat.rb(); r++) positions[r - repeat.lb()] = index.suffixAt(r);
+    RadixSort.sort(positions, positions.length);
+    return positions;
+  }
+
+  /** The repeated substring itself. */
+  public String sequence(Interval repeat) {
+    int pos = index.suffixAt(repeat.lb());
+    StringBuilder sb = new StringBuilder(repeat.length());
+    for (int i = 0; i < repeat.length(); i++) sb.append(index.charAt(pos + i));
+    return sb.toString();
+  }
+
+  /**
+   * Tandem arrays (microsatellites and the like): maximal stretches of at least {@code minCopies}
+   * adjacent copies of a unit of at most {@code maxPeriod} bases, the last copy possibly partial,
+   * and {@code minLength} bases in all. Only primitive units are reported, so (AC)n comes out as
+   * period 2, never again as period 4.
+   *
+   * <p>Each period is one linear scan for runs of {@code text[i] == text[i + p]}: O(n maxPeriod).
+   * Non-ACGT characters break a run. Results are ordered by position, then period.
+   */
+  public static Found<Tandem> tandemRepeats(
+      CharSequence text,
+      int maxPeriod,
+      int minCopies,
+      int minLength,
+      int limit,
+      ProgressMonitor monitor) {
+    if (maxPeriod < 1 || minCopies < 2 || limit < 0) {
+      throw new IllegalArgumentException("maxPeriod must be positive and minCopies at least 2");
+    }
+    int n = text.length();
+    monitor.begin("tandem repeat scan", (long) n * maxPeriod);
+    // the limit first by position so far, the last on top
+    PriorityQueue<Tandem> kept = new PriorityQueue<>(BY_POSITION.reversed());
+    long total = 0;
+    for (int p = 1; p <= maxPeriod && p < n; p++) {
+      int run = 0; // positions k with text[k] == text[k + p], ending at k - 1
+      for (int k = 0; k <= n - p; k++) {
+        if ((k & (PROGRESS_STEP - 1)) == PROGRESS_STEP - 1) monitor.worked(PROGRESS_STEP);
+        if (k < n - p && sameBase(text, k, k + p)) {
+          run++;
+          continue;
+        }
+        int length = run + p;
+        int start = k - run;
+        if (run > 0 && length >= minLength && length >= (long) minCopies * p
+            && isPrimitive(text, start, p)) {
+          total++;
+          if (limit > 0) {
+            kept.add(new Tandem(start, p, length));
+            if (kept.size() > limit) kept.poll();
+          }
+        }
+        run = 0;
+      }
+    }
+    List<Tandem> repeats = new ArrayList<>(kept);
+    repeats.sort(BY_POSITION);
+    return new Found<>(repeats, total);
+  }
+
+  private static boolean sameBase(CharSequence text, int i, int j) {
+    int a = KmerCodec.baseCode(text.charAt(i));
+    return a >= 0 && a == KmerCodec.baseCode(text.charAt(j));
+  }
+
+  // the unit text[start, start + p) is not a power of a shorter string
+  private static boolean isPrimitive(CharSequence text, int start, int p) {
+    for (int d = 1; d < p; d++) {
+      if (p % d != 0) continue;
+      boolean periodic = true;
+      for (int j = start; periodic && j < start + p - d; j++) periodic = sameBase(text, j, j + d);
+      if (periodic) return false;
+    }
+    return true;
+  }
+}
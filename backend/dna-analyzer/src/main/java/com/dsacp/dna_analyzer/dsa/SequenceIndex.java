@@ -0,0 +1,28 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** A prebuilt full-text index over one sequence that answers exact motif queries. */
+public interface SequenceIndex {
+
+  /** Every start position of {@code pattern} in the indexed text, in increasing order. */
+  int[] positions(String pattern);
+
+  /** Number of occurrences of {@code pattern}; answered from the index without locating hits. */
+  int count(String pattern);
+
+  /** {@link #positions} as a boxed list, for callers that want a collection. */
+  default List<Integer> search(String pattern) {
+    int[] hits = positions(pattern);
+    List<Integer> res = new ArrayList<>(hits.length);
+    for (int hit : hits) res.add(hit);
+    return res;
+  }
+
+  /** Length of the indexed text (without sentinel). */
+  int length();
+
+  /** Approximate memory held by the index, used to budget caches. */
+  long sizeInBytes();
+}
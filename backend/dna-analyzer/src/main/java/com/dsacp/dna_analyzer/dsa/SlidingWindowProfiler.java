@@ -0,0 +1,212 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Per-window statistics of a sequence in fixed windows (e.g. 10 kb every 1 kb): base composition,
+ * k-mer spectrum summary and motif counts.
+ *
+ * <p>Windows are computed incrementally, one per {@link #next()}: moving to the next window only
+ * subtracts what left and adds what entered, so a whole scan costs O(n) however much the windows
+ * overlap. Base counts are updated per base. K-mers go into one rolling {@link KmerCounter}
+ * (entries falling back to zero are removed), with two cursors re-deriving the packed codes of the
+ * entering and the leaving k-mers in O(1) each, and the entropy of the spectrum is kept up to date
+ * through the running sum of c log c. Motif counts come from the sorted hit lists of an index built
+ * once for the whole sequence, with two pointers per motif.
+ *
+ * <p>Windows start at 0, step, 2 step... as long as they fit entirely; a sequence shorter than one
+ * window gives a single window over all of it. The statistics of a window count the k-mers and
+ * motif hits lying entirely inside it.
+ */
+public final class SlidingWindowProfiler implements Iterator<SlidingWindowProfiler.Window> {
+
+  /** Statistics of one window [start, end). */
+  public record Window(
+      int start,
+      int end,
+      int[] baseCounts, // A, C, G, T, anything else
+      long kmers,
+      int distinctKmers,
+      double kmerEntropy,
+      int[] motifCounts) {
+
+    /** (C + G) / (A + C + G + T), or NaN if the window has no ACGT base. */
+    public double gcContent() {
+      int acgt = baseCounts[0] + baseCounts[1] + baseCounts[2] + baseCounts[3];
+      return acgt == 0 ? Double.NaN : (double) (baseCounts[1] + baseCounts[2]) / acgt;
+    }
+  }
+
+  // c * ln(c) for small counts, which is nearly every update
+  private static final double[] C_LOG_C = new double[1024];
+
+  static {
+    for (int c = 1; c < C_LOG_C.length; c++) C_LOG_C[c] = c * Math.log(c);
+  }
+
+  private final CharSequence seq;
+  private final int windowSize;
+  private final int step;
+  private final int k;
+  private final int[][] motifHits;
+  private final int[] motifLengths;
+
+  private final int windows;
+  private int emitted;
+
+  // bases [baseFrom, baseTo) and k-mer starts [kmerFrom, kmerTo) currently counted
+  private final int[] baseCounts = new int[5];
+  private int baseFrom;
+  private int baseTo;
+  private final KmerCounter kmers;
+  private final Cursor entering;
+  private final Cursor leaving;
+  private int kmerFrom;
+  private int kmerTo;
+  private double sumCLogC;
+  // per motif: first hit at or after the window start, first hit past the last start that fits
+  private final int[] motifLo;
+  private final int[] motifHi;
+
+  /**
+   * @param k k-mer length for the spectrum statistics, 0 for none
+   * @param motifHits hit positions of each motif in increasing order (as returned by a {@link
+   *     SequenceIndex}); may be empty
+   * @param motifLengths length of each motif
+   */
+  public SlidingWindowProfiler(
+      CharSequence seq, int windowSize, int step, int k, int[][] motifHits, int[] motifLengths) {
+    if (windowSize <= 0 || step <= 0) {
+      throw new IllegalArgumentException("windowSize and step must be positive");
+    }
+    if (k < 0 || k > KmerCodec.MAX_K) {
+      throw new IllegalArgumentException("k must be between 1 and " + KmerCodec.MAX_K + " (or 0 for none): " + k);
+    }
+    if (motifHits.length != motifLengths.length) {
+      throw new IllegalArgumentException("one length per motif expected");
+    }
+    this.seq = seq;
+    this.windowSize = windowSize;
+    this.step = step;
+    this.k = k;
+    this.motifHits = motifHits;
+    this.motifLengths = motifLengths;
+    int n = seq.length();
+    this.windows = n == 0 ? 0 : n <= windowSize ? 1 : (n - windowSize) / step + 1;
+    this.kmers = k > 0 ? new KmerCounter(k) : null;
+    this.entering = k > 0 ? new Cursor() : null;
+    this.leaving = k > 0 ? new Cursor() : null;
+    this.motifLo = new int[motifHits.length];
+    this.motifHi = new int[motifHits.length];
+  }
+
+  /** Number of windows the scan produces. */
+  public int windowCount() {
+    return windows;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return emitted < windows;
+  }
+
+  @Override
+  public Window next() {
+    if (!hasNext()) throw new NoSuchElementException();
+    int start = (int) Math.min((long) emitted * step, Integer.MAX_VALUE);
+    int end = Math.min(start + windowSize, seq.length());
+    emitted++;
+
+    slideBases(start, end);
+    long kmerCount = 0;
+    int distinct = 0;
+    double entropy = 0;
+    if (kmers != null) {
+      slideKmers(start, Math.max(start, end - k + 1));
+      kmerCount = kmers.totalKmers();
+      distinct = kmers.distinctKmers();
+      if (kmerCount > 0) {
+        // H = ln T - (sum c ln c) / T, in bits; clamped against rounding drift of the running sum
+        entropy = Math.max(0, (Math.log(kmerCount) - sumCLogC / kmerCount) / Math.log(2));
+      }
+    }
+    int[] motifCounts = new int[motifHits.length];
+    for (int m = 0; m < motifHits.length; m++) {
+      int[] hits = motifHits[m];
+      int lastStart = end - motifLengths[m];
+      while (motifLo[m] < hits.length && hits[motifLo[m]] < start) motifLo[m]++;
+      while (motifHi[m] < hits.length && hits[motifHi[m]] <= lastStart) motifHi[m]++;
+      motifCounts[m] = Math.max(0, motifHi[m] - motifLo[m]);
+    }
+    return new Window(
+        start, end, baseCounts.clone(), kmerCount, distinct, entropy, motifCounts);
+  }
+
+  // drops the bases of the previous window before `from`, adds those after its end; works for
+  // gaps (step > window) too
+  private void slideBases(int from, int to) {
+    for (int i = baseFrom, stop = Math.min(baseTo, from); i < stop; i++) {
+      baseCounts[baseIndex(seq.charAt(i))]--;
+    }
+    for (int i = Math.max(baseTo, from); i < to; i++) {
+      baseCounts[baseIndex(seq.charAt(i))]++;
+    }
+    baseFrom = from;
+    baseTo = to;
+  }
+
+  // same over k-mer start positions
+  private void slideKmers(int from, int to) {
+    for (int p = kmerFrom, stop = Math.min(kmerTo, from); p < stop; p++) {
+      long code = leaving.codeAt(p);
+      if (code >= 0) update(code, -1);
+    }
+    for (int p = Math.max(kmerTo, from); p < to; p++) {
+      long code = entering.codeAt(p);
+      if (code >= 0) update(code, 1);
+    }
+    kmerFrom = from;
+    kmerTo = to;
+  }
+
+  private void update(long code, int delta) {
+    int after = kmers.addAndGet(code, delta);
+    sumCLogC += cLogC(after) - cLogC(after - delta);
+  }
+
+  private static double cLogC(int c) {
+    return c < C_LOG_C.length ? C_LOG_C[c] : c * Math.log(c);
+  }
+
+  private static int baseIndex(char base) {
+    int code = KmerCodec.baseCode(base);
+    return code < 0 ? 4 : code;
+  }
+
+  // rolling packed code over the sequence for k-mer starts asked in increasing order
+  private final class Cursor {
+    private final long mask = KmerCodec.mask(k);
+    private int next; // next base to consume
+    private long code;
+    private int run; // valid bases ending at next - 1
+
+    // code of the k-mer starting at p, or -1 if it contains a non-ACGT base
+    long codeAt(int p) {
+      if (next < p) {
+        next = p; // skip a gap: nothing before p can be part of this k-mer
+        run = 0;
+      }
+      for (int end = p + k; next < end; next++) {
+        int b = KmerCodec.baseCode(seq.charAt(next));
+        if (b < 0) {
+          run = 0;
+        } else {
+          code = ((code << 2) | b) & mask;
+          run++;
+        }
+      }
+      return run >= k ? code : -1;
+    }
+  }
+}
@@ -0,0 +1,230 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.Arrays;
+
+/**
+ * Local alignment (Smith-Waterman) with affine gaps (Gotoh) and a substitution matrix: the best
+ * scoring pair of substrings of a query and a target, e.g. where a gene lies in a contig.
+ *
+ * <p>Only the score and the aligned regions are computed, never a traceback, so memory is O(m) in
+ * the query. A first pass over the target keeps the best cell, which is where the alignment ends.
+ * A second pass runs backwards from that end over the prefixes ending there, and the first cell
+ * reaching the same score is where it starts (as in SSW). On ties the cell with the smallest
+ * target position, then the smallest query position, wins.
+ *
+ * <p>This class is the scalar reference. {@link StripedSmithWaterman} computes the same cells on
+ * SIMD lanes; {@link #create} picks it whenever the JVM has the Vector API.
+ */
+public class SmithWaterman {
+
+  /**
+   * Substitution scores, {@code matrix[query base][target base]} over A, C, G, T and N (N standing
+   * for anything but a base in either case), and gap penalties: a gap of k bases costs
+   * {@code gapOpen + (k - 1) gapExtend}.
+   */
+  public record Scoring(int[][] matrix, int gapOpen, int gapExtend) {
+
+    public Scoring {
+      if (matrix.length != SYMBOLS) {
+        throw new IllegalArgumentException("The substitution matrix must be 5 x 5 (A, C, G, T, N)");
+      }
+      int[][] copy = new int[SYMBOLS][];
+      for (int a = 0; a < SYMBOLS; a++) {
+        if (matrix[a] == null || matrix[a].length != SYMBOLS) {
+          throw new IllegalArgumentException("The substitution matrix must be 5 x 5 (A, C, G, T, N)");
+        }
+        copy[a] = matrix[a].clone();
+        for (int score : copy[a]) {
+          if (Math.abs(score) > MAX_SCORE) {
+            throw new IllegalArgumentException("Substitution scores must be between -" + MAX_SCORE
+                + " and " + MAX_SCORE);
+          }
+        }
+      }
+      matrix = copy;
+      if (gapExtend < 1 || gapOpen < gapExtend || gapOpen > MAX_SCORE) {
+        throw new IllegalArgumentException("Gap penalties must satisfy 1 <= gapExtend <= gapOpen <= "
+            + MAX_SCORE);
+      }
+    }
+
+    /**
+     * Scoring from a 4 x 4 (A, C, G, T) or 5 x 5 (A, C, G, T, N) matrix. A 4 x 4 matrix is
+     * extended with N scoring its lowest entry against anything.
+     */
+    public static Scoring of(int[][] matrix, int gapOpen, int gapExtend) {
+      if (matrix == null || (matrix.length != 4 && matrix.length != SYMBOLS)) {
+        throw new IllegalArgumentException("The substitution matrix must be 4 x 4 or 5 x 5");
+      }
+      if (matrix.length == SYMBOLS) {
+        return new Scoring(matrix, gapOpen, gapExtend);
+      }
+      int lowest = Integer.MAX_VALUE;
+      for (int[] row : matrix) {
+        if (row == null || row.length != 4) {
+          throw new IllegalArgumentException("The substitution matrix must be 4 x 4 or 5 x 5");
+        }
+        for (int score : row) lowest = Math.min(lowest, score);
+      }
+      int[][] full = new int[SYMBOLS][SYMBOLS];
+      for (int a = 0; a < SYMBOLS; a++) {
+        Arrays.fill(full[a], lowest);
+        if (a < 4) System.arraycopy(matrix[a], 0, full[a], 0, 4);
+      }
+      return new Scoring(full, gapOpen, gapExtend);
+    }
+
+    /** {@code match} on the diagonal, {@code mismatch} everywhere else, N included. */
+    public static Scoring dna(int match, int mismatch, int gapOpen, int gapExtend) {
+      int[][] matrix = new int[4][4];
+      for (int a = 0; a < 4; a++) {
+        for (int b = 0; b < 4; b++) matrix[a][b] = a == b ? match : mismatch;
+      }
+      return of(matrix, gapOpen, gapExtend);
+    }
+
+    public int score(int a, int b) {
+      return matrix[a][b];
+    }
+  }
+
+  /**
+   * Best local alignment: its score and the aligned regions, query [queryStart, queryEnd) and
+   * target [targetStart, targetEnd). All zero when no pair of bases scores above 0.
+   */
+  public record Alignment(int score, int queryStart, int queryEnd, int targetStart, int targetEnd) {}
+
+  /** Best cell of a pass: its score and its query and target positions in the pass's direction. */
+  record End(int score, int query, int target) {}
+
+  static final int SYMBOLS = 5;
+
+  /** Longest query accepted; with |scores| of at most {@code MAX_SCORE} no cell can overflow. */
+  public static final int MAX_QUERY_LENGTH = 1 << 20;
+
+  static final int MAX_SCORE = 1000;
+
+  // "minus infinity" for gap states; subtracting penalties from it a few times cannot overflow
+  static final int NEG = -(1 << 29);
+
+  static final int PROGRESS_STEP = 1 << 16;
+
+  private static final boolean VECTOR_API =
+      ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+  protected final Scoring scoring;
+
+  public SmithWaterman(Scoring scoring) {
+    this.scoring = scoring;
+  }
+
+  /**
+   * The fastest engine this JVM can run: {@link StripedSmithWaterman} when it was started with
+   * {@code --add-modules jdk.incubator.vector}, otherwise the scalar one.
+   */
+  public static SmithWaterman create(Scoring scoring) {
+    return VECTOR_API ? new StripedSmithWaterman(scoring) : new SmithWaterman(scoring);
+  }
+
+  /** Whether {@link #create} returns the vectorized engine. */
+  public static boolean isVectorized() {
+    return VECTOR_API;
+  }
+
+  /** Engine name, for results and metrics. */
+  public String engine() {
+    return "scalar";
+  }
+
+  /** Cells computed per step: 1 here, the vector lane count for the striped engine. */
+  public int lanes() {
+    return 1;
+  }
+
+  public Alignment align(CharSequence query, CharSequence target) {
+    return align(query, target, ProgressMonitor.NONE);
+  }
+
+  /**
+   * Aligns reporting DP cells to {@code monitor}: m n for the forward pass, then the cells of the
+   * backward pass over the prefixes that end at the best cell.
+   */
+  public Alignment align(CharSequence query, CharSequence target, ProgressMonitor monitor) {
+    if (query.length() > MAX_QUERY_LENGTH) {
+      throw new IllegalArgumentException("The query must be at most " + MAX_QUERY_LENGTH + " bases");
+    }
+    byte[] codes = new byte[query.length()];
+    for (int i = 0; i < codes.length; i++) codes[i] = (byte) code(query.charAt(i));
+    int n = target.length();
+    monitor.begin("local alignment", (long) codes.length * n);
+    End end = scan(codes, codes.length, target, n, false, monitor);
+    if (end.score() <= 0) {
+      return new Alignment(0, 0, 0, 0, 0);
+    }
+    int queryEnd = end.query() + 1;
+    int targetEnd = end.target() + 1;
+    monitor.begin("local alignment start", (long) queryEnd * targetEnd);
+    End start = scan(codes, queryEnd, target, targetEnd, true, monitor);
+    return new Alignment(end.score(), end.query() - start.query(), queryEnd,
+        end.target() - start.target(), targetEnd);
+  }
+
+  /**
+   * Best cell over query[0, queryLength) and target[0, targetLength), or over both reversed from
+   * those ends. Target outer, query inner, so ties go to the first target then query position.
+   */
+  End scan(byte[] query, int queryLength, CharSequence target, int targetLength, boolean reverse,
+      ProgressMonitor monitor) {
+    int open = scoring.gapOpen();
+    int extend = scoring.gapExtend();
+    int[][] byTarget = byTarget();
+    int[] h = new int[queryLength];
+    int[] e = new int[queryLength]; // gap along the target, carried to the next column
+    Arrays.fill(e, NEG);
+    int best = 0;
+    int bestQuery = -1;
+    int bestTarget = -1;
+    long pending = 0;
+    for (int j = 0; j < targetLength; j++) {
+      int[] scores = byTarget[code(target.charAt(reverse ? targetLength - 1 - j : j))];
+      int diagonal = 0;
+      int f = NEG; // gap along the query
+      for (int i = 0; i < queryLength; i++) {
+        int cell = Math.max(Math.max(0, diagonal + scores[query[reverse ? queryLength - 1 - i : i]]),
+            Math.max(e[i], f));
+        diagonal = h[i];
+        h[i] = cell;
+        if (cell > best) {
+          best = cell;
+          bestQuery = i;
+          bestTarget = j;
+        }
+        int opened = cell - open;
+        e[i] = Math.max(e[i] - extend, opened);
+        f = Math.max(f - extend, opened);
+      }
+      pending += queryLength;
+      if (pending >= PROGRESS_STEP) {
+        monitor.worked(pending);
+        pending = 0;
+      }
+    }
+    monitor.worked(pending);
+    return new End(best, bestQuery, bestTarget);
+  }
+
+  // substitution scores per target base, indexed by query base
+  int[][] byTarget() {
+    int[][] byTarget = new int[SYMBOLS][SYMBOLS];
+    for (int q = 0; q < SYMBOLS; q++) {
+      for (int t = 0; t < SYMBOLS; t++) byTarget[t][q] = scoring.score(q, t);
+    }
+    return byTarget;
+  }
+
+  // A, C, G, T in either case to 0..3, anything else to N
+  static int code(char c) {
+    int code = KmerCodec.baseCode(c);
+    return code >= 0 ? code : 4;
+  }
+}
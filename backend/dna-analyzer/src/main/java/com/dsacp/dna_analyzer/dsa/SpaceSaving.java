@@ -0,0 +1,113 @@
+package com.dsacp.dna_analyzer.dsa;
+
+/**
+ * Space-Saving heavy hitters (Metwally, Agrawal and El Abbadi) over {@code long} keys.
+ *
+ * <p>Monitors at most {@code capacity} keys. A monitored key's counter is incremented in place.
+ * An unmonitored key takes over the slot of the smallest counter, inheriting that count as its
+ * possible error. Every key occurring more than {@code total / capacity} times is guaranteed to
+ * be monitored, and each counter lies between {@code count - error} and {@code count} of the true
+ * frequency.
+ *
+ * <p>The slots form a binary min-heap on count, indexed by a {@link LongIntHashMap}, so an update
+ * costs O(log capacity) and memory is fixed by the capacity.
+ */
+public final class SpaceSaving {
+
+  /** Callback used by {@link #forEach}. */
+  @FunctionalInterface
+  public interface EntryConsumer {
+    void accept(long key, long count, long error);
+  }
+
+  private final int capacity;
+  private final long[] keys;
+  private final long[] counts;
+  private final long[] errors;
+  private final LongIntHashMap slotOf; // key -> heap slot + 1
+  private int size;
+
+  public SpaceSaving(int capacity) {
+    if (capacity < 1) throw new IllegalArgumentException("capacity must be >= 1");
+    this.capacity = capacity;
+    this.keys = new long[capacity];
+    this.counts = new long[capacity];
+    this.errors = new long[capacity];
+    this.slotOf = new LongIntHashMap(capacity);
+  }
+
+  /** Records one occurrence of {@code key}. */
+  public void offer(long key) {
+    int slot = slotOf.get(key) - 1;
+    if (slot >= 0) {
+      counts[slot]++;
+      siftDown(slot);
+    } else if (size < capacity) {
+      keys[size] = key;
+      counts[size] = 1;
+      errors[size] = 0;
+      slotOf.put(key, size + 1);
+      siftUp(size++);
+    } else {
+      // evict the minimum: the newcomer may have occurred up to that many times unseen
+      slotOf.remove(keys[0]);
+      long min = counts[0];
+      keys[0] = key;
+      counts[0] = min + 1;
+      errors[0] = min;
+      slotOf.put(key, 1);
+      siftDown(0);
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  /** Visits the monitored keys with their counts (upper bounds) and errors, in no order. */
+  public void forEach(EntryConsumer consumer) {
+    for (int i = 0; i < size; i++) consumer.accept(keys[i], counts[i], errors[i]);
+  }
+
+  public long sizeInBytes() {
+    return 24L * capacity + 12L * slotOf.capacity();
+  }
+
+  private void siftUp(int i) {
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      if (counts[parent] <= counts[i]) break;
+      swap(i, parent);
+      i = parent;
+    }
+  }
+
+  private void siftDown(int i) {
+    while (true) {
+      int left = 2 * i + 1;
+      if (left >= size) break;
+      int smallest = left + 1 < size && counts[left + 1] < counts[left] ? left + 1 : left;
+      if (counts[i] <= counts[smallest]) break;
+      swap(i, smallest);
+      i = smallest;
+    }
+  }
+
+  private void swap(int a, int b) {
+    long key = keys[a];
+    keys[a] = keys[b];
+    keys[b] = key;
+    long count = counts[a];
+    counts[a] = counts[b];
+    counts[b] = count;
+    long error = errors[a];
+    errors[a] = errors[b];
+    errors[b] = error;
+    slotOf.put(keys[a], a + 1);
+    slotOf.put(keys[b], b + 1);
+  }
+}
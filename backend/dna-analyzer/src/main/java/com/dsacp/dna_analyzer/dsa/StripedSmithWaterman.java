@@ -0,0 +1,141 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.Arrays;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link SmithWaterman} on SIMD lanes, in Farrar's striped layout ("Striped Smith-Waterman speeds
+ * database searches six times over other SIMD implementations", Bioinformatics 23, 2007).
+ *
+ * <p>With L lanes the query is cut into L segments of s = ceil(m / L) positions, lane l taking
+ * positions l s to l s + s - 1, so vector k of a column holds query positions k, s + k, 2s + k...
+ * The substitution scores of each target base are laid out the same way once per query (the query
+ * profile), so a target column is s vector adds and maxes, with no gathers and no dependency
+ * between neighbouring lanes. The gap along the query (F) is the one term that crosses lanes: the
+ * main pass carries it within each lane, and a second, lazy loop shifts it into the next lane only
+ * while it can still raise a cell, which on real sequences rarely goes around more than once.
+ *
+ * <p>Lanes are 32-bit, so no score saturates and every cell equals the scalar engine's: the two
+ * return the same alignments. Needs {@code --add-modules jdk.incubator.vector} at compile and run
+ * time; use {@link SmithWaterman#create}, which falls back to the scalar engine without it.
+ */
+public class StripedSmithWaterman extends SmithWaterman {
+
+  private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+  private static final int LANES = SPECIES.length();
+
+  public StripedSmithWaterman(Scoring scoring) {
+    super(scoring);
+  }
+
+  @Override
+  public String engine() {
+    return "striped-" + SPECIES.vectorBitSize();
+  }
+
+  @Override
+  public int lanes() {
+    return LANES;
+  }
+
+  @Override
+  End scan(byte[] query, int queryLength, CharSequence target, int targetLength, boolean reverse,
+      ProgressMonitor monitor) {
+    int segments = Math.max(1, (queryLength + LANES - 1) / LANES);
+    int size = segments * LANES;
+    int[] profile = profile(query, queryLength, reverse, segments);
+    int[] hLoad = new int[size];
+    int[] hStore = new int[size];
+    int[] hBest = new int[size];
+    int[] e = new int[size];
+    Arrays.fill(e, NEG);
+    int open = scoring.gapOpen();
+    int extend = scoring.gapExtend();
+    IntVector zero = IntVector.zero(SPECIES);
+    IntVector negative = IntVector.broadcast(SPECIES, NEG);
+
+    int best = 0;
+    int bestTarget = -1;
+    long pending = 0;
+    for (int j = 0; j < targetLength; j++) {
+      int base = size * code(target.charAt(reverse ? targetLength - 1 - j : j));
+      // diagonal of vector 0: the previous column's last vector, one lane down
+      IntVector h = zero.slice(LANES - 1, IntVector.fromArray(SPECIES, hStore, size - LANES));
+      int[] swap = hLoad;
+      hLoad = hStore;
+      hStore = swap;
+
+      IntVector f = negative;
+      IntVector columnMax = zero;
+      for (int k = 0, at = 0; k < segments; k++, at += LANES) {
+        IntVector gap = IntVector.fromArray(SPECIES, e, at);
+        h = h.add(IntVector.fromArray(SPECIES, profile, base + at)).max(zero).max(gap).max(f);
+        columnMax = columnMax.max(h);
+        h.intoArray(hStore, at);
+        IntVector opened = h.sub(open);
+        gap.sub(extend).max(opened).intoArray(e, at);
+        f = f.sub(extend).max(opened);
+        h = IntVector.fromArray(SPECIES, hLoad, at);
+      }
+
+      // lazy F: carry the gap into the next lane until it no longer raises a cell or its gap
+      f = negative.slice(LANES - 1, f);
+      for (int k = 0; ; ) {
+        int at = k * LANES;
+        IntVector raised = IntVector.fromArray(SPECIES, hStore, at).max(f);
+        raised.intoArray(hStore, at);
+        IntVector opened = raised.sub(open);
+        IntVector.fromArray(SPECIES, e, at).max(opened).intoArray(e, at);
+        f = f.sub(extend);
+        // >=, not >: with gapOpen == gapExtend a raised cell passes on exactly f - extend
+        if (!f.compare(VectorOperators.GE, opened).anyTrue()) break;
+        if (++k == segments) {
+          k = 0;
+          f = negative.slice(LANES - 1, f);
+        }
+      }
+
+      // cells raised by F stay below the cell their gap opened from, so the maximum stands
+      int max = columnMax.reduceLanes(VectorOperators.MAX);
+      if (max > best) {
+        best = max;
+        bestTarget = j;
+        System.arraycopy(hStore, 0, hBest, 0, size);
+      }
+      pending += queryLength;
+      if (pending >= PROGRESS_STEP) {
+        monitor.worked(pending);
+        pending = 0;
+      }
+    }
+    monitor.worked(pending);
+    if (best == 0) {
+      return new End(0, -1, -1);
+    }
+    int bestQuery = 0;
+    while (hBest[(bestQuery % segments) * LANES + bestQuery / segments] != best) bestQuery++;
+    return new End(best, bestQuery, bestTarget);
+  }
+
+  // profile[t * size + k * LANES + l]: score of target base t against query position l s + k,
+  // minus "infinity" past the query's end so padding lanes never start an alignment
+  private int[] profile(byte[] query, int queryLength, boolean reverse, int segments) {
+    int[][] byTarget = byTarget();
+    int size = segments * LANES;
+    int[] profile = new int[SYMBOLS * size];
+    for (int t = 0; t < SYMBOLS; t++) {
+      int[] scores = byTarget[t];
+      for (int k = 0; k < segments; k++) {
+        for (int l = 0; l < LANES; l++) {
+          int pos = l * segments + k;
+          profile[t * size + k * LANES + l] = pos < queryLength
+              ? scores[query[reverse ? queryLength - 1 - pos : pos]]
+              : NEG;
+        }
+      }
+    }
+    return profile;
+  }
+}
@@ -100,33 +100,202 @@
 
 package com.dsacp.dna_analyzer.dsa;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.List;
 
 /**
- * Suffix array with: - prefix-doubling build (O(n log n) typical) - Kasai LCP array (O(n)) -
- * substring-search (binary search) without creating substring objects
+ * Suffix array with: - SA-IS build (O(n), primitive int[] only) or the original prefix-doubling
+ * build (O(n log^2 n), kept for cross-checking) - Kasai LCP array (O(n)) - substring-search
+ * (binary search) without creating substring objects
  *
- * <p>Note: this implementation appends a single 0-character sentinel '\0' to the input (guaranteed
- * smallest lexicographically) and returns match positions relative to the original input (sentinel
- * index is ignored in outputs).
+ * <p>Note: this implementation behaves as if a single 0-character sentinel '\0' were appended to
+ * the input (guaranteed smallest lexicographically); the text itself is not copied. Match positions
+ * are relative to the original input (sentinel index is ignored in outputs).
  */
-public class SuffixArray {
-  private final String s; // original text + sentinel
-  private final int n; // length of s (including sentinel)
+public class SuffixArray extends SuffixIndex {
+
+  /** Construction algorithm. Both produce identical arrays. */
+  public enum Algorithm {
+    /** Induced sorting (Nong, Zhang &amp; Chan): linear time, about 5n ints of peak memory. */
+    SA_IS,
+    /** Rank doubling with a comparison sort over boxed indices: the original builder. */
+    PREFIX_DOUBLING
+  }
+
+  private final CharSequence text; // original text, sentinel is virtual
+  private final int n; // length of text + sentinel
   private final int[] sa; // suffix array: sa[i] is start index of i-th smallest suffix
   private final int[] lcp; // lcp[i] = LCP(sa[i], sa[i-1]) for i>0, lcp[0]=0
 
-  public SuffixArray(String text) {
-    // append sentinel '\0' that is lexicographically smallest
-    this.s = text + '\0';
-    this.n = s.length();
-    this.sa = new int[n];
+  // SA-IS and Kasai report progress and check for cancellation once per this many positions
+  private static final int PROGRESS_STEP = 1 << 16;
+
+  public SuffixArray(CharSequence text) {
+    this(text, Algorithm.SA_IS);
+  }
+
+  public SuffixArray(CharSequence text, Algorithm algorithm) {
+    this(text, algorithm, ProgressMonitor.NONE);
+  }
+
+  /** SA-IS build reporting to {@code monitor}; cancelling it aborts the build. */
+  public SuffixArray(CharSequence text, ProgressMonitor monitor) {
+    this(text, Algorithm.SA_IS, monitor);
+  }
+
+  public SuffixArray(CharSequence text, Algorithm algorithm, ProgressMonitor monitor) {
+    this.text = text;
+    this.n = text.length() + 1;
     this.lcp = new int[n];
-    buildSA();
-    buildLCP();
+    if (algorithm == Algorithm.PREFIX_DOUBLING) {
+      this.sa = new int[n];
+      buildSA();
+    } else {
+      this.sa = buildSAIS(monitor);
+    }
+    buildLCP(monitor);
+  }
+
+  // character at i of text + sentinel
+  private char at(int i) {
+    return i < n - 1 ? text.charAt(i) : '\0';
+  }
+
+  // -----------------------
+  // Build suffix array (SA-IS)
+  // -----------------------
+  private int[] buildSAIS(ProgressMonitor monitor) {
+    // remap the characters to a dense alphabet 1..sigma so bucket arrays stay tiny for DNA;
+    // the sentinel gets 0, which is unique and smallest
+    int[] code = new int[Character.MAX_VALUE + 1];
+    for (int i = 0; i < n - 1; i++) code[text.charAt(i)] = 1;
+    int sigma = 0;
+    for (int c = 0; c < code.length; c++) {
+      if (code[c] != 0) code[c] = ++sigma;
+    }
+    int[] s = new int[n];
+    for (int i = 0; i < n - 1; i++) s[i] = code[text.charAt(i)];
+    s[n - 1] = 0;
+    // two induce passes of two scans each over n, plus about three quarters of that again for the
+    // reduced strings of the recursion (random DNA has an LMS position every ~3 bases)
+    monitor.begin("suffix array", 7L * n);
+    return sais(s, sigma, monitor);
+  }
+
+  /**
+   * Induced-sorting suffix array construction over an integer string with values in [0, upper].
+   * Works for any input; here the last symbol is always a unique smallest sentinel.
+   */
+  static int[] sais(int[] s, int upper) {
+    return sais(s, upper, ProgressMonitor.NONE);
+  }
+
+  static int[] sais(int[] s, int upper, ProgressMonitor monitor) {
+    int n = s.length;
+    if (n == 0) return new int[0];
+    if (n == 1) return new int[] {0};
+    if (n == 2) return s[0] < s[1] ? new int[] {0, 1} : new int[] {1, 0};
+
+    int[] sa = new int[n];
+    // ls[i]: suffix i is S-type (smaller than suffix i+1)
+    boolean[] ls = new boolean[n];
+    for (int i = n - 2; i >= 0; i--) {
+      ls[i] = (s[i] == s[i + 1]) ? ls[i + 1] : (s[i] < s[i + 1]);
+    }
+    // bucket boundaries: sumL[c] = start of c's bucket, sumS[c] = start of c's S-part
+    int[] sumL = new int[upper + 2];
+    int[] sumS = new int[upper + 2];
+    for (int i = 0; i < n; i++) {
+      if (!ls[i]) sumS[s[i]]++;
+      else sumL[s[i] + 1]++;
+    }
+    for (int i = 0; i <= upper; i++) {
+      sumS[i] += sumL[i];
+      if (i < upper) sumL[i + 1] += sumS[i];
+    }
+
+    // LMS positions in text order, and their ordinal (or -1)
+    int[] lmsMap = new int[n + 1];
+    Arrays.fill(lmsMap, -1);
+    int m = 0;
+    for (int i = 1; i < n; i++) {
+      if (!ls[i - 1] && ls[i]) lmsMap[i] = m++;
+    }
+    int[] lms = new int[m];
+    for (int i = 1, j = 0; i < n; i++) {
+      if (!ls[i - 1] && ls[i]) lms[j++] = i;
+    }
+    int[] buf = new int[upper + 2];
+    induce(s, sa, ls, sumL, sumS, buf, lms, upper, monitor);
+
+    if (m > 0) {
+      // name the sorted LMS substrings and sort the reduced string recursively
+      int[] sortedLms = new int[m];
+      for (int i = 0, j = 0; i < n; i++) {
+        int v = sa[i];
+        if (lmsMap[v] != -1) sortedLms[j++] = v;
+      }
+      int[] recS = new int[m];
+      int recUpper = 0;
+      recS[lmsMap[sortedLms[0]]] = 0;
+      for (int i = 1; i < m; i++) {
+        int l = sortedLms[i - 1];
+        int r = sortedLms[i];
+        int endL = (lmsMap[l] + 1 < m) ? lms[lmsMap[l] + 1] : n;
+        int endR = (lmsMap[r] + 1 < m) ? lms[lmsMap[r] + 1] : n;
+        boolean same = true;
+        if (endL - l != endR - r) {
+          same = false;
+        } else {
+          while (l < endL && s[l] == s[r]) {
+            l++;
+            r++;
+          }
+          if (l == n || r == n || s[l] != s[r]) same = false;
+        }
+        if (!same) recUpper++;
+        recS[lmsMap[sortedLms[i]]] = recUpper;
+      }
+      lmsMap = null; // let the recursion reuse the memory
+
+      int[] recSa = sais(recS, recUpper, monitor);
+      for (int i = 0; i < m; i++) sortedLms[i] = lms[recSa[i]];
+      induce(s, sa, ls, sumL, sumS, buf, sortedLms, upper, monitor);
+    }
+    return sa;
+  }
+
+  private static void induce(
+      int[] s,
+      int[] sa,
+      boolean[] ls,
+      int[] sumL,
+      int[] sumS,
+      int[] buf,
+      int[] lms,
+      int upper,
+      ProgressMonitor monitor) {
+    int n = s.length;
+    Arrays.fill(sa, -1);
+    System.arraycopy(sumS, 0, buf, 0, upper + 1);
+    for (int d : lms) {
+      if (d == n) continue;
+      sa[buf[s[d]]++] = d;
+    }
+    System.arraycopy(sumL, 0, buf, 0, upper + 1);
+    sa[buf[s[n - 1]]++] = n - 1;
+    for (int i = 0; i < n; i++) {
+      int v = sa[i];
+      if (v >= 1 && !ls[v - 1]) sa[buf[s[v - 1]]++] = v - 1;
+      if ((i & (PROGRESS_STEP - 1)) == PROGRESS_STEP - 1) monitor.worked(PROGRESS_STEP);
+    }
+    monitor.worked(n & (PROGRESS_STEP - 1));
+    System.arraycopy(sumL, 0, buf, 0, upper + 2);
+    for (int i = n - 1; i >= 0; i--) {
+      int v = sa[i];
+      if (v >= 1 && ls[v - 1]) sa[--buf[s[v - 1] + 1]] = v - 1;
+      if ((i & (PROGRESS_STEP - 1)) == 0) monitor.worked(PROGRESS_STEP);
+    }
   }
 
   // -----------------------
@@ -140,7 +309,7 @@ public class SuffixArray {
     // initial ranking by single character
     for (int i = 0; i < n; i++) {
       order[i] = i;
-      rank[i] = s.charAt(i);
+      rank[i] = at(i);
     }
 
     for (int k = 1; k < n; k <<= 1) {
@@ -187,7 +356,8 @@ public class SuffixArray {
   // -----------------------
   // Kasai algorithm to build LCP array in O(n)
   // -----------------------
-  private void buildLCP() {
+  private void buildLCP(ProgressMonitor monitor) {
+    monitor.begin("lcp", n);
     int[] rank = new int[n];
     for (int i = 0; i < n; i++) rank[sa[i]] = i;
 
@@ -200,10 +370,11 @@ public class SuffixArray {
       } else {
         int j = sa[r - 1]; // previous suffix in SA order
         // compare s starting at i+h and j+h
-        while (i + h < n && j + h < n && s.charAt(i + h) == s.charAt(j + h)) h++;
+        while (i + h < n && j + h < n && at(i + h) == at(j + h)) h++;
         lcp[r] = h;
         if (h > 0) h--;
       }
+      if ((i & (PROGRESS_STEP - 1)) == PROGRESS_STEP - 1) monitor.worked(PROGRESS_STEP);
     }
   }
 
@@ -221,82 +392,34 @@ public class SuffixArray {
     return Arrays.copyOf(lcp, lcp.length);
   }
 
-  // -----------------------
-  // Search: find all occurrences of pattern in original text (no substrings created)
-  // -----------------------
-  public List<Integer> search(String pattern) {
-    List<Integer> res = new ArrayList<>();
-    if (pattern == null || pattern.length() == 0) return res;
-
-    int left = lowerBound(pattern);
-    if (left == -1) return res; // no match
-    int right = upperBound(pattern);
-
-    // collect sa[i] positions but ignore sentinel position (which equals original length)
-    int originalLen = n - 1; // original text length before sentinel
-    for (int i = left; i <= right; i++) {
-      int pos = sa[i];
-      if (pos < originalLen) res.add(pos);
-    }
-    // results are already in lex-order of suffixes; to return in increasing text index:
-    res.sort(Integer::compareTo);
-    return res;
+  @Override
+  public int length() {
+    return n - 1;
   }
 
-  // compare suffix at index 'pos' with the pattern:
-  // returns:
-  //   0  if pattern is prefix of suffix (i.e., suffix startsWith pattern)
-  //  <0  if suffix < pattern (lexicographically)
-  //  >0  if suffix > pattern
-  private int compareSuffixToPattern(int pos, String pattern) {
-    int m = pattern.length();
-    int i = 0;
-    while (i < m && pos + i < n) {
-      char sc = s.charAt(pos + i);
-      char pc = pattern.charAt(i);
-      if (sc != pc) return sc - pc;
-      i++;
-    }
-    if (i == m) return 0; // pattern exhausted -> pattern is prefix of suffix
-    // suffix ended before pattern (shouldn't happen because sentinel exists),
-    // but if it does: suffix < pattern
-    return -1;
+  @Override
+  public int suffixAt(int rank) {
+    return sa[rank];
   }
 
-  // find first SA index whose suffix starts with pattern; return -1 if none
-  private int lowerBound(String pattern) {
-    int low = 0, high = n - 1, ans = -1;
-    while (low <= high) {
-      int mid = (low + high) >>> 1;
-      int cmp = compareSuffixToPattern(sa[mid], pattern);
-      if (cmp == 0) {
-        ans = mid;
-        high = mid - 1; // continue left to find first
-      } else if (cmp < 0) {
-        low = mid + 1;
-      } else {
-        high = mid - 1;
-      }
-    }
-    return ans;
+  @Override
+  public int lcpAt(int rank) {
+    return lcp[rank];
   }
 
-  // find last SA index whose suffix starts with pattern; return -1 if none
-  private int upperBound(String pattern) {
-    int low = 0, high = n - 1, ans = -1;
-    while (low <= high) {
-      int mid = (low + high) >>> 1;
-      int cmp = compareSuffixToPattern(sa[mid], pattern);
-      if (cmp == 0) {
-        ans = mid;
-        low = mid + 1; // continue right to find last
-      } else if (cmp < 0) {
-        low = mid + 1;
-      } else {
-        high = mid - 1;
-      }
-    }
-    return ans;
+  @Override
+  public char charAt(int pos) {
+    return at(pos);
   }
-}
 
+  /** The indexed text, without sentinel. */
+  public CharSequence getText() {
+    return text;
+  }
+
+  /** SA + LCP (8 bytes per position) plus roughly one byte per character of retained text. */
+  @Override
+  public long sizeInBytes() {
+    return 8L * n + text.length();
+  }
+}
@@ -0,0 +1,142 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Versioned on-disk format for a suffix array index, readable in place through {@link
+ * MappedSuffixArray}.
+ *
+ * <p>Layout (little-endian, sections 8-byte aligned):
+ *
+ * <pre>
+ *   0  magic "DNASAIDX"
+ *   8  int  format version (1)
+ *  12  int  text encoding: 0 = one byte per char (Latin-1), 1 = 2-bit packed ACGT
+ *  16  int  text length n (without sentinel)
+ *  20  int  reserved
+ *  24  long text section offset
+ *  32  long SA section offset   (n + 1 ints, sentinel suffix included)
+ *  40  long LCP section offset  (n + 1 ints)
+ *  48  long total file length
+ *  56  long reserved
+ *  64  text section
+ * </pre>
+ *
+ * <p>Packed text stores 4 bases per byte, first base in the two high bits, with A=0 C=1 G=2 T=3
+ * (see {@link KmerCodec}).
+ */
+public final class SuffixArrayFile {
+
+  static final byte[] MAGIC = {'D', 'N', 'A', 'S', 'A', 'I', 'D', 'X'};
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 64;
+  static final int TEXT_LATIN1 = 0;
+  static final int TEXT_PACKED_2BIT = 1;
+
+  private static final int WRITE_BUFFER = 1 << 20;
+
+  private SuffixArrayFile() {}
+
+  /**
+   * Writes the index to {@code path}. The file is written next to its destination and then moved
+   * into place atomically, so readers (possibly in other JVMs) never see a partial file.
+   *
+   * @throws IllegalArgumentException if the text contains characters outside Latin-1
+   */
+  public static void write(SuffixIndex index, Path path) throws IOException {
+    int n = index.length();
+    int encoding = chooseEncoding(index);
+    long textBytes = encoding == TEXT_PACKED_2BIT ? (n + 3L) / 4 : n;
+    long textOffset = HEADER_SIZE;
+    long saOffset = align8(textOffset + textBytes);
+    long lcpOffset = saOffset + 4L * (n + 1);
+    long fileLength = lcpOffset + 4L * (n + 1);
+
+    Path dir = path.toAbsolutePath().getParent();
+    Path tmp = Files.createTempFile(dir, path.getFileName() + ".", ".tmp");
+    try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+      ByteBuffer buf = ByteBuffer.allocateDirect(WRITE_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+      buf.put(MAGIC)
+          .putInt(VERSION)
+          .putInt(encoding)
+          .putInt(n)
+          .putInt(0)
+          .putLong(textOffset)
+          .putLong(saOffset)
+          .putLong(lcpOffset)
+          .putLong(fileLength)
+          .putLong(0);
+
+      if (encoding == TEXT_PACKED_2BIT) {
+        for (int i = 0; i < n; i += 4) {
+          int b = 0;
+          for (int j = 0; j < 4; j++) {
+            int code = i + j < n ? KmerCodec.baseCode(index.charAt(i + j)) : 0;
+            b |= code << (6 - 2 * j);
+          }
+          buf.put((byte) b);
+          if (!buf.hasRemaining()) flush(out, buf);
+        }
+      } else {
+        for (int i = 0; i < n; i++) {
+          buf.put((byte) index.charAt(i));
+          if (!buf.hasRemaining()) flush(out, buf);
+        }
+      }
+      for (long p = textOffset + textBytes; p < saOffset; p++) {
+        if (!buf.hasRemaining()) flush(out, buf);
+        buf.put((byte) 0);
+      }
+
+      for (int r = 0; r <= n; r++) {
+        if (buf.remaining() < 4) flush(out, buf);
+        buf.putInt(index.suffixAt(r));
+      }
+      for (int r = 0; r <= n; r++) {
+        if (buf.remaining() < 4) flush(out, buf);
+        buf.putInt(index.lcpAt(r));
+      }
+      flush(out, buf);
+      out.force(true);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(tmp);
+      throw e;
+    }
+    Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /** Maps an index file written by {@link #write}. */
+  public static MappedSuffixArray open(Path path) throws IOException {
+    return MappedSuffixArray.map(path);
+  }
+
+  private static int chooseEncoding(SuffixIndex index) {
+    boolean acgt = true;
+    for (int i = 0, n = index.length(); i < n; i++) {
+      char c = index.charAt(i);
+      if (c > 0xFF) {
+        throw new IllegalArgumentException("Cannot persist non Latin-1 character at " + i);
+      }
+      // lower-case bases must round-trip as themselves, so only upper-case ACGT is packed
+      if (c != 'A' && c != 'C' && c != 'G' && c != 'T') acgt = false;
+    }
+    return acgt ? TEXT_PACKED_2BIT : TEXT_LATIN1;
+  }
+
+  private static long align8(long offset) {
+    return (offset + 7) & ~7L;
+  }
+
+  private static void flush(FileChannel out, ByteBuffer buf) throws IOException {
+    buf.flip();
+    while (buf.hasRemaining()) out.write(buf);
+    buf.clear();
+  }
+}
@@ -0,0 +1,117 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.Arrays;
+
+/**
+ * Common read side of a suffix array + LCP index, whatever its storage (heap arrays in {@link
+ * SuffixArray}, mapped file pages in {@link MappedSuffixArray}).
+ *
+ * <p>Ranks run over the text plus its virtual '\0' sentinel, so there are {@code length() + 1}
+ * suffixes and {@code charAt(length())} is the sentinel. Searching is the binary search over
+ * suffixes, comparing characters in place without creating substring objects.
+ */
+public abstract class SuffixIndex implements SequenceIndex {
+
+  /** Start position of the suffix with the given rank. */
+  public abstract int suffixAt(int rank);
+
+  /** LCP of the suffixes at {@code rank} and {@code rank - 1}; 0 for rank 0. */
+  public abstract int lcpAt(int rank);
+
+  /** Character at {@code pos} of the text, or '\0' for the sentinel position {@code length()}. */
+  public abstract char charAt(int pos);
+
+  /** Number of suffixes, i.e. {@code length() + 1}. */
+  public int suffixCount() {
+    return length() + 1;
+  }
+
+  // -----------------------
+  // Search: find all occurrences of pattern in original text (no substrings created)
+  // -----------------------
+  @Override
+  public int count(String pattern) {
+    if (pattern == null || pattern.length() == 0) return 0;
+    int left = lowerBound(pattern);
+    if (left == -1) return 0; // no match
+    return upperBound(pattern) - left + 1;
+  }
+
+  @Override
+  public int[] positions(String pattern) {
+    if (pattern == null || pattern.length() == 0) return new int[0];
+
+    int left = lowerBound(pattern);
+    if (left == -1) return new int[0]; // no match
+    int right = upperBound(pattern);
+
+    // collect sa[i] positions but ignore sentinel position (which equals original length)
+    int originalLen = length(); // original text length before sentinel
+    int[] res = new int[right - left + 1];
+    int count = 0;
+    for (int i = left; i <= right; i++) {
+      int pos = suffixAt(i);
+      if (pos < originalLen) res[count++] = pos;
+    }
+    // results are in lex-order of suffixes; radix sort them into increasing text index
+    RadixSort.sort(res, count);
+    return count == res.length ? res : Arrays.copyOf(res, count);
+  }
+
+  // compare suffix at index 'pos' with the pattern:
+  // returns:
+  //   0  if pattern is prefix of suffix (i.e., suffix startsWith pattern)
+  //  <0  if suffix < pattern (lexicographically)
+  //  >0  if suffix > pattern
+  private int compareSuffixToPattern(int pos, String pattern) {
+    int n = suffixCount();
+    int m = pattern.length();
+    int i = 0;
+    while (i < m && pos + i < n) {
+      char sc = charAt(pos + i);
+      char pc = pattern.charAt(i);
+      if (sc != pc) return sc - pc;
+      i++;
+    }
+    if (i == m) return 0; // pattern exhausted -> pattern is prefix of suffix
+    // suffix ended before pattern (shouldn't happen because sentinel exists),
+    // but if it does: suffix < pattern
+    return -1;
+  }
+
+  // find first SA index whose suffix starts with pattern; return -1 if none
+  private int lowerBound(String pattern) {
+    int low = 0, high = suffixCount() - 1, ans = -1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = compareSuffixToPattern(suffixAt(mid), pattern);
+      if (cmp == 0) {
+        ans = mid;
+        high = mid - 1; // continue left to find first
+      } else if (cmp < 0) {
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return ans;
+  }
+
+  // find last SA index whose suffix starts with pattern; return -1 if none
+  private int upperBound(String pattern) {
+    int low = 0, high = suffixCount() - 1, ans = -1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = compareSuffixToPattern(suffixAt(mid), pattern);
+      if (cmp == 0) {
+        ans = mid;
+        low = mid + 1; // continue right to find last
+      } else if (cmp < 0) {
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return ans;
+  }
+}
@@ -0,0 +1,95 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Approximate top-N k-mer counting in memory that depends only on the error bound, not on the
+ * sequence length or k.
+ *
+ * <p>Every k-mer goes into a {@link CountMinSketch} and a {@link SpaceSaving} summary. Space-Saving
+ * decides which k-mers are candidates and gives a lower bound ({@code count - error}). The
+ * reported estimate is the smaller of the two upper bounds, and its error is the gap between
+ * estimate and lower bound. With {@code errorBound = eps}, every k-mer occurring more than eps *
+ * total times is a candidate, and estimates are within eps * total of the truth (the sketch part
+ * with probability 1 - {@value #FAILURE_PROBABILITY}).
+ */
+public final class TopKmerCounter {
+
+  /** A reported k-mer: estimated count (never below the truth) and the most it can be over. */
+  public record Estimate(long code, int count, int error) {}
+
+  public static final double FAILURE_PROBABILITY = 0.01;
+  public static final int MAX_TOP_N = 100_000;
+  public static final double MIN_ERROR_BOUND = 1e-5;
+
+  private final int k;
+  private final int topN;
+  private final long mask;
+  private final CountMinSketch sketch;
+  private final SpaceSaving heavyHitters;
+
+  public TopKmerCounter(int k, int topN, double errorBound) {
+    if (k <= 0 || k > KmerCodec.MAX_K) {
+      throw new IllegalArgumentException("k must be between 1 and " + KmerCodec.MAX_K + ": " + k);
+    }
+    if (topN < 1 || topN > MAX_TOP_N) {
+      throw new IllegalArgumentException("topN must be between 1 and " + MAX_TOP_N);
+    }
+    if (!(errorBound >= MIN_ERROR_BOUND && errorBound < 1)) {
+      throw new IllegalArgumentException("errorBound must be in [" + MIN_ERROR_BOUND + ", 1)");
+    }
+    this.k = k;
+    this.topN = topN;
+    this.mask = KmerCodec.mask(k);
+    this.sketch = new CountMinSketch(errorBound, FAILURE_PROBABILITY);
+    int capacity = (int) Math.max(2L * topN, (long) Math.ceil(1 / errorBound));
+    this.heavyHitters = new SpaceSaving(capacity);
+  }
+
+  public int getK() {
+    return k;
+  }
+
+  /** Counts every k-mer of the sequence, skipping any that spans a non-ACGT character. */
+  public void count(CharSequence seq) {
+    long code = 0;
+    int run = 0;
+    for (int i = 0, n = seq.length(); i < n; i++) {
+      int b = KmerCodec.baseCode(seq.charAt(i));
+      if (b < 0) {
+        run = 0;
+        continue;
+      }
+      code = ((code << 2) | b) & mask;
+      if (++run >= k) {
+        sketch.addAndEstimate(code);
+        heavyHitters.offer(code);
+      }
+    }
+  }
+
+  /** The top-N candidates by estimated count, highest first (ties by code). */
+  public List<Estimate> top() {
+    List<Estimate> all = new ArrayList<>(heavyHitters.size());
+    heavyHitters.forEach((code, count, error) -> {
+      long upper = Math.min(count, sketch.estimate(code));
+      long lower = count - error;
+      all.add(new Estimate(code, (int) upper, (int) Math.max(0, upper - lower)));
+    });
+    all.sort(Comparator.comparingInt(Estimate::count).reversed()
+        .thenComparingLong(Estimate::code));
+    return all.size() > topN ? new ArrayList<>(all.subList(0, topN)) : all;
+  }
+
+  /** Total number of k-mers counted. */
+  public long totalKmers() {
+    return sketch.total();
+  }
+
+  /** Memory held by the sketches; fixed at construction. */
+  public long sizeInBytes() {
+    return sketch.sizeInBytes() + heavyHitters.sizeInBytes();
+  }
+}
@@ -0,0 +1,23 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class AlignmentResult {
+    private int lengthA;
+    private int lengthB;
+    private int editDistance;
+    private String cigar;
+    private List<MutationCall> mutations;
+    private int totalMutations;
+
+    public AlignmentResult(int lengthA, int lengthB, int distance, String cigar, List<MutationCall> mutations) {
+        this.lengthA = lengthA;
+        this.lengthB = lengthB;
+        this.editDistance = distance;
+        this.cigar = cigar;
+        this.mutations = mutations;
+        this.totalMutations = mutations.size();
+    }
+}
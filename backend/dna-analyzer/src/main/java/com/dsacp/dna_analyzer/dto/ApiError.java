@@ -0,0 +1,12 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/** Error body; the frontend shows {@code message}. */
+@Data
+@AllArgsConstructor
+public class ApiError {
+    private int status;
+    private String message;
+}
@@ -0,0 +1,15 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.Data;
+
+@Data
+public class ApproximateMotifRequest {
+    private String dnaSequence;
+    /** ID of a sequence registered under /api/v1/sequences, instead of dnaSequence. */
+    private String sequenceId;
+    private String motif;
+    /** Maximum number of substitutions, insertions and deletions; must be below the motif length. */
+    private int maxDistance;
+    /** Optional; defaults to dna.motif.engine. */
+    private MotifEngine engine;
+}
@@ -0,0 +1,19 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class ApproximateMotifResult {
+    private String motifSearched;
+    private int maxDistance;
+    private List<MotifHit> hits;
+    private int totalOccurrences;
+
+    public ApproximateMotifResult(String motif, int maxDistance, List<MotifHit> hits) {
+        this.motifSearched = motif;
+        this.maxDistance = maxDistance;
+        this.hits = hits;
+        this.totalOccurrences = hits.size();
+    }
+}
@@ -0,0 +1,14 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class BatchMotifRequest {
+    private String dnaSequence;
+    /** ID of a sequence registered under /api/v1/sequences, instead of dnaSequence. */
+    private String sequenceId;
+    private List<String> motifs;
+    /** Optional; defaults to dna.motif.engine. Ignored when the panel is scanned with Aho-Corasick. */
+    private MotifEngine engine;
+}
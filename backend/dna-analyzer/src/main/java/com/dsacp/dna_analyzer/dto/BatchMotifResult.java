@@ -0,0 +1,19 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class BatchMotifResult {
+    /** One entry per requested motif, in request order. */
+    private List<MotifResult> results;
+    private int totalMotifs;
+    /** "INDEX" (one shared index, queries in parallel) or "AHO_CORASICK" (single linear scan). */
+    private String strategy;
+
+    public BatchMotifResult(List<MotifResult> results, String strategy) {
+        this.results = results;
+        this.totalMotifs = results.size();
+        this.strategy = strategy;
+    }
+}
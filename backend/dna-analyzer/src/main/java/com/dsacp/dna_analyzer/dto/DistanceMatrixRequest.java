@@ -0,0 +1,13 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class DistanceMatrixRequest {
+    private List<String> sequences;
+    /** IDs of registered sequences (see /api/v1/sequences), instead of sequences. */
+    private List<String> sequenceIds;
+    // optional: distances above this bound are reported as maxDistance + 1, and such pairs are pruned
+    private Integer maxDistance;
+}
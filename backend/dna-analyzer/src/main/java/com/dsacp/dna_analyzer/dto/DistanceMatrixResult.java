@@ -0,0 +1,21 @@
+package com.dsacp.dna_analyzer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DistanceMatrixResult {
+    /** Number of sequences n. */
+    private int size;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer maxDistance;
+    /**
+     * Condensed upper triangle, n (n - 1) / 2 entries: the distance of sequences i &lt; j is at
+     * i * n - i * (i + 1) / 2 + (j - i - 1).
+     */
+    private int[] distances;
+    /** Pairs ruled out by length / base composition alone, without an alignment. */
+    private long prunedPairs;
+}
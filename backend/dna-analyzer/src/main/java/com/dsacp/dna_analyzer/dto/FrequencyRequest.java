@@ -5,5 +5,11 @@ import lombok.Data;
 @Data
 public class FrequencyRequest {
     private String dnaSequence;
+    /** ID of a sequence registered under /api/v1/sequences, instead of dnaSequence. */
+    private String sequenceId;
     private int k;
+    /** Set to return only the N most frequent k-mers, counted approximately in bounded memory. */
+    private Integer topN;
+    /** Approximate mode: allowed overcount, as a fraction of all k-mers (default from config). */
+    private Double errorBound;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.dsacp.dna_analyzer.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import java.util.Map;
 
@@ -8,10 +9,27 @@ public class FrequencyResult {
     private Map<String, Integer> frequencies;
     private int k;
     private int totalUniqueKmers;
+    /** Set only for topN requests: counts are estimates, listed highest first. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean approximate;
+    /** Approximate mode: the most each estimate can exceed the true count. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Integer> errorEstimates;
+    /** Approximate mode: k-mers counted in total. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalKmers;
 
     public FrequencyResult(Map<String, Integer> frequencies, int k) {
         this.frequencies = frequencies;
         this.k = k;
         this.totalUniqueKmers = frequencies.size();
     }
-}
\ No newline at end of file
+
+    public FrequencyResult(Map<String, Integer> frequencies, int k, Map<String, Integer> errorEstimates,
+                           long totalKmers) {
+        this(frequencies, k);
+        this.approximate = true;
+        this.errorEstimates = errorEstimates;
+        this.totalKmers = totalKmers;
+    }
+}
@@ -0,0 +1,17 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class IndexCacheStats {
+    private long hits;
+    private long misses;
+    private long evictions;
+    /** Requests that found the index already being built and waited for that build. */
+    private long coalescedBuilds;
+    private int entries;
+    private long usedBytes;
+    private long maxBytes;
+}
@@ -0,0 +1,8 @@
+package com.dsacp.dna_analyzer.dto;
+
+/** Queue priority of an analysis job; jobs of equal priority run in submission order. */
+public enum JobPriority {
+    HIGH,
+    NORMAL,
+    LOW
+}
@@ -0,0 +1,14 @@
+package com.dsacp.dna_analyzer.dto;
+
+/** Lifecycle of an analysis job. */
+public enum JobState {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+}
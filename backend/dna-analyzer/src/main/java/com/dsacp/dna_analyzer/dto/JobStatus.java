@@ -0,0 +1,29 @@
+package com.dsacp.dna_analyzer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobStatus {
+    private String id;
+    /** Analysis the job runs, e.g. "motif" or "mutation/align". */
+    private String type;
+    private JobPriority priority;
+    private JobState state;
+    /** Phase the running analysis is in, e.g. "suffix array" or "k-mer counting". */
+    private String phase;
+    /** Fraction of the current phase done, 0 to 1; estimated, so it may jump between phases. */
+    private double progress;
+    /** A cancel has been requested and the job stops at its next checkpoint. */
+    private boolean cancelRequested;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    /** Why the job failed. */
+    private String error;
+}
@@ -0,0 +1,21 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.Data;
+
+@Data
+public class LocalAlignmentRequest {
+    /** The sequence looked for, e.g. a gene. */
+    private String query;
+    /** The sequence searched, e.g. a contig. */
+    private String target;
+    /** IDs of registered sequences (see /api/v1/sequences), instead of query / target. */
+    private String queryId;
+    private String targetId;
+    /** Optional scores (defaults from dna.local-alignment.*); gaps of k bases cost gapOpen + (k - 1) gapExtend. */
+    private Integer match;
+    private Integer mismatch;
+    private Integer gapOpen;
+    private Integer gapExtend;
+    /** Optional 4 x 4 (A, C, G, T) or 5 x 5 (A, C, G, T, N) scores [query base][target base], instead of match / mismatch. */
+    private int[][] substitutionMatrix;
+}
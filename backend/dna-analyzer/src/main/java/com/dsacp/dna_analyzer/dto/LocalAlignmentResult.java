@@ -0,0 +1,17 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LocalAlignmentResult {
+    private int score;
+    /** Aligned regions, 0-based with exclusive ends: query[queryStart, queryEnd) against target[targetStart, targetEnd). */
+    private int queryStart;
+    private int queryEnd;
+    private int targetStart;
+    private int targetEnd;
+    /** "striped-<vector bits>" or "scalar". */
+    private String engine;
+}
@@ -0,0 +1,9 @@
+package com.dsacp.dna_analyzer.dto;
+
+/** Index used to answer motif queries. */
+public enum MotifEngine {
+    /** Full suffix array + LCP: fastest locate, about 8 bytes per base. */
+    SUFFIX_ARRAY,
+    /** Compressed FM-index: under 1 byte per base, slower locate. Upper-case ACGT text only. */
+    FM_INDEX
+}
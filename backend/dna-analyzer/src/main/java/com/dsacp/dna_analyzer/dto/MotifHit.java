@@ -0,0 +1,11 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class MotifHit {
+    private int position;
+    private int distance;
+}
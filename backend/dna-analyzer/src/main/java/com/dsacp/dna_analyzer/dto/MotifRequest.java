@@ -5,5 +5,14 @@ import lombok.Data;
 @Data
 public class MotifRequest {
     private String dnaSequence;
+    /** ID of a sequence registered under /api/v1/sequences, instead of dnaSequence. */
+    private String sequenceId;
     private String motif;
+    /** Optional; defaults to dna.motif.engine. */
+    private MotifEngine engine;
+    /** Only count the hits (no locate); locationsFound comes back empty. */
+    private boolean countOnly;
+    /** Optional paging over the hits in text order: skip offset hits, then return at most limit. */
+    private Integer offset;
+    private Integer limit;
 }
\ No newline at end of file
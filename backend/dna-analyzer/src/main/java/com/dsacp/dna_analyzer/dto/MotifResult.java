@@ -1,16 +1,22 @@
 package com.dsacp.dna_analyzer.dto;
 
 import lombok.Data;
-import java.util.List;
 
 @Data
 public class MotifResult {
     private String motifSearched;
-    private List<Integer> locationsFound;
+    /** Hit positions in increasing order; one page of them when the request asked for offset/limit. */
+    private int[] locationsFound;
+    /** All hits of the motif, whatever part of them is listed in locationsFound. */
     private int totalOccurrences;
-    public MotifResult(String motif, List<Integer> locations) {
+
+    public MotifResult(String motif, int[] locations) {
+        this(motif, locations, locations.length);
+    }
+
+    public MotifResult(String motif, int[] locations, int totalOccurrences) {
         this.motifSearched = motif;
         this.locationsFound = locations;
-        this.totalOccurrences = locations.size();
+        this.totalOccurrences = totalOccurrences;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class MutationCall {
+    private String type; // SUBSTITUTION, INSERTION or DELETION
+    private int positionA;
+    private int positionB;
+    private String reference;
+    private String alternate;
+}
@@ -6,4 +6,9 @@ import lombok.Data;
 public class MutationRequest {
     private String sequenceA;
     private String sequenceB;
+    /** IDs of registered sequences (see /api/v1/sequences), instead of sequenceA / sequenceB. */
+    private String sequenceIdA;
+    private String sequenceIdB;
+    // optional: only distances up to this bound are computed exactly (banded mode)
+    private Integer maxDistance;
 }
\ No newline at end of file
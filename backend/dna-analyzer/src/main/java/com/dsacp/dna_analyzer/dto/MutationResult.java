@@ -1,5 +1,6 @@
 package com.dsacp.dna_analyzer.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 @Data
@@ -8,6 +9,9 @@ public class MutationResult {
     private String sequenceB;
     private int editDistance;
     private String mutationClassification;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer maxDistance;
+    private boolean thresholdExceeded;
 
     public MutationResult(String sequenceA, String sequenceB, int distance) {
         this.sequenceA = sequenceA;
@@ -23,4 +27,17 @@ public class MutationResult {
             this.mutationClassification = "Highly Different (High Mutation)";
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Result of a bounded comparison. A distance above {@code maxDistance} is only known to be
+     * greater than the bound, so it is reported as "> maxDistance" with editDistance = maxDistance + 1.
+     */
+    public MutationResult(String sequenceA, String sequenceB, int distance, int maxDistance) {
+        this(sequenceA, sequenceB, Math.min(distance, maxDistance + 1));
+        this.maxDistance = maxDistance;
+        if (distance > maxDistance) {
+            this.thresholdExceeded = true;
+            this.mutationClassification = "> " + maxDistance;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.dsacp.dna_analyzer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Repeat {
+    private String sequence;
+    private int length;
+    private int occurrences;
+    /** Occurrence start positions in increasing order, when the request asked for them. */
+    private int[] positions;
+}
@@ -0,0 +1,11 @@
+package com.dsacp.dna_analyzer.dto;
+
+/** Repeats reported by the /repeats endpoints that work on the suffix array's LCP intervals. */
+public enum RepeatKind {
+    /** The repeated substrings of the greatest length. */
+    LONGEST,
+    /** Repeats that cannot be extended left or right without losing an occurrence. */
+    MAXIMAL,
+    /** Maximal repeats that are not part of a longer maximal repeat. */
+    SUPERMAXIMAL
+}
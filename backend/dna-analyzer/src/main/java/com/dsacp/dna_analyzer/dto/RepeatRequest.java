@@ -0,0 +1,19 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.Data;
+
+@Data
+public class RepeatRequest {
+    private String dnaSequence;
+    /** ID of a sequence registered under /api/v1/sequences, instead of dnaSequence. */
+    private String sequenceId;
+    /** Optional; shortest repeat reported (defaults to dna.repeats.min-length). Ignored by /longest. */
+    private Integer minLength;
+    /** Optional; most repeats listed, longest first (defaults to dna.repeats.max-results). */
+    private Integer limit;
+    /** List the occurrence positions of each repeat. */
+    private boolean positions;
+    /** Tandem repeats only: longest unit (defaults to dna.repeats.max-period) and fewest copies (2). */
+    private Integer maxPeriod;
+    private Integer minCopies;
+}
@@ -0,0 +1,16 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class RepeatResult {
+    private RepeatKind kind;
+    /** Longest first; at most the request's limit of them. */
+    private List<Repeat> repeats;
+    /** All repeats found, whatever part of them is listed. */
+    private long totalRepeats;
+}
@@ -0,0 +1,20 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class ScreenRequest {
+    private String dnaSequence;
+    /** ID of a sequence registered under /api/v1/sequences, instead of dnaSequence. */
+    private String sequenceId;
+    /** Registered sequences to screen against; every registered sequence but the query when omitted. */
+    private List<String> targetIds;
+    /** Optional; k-mer length (defaults to dna.sketch.k) and hashes kept per sketch (dna.sketch.size). */
+    private Integer k;
+    private Integer sketchSize;
+    /** Optional; only matches up to this Mash distance are listed. */
+    private Double maxDistance;
+    /** Optional; most matches listed, closest first (defaults to dna.sketch.max-results). */
+    private Integer limit;
+}
@@ -0,0 +1,18 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ScreenResult {
+    private int k;
+    private int sketchSize;
+    /** Sequences compared against the query. */
+    private int screened;
+    /** Matches within maxDistance, closest first; at most the request's limit of them. */
+    private List<SketchDistance> matches;
+    /** All matches within maxDistance, whatever part of them is listed. */
+    private int totalMatches;
+}
@@ -0,0 +1,18 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SequenceInfo {
+    /** Content digest; pass it as sequenceId to the analysis endpoints. */
+    private String id;
+    private int length;
+    /** Runs of N (or any other non-ACGT symbol, all read back as N). */
+    private int runsOfN;
+    /** Off-heap bytes held by the packed bases. */
+    private long sizeInBytes;
+    /** True when backed by a memory-mapped file under dna.sequences.directory. */
+    private boolean mapped;
+}
@@ -0,0 +1,8 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.Data;
+
+@Data
+public class SequenceRequest {
+    private String dnaSequence;
+}
@@ -0,0 +1,20 @@
+package com.dsacp.dna_analyzer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SketchDistance {
+    /** The registered sequence compared against, when screening. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String id;
+    /** Hashes found in both sketches, out of the sampled smallest hashes of their union. */
+    private int sharedHashes;
+    private int sampledHashes;
+    /** Estimated Jaccard index of the two canonical k-mer sets. */
+    private double jaccard;
+    /** Estimated per-base divergence, -ln(2j / (1 + j)) / k; 1 when nothing is shared. */
+    private double mashDistance;
+}
@@ -0,0 +1,15 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.Data;
+
+@Data
+public class SketchRequest {
+    private String sequenceA;
+    private String sequenceB;
+    /** IDs of registered sequences (see /api/v1/sequences), instead of sequenceA / sequenceB. */
+    private String sequenceIdA;
+    private String sequenceIdB;
+    /** Optional; k-mer length (defaults to dna.sketch.k) and hashes kept per sketch (dna.sketch.size). */
+    private Integer k;
+    private Integer sketchSize;
+}
@@ -0,0 +1,14 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TandemRepeat {
+    private int start;
+    private int length;
+    private String unit;
+    /** length / unit length: the last copy may be partial. */
+    private double copies;
+}
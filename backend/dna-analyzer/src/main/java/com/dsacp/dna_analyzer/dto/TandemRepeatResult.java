@@ -0,0 +1,15 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TandemRepeatResult {
+    /** In text order; at most the request's limit of them. */
+    private List<TandemRepeat> repeats;
+    /** All tandem repeats found, whatever part of them is listed. */
+    private long totalRepeats;
+}
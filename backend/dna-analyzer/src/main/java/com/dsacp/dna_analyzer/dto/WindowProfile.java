@@ -0,0 +1,25 @@
+package com.dsacp.dna_analyzer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/** Statistics of one window [start, end); one line of the /profile stream. */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WindowProfile {
+    private int start;
+    private int end;
+    /** (C + G) / (A + C + G + T); absent when the window has no ACGT base. */
+    private Double gcContent;
+    /** Bases other than A/C/G/T (N, IUPAC codes...). */
+    private int ambiguousBases;
+    /** The k-mer fields are present when the request gave k. */
+    private Long kmers;
+    private Integer distinctKmers;
+    /** Shannon entropy of the window's k-mer spectrum, in bits (at most 2k). */
+    private Double kmerEntropy;
+    /** Hits lying entirely inside the window, in the order of the request's motifs. */
+    private int[] motifCounts;
+}
@@ -0,0 +1,19 @@
+package com.dsacp.dna_analyzer.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class WindowProfileRequest {
+    private String dnaSequence;
+    /** ID of a sequence registered under /api/v1/sequences, instead of dnaSequence. */
+    private String sequenceId;
+    private int windowSize;
+    /** Optional; defaults to windowSize (adjacent windows). */
+    private Integer step;
+    /** Optional k-mer length for the per-window spectrum statistics. */
+    private Integer k;
+    /** Optional motifs to count per window. */
+    private List<String> motifs;
+}
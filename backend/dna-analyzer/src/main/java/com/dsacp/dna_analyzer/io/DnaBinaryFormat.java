@@ -0,0 +1,593 @@
+package com.dsacp.dna_analyzer.io;
+
+import com.dsacp.dna_analyzer.dsa.KmerCodec;
+import com.dsacp.dna_analyzer.dsa.LongIntHashMap;
+import com.dsacp.dna_analyzer.dto.ApiError;
+import com.dsacp.dna_analyzer.dto.BatchMotifRequest;
+import com.dsacp.dna_analyzer.dto.BatchMotifResult;
+import com.dsacp.dna_analyzer.dto.FrequencyRequest;
+import com.dsacp.dna_analyzer.dto.FrequencyResult;
+import com.dsacp.dna_analyzer.dto.MotifEngine;
+import com.dsacp.dna_analyzer.dto.MotifRequest;
+import com.dsacp.dna_analyzer.dto.MotifResult;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of the analysis requests and results, an alternative to JSON for
+ * pipeline clients ({@value #MEDIA_TYPE}).
+ *
+ * <p>Every message starts with the magic {@code "DNAB"}, a version byte (2) and a type byte. After
+ * that:
+ *
+ * <ul>
+ *   <li>integers are unsigned LEB128 varints, strings a varint byte length plus UTF-8, an engine one
+ *       byte (0 = default, 1 = SUFFIX_ARRAY, 2 = FM_INDEX), a fraction 8 bytes of big-endian IEEE
+ *       754 double;
+ *   <li>a <b>sequence</b> is a varint length n, a varint count of N runs, each run as (gap since the
+ *       previous run end, length) varints, then ceil(n / 4) bytes of 2-bit bases (A=0 C=1 G=2 T=3,
+ *       first base in the high bits, N positions packed as A). Sequences come out upper case;
+ *       every non-ACGT character becomes N;
+ *   <li>{@code 0x01} FrequencyRequest: k, a flags byte (1 = sequence ID follows, 2 = topN follows,
+ *       4 = error bound follows), [sequence ID], [topN], [error bound], sequence. {@code 0x02}
+ *       MotifRequest: engine, a flags byte (1 = count only, 2 = offset follows, 4 = limit follows,
+ *       8 = sequence ID follows), [offset], [limit], [sequence ID], motif, sequence. {@code 0x03}
+ *       BatchMotifRequest: engine, a flags byte (1 = sequence ID follows), [sequence ID], motif
+ *       count, motifs, sequence. A request that names a sequence ID carries an empty sequence
+ *       block;
+ *   <li>{@code 0x81} FrequencyResult: k, key mode, then per mode. In mode 0: entry count, then the
+ *       sorted 2-bit k-mer codes, each written as (code delta, count). Mode 1 (k &gt; 32): entry
+ *       count, then (k-mer string, count). Mode 2 (approximate top-N): total k-mers, entry count,
+ *       then (k-mer string, count, error), highest count first;
+ *   <li>{@code 0x82} MotifResult: motif, total occurrences, location count, locations in
+ *       increasing order as deltas (the first one absolute). {@code 0x83} BatchMotifResult: strategy, result count, then the
+ *       MotifResult bodies. {@code 0xFF} ApiError: status, message.
+ * </ul>
+ *
+ * <p>Version 1 is still read: it is version 2 without the FrequencyRequest and BatchMotifRequest
+ * flags bytes, and without sequence IDs.
+ */
+public final class DnaBinaryFormat {
+
+  public static final String MEDIA_TYPE = "application/vnd.dsacp.dna+binary";
+
+  static final byte[] MAGIC = {'D', 'N', 'A', 'B'};
+  static final int VERSION = 2;
+
+  private static final int FREQUENCY_REQUEST = 0x01;
+  private static final int MOTIF_REQUEST = 0x02;
+  private static final int BATCH_MOTIF_REQUEST = 0x03;
+  private static final int FREQUENCY_RESULT = 0x81;
+  private static final int MOTIF_RESULT = 0x82;
+  private static final int BATCH_MOTIF_RESULT = 0x83;
+  private static final int API_ERROR = 0xFF;
+
+  private static final Map<Class<?>, Integer> TYPES =
+      Map.of(
+          FrequencyRequest.class, FREQUENCY_REQUEST,
+          MotifRequest.class, MOTIF_REQUEST,
+          BatchMotifRequest.class, BATCH_MOTIF_REQUEST,
+          FrequencyResult.class, FREQUENCY_RESULT,
+          MotifResult.class, MOTIF_RESULT,
+          BatchMotifResult.class, BATCH_MOTIF_RESULT,
+          ApiError.class, API_ERROR);
+
+  private static final int MAX_STRING = 1 << 20;
+
+  /** Longest sequence {@link #read(InputStream, Class)} accepts when the caller sets no limit. */
+  public static final int DEFAULT_MAX_BASES = 1 << 28;
+
+  // first size of the buffers that grow as a message is read
+  private static final int INITIAL_CAPACITY = 1 << 16;
+
+  private DnaBinaryFormat() {}
+
+  /** True if messages of this class have a binary encoding. */
+  public static boolean supports(Class<?> type) {
+    return TYPES.containsKey(type);
+  }
+
+  // ---------------------------------------------------------------- writing
+
+  /** Encodes a request, result or error. */
+  public static void write(Object message, OutputStream out) throws IOException {
+    Integer type = TYPES.get(message.getClass());
+    if (type == null) throw new IllegalArgumentException("No binary encoding for " + message);
+    out.write(MAGIC);
+    out.write(VERSION);
+    out.write(type);
+    if (message instanceof FrequencyRequest r) {
+      writeVarint(out, r.getK());
+      int flags = (r.getSequenceId() != null ? 1 : 0)
+          | (r.getTopN() != null ? 2 : 0)
+          | (r.getErrorBound() != null ? 4 : 0);
+      out.write(flags);
+      if (r.getSequenceId() != null) writeString(out, r.getSequenceId());
+      if (r.getTopN() != null) writeVarint(out, r.getTopN());
+      if (r.getErrorBound() != null) writeDouble(out, r.getErrorBound());
+      writeSequence(out, r.getDnaSequence());
+    } else if (message instanceof MotifRequest r) {
+      writeEngine(out, r.getEngine());
+      int flags = (r.isCountOnly() ? 1 : 0)
+          | (r.getOffset() != null ? 2 : 0)
+          | (r.getLimit() != null ? 4 : 0)
+          | (r.getSequenceId() != null ? 8 : 0);
+      out.write(flags);
+      if (r.getOffset() != null) writeVarint(out, r.getOffset());
+      if (r.getLimit() != null) writeVarint(out, r.getLimit());
+      if (r.getSequenceId() != null) writeString(out, r.getSequenceId());
+      writeString(out, r.getMotif());
+      writeSequence(out, r.getDnaSequence());
+    } else if (message instanceof BatchMotifRequest r) {
+      writeEngine(out, r.getEngine());
+      out.write(r.getSequenceId() != null ? 1 : 0);
+      if (r.getSequenceId() != null) writeString(out, r.getSequenceId());
+      List<String> motifs = r.getMotifs() != null ? r.getMotifs() : List.of();
+      writeVarint(out, motifs.size());
+      for (String motif : motifs) writeString(out, motif);
+      writeSequence(out, r.getDnaSequence());
+    } else if (message instanceof FrequencyResult r) {
+      writeFrequencies(out, r);
+    } else if (message instanceof MotifResult r) {
+      writeMotifResult(out, r);
+    } else if (message instanceof BatchMotifResult r) {
+      writeString(out, r.getStrategy());
+      writeVarint(out, r.getResults().size());
+      for (MotifResult result : r.getResults()) writeMotifResult(out, result);
+    } else {
+      ApiError e = (ApiError) message;
+      writeVarint(out, e.getStatus());
+      writeString(out, e.getMessage());
+    }
+  }
+
+  private static void writeFrequencies(OutputStream out, FrequencyResult r) throws IOException {
+    int k = r.getK();
+    Map<String, Integer> frequencies = r.getFrequencies();
+    writeVarint(out, k);
+    if (Boolean.TRUE.equals(r.getApproximate())) {
+      out.write(2);
+      writeVarint(out, r.getTotalKmers());
+      writeVarint(out, frequencies.size());
+      for (Map.Entry<String, Integer> e : frequencies.entrySet()) {
+        writeString(out, e.getKey());
+        writeVarint(out, e.getValue());
+        writeVarint(out, r.getErrorEstimates().getOrDefault(e.getKey(), 0));
+      }
+      return;
+    }
+    long[] codes = k <= KmerCodec.MAX_K ? packKeys(frequencies, k) : null;
+    out.write(codes != null ? 0 : 1);
+    writeVarint(out, frequencies.size());
+    if (codes == null) {
+      for (Map.Entry<String, Integer> e : frequencies.entrySet()) {
+        writeString(out, e.getKey());
+        writeVarint(out, e.getValue());
+      }
+      return;
+    }
+    LongIntHashMap counts = new LongIntHashMap(codes.length);
+    int i = 0;
+    for (Map.Entry<String, Integer> e : frequencies.entrySet()) {
+      counts.addTo(codes[i++], e.getValue());
+    }
+    // sort as unsigned so a k = 32 code with the top bit set still delta-encodes forward
+    for (int j = 0; j < codes.length; j++) codes[j] ^= Long.MIN_VALUE;
+    Arrays.sort(codes);
+    long previous = 0;
+    for (long flipped : codes) {
+      long code = flipped ^ Long.MIN_VALUE;
+      writeVarint(out, code - previous);
+      writeVarint(out, counts.get(code));
+      previous = code;
+    }
+  }
+
+  // 2-bit codes of the keys in iteration order, or null if some key is not a k-long ACGT string
+  private static long[] packKeys(Map<String, Integer> frequencies, int k) {
+    long[] codes = new long[frequencies.size()];
+    int i = 0;
+    for (String key : frequencies.keySet()) {
+      if (key.length() != k) return null;
+      long code = 0;
+      for (int j = 0; j < k; j++) {
+        int b = KmerCodec.baseCode(key.charAt(j));
+        if (b < 0 || Character.isLowerCase(key.charAt(j))) return null;
+        code = (code << 2) | b;
+      }
+      codes[i++] = code;
+    }
+    return codes;
+  }
+
+  private static void writeMotifResult(OutputStream out, MotifResult r) throws IOException {
+    writeString(out, r.getMotifSearched());
+    writeVarint(out, r.getTotalOccurrences());
+    int[] sorted = r.getLocationsFound().clone();
+    Arrays.sort(sorted); // already sorted in practice; deltas must not go negative
+    writeVarint(out, sorted.length);
+    int previous = 0;
+    for (int location : sorted) {
+      writeVarint(out, location - previous);
+      previous = location;
+    }
+  }
+
+  /** Writes a sequence block (length, N runs, 2-bit bases). A null sequence is written empty. */
+  public static void writeSequence(OutputStream out, CharSequence seq) throws IOException {
+    int n = seq == null ? 0 : seq.length();
+    writeVarint(out, n);
+    List<int[]> runs = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      if (KmerCodec.baseCode(seq.charAt(i)) >= 0) continue;
+      int start = i;
+      while (i < n && KmerCodec.baseCode(seq.charAt(i)) < 0) i++;
+      runs.add(new int[] {start, i});
+    }
+    writeVarint(out, runs.size());
+    int previousEnd = 0;
+    for (int[] run : runs) {
+      writeVarint(out, run[0] - previousEnd);
+      writeVarint(out, run[1] - run[0]);
+      previousEnd = run[1];
+    }
+    byte[] chunk = new byte[8192];
+    int filled = 0;
+    for (int i = 0; i < n; i += 4) {
+      int b = 0;
+      for (int j = 0; j < 4; j++) {
+        int code = i + j < n ? KmerCodec.baseCode(seq.charAt(i + j)) : 0;
+        b |= Math.max(code, 0) << (6 - 2 * j);
+      }
+      chunk[filled++] = (byte) b;
+      if (filled == chunk.length) {
+        out.write(chunk);
+        filled = 0;
+      }
+    }
+    out.write(chunk, 0, filled);
+  }
+
+  private static void writeEngine(OutputStream out, MotifEngine engine) throws IOException {
+    out.write(engine == null ? 0 : engine.ordinal() + 1);
+  }
+
+  private static void writeString(OutputStream out, String s) throws IOException {
+    byte[] bytes = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+    writeVarint(out, bytes.length);
+    out.write(bytes);
+  }
+
+  private static void writeDouble(OutputStream out, double value) throws IOException {
+    long bits = Double.doubleToLongBits(value);
+    for (int shift = 56; shift >= 0; shift -= 8) out.write((int) (bits >>> shift));
+  }
+
+  static void writeVarint(OutputStream out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  // ---------------------------------------------------------------- reading
+
+  /**
+   * Decodes a message of the expected class.
+   *
+   * @throws IllegalArgumentException if the bytes are not a well-formed message of that type
+   */
+  public static <T> T read(InputStream in, Class<T> expected) throws IOException {
+    return read(in, expected, -1, DEFAULT_MAX_BASES);
+  }
+
+  /**
+   * Decodes a message of the expected class from a body of {@code length} bytes (-1 if unknown)
+   * whose sequences may hold at most {@code maxBases} bases. Every size the message declares is
+   * checked against both before anything of that size is allocated, and buffers grow with the
+   * data actually read, so a short message cannot make the reader allocate much.
+   *
+   * @throws IllegalArgumentException if the bytes are not a well-formed message of that type, or
+   *     declare more data than they hold or than allowed
+   */
+  public static <T> T read(InputStream stream, Class<T> expected, long length, int maxBases)
+      throws IOException {
+    Body in = new Body(stream, length, maxBases);
+    Integer expectedType = TYPES.get(expected);
+    if (expectedType == null) {
+      throw new IllegalArgumentException("No binary encoding for " + expected);
+    }
+    byte[] magic = readBytes(in, MAGIC.length);
+    if (!Arrays.equals(magic, MAGIC)) throw new IllegalArgumentException("Not a DNAB message");
+    int version = readByte(in);
+    if (version < 1 || version > VERSION) {
+      throw new IllegalArgumentException("Unsupported DNAB version " + version);
+    }
+    int type = readByte(in);
+    if (type != expectedType) {
+      throw new IllegalArgumentException(
+          "Expected DNAB message type " + expectedType + " but got " + type);
+    }
+    Object message =
+        switch (type) {
+          case FREQUENCY_REQUEST -> {
+            FrequencyRequest r = new FrequencyRequest();
+            r.setK(readInt(in));
+            int flags = version > 1 ? readFlags(in, 7) : 0;
+            if ((flags & 1) != 0) r.setSequenceId(readString(in));
+            if ((flags & 2) != 0) r.setTopN(readInt(in));
+            if ((flags & 4) != 0) r.setErrorBound(readDouble(in));
+            r.setDnaSequence(readSequence(in, r.getSequenceId()));
+            yield r;
+          }
+          case MOTIF_REQUEST -> {
+            MotifRequest r = new MotifRequest();
+            r.setEngine(readEngine(in));
+            int flags = readFlags(in, version > 1 ? 15 : 7);
+            r.setCountOnly((flags & 1) != 0);
+            if ((flags & 2) != 0) r.setOffset(readInt(in));
+            if ((flags & 4) != 0) r.setLimit(readInt(in));
+            if ((flags & 8) != 0) r.setSequenceId(readString(in));
+            r.setMotif(readString(in));
+            r.setDnaSequence(readSequence(in, r.getSequenceId()));
+            yield r;
+          }
+          case BATCH_MOTIF_REQUEST -> {
+            BatchMotifRequest r = new BatchMotifRequest();
+            r.setEngine(readEngine(in));
+            int flags = version > 1 ? readFlags(in, 1) : 0;
+            if ((flags & 1) != 0) r.setSequenceId(readString(in));
+            int count = readInt(in);
+            in.require(count, "motifs"); // a byte at least for each
+            List<String> motifs = new ArrayList<>(Math.min(count, 1 << 16));
+            for (int i = 0; i < count; i++) motifs.add(readString(in));
+            r.setMotifs(motifs);
+            r.setDnaSequence(readSequence(in, r.getSequenceId()));
+            yield r;
+          }
+          case FREQUENCY_RESULT -> readFrequencies(in);
+          case MOTIF_RESULT -> readMotifResult(in);
+          case BATCH_MOTIF_RESULT -> {
+            String strategy = readString(in);
+            int count = readInt(in);
+            in.require(3L * count, "motif results");
+            List<MotifResult> results = new ArrayList<>(Math.min(count, 1 << 16));
+            for (int i = 0; i < count; i++) results.add(readMotifResult(in));
+            yield new BatchMotifResult(results, strategy);
+          }
+          default -> new ApiError(readInt(in), readString(in));
+        };
+    return expected.cast(message);
+  }
+
+  private static FrequencyResult readFrequencies(Body in) throws IOException {
+    int k = readInt(in);
+    int mode = readByte(in);
+    if (mode == 2) {
+      long totalKmers = readVarint(in);
+      int count = readInt(in);
+      in.require(3L * count, "k-mer counts");
+      Map<String, Integer> frequencies = new LinkedHashMap<>();
+      Map<String, Integer> errors = new LinkedHashMap<>();
+      for (int i = 0; i < count; i++) {
+        String kmer = readString(in);
+        frequencies.put(kmer, readInt(in));
+        errors.put(kmer, readInt(in));
+      }
+      return new FrequencyResult(frequencies, k, errors, totalKmers);
+    }
+    int count = readInt(in);
+    in.require(2L * count, "k-mer counts");
+    Map<String, Integer> frequencies = new HashMap<>(Math.min(count, 1 << 20) * 4 / 3 + 1);
+    long code = 0;
+    for (int i = 0; i < count; i++) {
+      if (mode == 0) {
+        code += readVarint(in);
+        frequencies.put(KmerCodec.decode(code, k), readInt(in));
+      } else {
+        frequencies.put(readString(in), readInt(in));
+      }
+    }
+    return new FrequencyResult(frequencies, k);
+  }
+
+  private static MotifResult readMotifResult(Body in) throws IOException {
+    String motif = readString(in);
+    int total = readInt(in);
+    int count = readInt(in);
+    if (count > total) throw new IllegalArgumentException("More locations than occurrences");
+    in.require(count, "locations"); // a byte at least for each delta
+    int[] locations = new int[Math.min(count, INITIAL_CAPACITY)];
+    int location = 0;
+    for (int i = 0; i < count; i++) {
+      location += readInt(in);
+      if (location < 0) throw new IllegalArgumentException("Location out of range");
+      if (i == locations.length) locations = Arrays.copyOf(locations, Math.min(count, 2 * i));
+      locations[i] = location;
+    }
+    return new MotifResult(motif, locations, total);
+  }
+
+  /**
+   * Reads a sequence block into a Latin-1 string (one byte per base on the heap with compact
+   * strings).
+   */
+  public static String readSequence(InputStream in) throws IOException {
+    return readSequence(new Body(in, -1, DEFAULT_MAX_BASES));
+  }
+
+  // the sequence block of a request, null when the request names a registered sequence instead
+  private static String readSequence(Body in, String sequenceId) throws IOException {
+    String sequence = readSequence(in);
+    if (sequenceId == null) return sequence;
+    if (!sequence.isEmpty()) {
+      throw new IllegalArgumentException("Give either a sequence or a sequence ID, not both");
+    }
+    return null;
+  }
+
+  private static String readSequence(Body in) throws IOException {
+    int n = readInt(in);
+    if (n > in.maxBases) {
+      throw new IllegalArgumentException("Sequence of " + n + " bases exceeds the limit of " + in.maxBases);
+    }
+    int runs = readInt(in);
+    if (runs > n) throw new IllegalArgumentException("Malformed DNAB sequence: bad N run");
+    // two varints at least per run, then the packed bases
+    in.require(2L * runs + (n + 3L) / 4, "sequence");
+    int[] runStart = new int[Math.min(runs, INITIAL_CAPACITY)];
+    int[] runEnd = new int[runStart.length];
+    int previousEnd = 0;
+    for (int r = 0; r < runs; r++) {
+      int start = previousEnd + readInt(in);
+      int end = start + readInt(in);
+      if (start < previousEnd || end > n || end < start) {
+        throw new IllegalArgumentException("Malformed DNAB sequence: bad N run");
+      }
+      if (r == runStart.length) {
+        runStart = Arrays.copyOf(runStart, Math.min(runs, 2 * r));
+        runEnd = Arrays.copyOf(runEnd, runStart.length);
+      }
+      runStart[r] = start;
+      runEnd[r] = end;
+      previousEnd = end;
+    }
+    byte[] text = new byte[Math.min(n, INITIAL_CAPACITY)];
+    byte[] packed = new byte[8192];
+    for (int i = 0; i < n; ) {
+      int bytes = Math.min(packed.length, (n - i + 3) >>> 2);
+      readFully(in, packed, bytes);
+      if (text.length - i < 4 * bytes) {
+        text = Arrays.copyOf(text, (int) Math.min(n, Math.max(2L * text.length, i + 4L * bytes)));
+      }
+      for (int p = 0; p < bytes; p++) {
+        int b = packed[p];
+        for (int j = 0; j < 4 && i < n; j++, i++) {
+          text[i] = (byte) KmerCodec.base(b >>> (6 - 2 * j));
+        }
+      }
+    }
+    for (int r = 0; r < runs; r++) Arrays.fill(text, runStart[r], runEnd[r], (byte) 'N');
+    return new String(text, StandardCharsets.ISO_8859_1);
+  }
+
+  private static MotifEngine readEngine(InputStream in) throws IOException {
+    int engine = readByte(in);
+    if (engine == 0) return null;
+    if (engine > MotifEngine.values().length) {
+      throw new IllegalArgumentException("Unknown motif engine " + engine);
+    }
+    return MotifEngine.values()[engine - 1];
+  }
+
+  // a flags byte with no bits outside the known ones
+  private static int readFlags(InputStream in, int known) throws IOException {
+    int flags = readByte(in);
+    if ((flags & ~known) != 0) throw new IllegalArgumentException("Unknown DNAB flags " + flags);
+    return flags;
+  }
+
+  private static double readDouble(InputStream in) throws IOException {
+    long bits = 0;
+    for (int i = 0; i < 8; i++) bits = (bits << 8) | readByte(in);
+    return Double.longBitsToDouble(bits);
+  }
+
+  private static String readString(Body in) throws IOException {
+    int length = readInt(in);
+    if (length > MAX_STRING) throw new IllegalArgumentException("String too long: " + length);
+    in.require(length, "string");
+    return new String(readBytes(in, length), StandardCharsets.UTF_8);
+  }
+
+  private static int readInt(InputStream in) throws IOException {
+    long value = readVarint(in);
+    // bit 63 set reads as negative
+    if (value < 0 || value > Integer.MAX_VALUE) throw new IllegalArgumentException("Value out of range");
+    return (int) value;
+  }
+
+  static long readVarint(InputStream in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = readByte(in);
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) return value;
+    }
+    throw new IllegalArgumentException("Malformed varint");
+  }
+
+  private static int readByte(InputStream in) throws IOException {
+    int b = in.read();
+    if (b < 0) throw new EOFException("Truncated DNAB message");
+    return b;
+  }
+
+  private static byte[] readBytes(InputStream in, int length) throws IOException {
+    byte[] bytes = new byte[length];
+    readFully(in, bytes, length);
+    return bytes;
+  }
+
+  private static void readFully(InputStream in, byte[] buf, int length) throws IOException {
+    int done = 0;
+    while (done < length) {
+      int read = in.read(buf, done, length - done);
+      if (read < 0) throw new EOFException("Truncated DNAB message");
+      done += read;
+    }
+  }
+
+  /** The message being read, counting bytes so declared sizes can be checked against what is left. */
+  private static final class Body extends FilterInputStream {
+    private final long length; // -1 when unknown
+    private final int maxBases;
+    private long position;
+
+    Body(InputStream in, long length, int maxBases) {
+      super(in);
+      this.length = length;
+      this.maxBases = maxBases;
+    }
+
+    // fails unless at least this many bytes can still follow
+    void require(long bytes, String what) {
+      if (length >= 0 && bytes > length - position) {
+        throw new IllegalArgumentException("Truncated DNAB message: " + what + " needs " + bytes
+            + " bytes, " + (length - position) + " left");
+      }
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) position++;
+      return b;
+    }
+
+    @Override
+    public int read(byte[] buf, int off, int len) throws IOException {
+      int read = super.read(buf, off, len);
+      if (read > 0) position += read;
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = super.skip(n);
+      position += skipped;
+      return skipped;
+    }
+  }
+}
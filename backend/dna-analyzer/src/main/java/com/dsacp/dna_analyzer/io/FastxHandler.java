@@ -0,0 +1,17 @@
+package com.dsacp.dna_analyzer.io;
+
+/** Receives the records of a {@link FastxParser} stream as they are read. */
+public interface FastxHandler {
+
+  /** A new record starts; {@code name} is its header line without the marker, or null. */
+  void beginRecord(String name);
+
+  /**
+   * Sequence letters of the current record, in order. The buffer is reused after the call
+   * returns, so copy what must be kept.
+   */
+  void sequence(byte[] buf, int from, int to);
+
+  /** The current record is complete. */
+  default void endRecord() {}
+}
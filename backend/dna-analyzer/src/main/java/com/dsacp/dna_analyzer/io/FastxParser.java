@@ -0,0 +1,258 @@
+package com.dsacp.dna_analyzer.io;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Single-pass streaming parser for FASTA, FASTQ and plain sequence text, optionally gzipped.
+ *
+ * <p>The input is read in fixed-size chunks and handed to a {@link FastxHandler} as runs of
+ * sequence letters. Nothing proportional to the input is ever buffered. The format is detected
+ * from the first bytes:
+ *
+ * <ul>
+ *   <li>gzip magic (1f 8b): decompressed on the fly (concatenated members such as BGZF included);
+ *   <li>{@code >}: FASTA, any number of records, multi-line sequences, {@code ;} comment lines;
+ *   <li>{@code @}: FASTQ, any number of records. Quality lines are skipped by length, so a quality
+ *       string starting with {@code @} or {@code +} is not mistaken for a header;
+ *   <li>anything else: one unnamed record of plain text. Only the first tab-separated column of
+ *       each line is read, and a leading {@code sequence} header line is skipped (the tabular
+ *       export the web UI accepts).
+ * </ul>
+ *
+ * <p>Only letters are passed on as sequence. Whitespace, digits and other punctuation in
+ * sequence lines are dropped. Malformed FASTA/FASTQ structure is reported as an {@link
+ * IllegalArgumentException}; read and decompression failures as {@link IOException}.
+ */
+public final class FastxParser {
+
+  private static final int CHUNK = 1 << 16;
+  private static final int MAX_NAME = 1024;
+  private static final byte[] RAW_HEADER = "sequence".getBytes(StandardCharsets.US_ASCII);
+
+  private enum Format {
+    FASTA,
+    FASTQ,
+    RAW
+  }
+
+  private enum State {
+    LINE_START,
+    NAME,
+    SEQUENCE,
+    SKIP_LINE,
+    QUALITY
+  }
+
+  private FastxParser() {}
+
+  /** Parses the whole stream into {@code handler}. Does not close the stream. */
+  public static void parse(InputStream input, FastxHandler handler) throws IOException {
+    BufferedInputStream in = new BufferedInputStream(input, CHUNK);
+    if (isGzipped(in)) {
+      in = new BufferedInputStream(new GZIPInputStream(in, CHUNK), CHUNK);
+    }
+    new Run(in, handler).parse();
+  }
+
+  /** Whether the stream starts with the gzip magic; peeks without consuming anything. */
+  public static boolean isGzipped(BufferedInputStream in) throws IOException {
+    return startsWith(in, new byte[] {0x1f, (byte) 0x8b});
+  }
+
+  // peeks at the next bytes without consuming them
+  private static boolean startsWith(BufferedInputStream in, byte[] prefix) throws IOException {
+    in.mark(prefix.length);
+    try {
+      for (byte b : prefix) {
+        int read = in.read();
+        if (read < 0 || Character.toLowerCase(read) != Character.toLowerCase(b & 0xFF)) {
+          return false;
+        }
+      }
+      return true;
+    } finally {
+      in.reset();
+    }
+  }
+
+  // per-stream parser state; the byte loop is a small state machine over CHUNK-sized reads
+  private static final class Run {
+    private final BufferedInputStream in;
+    private final FastxHandler handler;
+    private Format format;
+    private State state = State.LINE_START;
+    private final StringBuilder name = new StringBuilder();
+    private boolean inRecord;
+    private long recordBases; // FASTQ: sequence length, to know how many quality bytes follow
+    private long qualityLeft;
+    private boolean fastqSequenceDone; // FASTQ: the '+' separator of this record has been seen
+
+    Run(BufferedInputStream in, FastxHandler handler) {
+      this.in = in;
+      this.handler = handler;
+    }
+
+    void parse() throws IOException {
+      format = detect();
+      if (format == Format.RAW) {
+        if (startsWith(in, RAW_HEADER)) state = State.SKIP_LINE;
+        beginRecord(null);
+      }
+      byte[] buf = new byte[CHUNK];
+      int read;
+      while ((read = in.read(buf)) > 0) consume(buf, read);
+      if (state == State.NAME) beginRecord(name.toString().trim());
+      if (format == Format.FASTQ && inRecord && (!fastqSequenceDone || qualityLeft > 0)) {
+        throw new IllegalArgumentException("Truncated FASTQ record: quality shorter than sequence");
+      }
+      if (inRecord) handler.endRecord();
+    }
+
+    // skips leading blank lines and looks at the first meaningful byte
+    private Format detect() throws IOException {
+      while (true) {
+        in.mark(1);
+        int b = in.read();
+        if (b < 0) return Format.RAW;
+        if (b == '\n' || b == '\r' || b == ' ' || b == '\t') continue;
+        in.reset();
+        return b == '>' ? Format.FASTA : b == '@' ? Format.FASTQ : Format.RAW;
+      }
+    }
+
+    private void consume(byte[] buf, int len) {
+      int i = 0;
+      while (i < len) {
+        switch (state) {
+          case LINE_START -> i = lineStart(buf, i);
+          case NAME -> {
+            int end = indexOfNewline(buf, i, len);
+            for (int j = i; j < end && name.length() < MAX_NAME; j++) {
+              if (buf[j] != '\r') name.append((char) (buf[j] & 0xFF));
+            }
+            if (end < len) {
+              beginRecord(name.toString().trim());
+              state = State.LINE_START;
+              end++;
+            }
+            i = end;
+          }
+          case SEQUENCE -> i = sequence(buf, i, len);
+          case SKIP_LINE -> {
+            int end = indexOfNewline(buf, i, len);
+            if (end < len) {
+              // after a FASTQ '+' line the quality follows
+              state = qualityLeft > 0 ? State.QUALITY : State.LINE_START;
+              end++;
+            }
+            i = end;
+          }
+          case QUALITY -> {
+            // quality may wrap over several lines; count non-newline bytes only
+            while (i < len && qualityLeft > 0) {
+              byte b = buf[i++];
+              if (b != '\n' && b != '\r') qualityLeft--;
+            }
+            if (qualityLeft == 0) state = State.SKIP_LINE; // end of the last quality line
+          }
+        }
+      }
+    }
+
+    // dispatches on the first byte of a line
+    private int lineStart(byte[] buf, int i) {
+      byte b = buf[i];
+      if (b == '\n' || b == '\r') return i + 1;
+      switch (format) {
+        case FASTA -> {
+          if (b == '>') {
+            startName();
+            return i + 1;
+          }
+          if (b == ';') {
+            state = State.SKIP_LINE;
+            return i + 1;
+          }
+          if (!inRecord) {
+            throw new IllegalArgumentException("FASTA sequence data before the first '>' header");
+          }
+        }
+        case FASTQ -> {
+          if (!inRecord || fastqSequenceDone) {
+            if (b != '@') throw new IllegalArgumentException("Malformed FASTQ: expected '@' header");
+            startName();
+            return i + 1;
+          }
+          if (b == '+') {
+            fastqSequenceDone = true;
+            qualityLeft = recordBases;
+            state = State.SKIP_LINE;
+            return i + 1;
+          }
+        }
+        case RAW -> {}
+      }
+      state = State.SEQUENCE;
+      return i;
+    }
+
+    private int sequence(byte[] buf, int i, int len) {
+      int runStart = -1;
+      while (i < len) {
+        byte b = buf[i];
+        boolean letter = (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z');
+        if (letter) {
+          if (runStart < 0) runStart = i;
+          i++;
+          continue;
+        }
+        if (runStart >= 0) {
+          emit(buf, runStart, i);
+          runStart = -1;
+        }
+        if (b == '\n') {
+          state = State.LINE_START;
+          return i + 1;
+        }
+        if (b == '\t' && format == Format.RAW) {
+          state = State.SKIP_LINE; // extra columns of a tabular file
+          return i + 1;
+        }
+        i++;
+      }
+      if (runStart >= 0) emit(buf, runStart, len);
+      return len;
+    }
+
+    private void emit(byte[] buf, int from, int to) {
+      recordBases += to - from;
+      handler.sequence(buf, from, to);
+    }
+
+    private void startName() {
+      if (inRecord) handler.endRecord();
+      inRecord = false;
+      name.setLength(0);
+      state = State.NAME;
+    }
+
+    private void beginRecord(String recordName) {
+      inRecord = true;
+      recordBases = 0;
+      qualityLeft = 0;
+      fastqSequenceDone = false;
+      handler.beginRecord(recordName);
+    }
+
+    private static int indexOfNewline(byte[] buf, int from, int to) {
+      for (int j = from; j < to; j++) {
+        if (buf[j] == '\n') return j;
+      }
+      return to;
+    }
+  }
+}
@@ -0,0 +1,248 @@
+package com.dsacp.dna_analyzer.service;
+
+import com.dsacp.dna_analyzer.config.AnalysisProperties;
+import com.dsacp.dna_analyzer.dsa.ProgressMonitor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Admission control for the analyses: each one reserves its estimated working memory (see
+ * {@link DnaAnalysisService}) from a global budget before it starts and gives it back when it
+ * ends, so a burst of large requests queues up instead of running the heap out.
+ *
+ * <p>Analyses estimated at {@code dna.admission.large-work} or more also need one of a few large
+ * slots, which keeps the small ones, that need no slot, running with predictable latency while
+ * the large ones take turns. Large analyses are admitted in arrival order. Once the oldest waiting
+ * one has a slot free, small ones only get the memory it does not need, so a steady stream of
+ * small requests cannot starve it; while the slots are all taken small ones go ahead freely.
+ *
+ * <p>Synchronous requests (no progress monitor) wait at most {@code dna.admission.queue-timeout},
+ * then get an {@link AdmissionRejectedException} (503 with Retry-After). Jobs wait as long as it
+ * takes, in the "admission" phase, until they are admitted or cancelled. An analysis whose
+ * estimate exceeds the whole budget could never run and is rejected outright as a bad request.
+ */
+@Component
+public class AdmissionControl {
+
+    // memory is reserved in KiB so that budgets up to 2 TiB fit the semaphore's int permits
+    private static final int UNIT_SHIFT = 10;
+    // jobs re-check for cancellation this often while waiting
+    private static final long JOB_POLL_MILLIS = 200;
+
+    private final boolean enabled;
+    private final long budgetBytes;
+    private final int budgetUnits;
+    private final long largeWork;
+    private final int largeSlots;
+    private final Duration queueTimeout;
+    private final AnalysisMetrics metrics;
+
+    // free memory units and large slots, and the large analyses waiting, oldest first
+    private final Object lock = new Object();
+    private int freeUnits;
+    private int freeSlots;
+    private final ArrayDeque<Waiter> largeQueue = new ArrayDeque<>();
+
+    public AdmissionControl(AnalysisProperties properties, AnalysisMetrics metrics) {
+        AnalysisProperties.Admission config = properties.getAdmission();
+        this.enabled = config.isEnabled();
+        this.budgetBytes = config.getMemoryBudget() != null
+                ? config.getMemoryBudget().toBytes()
+                : (long) (Runtime.getRuntime().maxMemory() * 0.6);
+        this.budgetUnits = (int) Math.min(Integer.MAX_VALUE, Math.max(1, budgetBytes >>> UNIT_SHIFT));
+        this.largeWork = config.getLargeWork();
+        this.largeSlots = config.getLargeSlots() > 0
+                ? config.getLargeSlots()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.queueTimeout = config.getQueueTimeout();
+        this.freeUnits = budgetUnits;
+        this.freeSlots = largeSlots;
+        this.metrics = metrics;
+    }
+
+    // a large analysis in the queue; compared by identity
+    private static final class Waiter {
+        private final int units;
+
+        private Waiter(int units) {
+            this.units = units;
+        }
+    }
+
+    /** Reservation held while an analysis runs; closing it gives the reservation back. */
+    public final class Permit implements AutoCloseable {
+        private final String operation;
+        private final ProgressMonitor monitor;
+        private int units;
+        private final boolean largeSlot;
+        private boolean closed;
+
+        private Permit(String operation, ProgressMonitor monitor, int units, boolean largeSlot) {
+            this.operation = operation;
+            this.monitor = monitor;
+            this.units = units;
+            this.largeSlot = largeSlot;
+        }
+
+        /**
+         * Raises the reservation to {@code memoryBytes}, for an analysis that only learns how much
+         * it needs as it runs. Waits and fails like {@link #admit}; a smaller amount changes nothing.
+         */
+        public void reserve(long memoryBytes) {
+            if (!enabled || closed) {
+                return;
+            }
+            checkBudget(operation, memoryBytes);
+            int more = unitsOf(memoryBytes) - units;
+            if (more <= 0) {
+                return;
+            }
+            long start = System.nanoTime();
+            boolean job = monitor != ProgressMonitor.NONE;
+            synchronized (lock) {
+                // already running, so not held back for a waiting large analysis: it is waiting for this one to end
+                if (!await(() -> freeUnits >= more, start + queueTimeout.toNanos(), monitor, job)) {
+                    throw reject(operation, start, "Not enough analysis memory free");
+                }
+                freeUnits -= more;
+            }
+            units += more;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            synchronized (lock) {
+                freeUnits += units;
+                if (largeSlot) {
+                    freeSlots++;
+                }
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Reserves {@code memoryBytes} of working memory and, if {@code work} makes the analysis
+     * large, a large slot.
+     *
+     * @param monitor {@link ProgressMonitor#NONE} for a synchronous request, which waits at most
+     *     the queue timeout; a job's monitor otherwise
+     * @throws AdmissionRejectedException if a synchronous request could not be admitted in time
+     * @throws IllegalArgumentException if the analysis needs more than the whole budget
+     */
+    public Permit admit(String operation, long memoryBytes, long work, ProgressMonitor monitor) {
+        if (!enabled) {
+            return new Permit(operation, monitor, 0, false);
+        }
+        checkBudget(operation, memoryBytes);
+        int units = unitsOf(memoryBytes);
+        long start = System.nanoTime();
+        boolean job = monitor != ProgressMonitor.NONE;
+        if (job) {
+            monitor.begin("admission", 0);
+        }
+        long deadline = start + queueTimeout.toNanos();
+        boolean needsSlot = work >= largeWork;
+        Waiter waiter = needsSlot ? new Waiter(units) : null;
+        synchronized (lock) {
+            if (waiter != null) {
+                largeQueue.addLast(waiter);
+            }
+            try {
+                BooleanSupplier admissible = waiter != null
+                        ? () -> largeQueue.peekFirst() == waiter && freeSlots > 0 && freeUnits >= units
+                        : () -> freeUnits - units >= headroom();
+                if (!await(admissible, deadline, monitor, job)) {
+                    boolean slotFree = freeSlots > 0 && (waiter == null || largeQueue.peekFirst() == waiter);
+                    throw reject(operation, start,
+                            slotFree ? "Not enough analysis memory free" : "Too many large analyses running");
+                }
+                freeUnits -= units;
+                if (waiter != null) {
+                    freeSlots--;
+                }
+            } finally {
+                if (waiter != null) {
+                    largeQueue.remove(waiter);
+                    lock.notifyAll();
+                }
+            }
+        }
+        metrics.recordAdmission(operation, "admitted", System.nanoTime() - start);
+        return new Permit(operation, monitor, units, needsSlot);
+    }
+
+    // memory kept for the oldest waiting large analysis once there is a slot it could run in
+    private int headroom() {
+        Waiter head = largeQueue.peekFirst();
+        return head != null && freeSlots > 0 ? head.units : 0;
+    }
+
+    // waits, holding the lock, until ready; false if a synchronous request runs out of time. Jobs
+    // wait as long as it takes, checking for cancellation between waits
+    private boolean await(BooleanSupplier ready, long deadline, ProgressMonitor monitor, boolean job) {
+        try {
+            while (!ready.getAsBoolean()) {
+                long left = deadline - System.nanoTime();
+                if (!job && left <= 0) {
+                    return false;
+                }
+                lock.wait(job ? JOB_POLL_MILLIS : Math.max(1, TimeUnit.NANOSECONDS.toMillis(left)));
+                if (job) {
+                    monitor.worked(0); // throws once the job is cancelled
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void checkBudget(String operation, long memoryBytes) {
+        if (memoryBytes > budgetBytes) {
+            metrics.recordAdmission(operation, "too-large", 0);
+            throw new IllegalArgumentException(String.format(
+                    "This analysis needs about %d MB of working memory, more than the server's budget of %d MB",
+                    memoryBytes >> 20, budgetBytes >> 20));
+        }
+    }
+
+    private static int unitsOf(long memoryBytes) {
+        return (int) Math.max(1, (memoryBytes + (1 << UNIT_SHIFT) - 1) >>> UNIT_SHIFT);
+    }
+
+    private AdmissionRejectedException reject(String operation, long start, String reason) {
+        metrics.recordAdmission(operation, "rejected", System.nanoTime() - start);
+        Duration retryAfter = Duration.ofSeconds(Math.max(1, queueTimeout.toSeconds()));
+        return new AdmissionRejectedException(reason + ", try again later", retryAfter);
+    }
+
+    public long budgetBytes() {
+        return budgetBytes;
+    }
+
+    public long reservedBytes() {
+        synchronized (lock) {
+            return (long) (budgetUnits - freeUnits) << UNIT_SHIFT;
+        }
+    }
+
+    public int largeSlots() {
+        return largeSlots;
+    }
+
+    public int largeRunning() {
+        synchronized (lock) {
+            return largeSlots - freeSlots;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.dsacp.dna_analyzer.service;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+/** An analysis turned away because the server is at capacity; answered with 503 and Retry-After. */
+public class AdmissionRejectedException extends RejectedExecutionException {
+
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,160 @@
+package com.dsacp.dna_analyzer.service;
+
+import com.dsacp.dna_analyzer.dsa.KmerCounter;
+import com.dsacp.dna_analyzer.dsa.SequenceIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters of the analysis hot paths, published at /actuator/prometheus.
+ *
+ * <ul>
+ *   <li>{@code dna.analysis.stage} (timer; operation, stage): index lookup/build, search, counting,
+ *       alignment... of every analysis, also added to the request's {@link StageTimings}</li>
+ *   <li>{@code dna.analysis.bases} (summary; operation): input size of each analysis</li>
+ *   <li>{@code dna.index.build} (timer; type) and {@code dna.index.bytes.per.base} (summary; type):
+ *       motif index builds, i.e. cache misses</li>
+ *   <li>{@code dna.motif.hits} (summary; engine): hits per motif lookup</li>
+ *   <li>{@code dna.kmer.table.load} (summary; table) and {@code dna.kmer.table.resizes} (counter):
+ *       k-mer table occupancy after counting</li>
+ *   <li>{@code dna.dp.cells} (counter; algorithm): dynamic-programming cells evaluated</li>
+ *   <li>{@code dna.repeats.found} (summary; kind): repeats found per repeat analysis</li>
+ *   <li>{@code dna.admission.requests} (counter; operation, outcome) and {@code dna.admission.wait}
+ *       (timer; operation): admission decisions and the time spent queued for budget</li>
+ *   <li>{@code dna.request.stage} (timer; uri, stage), {@code dna.request.payload} and
+ *       {@code dna.request.allocated} (summaries; uri): body parsing and serialization, request
+ *       body size, and bytes allocated by the request thread</li>
+ * </ul>
+ *
+ * Timers publish percentile histograms, so latency quantiles can be aggregated across instances.
+ */
+@Component
+public class AnalysisMetrics {
+
+    private final MeterRegistry registry;
+
+    public AnalysisMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Runs one stage of an analysis, timing it. */
+    public <T> T time(String operation, String stage, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            recordStage(operation, stage, System.nanoTime() - start);
+        }
+    }
+
+    public void recordStage(String operation, String stage, long nanos) {
+        timer("dna.analysis.stage", "operation", operation, "stage", stage).record(nanos, TimeUnit.NANOSECONDS);
+        StageTimings timings = StageTimings.current();
+        if (timings != null) {
+            timings.add(stage, nanos);
+        }
+    }
+
+    public void recordBases(String operation, long bases) {
+        DistributionSummary.builder("dna.analysis.bases")
+                .baseUnit("bases")
+                .tag("operation", operation)
+                .register(registry)
+                .record(bases);
+    }
+
+    /** Builds a motif index, recording its build time and its size per indexed base. */
+    public <T extends SequenceIndex> T indexBuild(String type, Supplier<T> build) {
+        long start = System.nanoTime();
+        T index = build.get();
+        timer("dna.index.build", "type", type).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (index.length() > 0) {
+            DistributionSummary.builder("dna.index.bytes.per.base")
+                    .tag("type", type)
+                    .register(registry)
+                    .record((double) index.sizeInBytes() / index.length());
+        }
+        return index;
+    }
+
+    public void recordHits(SequenceIndex index, int hits) {
+        recordHits(engineName(index), hits);
+    }
+
+    public void recordHits(String engine, int hits) {
+        DistributionSummary.builder("dna.motif.hits").tag("engine", engine).register(registry).record(hits);
+    }
+
+    /** Outcome of an admission decision: admitted, rejected or too-large, with the time waited. */
+    public void recordAdmission(String operation, String outcome, long waitNanos) {
+        Counter.builder("dna.admission.requests")
+                .tags("operation", operation, "outcome", outcome)
+                .register(registry)
+                .increment();
+        if (waitNanos > 0) {
+            timer("dna.admission.wait", "operation", operation).record(waitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void recordRepeats(String kind, long repeats) {
+        DistributionSummary.builder("dna.repeats.found").tag("kind", kind).register(registry).record(repeats);
+    }
+
+    public void recordKmerTable(KmerCounter counter) {
+        boolean direct = counter.getK() <= KmerCounter.DIRECT_MAX_K;
+        DistributionSummary.builder("dna.kmer.table.load")
+                .tag("table", direct ? "direct" : "hash")
+                .register(registry)
+                .record(counter.loadFactor());
+        if (counter.resizeCount() > 0) {
+            Counter.builder("dna.kmer.table.resizes").register(registry).increment(counter.resizeCount());
+        }
+    }
+
+    public void recordDpCells(String algorithm, long cells) {
+        Counter.builder("dna.dp.cells").tag("algorithm", algorithm).register(registry).increment(cells);
+    }
+
+    /** Body parse or serialization time of an HTTP request, by route pattern. */
+    public void recordRequestStage(String uri, String stage, long nanos) {
+        timer("dna.request.stage", "uri", uri, "stage", stage).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRequestPayload(String uri, long bytes) {
+        DistributionSummary.builder("dna.request.payload")
+                .baseUnit("bytes")
+                .tag("uri", uri)
+                .register(registry)
+                .record(bytes);
+    }
+
+    public void recordRequestAllocation(String uri, long bytes) {
+        DistributionSummary.builder("dna.request.allocated")
+                .baseUnit("bytes")
+                .tag("uri", uri)
+                .register(registry)
+                .record(bytes);
+    }
+
+    private Timer timer(String name, String... tags) {
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofMinutes(10))
+                .register(registry);
+    }
+
+    // suffix-array, fm-index, mapped-suffix-array...: the class name in kebab case
+    private static String engineName(SequenceIndex index) {
+        return index.getClass().getSimpleName().replaceAll("([a-z])([A-Z])", "$1-$2").toLowerCase(Locale.ROOT);
+    }
+}
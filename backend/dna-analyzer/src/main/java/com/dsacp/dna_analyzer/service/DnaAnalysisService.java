@@ -1,43 +1,955 @@
 package com.dsacp.dna_analyzer.service;
 
+import com.dsacp.dna_analyzer.config.AnalysisProperties;
+import com.dsacp.dna_analyzer.dsa.AhoCorasick;
+import com.dsacp.dna_analyzer.dsa.ApproximateMatcher;
+import com.dsacp.dna_analyzer.dsa.BoundedEditDistance;
+import com.dsacp.dna_analyzer.dsa.DistanceMatrix;
+import com.dsacp.dna_analyzer.dsa.FmIndex;
 import com.dsacp.dna_analyzer.dsa.FrequencyAnalyzer;
+import com.dsacp.dna_analyzer.dsa.HirschbergAligner;
+import com.dsacp.dna_analyzer.dsa.KmerCodec;
+import com.dsacp.dna_analyzer.dsa.KmerCounter;
+import com.dsacp.dna_analyzer.dsa.MinHashSketch;
 import com.dsacp.dna_analyzer.dsa.MutationDetector;
+import com.dsacp.dna_analyzer.dsa.PackedSequence;
+import com.dsacp.dna_analyzer.dsa.ProgressMonitor;
+import com.dsacp.dna_analyzer.dsa.RepeatFinder;
+import com.dsacp.dna_analyzer.dsa.SequenceIndex;
+import com.dsacp.dna_analyzer.dsa.SlidingWindowProfiler;
+import com.dsacp.dna_analyzer.dsa.SmithWaterman;
 import com.dsacp.dna_analyzer.dsa.SuffixArray;
+import com.dsacp.dna_analyzer.dsa.SuffixIndex;
+import com.dsacp.dna_analyzer.dsa.TopKmerCounter;
+import com.dsacp.dna_analyzer.dto.AlignmentResult;
+import com.dsacp.dna_analyzer.dto.ApproximateMotifRequest;
+import com.dsacp.dna_analyzer.dto.ApproximateMotifResult;
+import com.dsacp.dna_analyzer.dto.BatchMotifRequest;
+import com.dsacp.dna_analyzer.dto.BatchMotifResult;
+import com.dsacp.dna_analyzer.dto.DistanceMatrixRequest;
+import com.dsacp.dna_analyzer.dto.DistanceMatrixResult;
 import com.dsacp.dna_analyzer.dto.FrequencyRequest;
 import com.dsacp.dna_analyzer.dto.FrequencyResult;
+import com.dsacp.dna_analyzer.dto.IndexCacheStats;
+import com.dsacp.dna_analyzer.dto.LocalAlignmentRequest;
+import com.dsacp.dna_analyzer.dto.LocalAlignmentResult;
+import com.dsacp.dna_analyzer.dto.MotifEngine;
+import com.dsacp.dna_analyzer.dto.MotifHit;
 import com.dsacp.dna_analyzer.dto.MotifRequest;
 import com.dsacp.dna_analyzer.dto.MotifResult;
+import com.dsacp.dna_analyzer.dto.MutationCall;
 import com.dsacp.dna_analyzer.dto.MutationRequest;
 import com.dsacp.dna_analyzer.dto.MutationResult;
+import com.dsacp.dna_analyzer.dto.Repeat;
+import com.dsacp.dna_analyzer.dto.RepeatKind;
+import com.dsacp.dna_analyzer.dto.RepeatRequest;
+import com.dsacp.dna_analyzer.dto.RepeatResult;
+import com.dsacp.dna_analyzer.dto.ScreenRequest;
+import com.dsacp.dna_analyzer.dto.ScreenResult;
+import com.dsacp.dna_analyzer.dto.SequenceInfo;
+import com.dsacp.dna_analyzer.dto.SketchDistance;
+import com.dsacp.dna_analyzer.dto.SketchRequest;
+import com.dsacp.dna_analyzer.dto.TandemRepeat;
+import com.dsacp.dna_analyzer.dto.TandemRepeatResult;
+import com.dsacp.dna_analyzer.dto.WindowProfile;
+import com.dsacp.dna_analyzer.dto.WindowProfileRequest;
+import com.dsacp.dna_analyzer.io.FastxHandler;
+import com.dsacp.dna_analyzer.io.FastxParser;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
 
+/**
+ * The analyses behind the REST endpoints. Each long-running analysis also has an overload taking a
+ * {@link ProgressMonitor}, which {@link JobService} uses to report progress and cancel. Stages of
+ * every analysis are timed through {@link AnalysisMetrics}.
+ */
 @Service
 public class DnaAnalysisService {
     private final FrequencyAnalyzer frequencyAnalyzer = new FrequencyAnalyzer();
 
+    @Autowired
+    private AnalysisProperties properties;
+
+    @Autowired
+    private ForkJoinPool analysisPool;
+
+    @Autowired
+    private IndexCache indexCache;
+
+    @Autowired
+    private IndexStore indexStore;
+
+    @Autowired
+    private AnalysisMetrics metrics;
+
+    @Autowired
+    private SequenceRegistry sequences;
+
+    @Autowired
+    private AdmissionControl admission;
+
+    @Autowired
+    private SketchCache sketchCache;
+
     public FrequencyResult analyzeFrequency(FrequencyRequest request) {
-        String dna = request.getDnaSequence();
+        return analyzeFrequency(request, ProgressMonitor.NONE);
+    }
+
+    public FrequencyResult analyzeFrequency(FrequencyRequest request, ProgressMonitor monitor) {
+        CharSequence dna = sequences.resolve(request.getSequenceId(), request.getDnaSequence());
         int k = request.getK();
-        Map<String, Integer> counts = frequencyAnalyzer.calculateFrequency(dna, k);
-        return new FrequencyResult(counts, k);
+        if (dna != null) {
+            metrics.recordBases("frequency", dna.length());
+        }
+        if (request.getTopN() != null) {
+            return analyzeTopKmers(dna, k, request.getTopN(), request.getErrorBound(), monitor);
+        }
+        long length = dna != null ? dna.length() : 0;
+        boolean parallel = length >= properties.getFrequency().getParallelThreshold();
+        try (AdmissionControl.Permit permit = admission.admit("frequency",
+                kmerCountBytes(length, k, parallel ? analysisPool.getParallelism() + 1 : 1), length, monitor)) {
+            if (dna == null || k <= 0 || k > KmerCodec.MAX_K || dna.length() < k) {
+                // nothing to count, or k-mers too long to pack: the string-keyed path
+                Map<String, Integer> counts = metrics.time("frequency", "count",
+                        () -> frequencyAnalyzer.calculateFrequency(dna, k, monitor));
+                return new FrequencyResult(counts, k);
+            }
+            KmerCounter counter = metrics.time("frequency", "count", () -> parallel
+                    ? frequencyAnalyzer.countKmers(dna, k, analysisPool, monitor)
+                    : frequencyAnalyzer.countKmers(dna, k, monitor));
+            metrics.recordKmerTable(counter);
+            return new FrequencyResult(metrics.time("frequency", "collect", counter::toMap), k);
+        }
+    }
+
+    // heavy hitters only: Count-Min + Space-Saving, memory fixed by the error bound
+    private FrequencyResult analyzeTopKmers(CharSequence dna, int k, int topN, Double errorBound,
+                                            ProgressMonitor monitor) {
+        double eps = errorBound != null ? errorBound : properties.getFrequency().getTopNErrorBound();
+        TopKmerCounter counter = new TopKmerCounter(k, topN, eps);
+        long length = dna != null ? dna.length() : 0;
+        // the sketches are allocated up front; the top list and its map come on top of them
+        try (AdmissionControl.Permit permit = admission.admit("frequency/top",
+                counter.sizeInBytes() + (long) topN * MAP_ENTRY_BYTES, length, monitor)) {
+            if (dna != null) {
+                metrics.time("frequency", "count", () -> {
+                    counter.count(dna);
+                    return counter;
+                });
+            }
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            Map<String, Integer> errors = new LinkedHashMap<>();
+            for (TopKmerCounter.Estimate estimate : counter.top()) {
+                String kmer = KmerCodec.decode(estimate.code(), k);
+                counts.put(kmer, estimate.count());
+                errors.put(kmer, estimate.error());
+            }
+            return new FrequencyResult(counts, k, errors, counter.totalKmers());
+        }
+    }
+
+    /**
+     * K-mer counts of an uploaded FASTA/FASTQ/plain file, counted while the stream is parsed:
+     * the sequence itself is never held in memory. K-mers do not span record boundaries.
+     * {@code size} is the upload's size in bytes, or -1 if unknown; it only sizes the admission
+     * estimate.
+     */
+    public FrequencyResult analyzeFrequencyUpload(InputStream in, long size, int k) throws IOException {
+        BufferedInputStream body = new BufferedInputStream(in, 1 << 16);
+        // a chunked or gzipped body does not say how many bases it holds
+        boolean sized = SequenceRegistry.uploadBases(body, size) >= 0;
+        long bases = sized ? size : 0;
+        // unknown: the whole direct table up front, or a hashed table reserved as it grows
+        long memory = sized ? kmerCountBytes(bases, k, 1)
+                : k >= 1 && k <= KmerCounter.DIRECT_MAX_K ? kmerTableBytes(1L << (2 * k), k, 1)
+                : kmerTableBytes(UPLOAD_RESERVE_STEP, k, 1);
+        boolean growing = !sized && k > KmerCounter.DIRECT_MAX_K;
+        try (AdmissionControl.Permit permit = admission.admit("frequency/upload",
+                memory, sized ? bases : Long.MAX_VALUE, ProgressMonitor.NONE)) {
+            if (k > KmerCodec.MAX_K) {
+                // too long to pack: string keys, as /frequency does
+                FrequencyAnalyzer.LongKmerCounter counter = new FrequencyAnalyzer.LongKmerCounter(k);
+                BaseFeed feed = growing ? reserving(counter::feed, counter::distinctKmers, k, permit) : counter::feed;
+                long start = System.nanoTime();
+                parseInto(body, feed, counter::endFeed);
+                metrics.recordStage("frequency/upload", "count", System.nanoTime() - start);
+                return new FrequencyResult(counter.toMap(), k);
+            }
+            KmerCounter counter = new KmerCounter(k);
+            BaseFeed feed = growing ? reserving(counter::feed, counter::distinctKmers, k, permit) : counter::feed;
+            long start = System.nanoTime();
+            parseInto(body, feed, counter::endFeed);
+            metrics.recordStage("frequency/upload", "count", System.nanoTime() - start);
+            metrics.recordKmerTable(counter);
+            return new FrequencyResult(metrics.time("frequency/upload", "collect", counter::toMap), k);
+        }
+    }
+
+    private interface BaseFeed {
+        void feed(char base);
+    }
+
+    // raises the reservation every UPLOAD_RESERVE_STEP bases to the table so far plus what the next step can add
+    private static BaseFeed reserving(BaseFeed feed, IntSupplier distinct, int k, AdmissionControl.Permit permit) {
+        return new BaseFeed() {
+            private long fed;
+
+            @Override
+            public void feed(char base) {
+                feed.feed(base);
+                if (++fed % UPLOAD_RESERVE_STEP == 0) {
+                    permit.reserve(kmerTableBytes(distinct.getAsInt() + UPLOAD_RESERVE_STEP, k, 1));
+                }
+            }
+        };
+    }
+
+    // streams an upload's bases into a k-mer counter, ending its run at each record
+    private static void parseInto(InputStream in, BaseFeed feed, Runnable endRecord) throws IOException {
+        FastxParser.parse(in, new FastxHandler() {
+            @Override
+            public void beginRecord(String name) {
+                endRecord.run();
+            }
+
+            @Override
+            public void sequence(byte[] buf, int from, int to) {
+                for (int i = from; i < to; i++) feed.feed((char) buf[i]);
+            }
+        });
     }
 
     public MotifResult analyzeMotif(MotifRequest request) {
-        String dna = request.getDnaSequence();
+        return analyzeMotif(request, ProgressMonitor.NONE);
+    }
+
+    public MotifResult analyzeMotif(MotifRequest request, ProgressMonitor monitor) {
+        CharSequence resolved = sequences.resolve(request.getSequenceId(), request.getDnaSequence());
+        CharSequence dna = resolved != null ? resolved : "";
         String motif = request.getMotif();
-        SuffixArray suffixArray = new SuffixArray(dna);
-        List<Integer> locations = suffixArray.search(motif);
-        return new MotifResult(motif, locations);
+        metrics.recordBases("motif", dna.length());
+        try (AdmissionControl.Permit permit = admitIndexed("motif", dna, request.getEngine(), 0, monitor)) {
+            SequenceIndex index = indexStage("motif", dna, request.getEngine(), monitor);
+            if (request.isCountOnly()) {
+                int count = metrics.time("motif", "search", () -> index.count(motif));
+                metrics.recordHits(index, count);
+                return new MotifResult(motif, new int[0], count);
+            }
+            int[] locations = metrics.time("motif", "search", () -> index.positions(motif));
+            metrics.recordHits(index, locations.length);
+            return new MotifResult(motif, page(locations, request), locations.length);
+        }
+    }
+
+    /** The hit positions of a motif request (paged if it asks for it), for streaming. */
+    public int[] motifPositions(MotifRequest request) {
+        CharSequence resolved = sequences.resolve(request.getSequenceId(), request.getDnaSequence());
+        CharSequence dna = resolved != null ? resolved : "";
+        try (AdmissionControl.Permit permit = admitIndexed("motif/stream", dna, request.getEngine(), 0,
+                ProgressMonitor.NONE)) {
+            SequenceIndex index = indexStage("motif/stream", dna, request.getEngine(), ProgressMonitor.NONE);
+            int[] locations = metrics.time("motif/stream", "search", () -> index.positions(request.getMotif()));
+            metrics.recordHits(index, locations.length);
+            return page(locations, request);
+        }
+    }
+
+    // offset/limit window over hits in text order; the whole array when neither is given
+    private static int[] page(int[] locations, MotifRequest request) {
+        Integer offset = request.getOffset();
+        Integer limit = request.getLimit();
+        if (offset == null && limit == null) return locations;
+        int from = offset != null ? offset : 0;
+        if (from < 0 || (limit != null && limit < 0)) {
+            throw new IllegalArgumentException("offset and limit must be >= 0");
+        }
+        from = Math.min(from, locations.length);
+        int to = limit != null ? (int) Math.min((long) from + limit, locations.length) : locations.length;
+        return Arrays.copyOfRange(locations, from, to);
+    }
+
+    /**
+     * Motif search over an uploaded file. The records are joined with a single N between them
+     * (so no match spans two records) and locations refer to that joined sequence.
+     */
+    public MotifResult analyzeMotifUpload(InputStream in, long size, String motif, MotifEngine engine)
+            throws IOException {
+        BufferedInputStream body = new BufferedInputStream(in, 1 << 16);
+        long bases = SequenceRegistry.uploadBases(body, size);
+        // the packed records while they are read, then the index build once they are known
+        try (AdmissionControl.Permit permit = admission.admit("motif/upload",
+                SequenceRegistry.packedBytes(bases >= 0 ? bases : SequenceRegistry.UPLOAD_RESERVE_STEP,
+                        SequenceRegistry.UPLOAD_RESERVE_STEP / 2),
+                bases >= 0 ? bases : Long.MAX_VALUE, ProgressMonitor.NONE)) {
+            long start = System.nanoTime();
+            PackedSequence dna = SequenceRegistry.readPacked(body, properties.getUpload().getMaxBases(), permit);
+            metrics.recordStage("motif/upload", "read", System.nanoTime() - start);
+            metrics.recordBases("motif/upload", dna.length());
+            permit.reserve(SequenceRegistry.packedBytes(dna.length(), dna.nRunCount())
+                    + indexBuildBytes(dna, engine));
+            SequenceIndex index = indexStage("motif/upload", dna, engine, ProgressMonitor.NONE);
+            int[] locations = metrics.time("motif/upload", "search", () -> index.positions(motif));
+            metrics.recordHits(index, locations.length);
+            return new MotifResult(motif, locations);
+        }
+    }
+
+    public BatchMotifResult analyzeMotifBatch(BatchMotifRequest request) {
+        return analyzeMotifBatch(request, ProgressMonitor.NONE);
+    }
+
+    public BatchMotifResult analyzeMotifBatch(BatchMotifRequest request, ProgressMonitor monitor) {
+        CharSequence resolved = sequences.resolve(request.getSequenceId(), request.getDnaSequence());
+        CharSequence dna = resolved != null ? resolved : "";
+        List<String> motifs = request.getMotifs() != null ? request.getMotifs() : List.of();
+        AnalysisProperties.Motif config = properties.getMotif();
+
+        metrics.recordBases("motif/batch", dna.length());
+        if (motifs.size() >= config.getAhoCorasickMinMotifs()
+                && dna.length() <= config.getAhoCorasickMaxSequence()) {
+            List<String> patterns = motifs.stream().map(m -> m == null ? "" : m).toList();
+            long patternBases = 0;
+            for (String pattern : patterns) {
+                patternBases += pattern.length();
+            }
+            try (AdmissionControl.Permit permit = admission.admit("motif/batch",
+                    patternBases * TRIE_BYTES_PER_PATTERN_BASE, dna.length(), monitor)) {
+                List<int[]> hits = metrics.time("motif/batch", "search",
+                        () -> new AhoCorasick(patterns).searchAll(dna));
+                List<MotifResult> results = new ArrayList<>(motifs.size());
+                for (int i = 0; i < motifs.size(); i++) {
+                    metrics.recordHits("aho-corasick", hits.get(i).length);
+                    results.add(new MotifResult(motifs.get(i), hits.get(i)));
+                }
+                return new BatchMotifResult(results, "AHO_CORASICK");
+            }
+        }
+
+        try (AdmissionControl.Permit permit = admitIndexed("motif/batch", dna, request.getEngine(), 0, monitor)) {
+            // one index for the whole panel; the lookups are independent, so fan them out
+            SequenceIndex index = indexStage("motif/batch", dna, request.getEngine(), monitor);
+            List<MotifResult> results = metrics.time("motif/batch", "search", () -> analysisPool.submit(
+                    () -> motifs.parallelStream()
+                            .map(motif -> new MotifResult(motif, index.positions(motif)))
+                            .toList()).join());
+            for (MotifResult result : results) {
+                metrics.recordHits(index, result.getTotalOccurrences());
+            }
+            return new BatchMotifResult(results, "INDEX");
+        }
+    }
+
+    public ApproximateMotifResult analyzeApproximateMotif(ApproximateMotifRequest request) {
+        return analyzeApproximateMotif(request, ProgressMonitor.NONE);
+    }
+
+    public ApproximateMotifResult analyzeApproximateMotif(ApproximateMotifRequest request,
+                                                          ProgressMonitor monitor) {
+        CharSequence resolved = sequences.resolve(request.getSequenceId(), request.getDnaSequence());
+        CharSequence dna = resolved != null ? resolved : "";
+        String motif = request.getMotif() != null ? request.getMotif() : "";
+        metrics.recordBases("motif/approximate", dna.length());
+        try (AdmissionControl.Permit permit = admitIndexed("motif/approximate", dna, request.getEngine(), 0,
+                monitor)) {
+            SequenceIndex index = indexStage("motif/approximate", dna, request.getEngine(), monitor);
+            List<MotifHit> hits = metrics.time("motif/approximate", "search",
+                    () -> new ApproximateMatcher(index, dna, mutationDetector)
+                            .search(motif, request.getMaxDistance()).stream()
+                            .map(hit -> new MotifHit(hit.position(), hit.distance()))
+                            .toList());
+            metrics.recordHits("approximate", hits.size());
+            return new ApproximateMotifResult(motif, request.getMaxDistance(), hits);
+        }
+    }
+
+    /**
+     * Sliding-window profile (see {@link SlidingWindowProfiler}). The request is checked and the
+     * motifs located in one cached suffix array up front; the windows themselves are computed
+     * lazily, as the returned iterator is read.
+     */
+    public Iterator<WindowProfile> analyzeWindowProfile(WindowProfileRequest request) {
+        CharSequence resolved = sequences.resolve(request.getSequenceId(), request.getDnaSequence());
+        CharSequence dna = resolved != null ? resolved : "";
+        int step = request.getStep() != null ? request.getStep() : request.getWindowSize();
+        int k = request.getK() != null ? request.getK() : 0;
+        if (request.getK() != null && k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        List<String> motifs = request.getMotifs() != null ? request.getMotifs() : List.of();
+        metrics.recordBases("profile", dna.length());
+        int[][] hits = new int[motifs.size()][];
+        int[] lengths = new int[motifs.size()];
+        if (!motifs.isEmpty()) {
+            for (String motif : motifs) {
+                if (motif == null || motif.isEmpty()) {
+                    throw new IllegalArgumentException("motifs must not be empty");
+                }
+            }
+            // the windows are streamed after this returns: only the index and the hits are reserved
+            try (AdmissionControl.Permit permit = admitIndexed("profile", dna, MotifEngine.SUFFIX_ARRAY, 0,
+                    ProgressMonitor.NONE)) {
+                SequenceIndex index = metrics.time("profile", "index", () -> suffixArrayFor(dna, ProgressMonitor.NONE));
+                for (int m = 0; m < motifs.size(); m++) {
+                    hits[m] = index.positions(motifs.get(m));
+                    lengths[m] = motifs.get(m).length();
+                }
+            }
+        }
+        SlidingWindowProfiler profiler = new SlidingWindowProfiler(dna, request.getWindowSize(), step, k, hits, lengths);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return profiler.hasNext();
+            }
+
+            @Override
+            public WindowProfile next() {
+                SlidingWindowProfiler.Window window = profiler.next();
+                double gc = window.gcContent();
+                boolean spectrum = k > 0;
+                return new WindowProfile(window.start(), window.end(), Double.isNaN(gc) ? null : gc,
+                        window.baseCounts()[4],
+                        spectrum ? window.kmers() : null,
+                        spectrum ? window.distinctKmers() : null,
+                        spectrum ? window.kmerEntropy() : null,
+                        motifs.isEmpty() ? null : window.motifCounts());
+            }
+        };
+    }
+
+    public RepeatResult analyzeRepeats(RepeatRequest request, RepeatKind kind) {
+        return analyzeRepeats(request, kind, ProgressMonitor.NONE);
+    }
+
+    /**
+     * Longest, maximal or supermaximal repeats, found in one pass over the LCP array of the
+     * sequence's suffix array (see {@link RepeatFinder}). The suffix array is the one motif search
+     * caches, so either reuses what the other built.
+     */
+    public RepeatResult analyzeRepeats(RepeatRequest request, RepeatKind kind, ProgressMonitor monitor) {
+        String operation = "repeats/" + kind.name().toLowerCase(Locale.ROOT);
+        CharSequence resolved = sequences.resolve(request.getSequenceId(), request.getDnaSequence());
+        CharSequence dna = resolved != null ? resolved : "";
+        AnalysisProperties.Repeats config = properties.getRepeats();
+        int minLength = request.getMinLength() != null ? request.getMinLength() : config.getMinLength();
+        int limit = repeatLimit(request);
+        metrics.recordBases(operation, dna.length());
+        // the scan itself is one pass over the LCP array, whether or not the index needs a build
+        try (AdmissionControl.Permit permit = admitIndexed(operation, dna, MotifEngine.SUFFIX_ARRAY, dna.length(),
+                monitor)) {
+            SuffixIndex index = metrics.time(operation, "index", () -> suffixArrayFor(dna, monitor));
+            RepeatFinder finder = new RepeatFinder(index);
+            RepeatFinder.Found<RepeatFinder.Interval> found = metrics.time(operation, "search", () -> switch (kind) {
+                case LONGEST -> finder.longestRepeats(limit, monitor);
+                case MAXIMAL -> finder.maximalRepeats(minLength, limit, monitor);
+                case SUPERMAXIMAL -> finder.supermaximalRepeats(minLength, limit, monitor);
+            });
+            metrics.recordRepeats(kind.name().toLowerCase(Locale.ROOT), found.total());
+            List<Repeat> repeats = new ArrayList<>(found.repeats().size());
+            for (RepeatFinder.Interval interval : found.repeats()) {
+                repeats.add(new Repeat(finder.sequence(interval), interval.length(), interval.occurrences(),
+                        request.isPositions() ? finder.positions(interval) : null));
+            }
+            return new RepeatResult(kind, repeats, found.total());
+        }
+    }
+
+    public TandemRepeatResult analyzeTandemRepeats(RepeatRequest request) {
+        return analyzeTandemRepeats(request, ProgressMonitor.NONE);
+    }
+
+    /** Tandem arrays (microsatellites and the like), scanned straight off the sequence. */
+    public TandemRepeatResult analyzeTandemRepeats(RepeatRequest request, ProgressMonitor monitor) {
+        CharSequence resolved = sequences.resolve(request.getSequenceId(), request.getDnaSequence());
+        CharSequence dna = resolved != null ? resolved : "";
+        AnalysisProperties.Repeats config = properties.getRepeats();
+        int minLength = request.getMinLength() != null ? request.getMinLength() : config.getMinLength();
+        int maxPeriod = request.getMaxPeriod() != null ? request.getMaxPeriod() : config.getMaxPeriod();
+        int minCopies = request.getMinCopies() != null ? request.getMinCopies() : 2;
+        if (maxPeriod < 1 || maxPeriod > MAX_TANDEM_PERIOD) {
+            throw new IllegalArgumentException("maxPeriod must be between 1 and " + MAX_TANDEM_PERIOD);
+        }
+        int limit = repeatLimit(request);
+        metrics.recordBases("repeats/tandem", dna.length());
+        // a scan per period; the memory is only the arrays found
+        try (AdmissionControl.Permit permit = admission.admit("repeats/tandem", SMALL_ANALYSIS_BYTES,
+                (long) dna.length() * maxPeriod, monitor)) {
+            RepeatFinder.Found<RepeatFinder.Tandem> found = metrics.time("repeats/tandem", "search",
+                    () -> RepeatFinder.tandemRepeats(dna, maxPeriod, minCopies, minLength, limit, monitor));
+            metrics.recordRepeats("tandem", found.total());
+            List<TandemRepeat> repeats = new ArrayList<>(found.repeats().size());
+            for (RepeatFinder.Tandem tandem : found.repeats()) {
+                String unit = dna.subSequence(tandem.start(), tandem.start() + tandem.period()).toString();
+                repeats.add(new TandemRepeat(tandem.start(), tandem.length(), unit, tandem.copies()));
+            }
+            return new TandemRepeatResult(repeats, found.total());
+        }
+    }
+
+    // each tandem period is a scan of the whole sequence
+    private static final int MAX_TANDEM_PERIOD = 100;
+
+    private int repeatLimit(RepeatRequest request) {
+        int max = properties.getRepeats().getMaxResults();
+        int limit = request.getLimit() != null ? request.getLimit() : max;
+        if (limit < 0 || limit > max) {
+            throw new IllegalArgumentException("limit must be between 0 and " + max);
+        }
+        return limit;
+    }
+
+    public IndexCacheStats indexCacheStats() {
+        return indexCache.stats();
+    }
+
+    // index lookup, or build on a cache miss, as a timed stage of the operation
+    private SequenceIndex indexStage(String operation, CharSequence dna, MotifEngine engine,
+                                     ProgressMonitor monitor) {
+        return metrics.time(operation, "index", () -> motifIndexFor(dna, engine, monitor));
+    }
+
+    private SequenceIndex motifIndexFor(CharSequence dna, MotifEngine requested, ProgressMonitor monitor) {
+        MotifEngine engine = requested != null ? requested : properties.getMotif().getEngine();
+        // texts with N, lower case or other symbols cannot go into the 2-bit FM-index
+        if (engine == MotifEngine.FM_INDEX && FmIndex.supports(dna)) {
+            int rate = properties.getMotif().getFmSampleRate();
+            String key = digestOf(dna) + ":fm" + rate;
+            return indexCache.getOrBuild(key,
+                    () -> metrics.indexBuild("fm-index", () -> new FmIndex(dna, rate, monitor)));
+        }
+        return suffixArrayFor(dna, monitor);
+    }
+
+    private SuffixIndex suffixArrayFor(CharSequence dna, ProgressMonitor monitor) {
+        String digest = digestOf(dna);
+        return indexCache.getOrBuild(digest + ":sa", () -> {
+            SuffixIndex stored = indexStore.load(digest);
+            return stored != null ? stored
+                    : indexStore.persist(digest, metrics.indexBuild("suffix-array", () -> new SuffixArray(dna, monitor)));
+        });
+    }
+
+    // a registered sequence's ID is already its digest; an inline one is hashed once per request,
+    // though the admission estimate and the index lookup both need it
+    private String digestOf(CharSequence dna) {
+        String id = sequences.idOf(dna);
+        if (id != null) {
+            return id;
+        }
+        Digested last = lastDigest.get();
+        if (last != null && last.sequence().get() == dna) {
+            return last.digest();
+        }
+        String digest = SequenceDigest.of(dna);
+        lastDigest.set(new Digested(new WeakReference<>(dna), digest));
+        return digest;
+    }
+
+    private record Digested(WeakReference<CharSequence> sequence, String digest) {}
+
+    private final ThreadLocal<Digested> lastDigest = new ThreadLocal<>();
+
+    /*
+     * Admission estimates (see AdmissionControl): the peak working memory of each engine from the
+     * input lengths, and its work in rough word operations, i.e. bases scanned or 64-cell words of
+     * the bit-parallel DP. They need not be exact, only proportionate: the budget leaves headroom.
+     */
+
+    // SA-IS peaks at about 5 ints per base, next to the int-coded text; the FM-index build sorts the same way
+    private static final long INDEX_BUILD_BYTES_PER_BASE = 24;
+    // a HashMap<String, Integer> entry with its key and boxed count, as returned to the controller
+    private static final long MAP_ENTRY_BYTES = 96;
+    // one LongIntHashMap slot at its load factor
+    private static final long HASHED_KMER_BYTES = 24;
+    // Aho-Corasick trie node per pattern base
+    private static final long TRIE_BYTES_PER_PATTERN_BASE = 64;
+    // int DP row pairs of the linear-space engines
+    private static final long DP_BYTES_PER_BASE = 8;
+    // local alignment: query profile (5 scores) and four score columns, in ints
+    private static final long LOCAL_ALIGNMENT_BYTES_PER_QUERY_BASE = 40;
+    // a sketch being built: kept hashes and as many buffered candidates
+    private static final long SKETCH_BYTES_PER_HASH = 16;
+    // a screening match: SketchDistance with its 64-character ID
+    private static final long SCREEN_MATCH_BYTES = 192;
+    // each aligned base may become an edit call in the response
+    private static final long MUTATION_CALL_BYTES = 64;
+    // bases between two raises of an upload's reservation when its size is unknown
+    private static final long UPLOAD_RESERVE_STEP = 1 << 20;
+    // floor for analyses whose memory does not grow with the input
+    private static final long SMALL_ANALYSIS_BYTES = 64 * 1024;
+
+    // an index-backed analysis: the build when the index is neither cached nor stored, else just the lookups
+    private AdmissionControl.Permit admitIndexed(String operation, CharSequence dna, MotifEngine engine,
+                                                 long extraWork, ProgressMonitor monitor) {
+        long build = indexBuildBytes(dna, engine);
+        long work = build > 0 ? dna.length() : 0;
+        return admission.admit(operation, Math.max(SMALL_ANALYSIS_BYTES, build), work + extraWork, monitor);
+    }
+
+    private long indexBuildBytes(CharSequence dna, MotifEngine requested) {
+        if (dna == null || dna.length() == 0) {
+            return 0;
+        }
+        MotifEngine engine = requested != null ? requested : properties.getMotif().getEngine();
+        String digest = digestOf(dna);
+        // a text the FM-index cannot take falls back to the suffix array, which this over-reserves for
+        boolean built = engine == MotifEngine.FM_INDEX
+                ? indexCache.contains(digest + ":fm" + properties.getMotif().getFmSampleRate())
+                : indexCache.contains(digest + ":sa") || indexStore.contains(digest);
+        return built ? 0 : INDEX_BUILD_BYTES_PER_BASE * dna.length();
+    }
+
+    // the counting table (per thread when counting in parallel: each worker, and the caller when it
+    // helps) and the map of results
+    private static long kmerCountBytes(long length, int k, int workers) {
+        if (k <= 0) {
+            return SMALL_ANALYSIS_BYTES;
+        }
+        long kmers = Math.max(0, length - k + 1);
+        long distinct = k < 32 ? Math.min(kmers, 1L << (2 * k)) : kmers;
+        return kmerTableBytes(distinct, k, workers);
+    }
+
+    private static long kmerTableBytes(long distinct, int k, int workers) {
+        long table = k <= KmerCounter.DIRECT_MAX_K ? 4L << (2 * k) : HASHED_KMER_BYTES * distinct;
+        return SMALL_ANALYSIS_BYTES + workers * table + MAP_ENTRY_BYTES * distinct;
+    }
+
+    // Myers keeps an int row over the text and bit vectors over the pattern; the band engine two rows
+    private static long editDistanceBytes(CharSequence a, CharSequence b) {
+        return SMALL_ANALYSIS_BYTES + DP_BYTES_PER_BASE * (a.length() + b.length());
+    }
+
+    private static long editDistanceWork(long m, long n, Integer maxDistance) {
+        if (maxDistance != null) {
+            return Math.min(m * n, (2L * Math.max(0, maxDistance) + 1) * Math.max(m, n));
+        }
+        return m * n / 64;
     }
 
     private final MutationDetector mutationDetector = new MutationDetector();
 
     public MutationResult analyzeMutation(MutationRequest request) {
+        return analyzeMutation(request, ProgressMonitor.NONE);
+    }
+
+    public MutationResult analyzeMutation(MutationRequest request, ProgressMonitor monitor) {
         String seqA = request.getSequenceA();
         String seqB = request.getSequenceB();
-        int distance = mutationDetector.calculateEditDistance(seqA, seqB);
-        return new MutationResult(seqA, seqB, distance);
+        CharSequence resolvedA = sequences.resolve(request.getSequenceIdA(), seqA);
+        CharSequence resolvedB = sequences.resolve(request.getSequenceIdB(), seqB);
+        CharSequence a = resolvedA == null ? "" : resolvedA;
+        CharSequence b = resolvedB == null ? "" : resolvedB;
+        metrics.recordBases("mutation", a.length() + b.length());
+        Integer maxDistance = request.getMaxDistance();
+        try (AdmissionControl.Permit permit = admission.admit("mutation", editDistanceBytes(a, b),
+                editDistanceWork(a.length(), b.length(), maxDistance), monitor)) {
+            if (maxDistance != null) {
+                BoundedEditDistance engine = new BoundedEditDistance();
+                int distance = metrics.time("mutation", "distance", () -> engine.distance(a, b, maxDistance, monitor));
+                metrics.recordDpCells("bounded", engine.cellsComputed());
+                return new MutationResult(seqA, seqB, distance, maxDistance);
+            }
+            int distance = metrics.time("mutation", "distance",
+                    () -> mutationDetector.calculateEditDistance(a, b, monitor));
+            metrics.recordDpCells("myers", (long) a.length() * b.length());
+            return new MutationResult(seqA, seqB, distance);
+        }
+    }
+
+    public DistanceMatrixResult analyzeDistanceMatrix(DistanceMatrixRequest request) {
+        return analyzeDistanceMatrix(request, ProgressMonitor.NONE);
+    }
+
+    public DistanceMatrixResult analyzeDistanceMatrix(DistanceMatrixRequest request, ProgressMonitor monitor) {
+        List<CharSequence> matrixSequences = new ArrayList<>();
+        if (request.getSequenceIds() != null) {
+            if (request.getSequences() != null) {
+                throw new IllegalArgumentException("Give either sequences or sequenceIds, not both");
+            }
+            for (String id : request.getSequenceIds()) {
+                matrixSequences.add(sequences.get(id));
+            }
+        } else if (request.getSequences() != null) {
+            matrixSequences.addAll(request.getSequences());
+        }
+        Integer maxDistance = request.getMaxDistance();
+        if (maxDistance != null && maxDistance < 0) {
+            throw new IllegalArgumentException("maxDistance must be >= 0");
+        }
+        long bases = 0;
+        long longest = 0;
+        double pairCells = 0; // sum over pairs of m * n, as (sum^2 - sum of squares) / 2
+        for (CharSequence seq : matrixSequences) {
+            long length = seq != null ? seq.length() : 0;
+            bases += length;
+            longest = Math.max(longest, length);
+            pairCells -= (double) length * length;
+        }
+        metrics.recordBases("mutation/matrix", bases);
+        int count = matrixSequences.size();
+        pairCells = (pairCells + (double) bases * bases) / 2;
+        long work = maxDistance != null
+                // each sequence is in count - 1 pairs, and a band is 2d + 1 cells wide
+                ? (long) Math.min(pairCells, (2.0 * maxDistance + 1) * (count - 1) * bases)
+                : (long) (pairCells / 64);
+        // the condensed matrix, base composition per sequence and a DP row pair per worker
+        long memory = 4L * count * (count - 1) / 2 + 20L * count
+                + (long) analysisPool.getParallelism() * DP_BYTES_PER_BASE * longest;
+        try (AdmissionControl.Permit permit = admission.admit("mutation/matrix", memory, work, monitor)) {
+            DistanceMatrix matrix = metrics.time("mutation/matrix", "distance", () -> DistanceMatrix.compute(
+                    matrixSequences, maxDistance != null ? maxDistance : -1, analysisPool, monitor));
+            metrics.recordDpCells(maxDistance != null ? "bounded" : "myers", matrix.cellsComputed());
+            return new DistanceMatrixResult(matrix.size(), maxDistance, matrix.condensed(), matrix.prunedPairs());
+        }
+    }
+
+    public AlignmentResult analyzeAlignment(MutationRequest request) {
+        return analyzeAlignment(request, ProgressMonitor.NONE);
+    }
+
+    public AlignmentResult analyzeAlignment(MutationRequest request, ProgressMonitor monitor) {
+        CharSequence resolvedA = sequences.resolve(request.getSequenceIdA(), request.getSequenceA());
+        CharSequence resolvedB = sequences.resolve(request.getSequenceIdB(), request.getSequenceB());
+        CharSequence seqA = resolvedA == null ? "" : resolvedA;
+        CharSequence seqB = resolvedB == null ? "" : resolvedB;
+        long bases = seqA.length() + seqB.length();
+        metrics.recordBases("mutation/align", bases);
+        // Hirschberg: linear-space rows per worker and the edit script, but about 2 m n scalar cells
+        long memory = (analysisPool.getParallelism() + 1L) * DP_BYTES_PER_BASE * bases + MUTATION_CALL_BYTES * bases;
+        try (AdmissionControl.Permit permit = admission.admit("mutation/align", memory,
+                2L * seqA.length() * seqB.length(), monitor)) {
+            LongAdder cells = new LongAdder();
+            HirschbergAligner.Alignment alignment = metrics.time("mutation/align", "align",
+                    () -> new HirschbergAligner(analysisPool, countingCells(monitor, cells)).align(seqA, seqB));
+            metrics.recordDpCells("hirschberg", cells.sum());
+            List<MutationCall> calls = new ArrayList<>(alignment.edits().size());
+            for (HirschbergAligner.Edit edit : alignment.edits()) {
+                calls.add(new MutationCall(edit.type().name(), edit.positionA(), edit.positionB(),
+                        edit.reference(), edit.alternate()));
+            }
+            return new AlignmentResult(seqA.length(), seqB.length(), alignment.distance(),
+                    alignment.cigar(), calls);
+        }
+    }
+
+    public LocalAlignmentResult analyzeLocalAlignment(LocalAlignmentRequest request) {
+        return analyzeLocalAlignment(request, ProgressMonitor.NONE);
+    }
+
+    /**
+     * Best local alignment of a query (a gene, say) within a target (a contig), with affine gaps
+     * and a substitution matrix: its score and where it lies in both (see {@link SmithWaterman}).
+     */
+    public LocalAlignmentResult analyzeLocalAlignment(LocalAlignmentRequest request, ProgressMonitor monitor) {
+        CharSequence resolvedQuery = sequences.resolve(request.getQueryId(), request.getQuery());
+        CharSequence resolvedTarget = sequences.resolve(request.getTargetId(), request.getTarget());
+        CharSequence query = resolvedQuery == null ? "" : resolvedQuery;
+        CharSequence target = resolvedTarget == null ? "" : resolvedTarget;
+        SmithWaterman aligner = localAligner(request);
+        metrics.recordBases("mutation/local", query.length() + target.length());
+        // a query profile and a few score columns over the query; no traceback matrix
+        long memory = SMALL_ANALYSIS_BYTES + LOCAL_ALIGNMENT_BYTES_PER_QUERY_BASE * query.length();
+        long work = (long) query.length() * target.length() / aligner.lanes();
+        try (AdmissionControl.Permit permit = admission.admit("mutation/local", memory, work, monitor)) {
+            LongAdder cells = new LongAdder();
+            SmithWaterman.Alignment alignment = metrics.time("mutation/local", "align",
+                    () -> aligner.align(query, target, countingCells(monitor, cells)));
+            metrics.recordDpCells("smith-waterman", cells.sum());
+            return new LocalAlignmentResult(alignment.score(), alignment.queryStart(), alignment.queryEnd(),
+                    alignment.targetStart(), alignment.targetEnd(), aligner.engine());
+        }
+    }
+
+    private SmithWaterman localAligner(LocalAlignmentRequest request) {
+        AnalysisProperties.LocalAlignment config = properties.getLocalAlignment();
+        int gapOpen = request.getGapOpen() != null ? request.getGapOpen() : config.getGapOpen();
+        int gapExtend = request.getGapExtend() != null ? request.getGapExtend() : config.getGapExtend();
+        SmithWaterman.Scoring scoring;
+        if (request.getSubstitutionMatrix() != null) {
+            if (request.getMatch() != null || request.getMismatch() != null) {
+                throw new IllegalArgumentException("Give either match / mismatch or substitutionMatrix, not both");
+            }
+            scoring = SmithWaterman.Scoring.of(request.getSubstitutionMatrix(), gapOpen, gapExtend);
+        } else {
+            scoring = SmithWaterman.Scoring.dna(
+                    request.getMatch() != null ? request.getMatch() : config.getMatch(),
+                    request.getMismatch() != null ? request.getMismatch() : config.getMismatch(),
+                    gapOpen, gapExtend);
+        }
+        return config.isVectorized() ? SmithWaterman.create(scoring) : new SmithWaterman(scoring);
+    }
+
+    public SketchDistance analyzeSketchDistance(SketchRequest request) {
+        return analyzeSketchDistance(request, ProgressMonitor.NONE);
+    }
+
+    /**
+     * Mash distance of two sequences from MinHash sketches of their canonical k-mers (see
+     * {@link MinHashSketch}): linear in their lengths, and a quick way to tell whether aligning them
+     * is worth it. Sketches are cached, so comparing the same sequences again skips the scans.
+     */
+    public SketchDistance analyzeSketchDistance(SketchRequest request, ProgressMonitor monitor) {
+        CharSequence resolvedA = sequences.resolve(request.getSequenceIdA(), request.getSequenceA());
+        CharSequence resolvedB = sequences.resolve(request.getSequenceIdB(), request.getSequenceB());
+        CharSequence a = resolvedA == null ? "" : resolvedA;
+        CharSequence b = resolvedB == null ? "" : resolvedB;
+        int k = sketchK(request.getK());
+        int size = sketchSize(request.getSketchSize());
+        metrics.recordBases("mutation/sketch", a.length() + b.length());
+        String keyA = sketchKey(digestOf(a), k, size);
+        String keyB = sketchKey(digestOf(b), k, size);
+        long bases = (sketchCache.contains(keyA) ? 0 : a.length()) + (sketchCache.contains(keyB) ? 0 : b.length());
+        long memory = SMALL_ANALYSIS_BYTES + 2 * SKETCH_BYTES_PER_HASH * size;
+        try (AdmissionControl.Permit permit = admission.admit("mutation/sketch", memory, bases, monitor)) {
+            monitor.begin("sketching", bases);
+            MinHashSketch sketchA = metrics.time("mutation/sketch", "sketch", () -> sketch(keyA, a, k, size, monitor));
+            MinHashSketch sketchB = metrics.time("mutation/sketch", "sketch", () -> sketch(keyB, b, k, size, monitor));
+            return distance(null, sketchA.compare(sketchB));
+        }
+    }
+
+    public ScreenResult analyzeScreen(ScreenRequest request) {
+        return analyzeScreen(request, ProgressMonitor.NONE);
+    }
+
+    /**
+     * Screens one sequence against many registered ones by Mash distance, closest first. Each
+     * comparison is a merge of two fixed-size sketches, so once the targets' sketches are cached a
+     * screen against thousands of sequences takes milliseconds.
+     */
+    public ScreenResult analyzeScreen(ScreenRequest request, ProgressMonitor monitor) {
+        CharSequence resolved = sequences.resolve(request.getSequenceId(), request.getDnaSequence());
+        CharSequence query = resolved == null ? "" : resolved;
+        int k = sketchK(request.getK());
+        int size = sketchSize(request.getSketchSize());
+        int max = properties.getSketch().getMaxResults();
+        int limit = request.getLimit() != null ? request.getLimit() : max;
+        if (limit < 0 || limit > max) {
+            throw new IllegalArgumentException("limit must be between 0 and " + max);
+        }
+        double maxDistance = request.getMaxDistance() != null ? request.getMaxDistance() : 1;
+        List<String> targetIds = request.getTargetIds() != null ? request.getTargetIds() : new ArrayList<>();
+        if (request.getTargetIds() == null) {
+            // every registered sequence but the query itself
+            for (SequenceInfo info : sequences.list()) {
+                if (!info.getId().equals(request.getSequenceId())) {
+                    targetIds.add(info.getId());
+                }
+            }
+        }
+        // cached target sketches are used as they are; only the others need their sequence
+        MinHashSketch[] targetSketches = new MinHashSketch[targetIds.size()];
+        CharSequence[] unsketched = new CharSequence[targetIds.size()];
+        String queryKey = sketchKey(digestOf(query), k, size);
+        long bases = sketchCache.contains(queryKey) ? 0 : query.length();
+        int missing = 0;
+        for (int t = 0; t < targetSketches.length; t++) {
+            targetSketches[t] = sketchCache.get(sketchKey(targetIds.get(t), k, size));
+            if (targetSketches[t] == null) {
+                unsketched[t] = sequences.get(targetIds.get(t));
+                bases += unsketched[t].length();
+                missing++;
+            }
+        }
+        metrics.recordBases("mutation/screen", bases);
+        // the sketch being built, the new target sketches (8 bytes per hash) held until compared,
+        // and the matches
+        long memory = SMALL_ANALYSIS_BYTES + 2 * SKETCH_BYTES_PER_HASH * size + missing * (8L * size + 32)
+                + (long) targetSketches.length * SCREEN_MATCH_BYTES;
+        long work = bases + (long) targetSketches.length * size;
+        try (AdmissionControl.Permit permit = admission.admit("mutation/screen", memory, work, monitor)) {
+            monitor.begin("sketching", bases);
+            MinHashSketch querySketch = metrics.time("mutation/screen", "sketch",
+                    () -> sketch(queryKey, query, k, size, monitor));
+            if (missing > 0) {
+                metrics.time("mutation/screen", "sketch", () -> {
+                    for (int t = 0; t < targetSketches.length; t++) {
+                        if (targetSketches[t] == null) {
+                            targetSketches[t] = MinHashSketch.of(unsketched[t], k, size, monitor);
+                            sketchCache.put(sketchKey(targetIds.get(t), k, size), targetSketches[t]);
+                            unsketched[t] = null;
+                        }
+                    }
+                    return targetSketches;
+                });
+            }
+            List<SketchDistance> matches = metrics.time("mutation/screen", "compare", () -> {
+                List<SketchDistance> found = new ArrayList<>();
+                for (int t = 0; t < targetSketches.length; t++) {
+                    SketchDistance match = distance(targetIds.get(t), querySketch.compare(targetSketches[t]));
+                    if (match.getMashDistance() <= maxDistance) {
+                        found.add(match);
+                    }
+                }
+                found.sort(Comparator.comparingDouble(SketchDistance::getMashDistance)
+                        .thenComparing(SketchDistance::getId));
+                return found;
+            });
+            return new ScreenResult(k, size, targetSketches.length,
+                    new ArrayList<>(matches.subList(0, Math.min(limit, matches.size()))), matches.size());
+        }
+    }
+
+    private int sketchK(Integer requested) {
+        int k = requested != null ? requested : properties.getSketch().getK();
+        if (k < 1 || k > MinHashSketch.MAX_K) {
+            throw new IllegalArgumentException("k must be between 1 and " + MinHashSketch.MAX_K);
+        }
+        return k;
+    }
+
+    private int sketchSize(Integer requested) {
+        int max = properties.getSketch().getMaxSize();
+        int size = requested != null ? requested : properties.getSketch().getSize();
+        if (size < 1 || size > max) {
+            throw new IllegalArgumentException("sketchSize must be between 1 and " + max);
+        }
+        return size;
+    }
+
+    // by content digest, which for a registered sequence is its ID
+    private static String sketchKey(String digest, int k, int size) {
+        return digest + ":mh" + k + ":" + size;
+    }
+
+    private MinHashSketch sketch(String key, CharSequence dna, int k, int size, ProgressMonitor monitor) {
+        return sketchCache.getOrBuild(key, () -> MinHashSketch.of(dna, k, size, monitor));
+    }
+
+    private static SketchDistance distance(String id, MinHashSketch.Comparison comparison) {
+        return new SketchDistance(id, comparison.shared(), comparison.sampled(), comparison.jaccard(),
+                comparison.mashDistance());
+    }
+
+    // the DP engines report their progress in cells, so the units reported add up to the cell count
+    private static ProgressMonitor countingCells(ProgressMonitor monitor, LongAdder cells) {
+        return new ProgressMonitor() {
+            @Override
+            public void begin(String phase, long totalUnits) {
+                monitor.begin(phase, totalUnits);
+            }
+
+            @Override
+            public void worked(long units) {
+                cells.add(units);
+                monitor.worked(units);
+            }
+        };
     }
-}
\ No newline at end of file
+}
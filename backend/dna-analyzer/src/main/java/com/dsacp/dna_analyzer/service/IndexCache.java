@@ -0,0 +1,156 @@
+package com.dsacp.dna_analyzer.service;
+
+import com.dsacp.dna_analyzer.config.AnalysisProperties;
+import com.dsacp.dna_analyzer.dsa.SequenceIndex;
+import com.dsacp.dna_analyzer.dto.IndexCacheStats;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache of built sequence indexes, keyed by content digest and bounded by a byte budget.
+ *
+ * <p>Builds are single-flight: when several requests miss on the same key at once, one of them
+ * builds the index and the others wait for that build instead of starting their own. If that build
+ * is cancelled by the job that started it, the waiters take over rather than fail. An index larger
+ * than the whole budget is returned to the caller but never cached.
+ */
+@Component
+public class IndexCache {
+
+    private final long maxBytes;
+
+    // access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, SequenceIndex> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<SequenceIndex>> inFlight = new ConcurrentHashMap<>();
+    private long usedBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong coalescedBuilds = new AtomicLong();
+
+    public IndexCache(AnalysisProperties properties) {
+        this.maxBytes = properties.getIndexCache().getMaxSize().toBytes();
+    }
+
+    /**
+     * Returns the cached index for {@code key}, building it with {@code builder} on a miss. Callers
+     * must use distinct keys for distinct index types.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends SequenceIndex> T getOrBuild(String key, Supplier<T> builder) {
+        CompletableFuture<SequenceIndex> mine = new CompletableFuture<>();
+        while (true) {
+            SequenceIndex cached = lookup(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return (T) cached;
+            }
+            CompletableFuture<SequenceIndex> running = inFlight.putIfAbsent(key, mine);
+            if (running == null) {
+                break;
+            }
+            coalescedBuilds.incrementAndGet();
+            SequenceIndex built = await(running);
+            if (built != null) {
+                return (T) built;
+            }
+        }
+        try {
+            // another thread may have finished the build between lookup() and putIfAbsent()
+            SequenceIndex cached = lookup(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+                cached = builder.get();
+                store(key, cached);
+            }
+            mine.complete(cached);
+            return (T) cached;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** Whether {@code key} is cached right now; unlike a lookup it counts no hit and keeps the LRU order. */
+    public boolean contains(String key) {
+        synchronized (entries) {
+            return entries.containsKey(key);
+        }
+    }
+
+    public IndexCacheStats stats() {
+        synchronized (entries) {
+            return new IndexCacheStats(hits.get(), misses.get(), evictions.get(), coalescedBuilds.get(),
+                    entries.size(), usedBytes, maxBytes);
+        }
+    }
+
+    /** Drops every cached index. */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            usedBytes = 0;
+        }
+    }
+
+    private SequenceIndex lookup(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    private void store(String key, SequenceIndex index) {
+        long size = index.sizeInBytes();
+        if (size > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            SequenceIndex previous = entries.put(key, index);
+            if (previous != null) {
+                usedBytes -= previous.sizeInBytes();
+            }
+            usedBytes += size;
+            Iterator<Map.Entry<String, SequenceIndex>> lru = entries.entrySet().iterator();
+            while (usedBytes > maxBytes && lru.hasNext()) {
+                Map.Entry<String, SequenceIndex> eldest = lru.next();
+                if (eldest.getKey().equals(key)) {
+                    continue;
+                }
+                usedBytes -= eldest.getValue().sizeInBytes();
+                lru.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    // null when the build was cancelled, so the caller retries
+    private static SequenceIndex await(CompletableFuture<SequenceIndex> build) {
+        try {
+            return build.join();
+        } catch (CancellationException e) {
+            return null;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.dsacp.dna_analyzer.service;
+
+import com.dsacp.dna_analyzer.config.AnalysisProperties;
+import com.dsacp.dna_analyzer.dsa.SuffixArray;
+import com.dsacp.dna_analyzer.dsa.SuffixArrayFile;
+import com.dsacp.dna_analyzer.dsa.SuffixIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Directory of persisted suffix array indexes, one {@code <digest>.sa} file per sequence.
+ *
+ * <p>Disabled unless {@code dna.index-store.directory} is set. When enabled, an index found on disk
+ * is memory-mapped instead of rebuilt, and a freshly built index is written out and served from
+ * its mapping, so the heap arrays can be dropped right away. I/O failures never fail the request:
+ * they are logged and the in-heap index is used.
+ */
+@Component
+public class IndexStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexStore.class);
+
+    private final Path directory;
+
+    public IndexStore(AnalysisProperties properties) {
+        String configured = properties.getIndexStore().getDirectory();
+        this.directory = configured == null || configured.isBlank() ? null : Path.of(configured);
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /** Whether an index is stored for {@code digest}, without mapping it. */
+    public boolean contains(String digest) {
+        return directory != null && Files.isRegularFile(fileFor(digest));
+    }
+
+    /** Maps the stored index for {@code digest}, or returns null if there is none. */
+    public SuffixIndex load(String digest) {
+        if (directory == null) {
+            return null;
+        }
+        Path file = fileFor(digest);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return SuffixArrayFile.open(file);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable index file {}", file, e);
+            return null;
+        }
+    }
+
+    /** Persists {@code built} and returns its mapped view, or {@code built} itself if that fails. */
+    public SuffixIndex persist(String digest, SuffixArray built) {
+        if (directory == null) {
+            return built;
+        }
+        Path file = fileFor(digest);
+        try {
+            Files.createDirectories(directory);
+            SuffixArrayFile.write(built, file);
+            return SuffixArrayFile.open(file);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Could not persist index {}", file, e);
+            return built;
+        }
+    }
+
+    private Path fileFor(String digest) {
+        return directory.resolve(digest + ".sa");
+    }
+}
@@ -0,0 +1,227 @@
+package com.dsacp.dna_analyzer.service;
+
+import com.dsacp.dna_analyzer.config.AnalysisProperties;
+import com.dsacp.dna_analyzer.dsa.ProgressMonitor;
+import com.dsacp.dna_analyzer.dto.JobPriority;
+import com.dsacp.dna_analyzer.dto.JobState;
+import com.dsacp.dna_analyzer.dto.JobStatus;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Runs analyses as background jobs that clients poll instead of holding a request open.
+ *
+ * <p>Jobs wait in a priority queue in front of a fixed set of workers (see {@code dna.jobs.*}); a
+ * submission that finds the queue full is rejected. Each job is the {@link ProgressMonitor} of its
+ * own analysis, so status reads see the engine's current phase and progress. Cancelling a queued
+ * job removes it from the queue; a running job stops at the engine's next progress checkpoint.
+ * Worker threads are never interrupted: an interrupt would close the file channels of the
+ * memory-mapped index store. Finished jobs and their results are dropped after the retention time.
+ */
+@Service
+public class JobService {
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong submissions = new AtomicLong();
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final Duration retention;
+
+    public JobService(ThreadPoolExecutor jobExecutor, AnalysisProperties properties) {
+        this.executor = jobExecutor;
+        this.queueCapacity = properties.getJobs().getQueueCapacity();
+        this.retention = properties.getJobs().getRetention();
+    }
+
+    /**
+     * Queues {@code analysis}, which is handed the job's monitor when it runs.
+     *
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public JobStatus submit(String type, JobPriority priority, Function<ProgressMonitor, Object> analysis) {
+        pruneFinished();
+        if (executor.getQueue().size() >= queueCapacity) {
+            throw new RejectedExecutionException("Job queue is full (" + queueCapacity + " waiting), try again later");
+        }
+        Job job = new Job(UUID.randomUUID().toString(), type, priority != null ? priority : JobPriority.NORMAL,
+                submissions.incrementAndGet(), analysis);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw e;
+        }
+        return job.status();
+    }
+
+    /** The job with this id, or null if it is unknown or has expired. */
+    public Job find(String id) {
+        return jobs.get(id);
+    }
+
+    /** All retained jobs, most recently submitted first. */
+    public List<JobStatus> list() {
+        pruneFinished();
+        return jobs.values().stream()
+                .sorted(Comparator.comparingLong((Job job) -> job.sequence).reversed())
+                .map(Job::status)
+                .toList();
+    }
+
+    /** Cancels the job; returns its status, or null if it is unknown. Finished jobs are left as they are. */
+    public JobStatus cancel(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            return null;
+        }
+        if (job.cancel()) {
+            executor.remove(job);
+        }
+        return job.status();
+    }
+
+    @PreDestroy
+    void cancelAll() {
+        jobs.values().forEach(Job::cancel);
+    }
+
+    private void pruneFinished() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    /** A submitted analysis: queue entry, progress monitor and result holder in one. */
+    public static final class Job implements Runnable, Comparable<Job>, ProgressMonitor {
+        private final String id;
+        private final String type;
+        private final JobPriority priority;
+        private final long sequence;
+        private final Function<ProgressMonitor, Object> analysis;
+        private final Instant submittedAt = Instant.now();
+
+        private JobState state = JobState.QUEUED; // guarded by this
+        private volatile boolean cancelRequested;
+        private volatile String phase;
+        private volatile long phaseTotal;
+        private final AtomicLong phaseDone = new AtomicLong();
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile Object result;
+        private volatile Throwable failure;
+
+        Job(String id, String type, JobPriority priority, long sequence, Function<ProgressMonitor, Object> analysis) {
+            this.id = id;
+            this.type = type;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.analysis = analysis;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (state != JobState.QUEUED) {
+                    return; // cancelled while queued
+                }
+                state = JobState.RUNNING;
+                startedAt = Instant.now();
+            }
+            try {
+                Object value = analysis.apply(this);
+                if (cancelRequested) {
+                    throw new CancellationException();
+                }
+                result = value;
+                finish(JobState.SUCCEEDED);
+            } catch (CancellationException e) {
+                finish(JobState.CANCELLED);
+            } catch (RuntimeException | Error e) {
+                failure = e;
+                finish(JobState.FAILED);
+            }
+        }
+
+        // true if the job was still queued and is now cancelled outright
+        private synchronized boolean cancel() {
+            if (state == JobState.QUEUED) {
+                state = JobState.CANCELLED;
+                finishedAt = Instant.now();
+                return true;
+            }
+            if (state == JobState.RUNNING) {
+                cancelRequested = true;
+            }
+            return false;
+        }
+
+        private synchronized void finish(JobState end) {
+            state = end;
+            finishedAt = Instant.now();
+        }
+
+        @Override
+        public void begin(String phase, long totalUnits) {
+            this.phaseDone.set(0);
+            this.phaseTotal = totalUnits;
+            this.phase = phase;
+        }
+
+        @Override
+        public void worked(long units) {
+            if (cancelRequested) {
+                throw new CancellationException("Job " + id + " was cancelled");
+            }
+            phaseDone.addAndGet(units);
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+
+        public synchronized JobState state() {
+            return state;
+        }
+
+        /** The analysis result; set once the job has succeeded. */
+        public Object result() {
+            return result;
+        }
+
+        /** What the analysis threw; set once the job has failed. */
+        public Throwable failure() {
+            return failure;
+        }
+
+        public JobStatus status() {
+            JobState current = state();
+            double progress;
+            if (current == JobState.SUCCEEDED) {
+                progress = 1;
+            } else if (current == JobState.QUEUED || phaseTotal <= 0) {
+                progress = 0;
+            } else {
+                progress = Math.min(1, (double) phaseDone.get() / phaseTotal);
+            }
+            String error = failure == null ? null
+                    : failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName();
+            return new JobStatus(id, type, priority, current, phase, progress,
+                    cancelRequested && current == JobState.RUNNING, submittedAt, startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.dsacp.dna_analyzer.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content digest of a sequence, used to address cached indexes.
+ *
+ * <p>Characters are fed to SHA-256 through a small reusable buffer instead of calling
+ * {@code getBytes()}, so hashing a 50 MB sequence does not allocate another 50 MB. ASCII
+ * characters take one byte; anything else is escaped as 0xFF plus its two UTF-16 bytes, which keeps
+ * the encoding unambiguous.
+ */
+public final class SequenceDigest {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private SequenceDigest() {
+    }
+
+    /** Returns the lower-case hex SHA-256 of the sequence. */
+    public static String of(CharSequence sequence) {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[BUFFER_SIZE + 3];
+        int used = 0;
+        for (int i = 0, n = sequence.length(); i < n; i++) {
+            char c = sequence.charAt(i);
+            if (c < 0x80) {
+                buffer[used++] = (byte) c;
+            } else {
+                buffer[used++] = (byte) 0xFF;
+                buffer[used++] = (byte) (c >>> 8);
+                buffer[used++] = (byte) c;
+            }
+            if (used >= BUFFER_SIZE) {
+                digest.update(buffer, 0, used);
+                used = 0;
+            }
+        }
+        digest.update(buffer, 0, used);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required by every Java platform", e);
+        }
+    }
+}
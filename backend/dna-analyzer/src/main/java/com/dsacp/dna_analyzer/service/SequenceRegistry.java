@@ -0,0 +1,309 @@
+package com.dsacp.dna_analyzer.service;
+
+import com.dsacp.dna_analyzer.config.AnalysisProperties;
+import com.dsacp.dna_analyzer.dsa.DirectPackedSequence;
+import com.dsacp.dna_analyzer.dsa.PackedSequence;
+import com.dsacp.dna_analyzer.dsa.ProgressMonitor;
+import com.dsacp.dna_analyzer.dto.SequenceInfo;
+import com.dsacp.dna_analyzer.io.FastxHandler;
+import com.dsacp.dna_analyzer.io.FastxParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
+
+/**
+ * Sequences uploaded once and then referenced by ID from the analysis requests, so a large genome
+ * is neither re-sent nor re-parsed per request.
+ *
+ * <p>Sequences are 2-bit packed and held outside the heap as {@link DirectPackedSequence}s, which
+ * the engines read through {@link CharSequence} like any string. The ID is the
+ * {@link SequenceDigest} of the stored (upper-case, N-normalised) sequence, the same key the index
+ * cache uses, so uploading a sequence twice registers it once and an index built for the inline
+ * sequence is reused for the registered one.
+ *
+ * <p>Bounded by {@code dna.sequences.max-size}: the least recently used sequences are evicted. With
+ * {@code dna.sequences.directory} set, sequences are written there as {@code <id>.2bit} files and
+ * served from their mapping; an evicted sequence is mapped again on its next use, and survives a
+ * restart. Without it an evicted sequence is gone and its ID answers 404.
+ */
+@Component
+public class SequenceRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceRegistry.class);
+
+    private static final Pattern ID = Pattern.compile("[0-9a-f]{64}");
+
+    // bases read between two raises of an upload's reservation
+    static final int UPLOAD_RESERVE_STEP = 1 << 20;
+
+    private final long maxBytes;
+    private final Path directory;
+    private final int maxUploadBases;
+    private final AdmissionControl admission;
+
+    // access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, DirectPackedSequence> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    public SequenceRegistry(AnalysisProperties properties, AdmissionControl admission) {
+        this.maxUploadBases = properties.getUpload().getMaxBases();
+        this.admission = admission;
+        AnalysisProperties.Sequences config = properties.getSequences();
+        this.maxBytes = config.getMaxSize().toBytes();
+        String configured = config.getDirectory();
+        this.directory = configured == null || configured.isBlank() ? null : Path.of(configured);
+    }
+
+    /**
+     * Registers the records of a FASTA/FASTQ/plain stream of {@code size} bytes (-1 if unknown),
+     * joined with a single N between them. The heap the records are packed into is reserved from
+     * admission control as they are read.
+     */
+    public SequenceInfo register(InputStream in, long size) throws IOException {
+        BufferedInputStream body = new BufferedInputStream(in, 1 << 16);
+        long bases = uploadBases(body, size);
+        try (AdmissionControl.Permit permit = admission.admit("sequences/upload",
+                packedBytes(bases >= 0 ? bases : UPLOAD_RESERVE_STEP, UPLOAD_RESERVE_STEP / 2),
+                bases >= 0 ? bases : Long.MAX_VALUE, ProgressMonitor.NONE)) {
+            return register(readPacked(body, maxUploadBases, permit));
+        }
+    }
+
+    public SequenceInfo register(CharSequence dna) {
+        if (dna == null) {
+            throw new IllegalArgumentException("dnaSequence is required");
+        }
+        PackedSequence packed = new PackedSequence();
+        for (int i = 0; i < dna.length(); i++) packed.append(dna.charAt(i));
+        packed.trimToSize();
+        return register(packed);
+    }
+
+    private SequenceInfo register(PackedSequence packed) {
+        String id = SequenceDigest.of(packed);
+        DirectPackedSequence existing = lookup(id);
+        if (existing != null) {
+            return info(id, existing);
+        }
+        long size = 8L * ((packed.length() + 31) >>> 5);
+        if (size > maxBytes) {
+            throw new IllegalArgumentException("Sequence of " + packed.length()
+                    + " bases is larger than dna.sequences.max-size");
+        }
+        DirectPackedSequence stored = null;
+        if (directory != null) {
+            Path file = fileFor(id);
+            try {
+                Files.createDirectories(directory);
+                stored = DirectPackedSequence.write(packed, file);
+            } catch (IOException e) {
+                log.warn("Could not persist sequence {}, keeping it in direct memory", file, e);
+            }
+        }
+        if (stored == null) {
+            stored = DirectPackedSequence.copyOf(packed);
+        }
+        store(id, stored);
+        return info(id, stored);
+    }
+
+    /**
+     * The registered sequence, mapped again from its file if it was evicted.
+     *
+     * @throws NoSuchElementException if there is no sequence with that ID
+     */
+    public DirectPackedSequence get(String id) {
+        DirectPackedSequence sequence = lookup(id);
+        if (sequence == null && directory != null && ID.matcher(id).matches()) {
+            Path file = fileFor(id);
+            if (Files.isRegularFile(file)) {
+                try {
+                    sequence = DirectPackedSequence.map(file);
+                    store(id, sequence);
+                } catch (IOException e) {
+                    log.warn("Ignoring unreadable sequence file {}", file, e);
+                }
+            }
+        }
+        if (sequence == null) {
+            throw new NoSuchElementException("No sequence " + id);
+        }
+        return sequence;
+    }
+
+    public SequenceInfo info(String id) {
+        return info(id, get(id));
+    }
+
+    /** The sequences currently held, least recently used first. */
+    public List<SequenceInfo> list() {
+        synchronized (entries) {
+            List<SequenceInfo> infos = new ArrayList<>(entries.size());
+            for (Map.Entry<String, DirectPackedSequence> entry : entries.entrySet()) {
+                infos.add(info(entry.getKey(), entry.getValue()));
+            }
+            return infos;
+        }
+    }
+
+    /**
+     * Drops a sequence and its file. Analyses already running on it finish normally.
+     *
+     * @throws NoSuchElementException if there is no sequence with that ID
+     */
+    public void delete(String id) {
+        boolean removed;
+        synchronized (entries) {
+            DirectPackedSequence previous = entries.remove(id);
+            removed = previous != null;
+            if (removed) {
+                usedBytes -= previous.sizeInBytes();
+            }
+        }
+        if (directory != null && ID.matcher(id).matches()) {
+            try {
+                removed |= Files.deleteIfExists(fileFor(id));
+            } catch (IOException e) {
+                log.warn("Could not delete sequence file for {}", id, e);
+            }
+        }
+        if (!removed) {
+            throw new NoSuchElementException("No sequence " + id);
+        }
+    }
+
+    /**
+     * The sequence a request refers to: the registered one when it gives an ID, otherwise its
+     * inline sequence (which may be null).
+     */
+    public CharSequence resolve(String id, String inline) {
+        if (id == null) {
+            return inline;
+        }
+        if (inline != null) {
+            throw new IllegalArgumentException("Give either a sequence or a sequence ID, not both");
+        }
+        return get(id);
+    }
+
+    /** ID of a sequence handed out by this registry, or null for any other sequence. */
+    public String idOf(CharSequence sequence) {
+        if (!(sequence instanceof DirectPackedSequence)) {
+            return null;
+        }
+        synchronized (entries) {
+            for (Map.Entry<String, DirectPackedSequence> entry : entries.entrySet()) {
+                if (entry.getValue() == sequence) {
+                    return entry.getKey();
+                }
+            }
+        }
+        return null;
+    }
+
+    public long usedBytes() {
+        synchronized (entries) {
+            return usedBytes;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /** Bases an upload holds at most: its size in bytes, or -1 for a chunked or gzipped body. */
+    static long uploadBases(BufferedInputStream body, long size) throws IOException {
+        return size >= 0 && !FastxParser.isGzipped(body) ? size : -1;
+    }
+
+    // heap of a packed upload: 2 bits per base and two ints per N run, kept three times over while
+    // an array doubles (the old copy and the new one)
+    static long packedBytes(long bases, long runs) {
+        return bases / 4 * 3 + 24 * runs;
+    }
+
+    /**
+     * 2-bit packs uploaded records as they stream in (about n / 4 bytes), raising {@code permit}
+     * every {@link #UPLOAD_RESERVE_STEP} bases to cover what the next step can add.
+     *
+     * @throws IllegalArgumentException if the records hold more than {@code maxBases} bases
+     */
+    static PackedSequence readPacked(InputStream in, int maxBases, AdmissionControl.Permit permit)
+            throws IOException {
+        PackedSequence dna = new PackedSequence();
+        FastxParser.parse(in, new FastxHandler() {
+            private boolean first = true;
+            private long reserved;
+
+            @Override
+            public void beginRecord(String name) {
+                if (!first) dna.append('N');
+                first = false;
+            }
+
+            @Override
+            public void sequence(byte[] buf, int from, int to) {
+                if ((long) dna.length() + (to - from) > maxBases) {
+                    throw new IllegalArgumentException("The upload holds more than " + maxBases
+                            + " bases (dna.upload.max-bases)");
+                }
+                for (int i = from; i < to; i++) dna.append((char) buf[i]);
+                if (dna.length() >= reserved) {
+                    reserved = (long) dna.length() + UPLOAD_RESERVE_STEP;
+                    permit.reserve(packedBytes(reserved, dna.nRunCount() + UPLOAD_RESERVE_STEP / 2));
+                }
+            }
+        });
+        dna.trimToSize();
+        return dna;
+    }
+
+    private DirectPackedSequence lookup(String id) {
+        synchronized (entries) {
+            return entries.get(id);
+        }
+    }
+
+    private void store(String id, DirectPackedSequence sequence) {
+        synchronized (entries) {
+            DirectPackedSequence previous = entries.put(id, sequence);
+            if (previous != null) {
+                usedBytes -= previous.sizeInBytes();
+            }
+            usedBytes += sequence.sizeInBytes();
+            Iterator<Map.Entry<String, DirectPackedSequence>> lru = entries.entrySet().iterator();
+            while (usedBytes > maxBytes && lru.hasNext()) {
+                Map.Entry<String, DirectPackedSequence> eldest = lru.next();
+                if (eldest.getKey().equals(id)) {
+                    continue;
+                }
+                usedBytes -= eldest.getValue().sizeInBytes();
+                lru.remove();
+            }
+        }
+    }
+
+    private static SequenceInfo info(String id, DirectPackedSequence sequence) {
+        return new SequenceInfo(id, sequence.length(), sequence.nRunCount(), sequence.sizeInBytes(),
+                sequence.isMapped());
+    }
+
+    private Path fileFor(String id) {
+        return directory.resolve(id + ".2bit");
+    }
+}
@@ -0,0 +1,113 @@
+package com.dsacp.dna_analyzer.service;
+
+import com.dsacp.dna_analyzer.config.AnalysisProperties;
+import com.dsacp.dna_analyzer.dsa.MinHashSketch;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache of MinHash sketches, keyed by content digest, k and size, and bounded by a byte budget.
+ *
+ * <p>Unlike {@link IndexCache} there is no single-flight: a sketch costs one linear scan, so two
+ * requests missing on the same key at once both build it and the second store wins.
+ */
+@Component
+public class SketchCache {
+
+    private final long maxBytes;
+
+    // access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, MinHashSketch> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public SketchCache(AnalysisProperties properties) {
+        this.maxBytes = properties.getSketch().getCacheSize().toBytes();
+    }
+
+    /** The sketch cached under {@code key}, or a new one from {@code builder} that is then cached. */
+    public MinHashSketch getOrBuild(String key, Supplier<MinHashSketch> builder) {
+        synchronized (entries) {
+            MinHashSketch cached = entries.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+        MinHashSketch sketch = builder.get();
+        store(key, sketch);
+        return sketch;
+    }
+
+    /** The sketch cached under {@code key}, or null; counted as a hit or a miss. */
+    public MinHashSketch get(String key) {
+        synchronized (entries) {
+            MinHashSketch cached = entries.get(key);
+            (cached != null ? hits : misses).incrementAndGet();
+            return cached;
+        }
+    }
+
+    /** Caches a sketch built after a {@link #get} miss. */
+    public void put(String key, MinHashSketch sketch) {
+        store(key, sketch);
+    }
+
+    /** Whether {@code key} is cached right now; counts no hit and keeps the LRU order. */
+    public boolean contains(String key) {
+        synchronized (entries) {
+            return entries.containsKey(key);
+        }
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public long usedBytes() {
+        synchronized (entries) {
+            return usedBytes;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void store(String key, MinHashSketch sketch) {
+        long size = sketch.sizeInBytes();
+        if (size > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            MinHashSketch previous = entries.put(key, sketch);
+            if (previous != null) {
+                usedBytes -= previous.sizeInBytes();
+            }
+            usedBytes += size;
+            Iterator<Map.Entry<String, MinHashSketch>> lru = entries.entrySet().iterator();
+            while (usedBytes > maxBytes && lru.hasNext()) {
+                Map.Entry<String, MinHashSketch> eldest = lru.next();
+                if (eldest.getKey().equals(key)) {
+                    continue;
+                }
+                usedBytes -= eldest.getValue().sizeInBytes();
+                lru.remove();
+            }
+        }
+    }
+}
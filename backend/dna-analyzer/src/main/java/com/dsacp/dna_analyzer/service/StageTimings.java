@@ -0,0 +1,91 @@
+package com.dsacp.dna_analyzer.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Stage durations of the request being handled on the current thread, for the Server-Timing
+ * response header. Opened and closed around each /api/v1 request by the request metrics filter;
+ * {@link #current()} is null elsewhere (job workers, the analysis pool), where stages are only
+ * recorded as metrics.
+ */
+public final class StageTimings {
+
+    private static final ThreadLocal<StageTimings> CURRENT = new ThreadLocal<>();
+
+    private record Stage(String name, long nanos) {}
+
+    private final long startNanos = System.nanoTime();
+    private final List<Stage> stages = new ArrayList<>(4);
+    private long readStart;
+    private long parseNanos = -1;
+    private long writeStart;
+
+    private StageTimings() {}
+
+    /** Starts collecting for the current thread. */
+    public static StageTimings open() {
+        StageTimings timings = new StageTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /** Stops collecting for the current thread. */
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    /** The timings of the request on this thread, or null. */
+    public static StageTimings current() {
+        return CURRENT.get();
+    }
+
+    public void add(String stage, long nanos) {
+        stages.add(new Stage(stage, nanos));
+    }
+
+    // request body reads and response body writes start in one callback and end in another
+
+    public void bodyReadStarted() {
+        readStart = System.nanoTime();
+    }
+
+    /** Ends the read, adding it as the "parse" stage. */
+    public void bodyReadFinished() {
+        parseNanos = System.nanoTime() - readStart;
+        add("parse", parseNanos);
+    }
+
+    public void bodyWriteStarted() {
+        writeStart = System.nanoTime();
+    }
+
+    /** Time spent reading the request body, or -1 if it was not read through a converter. */
+    public long parseNanos() {
+        return parseNanos;
+    }
+
+    /** Time since the response body write started, or -1 if it was not written by a converter. */
+    public long serializeNanos() {
+        return writeStart != 0 ? System.nanoTime() - writeStart : -1;
+    }
+
+    /**
+     * Header value, e.g. {@code parse;dur=1.20, index;dur=35.07, search;dur=0.41, total;dur=37.10}
+     * (milliseconds); total is the time spent in the application so far.
+     */
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder();
+        for (Stage stage : stages) {
+            append(header, stage.name(), stage.nanos());
+            header.append(", ");
+        }
+        append(header, "total", System.nanoTime() - startNanos);
+        return header.toString();
+    }
+
+    private static void append(StringBuilder header, String name, long nanos) {
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1e6));
+    }
+}
@@ -0,0 +1,188 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class FrequencyAnalyzerTest {
+
+  private final FrequencyAnalyzer analyzer = new FrequencyAnalyzer();
+
+  // reference: the original substring-based counting, skipping windows with non-ACGT bases
+  private static Map<String, Integer> naiveFrequency(String dna, int k) {
+    Map<String, Integer> map = new HashMap<>();
+    outer:
+    for (int i = 0; i + k <= dna.length(); i++) {
+      String kmer = dna.substring(i, i + k);
+      for (char c : kmer.toCharArray()) {
+        if ("ACGT".indexOf(c) < 0) continue outer;
+      }
+      map.merge(kmer, 1, Integer::sum);
+    }
+    return map;
+  }
+
+  private static String randomDna(Random random, int length, double nRate) {
+    StringBuilder sb = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      sb.append(random.nextDouble() < nRate ? 'N' : "ACGT".charAt(random.nextInt(4)));
+    }
+    return sb.toString();
+  }
+
+  @Test
+  void matchesNaiveCountingAcrossTableKinds() {
+    Random random = new Random(42);
+    String dna = randomDna(random, 20_000, 0.01);
+    for (int k : new int[] {1, 2, 3, 5, 10, 11, 16, 31, 32, 40}) {
+      assertEquals(naiveFrequency(dna, k), analyzer.calculateFrequency(dna, k), "k=" + k);
+    }
+  }
+
+  @Test
+  void longKmersFedPerRecordMatchCountingEachRecord() {
+    Random random = new Random(43);
+    String first = randomDna(random, 3_000, 0.01);
+    String second = randomDna(random, 2_000, 0.01).toLowerCase();
+    FrequencyAnalyzer.LongKmerCounter counter = new FrequencyAnalyzer.LongKmerCounter(40);
+    for (char c : first.toCharArray()) counter.feed(c);
+    counter.endFeed();
+    for (char c : second.toCharArray()) counter.feed(c);
+
+    Map<String, Integer> expected = naiveFrequency(first, 40);
+    naiveFrequency(second.toUpperCase(), 40).forEach((kmer, n) -> expected.merge(kmer, n, Integer::sum));
+    assertEquals(expected, counter.toMap());
+  }
+
+  @Test
+  void parallelCountingMatchesSequential() {
+    Random random = new Random(7);
+    String dna = randomDna(random, 600_000, 0.001);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int k : new int[] {1, 4, 10, 13, 32}) {
+        assertEquals(
+            analyzer.calculateFrequency(dna, k),
+            analyzer.calculateFrequency(dna, k, pool),
+            "k=" + k);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void nonAcgtBasesResetTheRollingKmer() {
+    Map<String, Integer> counts = analyzer.calculateFrequency("ACGNACG", 3);
+    assertEquals(Map.of("ACG", 2), counts);
+    assertTrue(analyzer.calculateFrequency("NNNN", 2).isEmpty());
+  }
+
+  @Test
+  void hashTableSurvivesResizesAndRemovals() {
+    LongIntHashMap map = new LongIntHashMap();
+    for (long key = -500; key < 5_000; key++) map.addTo(key * 7919, 3);
+    assertEquals(5_500, map.size());
+    assertTrue(map.resizeCount() > 0);
+    for (long key = -500; key < 5_000; key += 2) map.addTo(key * 7919, -3);
+    assertEquals(2_750, map.size());
+    for (long key = -500; key < 5_000; key++) {
+      assertEquals(key % 2 == 0 ? 0 : 3, map.get(key * 7919), "key=" + key);
+    }
+  }
+
+  @Test
+  void topKmersBracketTheExactCounts() {
+    Random random = new Random(15);
+    // random background with a few planted repeats that must surface as heavy hitters
+    StringBuilder sb = new StringBuilder(randomDna(random, 300_000, 0.001));
+    String[] planted = {"ACGTACGTACGTAC", "GGGGCCCCAAAATT", "TTAGGGTTAGGGTT"};
+    for (int i = 0; i < 3_000; i++) {
+      int at = random.nextInt(sb.length() - 20);
+      String motif = planted[i % planted.length];
+      sb.replace(at, at + motif.length(), motif);
+    }
+    String dna = sb.toString();
+    int k = 14;
+    Map<String, Integer> exact = naiveFrequency(dna, k);
+    long total = exact.values().stream().mapToLong(Integer::longValue).sum();
+
+    double eps = 1e-3;
+    TopKmerCounter counter = new TopKmerCounter(k, 10, eps);
+    counter.count(dna);
+    assertEquals(total, counter.totalKmers());
+    List<TopKmerCounter.Estimate> top = counter.top();
+    assertEquals(10, top.size());
+    for (TopKmerCounter.Estimate e : top) {
+      int truth = exact.getOrDefault(KmerCodec.decode(e.code(), k), 0);
+      assertTrue(e.count() >= truth && e.count() - e.error() <= truth, e.toString());
+      assertTrue(e.error() <= eps * total, e.toString());
+    }
+    for (int i = 0; i < planted.length; i++) {
+      long code = KmerCodec.encode(planted[i], 0, k);
+      assertTrue(top.subList(0, 3).stream().anyMatch(e -> e.code() == code), planted[i]);
+    }
+    assertTrue(counter.sizeInBytes() < 2_000_000, "memory is fixed by the error bound");
+  }
+
+  @Test
+  void hashTablePutAndRemove() {
+    LongIntHashMap map = new LongIntHashMap();
+    for (long key = -500; key < 500; key++) map.put(key, (int) key + 1_000);
+    for (long key = -500; key < 500; key += 2) assertEquals((int) key + 1_000, map.remove(key));
+    assertEquals(500, map.size());
+    assertEquals(0, map.remove(-500));
+    for (long key = -499; key < 500; key += 2) assertEquals((int) key + 1_000, map.get(key));
+    map.put(1, 0);
+    assertEquals(499, map.size());
+  }
+
+  @Test
+  void slidingWindowsMatchRecountingEachWindow() {
+    Random random = new Random(20);
+    String dna = randomDna(random, 3_000, 0.01) + "ACACACACACACACACACAC" + randomDna(random, 500, 0);
+    List<String> motifs = List.of("ACA", "GATC");
+    SuffixArray index = new SuffixArray(dna);
+    int[][] hits = {index.positions("ACA"), index.positions("GATC")};
+    int[] lengths = {3, 4};
+    int[][] shapes = {{300, 70, 5}, {250, 250, 12}, {100, 180, 3}, {5_000, 10, 4}};
+    for (int[] shape : shapes) {
+      int window = shape[0];
+      int k = shape[2];
+      SlidingWindowProfiler profiler =
+          new SlidingWindowProfiler(dna, window, shape[1], k, hits, lengths);
+      int windows = 0;
+      while (profiler.hasNext()) {
+        SlidingWindowProfiler.Window w = profiler.next();
+        String slice = dna.substring(w.start(), w.end());
+        Map<String, Integer> expected = naiveFrequency(slice, k);
+        long total = expected.values().stream().mapToLong(Integer::intValue).sum();
+        double entropy = 0;
+        for (int count : expected.values()) {
+          double p = (double) count / total;
+          entropy -= p * Math.log(p) / Math.log(2);
+        }
+        assertEquals(total, w.kmers());
+        assertEquals(expected.size(), w.distinctKmers());
+        assertEquals(entropy, w.kmerEntropy(), 1e-9);
+        long gc = slice.chars().filter(c -> c == 'G' || c == 'C').count();
+        long acgt = slice.chars().filter(c -> "ACGT".indexOf(c) >= 0).count();
+        assertEquals((double) gc / acgt, w.gcContent(), 1e-12);
+        assertEquals(slice.length() - acgt, w.baseCounts()[4]);
+        for (int m = 0; m < motifs.size(); m++) {
+          assertEquals(naiveFrequency(slice, lengths[m]).getOrDefault(motifs.get(m), 0),
+              w.motifCounts()[m], motifs.get(m) + " @" + w.start());
+        }
+        windows++;
+      }
+      assertEquals(profiler.windowCount(), windows);
+      assertTrue(windows > 0);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+class MinHashSketchTest {
+
+  private static String randomDna(Random random, int length) {
+    StringBuilder sb = new StringBuilder(length);
+    for (int i = 0; i < length; i++) sb.append("ACGT".charAt(random.nextInt(4)));
+    return sb.toString();
+  }
+
+  private static String mutate(Random random, String s, int edits) {
+    StringBuilder sb = new StringBuilder(s);
+    for (int e = 0; e < edits; e++) {
+      int pos = random.nextInt(sb.length());
+      switch (random.nextInt(3)) {
+        case 0 -> sb.setCharAt(pos, "ACGT".charAt(random.nextInt(4)));
+        case 1 -> sb.insert(pos, "ACGT".charAt(random.nextInt(4)));
+        default -> {
+          if (sb.length() > 1) sb.deleteCharAt(pos);
+        }
+      }
+    }
+    return sb.toString();
+  }
+
+  private static String reverseComplement(String s) {
+    StringBuilder sb = new StringBuilder(s.length());
+    for (int i = s.length() - 1; i >= 0; i--) {
+      char c = s.charAt(i);
+      int code = KmerCodec.baseCode(c);
+      sb.append(code < 0 ? c : KmerCodec.base(3 - code));
+    }
+    return sb.toString();
+  }
+
+  // reference: every canonical k-mer hash of s, ascending
+  private static TreeSet<Long> canonicalHashes(String s, int k) {
+    TreeSet<Long> hashes = new TreeSet<>();
+    for (int i = 0; i + k <= s.length(); i++) {
+      String kmer = s.substring(i, i + k);
+      long forward = KmerCodec.encode(kmer, 0, k);
+      if (forward < 0) continue;
+      long reverse = KmerCodec.encode(reverseComplement(kmer), 0, k);
+      hashes.add(MinHashSketch.hash(Math.min(forward, reverse)));
+    }
+    return hashes;
+  }
+
+  @Test
+  void minHashSketchKeepsTheSmallestCanonicalHashes() {
+    Random random = new Random(16);
+    for (int trial = 0; trial < 20; trial++) {
+      StringBuilder sb = new StringBuilder(randomDna(random, 1 + random.nextInt(5_000)));
+      for (int n = random.nextInt(5); n > 0; n--) sb.setCharAt(random.nextInt(sb.length()), 'N');
+      String s = trial % 2 == 0 ? sb.toString() : sb.toString().toLowerCase();
+      int k = 1 + random.nextInt(MinHashSketch.MAX_K);
+      int size = 1 + random.nextInt(600);
+      long[] expected = canonicalHashes(s.toUpperCase(), k).stream().limit(size)
+          .mapToLong(Long::longValue).toArray();
+      MinHashSketch sketch = MinHashSketch.of(s, k, size);
+      assertArrayEquals(expected, sketch.hashes(), "trial " + trial);
+      // a sequence and its reverse complement share every canonical k-mer
+      assertArrayEquals(expected, MinHashSketch.of(reverseComplement(s), k, size).hashes(), "trial " + trial);
+    }
+  }
+
+  @Test
+  void sketchJaccardIsExactWhenTheSketchHoldsEveryKmer() {
+    Random random = new Random(17);
+    String a = randomDna(random, 3_000);
+    String b = mutate(random, a, 60);
+    int k = 15;
+    TreeSet<Long> union = canonicalHashes(a, k);
+    TreeSet<Long> shared = canonicalHashes(a, k);
+    union.addAll(canonicalHashes(b, k));
+    shared.retainAll(canonicalHashes(b, k));
+
+    MinHashSketch.Comparison comparison = MinHashSketch.of(a, k, 10_000).compare(MinHashSketch.of(b, k, 10_000));
+    assertEquals(shared.size(), comparison.shared());
+    assertEquals(union.size(), comparison.sampled());
+    assertEquals(0, MinHashSketch.of(a, k, 100).compare(MinHashSketch.of(a, k, 100)).mashDistance());
+    assertThrows(IllegalArgumentException.class,
+        () -> MinHashSketch.of(a, k, 100).compare(MinHashSketch.of(a, k + 1, 100)));
+  }
+
+  @Test
+  void mashDistanceEstimatesTheDivergence() {
+    Random random = new Random(18);
+    String genome = randomDna(random, 200_000);
+    String diverged = mutate(random, genome, 2_000); // about 1% of the bases edited
+    MinHashSketch sketch = MinHashSketch.of(genome, 21, 1_000);
+
+    double distance = sketch.compare(MinHashSketch.of(diverged, 21, 1_000)).mashDistance();
+    assertTrue(Math.abs(distance - 0.01) < 0.003, "distance " + distance);
+    assertEquals(1.0, sketch.compare(MinHashSketch.of(randomDna(random, 200_000), 21, 1_000)).mashDistance());
+  }
+}
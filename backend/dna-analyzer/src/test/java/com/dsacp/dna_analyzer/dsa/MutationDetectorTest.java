@@ -0,0 +1,240 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+class MutationDetectorTest {
+
+  private final MutationDetector detector = new MutationDetector();
+
+  private static String randomDna(Random random, int length) {
+    StringBuilder sb = new StringBuilder(length);
+    for (int i = 0; i < length; i++) sb.append("ACGT".charAt(random.nextInt(4)));
+    return sb.toString();
+  }
+
+  private static String mutate(Random random, String s, int edits) {
+    StringBuilder sb = new StringBuilder(s);
+    for (int e = 0; e < edits; e++) {
+      int pos = random.nextInt(sb.length());
+      switch (random.nextInt(3)) {
+        case 0 -> sb.setCharAt(pos, "ACGT".charAt(random.nextInt(4)));
+        case 1 -> sb.insert(pos, "ACGT".charAt(random.nextInt(4)));
+        default -> {
+          if (sb.length() > 1) sb.deleteCharAt(pos);
+        }
+      }
+    }
+    return sb.toString();
+  }
+
+  // reference: best full-DP distance over every prefix of text[from..]
+  private int bruteForcePrefixDistance(String pattern, String text, int from) {
+    int best = Integer.MAX_VALUE;
+    for (int end = from; end <= text.length(); end++) {
+      best = Math.min(best, detector.calculateEditDistanceDp(pattern, text.substring(from, end)));
+    }
+    return best;
+  }
+
+  @Test
+  void bitParallelDistanceMatchesReferenceDp() {
+    Random random = new Random(10);
+    MyersEditDistance myers = new MyersEditDistance(); // reused across calls on purpose
+    for (int trial = 0; trial < 300; trial++) {
+      String a = randomDna(random, random.nextInt(300));
+      String b = random.nextBoolean() ? mutate(random, a.isEmpty() ? "A" : a, random.nextInt(40))
+          : randomDna(random, random.nextInt(300));
+      int expected = detector.calculateEditDistanceDp(a, b);
+      assertEquals(expected, myers.distance(a, b), a + " / " + b);
+      assertEquals(expected, detector.calculateEditDistance(b, a));
+    }
+    assertEquals(3, detector.calculateEditDistance("kitten", "sitting"));
+    assertEquals(2, detector.calculateEditDistance("Aµ€", "A€x"));
+    assertEquals(4, detector.calculateEditDistance("", "ACGT"));
+    assertEquals(4, detector.calculateEditDistance("ACGT", null));
+  }
+
+  @Test
+  void boundedDistanceIsExactUpToTheThreshold() {
+    Random random = new Random(12);
+    for (int trial = 0; trial < 200; trial++) {
+      String a = randomDna(random, 200 + random.nextInt(800));
+      String b = random.nextInt(4) == 0 ? randomDna(random, a.length())
+          : mutate(random, a, random.nextInt(60));
+      int k = random.nextInt(50); // small enough for the banded path on these lengths
+      int expected = Math.min(k + 1, detector.calculateEditDistanceDp(a, b));
+      assertEquals(expected, detector.calculateEditDistance(a, b, k), "k=" + k);
+      assertEquals(expected, detector.calculateEditDistance(b, a, k));
+    }
+    assertEquals(3, detector.calculateEditDistance("kitten", "sitting", 3));
+    assertEquals(3, detector.calculateEditDistance("kitten", "sitting", 2));
+    assertEquals(1, detector.calculateEditDistance("", "ACGT", 0));
+  }
+
+  @Test
+  void boundedDistanceCountsOnlyTheBandCells() {
+    Random random = new Random(5);
+    String a = randomDna(random, 5_000);
+    String b = mutate(random, a, 10);
+    BoundedEditDistance engine = new BoundedEditDistance();
+    assertEquals(detector.calculateEditDistance(a, b), engine.distance(a, b, 40));
+    long banded = engine.cellsComputed();
+    assertTrue(banded > 0 && banded <= 5_001L * 33, "" + banded); // one pass of half-width 16
+    engine.distance(a, b);
+    assertEquals(banded + (long) a.length() * b.length(), engine.cellsComputed());
+  }
+
+  @Test
+  void distanceMatrixMatchesPairwiseDistances() {
+    Random random = new Random(17);
+    // two families of variants plus a few unrelated sequences of other lengths, more than one tile
+    String[] roots = {randomDna(random, 400), randomDna(random, 300)};
+    List<String> sequences = new ArrayList<>();
+    for (int i = 0; i < 70; i++) {
+      sequences.add(i % 10 == 9 ? randomDna(random, 100 + random.nextInt(600))
+          : mutate(random, roots[i % 2], random.nextInt(30)));
+    }
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      DistanceMatrix exact = DistanceMatrix.compute(sequences, pool);
+      int threshold = 20;
+      DistanceMatrix bounded =
+          DistanceMatrix.compute(sequences, threshold, pool, ProgressMonitor.NONE);
+      int n = sequences.size();
+      assertEquals(n * (n - 1) / 2, exact.condensed().length);
+      for (int i = 0; i < n; i++) {
+        for (int j = i + 1; j < n; j++) {
+          int expected = detector.calculateEditDistance(sequences.get(i), sequences.get(j));
+          assertEquals(expected, exact.get(i, j), i + "," + j);
+          assertEquals(expected, exact.condensed()[(int) DistanceMatrix.index(i, j, n)]);
+          assertEquals(Math.min(expected, threshold + 1), bounded.get(j, i), i + "," + j);
+        }
+      }
+      assertEquals(0, exact.prunedPairs());
+      // the two families differ in length by about 100, so cross-family pairs never get aligned
+      assertTrue(bounded.prunedPairs() > n * (n - 1) / 4, "pruned " + bounded.prunedPairs());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  // replays the edit runs on A and checks the result is B and the CIGAR covers both sequences
+  private static void assertAlignmentTransforms(
+      String a, String b, HirschbergAligner.Alignment al) {
+    StringBuilder rebuilt = new StringBuilder();
+    int cursor = 0;
+    for (HirschbergAligner.Edit edit : al.edits()) {
+      rebuilt.append(a, cursor, edit.positionA()).append(edit.alternate());
+      assertEquals(edit.reference(),
+          a.substring(edit.positionA(), edit.positionA() + edit.reference().length()));
+      cursor = edit.positionA() + edit.reference().length();
+    }
+    rebuilt.append(a.substring(cursor));
+    assertEquals(b, rebuilt.toString());
+
+    int consumedA = 0;
+    int consumedB = 0;
+    Matcher op = Pattern.compile("(\\d+)([=XID])").matcher(al.cigar());
+    while (op.find()) {
+      int len = Integer.parseInt(op.group(1));
+      char c = op.group(2).charAt(0);
+      if (c != 'I') consumedA += len;
+      if (c != 'D') consumedB += len;
+    }
+    assertEquals(a.length(), consumedA);
+    assertEquals(b.length(), consumedB);
+  }
+
+  @Test
+  void hirschbergAlignmentIsOptimalAndReplaysToB() {
+    Random random = new Random(13);
+    HirschbergAligner aligner = new HirschbergAligner(ForkJoinPool.commonPool());
+    for (int trial = 0; trial < 200; trial++) {
+      String a = randomDna(random, random.nextInt(400));
+      String b = random.nextBoolean() ? mutate(random, a.isEmpty() ? "A" : a, random.nextInt(30))
+          : randomDna(random, random.nextInt(400));
+      HirschbergAligner.Alignment al = aligner.align(a, b);
+      assertEquals(detector.calculateEditDistanceDp(a, b), al.distance(), a + " / " + b);
+      assertAlignmentTransforms(a, b, al);
+    }
+
+    // large enough to fork the score rows and the halves
+    String a = randomDna(random, 9000);
+    String b = mutate(random, a, 400);
+    HirschbergAligner.Alignment al = aligner.align(a, b);
+    assertEquals(detector.calculateEditDistance(a, b), al.distance());
+    assertAlignmentTransforms(a, b, al);
+    assertEquals("2=1X1=", aligner.align("ACGT", "ACTT").cigar());
+  }
+
+  @Test
+  void prefixEditDistanceMatchesBruteForce() {
+    Random random = new Random(11);
+    String text = randomDna(random, 60);
+    for (int trial = 0; trial < 200; trial++) {
+      String pattern = mutate(random, randomDna(random, 8), random.nextInt(3));
+      int from = random.nextInt(text.length());
+      int k = random.nextInt(4);
+      int expected = Math.min(k + 1, bruteForcePrefixDistance(pattern, text, from));
+      assertEquals(expected, detector.prefixEditDistance(pattern, text, from, k));
+    }
+  }
+
+  @Test
+  void approximateSearchFindsEveryPlantedSite() {
+    Random random = new Random(12);
+    String motif = randomDna(random, 20);
+    StringBuilder genome = new StringBuilder(randomDna(random, 5_000));
+    int[] planted = {300, 1_700, 4_200};
+    int[] expectedStart = new int[planted.length];
+    int shift = 0;
+    String[] copies = new String[planted.length];
+    for (int i = 0; i < planted.length; i++) {
+      copies[i] = mutate(random, motif, 2);
+      expectedStart[i] = planted[i] + shift;
+      shift += copies[i].length();
+    }
+    for (int i = planted.length - 1; i >= 0; i--) genome.insert(planted[i], copies[i]);
+    String text = genome.toString();
+
+    int k = 3;
+    List<ApproximateMatcher.Hit> hits =
+        new ApproximateMatcher(new SuffixArray(text), text, detector).search(motif, k);
+    for (ApproximateMatcher.Hit hit : hits) {
+      assertEquals(bruteForcePrefixDistance(motif, text, hit.position()), hit.distance());
+    }
+    for (int expected : expectedStart) {
+      assertTrue(hits.stream().anyMatch(h -> Math.abs(h.position() - expected) <= k), "" + expected);
+    }
+  }
+
+  // reference: best local score and its first cell (target, then query), full Gotoh matrices
+  @Test
+  void approximateSearchKeepsEveryCopyOfATandemRepeat() {
+    Random random = new Random(13);
+    String text = randomDna(random, 500) + "ACGT".repeat(200) + randomDna(random, 500);
+    SuffixArray index = new SuffixArray(text);
+    ApproximateMatcher matcher = new ApproximateMatcher(index, text, detector);
+    String motif = "ACGTACGTACGT";
+    List<ApproximateMatcher.Hit> exact = matcher.search(motif, 0);
+    for (int k = 1; k <= 3; k++) {
+      List<ApproximateMatcher.Hit> hits = matcher.search(motif, k);
+      for (ApproximateMatcher.Hit site : exact) {
+        assertTrue(hits.contains(site), "k=" + k + " lost " + site);
+      }
+      for (ApproximateMatcher.Hit hit : hits) {
+        assertEquals(bruteForcePrefixDistance(motif, text, hit.position()), hit.distance());
+      }
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SmithWatermanTest {
+
+  private static String randomDna(Random random, int length) {
+    StringBuilder sb = new StringBuilder(length);
+    for (int i = 0; i < length; i++) sb.append("ACGT".charAt(random.nextInt(4)));
+    return sb.toString();
+  }
+
+  private static String mutate(Random random, String s, int edits) {
+    StringBuilder sb = new StringBuilder(s);
+    for (int e = 0; e < edits; e++) {
+      int pos = random.nextInt(sb.length());
+      switch (random.nextInt(3)) {
+        case 0 -> sb.setCharAt(pos, "ACGT".charAt(random.nextInt(4)));
+        case 1 -> sb.insert(pos, "ACGT".charAt(random.nextInt(4)));
+        default -> {
+          if (sb.length() > 1) sb.deleteCharAt(pos);
+        }
+      }
+    }
+    return sb.toString();
+  }
+
+  private static int[] referenceLocal(String q, String t, SmithWaterman.Scoring sc) {
+    int m = q.length();
+    int n = t.length();
+    int neg = -1_000_000;
+    int[][] h = new int[m + 1][n + 1];
+    int[][] e = new int[m + 1][n + 1];
+    int[][] f = new int[m + 1][n + 1];
+    for (int[] row : e) Arrays.fill(row, neg);
+    for (int[] row : f) Arrays.fill(row, neg);
+    int[] best = {0, -1, -1};
+    for (int j = 1; j <= n; j++) {
+      for (int i = 1; i <= m; i++) {
+        e[i][j] = Math.max(e[i][j - 1] - sc.gapExtend(), h[i][j - 1] - sc.gapOpen());
+        f[i][j] = Math.max(f[i - 1][j] - sc.gapExtend(), h[i - 1][j] - sc.gapOpen());
+        int diagonal = h[i - 1][j - 1]
+            + sc.score(SmithWaterman.code(q.charAt(i - 1)), SmithWaterman.code(t.charAt(j - 1)));
+        h[i][j] = Math.max(Math.max(0, diagonal), Math.max(e[i][j], f[i][j]));
+        if (h[i][j] > best[0]) best = new int[] {h[i][j], i - 1, j - 1};
+      }
+    }
+    return best;
+  }
+
+  // reference: best global score of q against t, affine gaps
+  private static int referenceGlobal(String q, String t, SmithWaterman.Scoring sc) {
+    int m = q.length();
+    int n = t.length();
+    int neg = -1_000_000;
+    int[][] h = new int[m + 1][n + 1];
+    int[][] e = new int[m + 1][n + 1];
+    int[][] f = new int[m + 1][n + 1];
+    for (int i = 0; i <= m; i++) {
+      for (int j = 0; j <= n; j++) {
+        e[i][j] = f[i][j] = neg;
+        if (i == 0 && j == 0) continue;
+        if (j > 0) e[i][j] = Math.max(e[i][j - 1] - sc.gapExtend(), h[i][j - 1] - sc.gapOpen());
+        if (i > 0) f[i][j] = Math.max(f[i - 1][j] - sc.gapExtend(), h[i - 1][j] - sc.gapOpen());
+        int diagonal = i > 0 && j > 0
+            ? h[i - 1][j - 1]
+                + sc.score(SmithWaterman.code(q.charAt(i - 1)), SmithWaterman.code(t.charAt(j - 1)))
+            : neg;
+        h[i][j] = Math.max(diagonal, Math.max(e[i][j], f[i][j]));
+      }
+    }
+    return h[m][n];
+  }
+
+  @Test
+  void stripedLocalAlignmentMatchesTheScalarAndFullMatrixReferences() {
+    Random random = new Random(14);
+    int[][] asymmetric = {{3, -2, -1, -2}, {-2, 3, -2, -1}, {-1, -2, 2, -2}, {-3, -1, -2, 3}};
+    SmithWaterman.Scoring[] scorings = {
+      SmithWaterman.Scoring.dna(2, -3, 5, 2),
+      SmithWaterman.Scoring.dna(1, -1, 1, 1),
+      SmithWaterman.Scoring.of(asymmetric, 4, 1),
+    };
+    for (int trial = 0; trial < 300; trial++) {
+      SmithWaterman.Scoring scoring = scorings[trial % scorings.length];
+      // query lengths around multiples of every lane count
+      String q = randomDna(random, random.nextInt(70));
+      String t = random.nextBoolean() && !q.isEmpty()
+          ? randomDna(random, random.nextInt(30)) + mutate(random, q, random.nextInt(6))
+              + randomDna(random, random.nextInt(30))
+          : randomDna(random, random.nextInt(120));
+      if (trial % 7 == 0) t = t.toLowerCase().replace('g', 'N');
+
+      SmithWaterman.Alignment scalar = new SmithWaterman(scoring).align(q, t);
+      SmithWaterman.Alignment striped = new StripedSmithWaterman(scoring).align(q, t);
+      assertEquals(scalar, striped, q + " / " + t);
+
+      int[] reference = referenceLocal(q, t, scoring);
+      assertEquals(reference[0], scalar.score(), q + " / " + t);
+      if (scalar.score() > 0) {
+        assertEquals(reference[1] + 1, scalar.queryEnd());
+        assertEquals(reference[2] + 1, scalar.targetEnd());
+        assertEquals(scalar.score(), referenceGlobal(
+            q.substring(scalar.queryStart(), scalar.queryEnd()),
+            t.substring(scalar.targetStart(), scalar.targetEnd()), scoring), q + " / " + t);
+      }
+    }
+    assertEquals(new SmithWaterman.Alignment(0, 0, 0, 0, 0),
+        SmithWaterman.create(scorings[0]).align("", "ACGT"));
+  }
+
+  @Test
+  void localAlignmentLocatesAGeneInAContig() {
+    Random random = new Random(15);
+    String gene = randomDna(random, 1_500);
+    String copy = mutate(random, gene, 20);
+    String contig = randomDna(random, 20_000) + copy + randomDna(random, 30_000);
+    SmithWaterman aligner = SmithWaterman.create(SmithWaterman.Scoring.dna(2, -3, 5, 2));
+
+    SmithWaterman.Alignment found = aligner.align(gene, contig);
+    assertTrue(Math.abs(found.targetStart() - 20_000) <= 25, found.toString());
+    assertTrue(Math.abs(found.targetEnd() - (20_000 + copy.length())) <= 25, found.toString());
+    assertTrue(found.score() > 2 * gene.length() - 20 * 10, found.toString());
+    // the striped engine only when the JVM was started with the Vector API module
+    assumeTrue(SmithWaterman.isVectorized(), "jdk.incubator.vector is not available");
+    assertTrue(aligner.engine().startsWith("striped"), aligner.engine());
+  }
+}
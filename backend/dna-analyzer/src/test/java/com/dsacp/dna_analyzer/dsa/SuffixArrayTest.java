@@ -0,0 +1,353 @@
+package com.dsacp.dna_analyzer.dsa;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SuffixArrayTest {
+
+  private static String randomText(Random random, int length, String alphabet) {
+    StringBuilder sb = new StringBuilder(length);
+    for (int i = 0; i < length; i++) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    return sb.toString();
+  }
+
+  private static List<Integer> naiveSearch(String text, String pattern) {
+    List<Integer> hits = new ArrayList<>();
+    for (int i = text.indexOf(pattern); i >= 0; i = text.indexOf(pattern, i + 1)) hits.add(i);
+    return hits;
+  }
+
+  @Test
+  void saIsMatchesPrefixDoubling() {
+    Random random = new Random(1);
+    String[] texts = {
+      "",
+      "A",
+      "banana",
+      "AAAAAAAAAAAAAAAAAAAA",
+      "ACACACACACACACACAC",
+      randomText(random, 5_000, "ACGT"),
+      randomText(random, 5_000, "AC"),
+      randomText(random, 2_000, "ACGTN"),
+    };
+    for (String text : texts) {
+      SuffixArray saIs = new SuffixArray(text, SuffixArray.Algorithm.SA_IS);
+      SuffixArray doubling = new SuffixArray(text, SuffixArray.Algorithm.PREFIX_DOUBLING);
+      assertArrayEquals(doubling.getSA(), saIs.getSA(), text.length() > 40 ? "random" : text);
+      assertArrayEquals(doubling.getLCP(), saIs.getLCP());
+    }
+  }
+
+  @Test
+  void searchFindsEveryOccurrence() {
+    Random random = new Random(2);
+    String text = randomText(random, 20_000, "ACGT");
+    SuffixArray index = new SuffixArray(text);
+    for (int len = 1; len <= 12; len++) {
+      for (int trial = 0; trial < 20; trial++) {
+        int start = random.nextInt(text.length() - len);
+        String pattern = text.substring(start, start + len);
+        List<Integer> expected = naiveSearch(text, pattern);
+        assertEquals(expected, index.search(pattern), pattern);
+        assertEquals(expected.size(), index.count(pattern), pattern);
+      }
+    }
+    assertEquals(List.of(), index.search("ACGTX"));
+    assertEquals(0, index.count("ACGTX"));
+    // enough hits to take the radix sort path
+    assertEquals(naiveSearch(text, "A"), index.search("A"));
+  }
+
+  @Test
+  void radixSortMatchesArraysSort() {
+    Random random = new Random(6);
+    for (int bound : new int[] {1_000, 1 << 16, Integer.MAX_VALUE}) {
+      int[] values = random.ints(50_000, 0, bound).toArray();
+      int[] expected = values.clone();
+      Arrays.sort(expected, 0, 40_000);
+      RadixSort.sort(values, 40_000);
+      assertArrayEquals(expected, values);
+    }
+  }
+
+  @Test
+  void mappedFileAnswersLikeTheHeapIndex(@TempDir Path dir) throws IOException {
+    Random random = new Random(3);
+    for (String text : new String[] {randomText(random, 3_001, "ACGT"), "ACGTNNacgt$ACG"}) {
+      SuffixArray heap = new SuffixArray(text);
+      Path file = dir.resolve(text.length() + ".sa");
+      SuffixArrayFile.write(heap, file);
+      MappedSuffixArray mapped = SuffixArrayFile.open(file);
+
+      assertEquals(heap.length(), mapped.length());
+      for (int r = 0; r <= heap.length(); r++) {
+        assertEquals(heap.suffixAt(r), mapped.suffixAt(r));
+        assertEquals(heap.lcpAt(r), mapped.lcpAt(r));
+        assertEquals(heap.charAt(r), mapped.charAt(r));
+      }
+      for (String pattern : new String[] {"A", "ACG", "GTN", "acg", "TTTT"}) {
+        assertEquals(heap.search(pattern), mapped.search(pattern), pattern);
+      }
+      assertEquals(Files.size(file), mapped.sizeInBytes());
+    }
+  }
+
+  @Test
+  void mappingRejectsHeadersThatDoNotFitTheFile(@TempDir Path dir) throws IOException {
+    Path file = dir.resolve("index.sa");
+    SuffixArrayFile.write(new SuffixArray("ACGTACGT"), file);
+    byte[] good = Files.readAllBytes(file);
+    // encoding at 12, text length at 16, LCP section offset at 40 (little-endian)
+    int[][] corruptions = {{12, 7}, {16, 100}, {40, 0xF0}};
+    for (int[] corruption : corruptions) {
+      byte[] bad = good.clone();
+      bad[corruption[0]] = (byte) corruption[1];
+      Files.write(file, bad);
+      assertThrows(IOException.class, () -> SuffixArrayFile.open(file), Arrays.toString(corruption));
+    }
+  }
+
+  @Test
+  void offHeapSequencesReadLikeThePackedOne(@TempDir Path dir) throws IOException {
+    Random random = new Random(8);
+    String text = "NN" + randomText(random, 1_000, "ACGT") + "NRN" + randomText(random, 64, "acgt") + "N";
+    PackedSequence packed = new PackedSequence();
+    for (int i = 0; i < text.length(); i++) packed.append(text.charAt(i));
+    packed.trimToSize();
+    Path file = dir.resolve("seq.2bit");
+    for (DirectPackedSequence direct : new DirectPackedSequence[] {
+        DirectPackedSequence.copyOf(packed),
+        DirectPackedSequence.write(packed, file),
+        DirectPackedSequence.map(file)}) {
+      assertEquals(packed.length(), direct.length());
+      assertEquals(packed.nRunCount(), direct.nRunCount());
+      assertEquals(packed.toString(), direct.toString());
+      for (int i = 0; i < packed.length(); i++) assertEquals(packed.codeAt(i), direct.codeAt(i));
+      byte[] codes = new byte[40];
+      for (int from : new int[] {0, 1, 990, 1_020, text.length() - 40}) {
+        direct.codesAt(from, from + 40, codes);
+        for (int i = 0; i < 40; i++) assertEquals(packed.codeAt(from + i), codes[i]);
+      }
+      assertEquals(packed.subSequence(990, 1_010), direct.subSequence(990, 1_010));
+      assertEquals(new SuffixArray(packed).search("ACGTA"), new SuffixArray(direct).search("ACGTA"));
+    }
+    assertEquals(0, DirectPackedSequence.copyOf(new PackedSequence()).length());
+    assertThrows(IOException.class, () -> DirectPackedSequence.map(dir.resolve("seq.2bit.missing")));
+  }
+
+  // every repeated substring with its (sorted) occurrences, by brute force
+  private static Map<String, List<Integer>> repeatedSubstrings(String text) {
+    Map<String, List<Integer>> repeats = new LinkedHashMap<>();
+    for (int len = 1; len < text.length(); len++) {
+      for (int i = 0; i + len <= text.length(); i++) {
+        String w = text.substring(i, i + len);
+        List<Integer> hits = naiveSearch(text, w);
+        if (hits.size() > 1) repeats.putIfAbsent(w, hits);
+      }
+    }
+    return repeats;
+  }
+
+  private static boolean isMaximal(String text, String w, List<Integer> hits) {
+    boolean leftDiverse = false;
+    boolean rightDiverse = false;
+    for (int h : hits) {
+      int first = hits.get(0);
+      leftDiverse |= h == 0 || first == 0 || text.charAt(h - 1) != text.charAt(first - 1);
+      int end = h + w.length();
+      int firstEnd = first + w.length();
+      rightDiverse |= end == text.length() || firstEnd == text.length()
+          || text.charAt(end) != text.charAt(firstEnd);
+    }
+    return leftDiverse && rightDiverse;
+  }
+
+  @Test
+  void lcpIntervalRepeatsMatchBruteForce() {
+    Random random = new Random(9);
+    for (int trial = 0; trial < 60; trial++) {
+      String text = randomText(random, 1 + random.nextInt(80), trial % 3 == 0 ? "AC" : "ACGT");
+      RepeatFinder finder = new RepeatFinder(new SuffixArray(text));
+      Map<String, List<Integer>> repeats = repeatedSubstrings(text);
+
+      Map<String, List<Integer>> maximal = new LinkedHashMap<>();
+      repeats.forEach((w, hits) -> {
+        if (isMaximal(text, w, hits)) maximal.put(w, hits);
+      });
+      Map<String, List<Integer>> supermaximal = new LinkedHashMap<>();
+      maximal.forEach((w, hits) -> {
+        boolean contained = maximal.keySet().stream().anyMatch(o -> o.length() > w.length() && o.contains(w));
+        if (!contained) supermaximal.put(w, hits);
+      });
+      int longest = repeats.keySet().stream().mapToInt(String::length).max().orElse(0);
+
+      int minLength = 1 + random.nextInt(3);
+      assertEquals(filter(maximal, minLength), found(finder, finder.maximalRepeats(minLength, 1000, ProgressMonitor.NONE)), text);
+      assertEquals(filter(supermaximal, minLength),
+          found(finder, finder.supermaximalRepeats(minLength, 1000, ProgressMonitor.NONE)), text);
+      assertEquals(filter(repeats, Math.max(1, longest)).entrySet().stream()
+              .filter(e -> e.getKey().length() == longest)
+              .collect(LinkedHashMap::new, (m, e) -> m.put(e.getKey(), e.getValue()), Map::putAll),
+          found(finder, finder.longestRepeats(1000, ProgressMonitor.NONE)), text);
+
+      // a limit keeps the longest
+      RepeatFinder.Found<RepeatFinder.Interval> top = finder.maximalRepeats(1, 2, ProgressMonitor.NONE);
+      assertEquals(maximal.size(), top.total());
+      assertEquals(maximal.keySet().stream().map(String::length).sorted(Comparator.reverseOrder()).limit(2).toList(),
+          top.repeats().stream().map(RepeatFinder.Interval::length).toList());
+    }
+  }
+
+  private static Map<String, List<Integer>> filter(Map<String, List<Integer>> repeats, int minLength) {
+    Map<String, List<Integer>> kept = new TreeMap<>();
+    repeats.forEach((w, hits) -> {
+      if (w.length() >= minLength) kept.put(w, hits);
+    });
+    return kept;
+  }
+
+  private static Map<String, List<Integer>> found(
+      RepeatFinder finder, RepeatFinder.Found<RepeatFinder.Interval> found) {
+    Map<String, List<Integer>> repeats = new TreeMap<>();
+    for (RepeatFinder.Interval repeat : found.repeats()) {
+      repeats.put(finder.sequence(repeat), Arrays.stream(finder.positions(repeat)).boxed().toList());
+    }
+    assertEquals(repeats.size(), found.total());
+    return repeats;
+  }
+
+  @Test
+  void tandemScanFindsPlantedMicrosatellites() {
+    Random random = new Random(10);
+    String text = randomText(random, 500, "ACGT") + "CAGCAGCAGCAGCAGCAGCA" + randomText(random, 300, "ACGT")
+        + "ACACACACACACAC" + "NNNN" + "TTTTTTTTTTTT";
+    List<RepeatFinder.Tandem> found =
+        RepeatFinder.tandemRepeats(text, 6, 3, 12, 100, ProgressMonitor.NONE).repeats();
+    for (RepeatFinder.Tandem t : found) {
+      String region = text.substring(t.start(), t.start() + t.length());
+      for (int i = t.period(); i < region.length(); i++) {
+        assertEquals(region.charAt(i - t.period()), region.charAt(i), region);
+      }
+      assertTrue(t.length() >= 12 && t.copies() >= 3);
+    }
+    assertTrue(found.stream().anyMatch(t -> t.period() == 3 && t.length() >= 20), found.toString());
+    assertTrue(found.stream().anyMatch(t -> t.period() == 2 && t.length() >= 14), found.toString());
+    assertTrue(found.stream().anyMatch(t -> t.period() == 1 && t.length() == 12), found.toString());
+    // non-primitive units are not reported again
+    assertTrue(found.stream().noneMatch(t -> t.period() == 4 || t.period() == 6), found.toString());
+
+    // a limit keeps the first by position, and the total still counts them all
+    RepeatFinder.Found<RepeatFinder.Tandem> all =
+        RepeatFinder.tandemRepeats(text, 6, 2, 4, 10_000, ProgressMonitor.NONE);
+    RepeatFinder.Found<RepeatFinder.Tandem> first =
+        RepeatFinder.tandemRepeats(text, 6, 2, 4, 5, ProgressMonitor.NONE);
+    assertTrue(all.repeats().size() > 5);
+    assertEquals(all.repeats().size(), all.total());
+    assertEquals(all.total(), first.total());
+    assertEquals(all.repeats().subList(0, 5), first.repeats());
+    assertEquals(List.of(), RepeatFinder.tandemRepeats(text, 6, 2, 4, 0, ProgressMonitor.NONE).repeats());
+  }
+
+  @Test
+  void fmIndexMatchesSuffixArray() {
+    Random random = new Random(4);
+    for (int length : new int[] {1, 63, 64, 127, 128, 10_000}) {
+      String text = randomText(random, length, "ACGT");
+      SuffixArray sa = new SuffixArray(text);
+      for (int rate : new int[] {1, 7, 32}) {
+        FmIndex fm = new FmIndex(text, rate);
+        for (int len = 1; len <= 8; len++) {
+          for (int trial = 0; trial < 10; trial++) {
+            String pattern = randomText(random, len, "ACGT");
+            List<Integer> expected = sa.search(pattern);
+            assertEquals(expected, fm.search(pattern), pattern);
+            assertEquals(expected.size(), fm.count(pattern), pattern);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void ahoCorasickMatchesPerPatternSearch() {
+    Random random = new Random(5);
+    String text = randomText(random, 20_000, "ACGT");
+    List<String> panel = new ArrayList<>();
+    for (int i = 0; i < 300; i++) panel.add(randomText(random, 1 + random.nextInt(10), "ACGT"));
+    panel.add("A"); // prefix and suffix of other patterns
+    panel.add("");
+    panel.add(panel.get(0)); // duplicate
+    panel.add("ACGN");
+
+    List<int[]> hits = new AhoCorasick(panel).searchAll(text);
+    for (int i = 0; i < panel.size(); i++) {
+      List<Integer> actual = new ArrayList<>();
+      for (int hit : hits.get(i)) actual.add(hit);
+      String pattern = panel.get(i);
+      assertEquals(pattern.isEmpty() ? List.of() : naiveSearch(text, pattern), actual, pattern);
+    }
+  }
+
+  @Test
+  void buildReportsProgressAndStopsWhenCancelled() {
+    String text = randomText(new Random(16), 1_000_000, "ACGT");
+    Map<String, Long> units = new LinkedHashMap<>();
+    ProgressMonitor recording =
+        new ProgressMonitor() {
+          private String phase;
+
+          @Override
+          public void begin(String phase, long totalUnits) {
+            this.phase = phase;
+            units.put(phase + " total", totalUnits);
+          }
+
+          @Override
+          public void worked(long done) {
+            units.merge(phase, done, Long::sum);
+          }
+        };
+    SuffixArray reported = new SuffixArray(text, recording);
+    assertArrayEquals(new SuffixArray(text).getSA(), reported.getSA());
+    assertEquals(List.of("suffix array total", "suffix array", "lcp total", "lcp"),
+        List.copyOf(units.keySet()));
+    // the estimate of the SA-IS work is within a factor of two of what was reported
+    double saRatio = (double) units.get("suffix array") / units.get("suffix array total");
+    assertTrue(saRatio > 0.5 && saRatio <= 1.1, "suffix array " + saRatio);
+    assertTrue(units.get("lcp") > 0.9 * units.get("lcp total"));
+
+    AtomicLong seen = new AtomicLong();
+    ProgressMonitor cancelling =
+        new ProgressMonitor() {
+          @Override
+          public void begin(String phase, long totalUnits) {}
+
+          @Override
+          public void worked(long done) {
+            if (seen.addAndGet(done) > 500_000) throw new CancellationException();
+          }
+        };
+    assertThrows(CancellationException.class, () -> new SuffixArray(text, cancelling));
+    assertThrows(
+        CancellationException.class,
+        () -> new MutationDetector().calculateEditDistance(text, text.substring(1), cancelling));
+  }
+}
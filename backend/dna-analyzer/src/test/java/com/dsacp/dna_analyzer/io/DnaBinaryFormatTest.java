@@ -0,0 +1,170 @@
+package com.dsacp.dna_analyzer.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.dsacp.dna_analyzer.dsa.FrequencyAnalyzer;
+import com.dsacp.dna_analyzer.dto.ApiError;
+import com.dsacp.dna_analyzer.dto.BatchMotifRequest;
+import com.dsacp.dna_analyzer.dto.BatchMotifResult;
+import com.dsacp.dna_analyzer.dto.FrequencyRequest;
+import com.dsacp.dna_analyzer.dto.FrequencyResult;
+import com.dsacp.dna_analyzer.dto.MotifEngine;
+import com.dsacp.dna_analyzer.dto.MotifRequest;
+import com.dsacp.dna_analyzer.dto.MotifResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class DnaBinaryFormatTest {
+
+  private static byte[] encode(Object message) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DnaBinaryFormat.write(message, out);
+    return out.toByteArray();
+  }
+
+  private static <T> T roundTrip(T message, Class<T> type) throws IOException {
+    return DnaBinaryFormat.read(new ByteArrayInputStream(encode(message)), type);
+  }
+
+  private static String randomDna(Random random, int length) {
+    StringBuilder sb = new StringBuilder(length);
+    for (int i = 0; i < length; i++) sb.append("ACGT".charAt(random.nextInt(4)));
+    return sb.toString();
+  }
+
+  @Test
+  void requestsRoundTripWithPackedSequences() throws IOException {
+    Random random = new Random(13);
+    String dna = randomDna(random, 10_001) + "NNNN" + randomDna(random, 7) + "N";
+
+    FrequencyRequest frequency = new FrequencyRequest();
+    frequency.setK(5);
+    frequency.setDnaSequence(dna);
+    assertEquals(frequency, roundTrip(frequency, FrequencyRequest.class));
+    frequency.setDnaSequence(dna.replace("NNNN", "NNRY")); // ambiguity codes travel as N
+    assertEquals(dna, roundTrip(frequency, FrequencyRequest.class).getDnaSequence());
+    assertTrue(encode(frequency).length < dna.length() / 4 + 32);
+    FrequencyRequest registered = new FrequencyRequest();
+    registered.setK(21);
+    registered.setSequenceId("ab".repeat(32));
+    registered.setTopN(100);
+    registered.setErrorBound(0.001);
+    assertEquals(registered, roundTrip(registered, FrequencyRequest.class));
+    registered.setDnaSequence("ACGT");
+    byte[] both = encode(registered);
+    assertThrows(IllegalArgumentException.class,
+        () -> DnaBinaryFormat.read(new ByteArrayInputStream(both), FrequencyRequest.class));
+
+    MotifRequest motif = new MotifRequest();
+    motif.setMotif("ACGT");
+    motif.setEngine(MotifEngine.FM_INDEX);
+    motif.setDnaSequence(dna);
+    assertEquals(motif, roundTrip(motif, MotifRequest.class));
+    motif.setCountOnly(true);
+    motif.setLimit(10);
+    assertEquals(motif, roundTrip(motif, MotifRequest.class));
+    motif.setSequenceId("cd".repeat(32));
+    motif.setDnaSequence(null);
+    assertEquals(motif, roundTrip(motif, MotifRequest.class));
+
+    BatchMotifRequest batch = new BatchMotifRequest();
+    batch.setMotifs(List.of("A", "", "GATTACA"));
+    batch.setDnaSequence("acgtx"); // normalized: upper case, non-ACGT as N
+    BatchMotifRequest decodedBatch = roundTrip(batch, BatchMotifRequest.class);
+    assertEquals(batch.getMotifs(), decodedBatch.getMotifs());
+    assertEquals("ACGTN", decodedBatch.getDnaSequence());
+    batch.setSequenceId("ef".repeat(32));
+    batch.setDnaSequence(null);
+    assertEquals(batch, roundTrip(batch, BatchMotifRequest.class));
+  }
+
+  @Test
+  void readsVersionOneRequests() throws IOException {
+    // k = 3, then a sequence of 4 bases (ACGT) with no N runs, and no flags byte in version 1
+    byte[] frequency = {'D', 'N', 'A', 'B', 1, 0x01, 3, 4, 0, 0x1B};
+    FrequencyRequest request =
+        DnaBinaryFormat.read(new ByteArrayInputStream(frequency), FrequencyRequest.class);
+    assertEquals(3, request.getK());
+    assertEquals("ACGT", request.getDnaSequence());
+    frequency[4] = 3;
+    assertThrows(IllegalArgumentException.class,
+        () -> DnaBinaryFormat.read(new ByteArrayInputStream(frequency), FrequencyRequest.class));
+  }
+
+  @Test
+  void resultsRoundTripAndBeatJson() throws IOException {
+    Random random = new Random(14);
+    Map<String, Integer> counts = new FrequencyAnalyzer().calculateFrequency(
+        randomDna(random, 200_000), 8);
+    FrequencyResult frequency = new FrequencyResult(counts, 8);
+    assertEquals(frequency, roundTrip(frequency, FrequencyResult.class));
+    int json = new ObjectMapper().writeValueAsBytes(frequency).length;
+    assertTrue(encode(frequency).length * 5 < json, "binary should be much smaller than JSON");
+
+    FrequencyResult allT = new FrequencyResult(Map.of("T".repeat(32), 3, "A".repeat(32), 1), 32);
+    assertEquals(allT, roundTrip(allT, FrequencyResult.class));
+    FrequencyResult longK = new FrequencyResult(Map.of("ACGT".repeat(10), 2), 40);
+    assertEquals(longK, roundTrip(longK, FrequencyResult.class));
+
+    MotifResult motif = new MotifResult("ACG", new int[] {0, 5, 1_000_000, 2_000_000_000});
+    MotifResult page = new MotifResult("T", new int[] {7}, 1_000);
+    BatchMotifResult batch = new BatchMotifResult(List.of(motif, page), "INDEX");
+    assertEquals(batch, roundTrip(batch, BatchMotifResult.class));
+    ApiError error = new ApiError(400, "k must be between 1 and 32: 40");
+    assertEquals(error, roundTrip(error, ApiError.class));
+  }
+
+  @Test
+  void rejectsMalformedMessages() throws IOException {
+    byte[] motif = encode(new MotifResult("A", new int[] {1, 2}));
+    assertThrows(IllegalArgumentException.class,
+        () -> DnaBinaryFormat.read(new ByteArrayInputStream(motif), FrequencyResult.class));
+    motif[0] = 'X';
+    assertThrows(IllegalArgumentException.class,
+        () -> DnaBinaryFormat.read(new ByteArrayInputStream(motif), MotifResult.class));
+  }
+
+  // a message header of the given type followed by varints
+  private static byte[] message(int type, long... varints) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(DnaBinaryFormat.MAGIC);
+    out.write(DnaBinaryFormat.VERSION);
+    out.write(type);
+    for (long value : varints) DnaBinaryFormat.writeVarint(out, value);
+    return out.toByteArray();
+  }
+
+  @Test
+  void rejectsSizesTheBodyCannotHold() throws IOException {
+    // k = 3, no flags, then a sequence of 2^27 bases without N runs, in a body of a few bytes
+    byte[] frequency = message(0x01, 3, 0, 1 << 27, 0);
+    assertThrows(IllegalArgumentException.class, () -> DnaBinaryFormat.read(
+        new ByteArrayInputStream(frequency), FrequencyRequest.class, frequency.length, 1 << 28));
+    // unknown length: the buffers grow with the data, so it ends at the missing bytes
+    assertThrows(EOFException.class, () -> DnaBinaryFormat.read(
+        new ByteArrayInputStream(frequency), FrequencyRequest.class, -1, 1 << 28));
+    assertThrows(IllegalArgumentException.class, () -> DnaBinaryFormat.read(
+        new ByteArrayInputStream(frequency), FrequencyRequest.class, -1, 1 << 20));
+
+    // motif "A", then 2^31 - 1 occurrences, all of them listed
+    byte[] motif = message(0x82, 1, 'A', Integer.MAX_VALUE, Integer.MAX_VALUE);
+    assertThrows(IllegalArgumentException.class, () -> DnaBinaryFormat.read(
+        new ByteArrayInputStream(motif), MotifResult.class, motif.length, 1 << 28));
+
+    byte[] negative = message(0x01, -1L, 0, 4, 0);
+    assertThrows(IllegalArgumentException.class,
+        () -> DnaBinaryFormat.read(new ByteArrayInputStream(negative), FrequencyRequest.class));
+    byte[] unknownFlags = message(0x01, 3, 0x10, 4, 0);
+    assertThrows(IllegalArgumentException.class,
+        () -> DnaBinaryFormat.read(new ByteArrayInputStream(unknownFlags), FrequencyRequest.class));
+  }
+}
@@ -0,0 +1,124 @@
+package com.dsacp.dna_analyzer.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.dsacp.dna_analyzer.dsa.KmerCounter;
+import com.dsacp.dna_analyzer.dsa.PackedSequence;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+
+class FastxParserTest {
+
+  // collects "name=SEQUENCE" per record
+  private static List<String> parse(byte[] data) throws IOException {
+    List<String> records = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    FastxParser.parse(new ByteArrayInputStream(data), new FastxHandler() {
+      @Override
+      public void beginRecord(String name) {
+        current.setLength(0);
+        current.append(name).append('=');
+      }
+
+      @Override
+      public void sequence(byte[] buf, int from, int to) {
+        current.append(new String(buf, from, to - from, StandardCharsets.US_ASCII));
+      }
+
+      @Override
+      public void endRecord() {
+        records.add(current.toString());
+      }
+    });
+    return records;
+  }
+
+  private static List<String> parse(String text) throws IOException {
+    return parse(text.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  private static byte[] gzip(String text) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(text.getBytes(StandardCharsets.US_ASCII));
+    }
+    return bytes.toByteArray();
+  }
+
+  @Test
+  void parsesMultiRecordFasta() throws IOException {
+    String fasta = ">chr1 test\r\nACGT\r\nacgN\n;comment\n\n>chr2\nTT TT\n>empty\n";
+    assertEquals(List.of("chr1 test=ACGTacgN", "chr2=TTTT", "empty="), parse(fasta));
+    assertEquals(parse(fasta), parse(gzip(fasta)));
+  }
+
+  @Test
+  void skipsFastqQualityByLength() throws IOException {
+    // qualities starting with '@' and '+' must not be read as headers
+    String fastq = "@r1\nACGT\n+\n@@@@\n@r2 desc\nGGA\nTC\n+r2\n+II\nII\n@r3\nA\n+\n#";
+    assertEquals(List.of("r1=ACGT", "r2 desc=GGATC", "r3=A"), parse(fastq));
+    assertThrows(IllegalArgumentException.class, () -> parse("@r1\nACGT\n+\nII\n"));
+    assertThrows(IllegalArgumentException.class, () -> parse("@r1\nAC\n+\nII\nGG\n"));
+  }
+
+  @Test
+  void readsPlainAndTabularText() throws IOException {
+    assertEquals(List.of("null=ACGTAC"), parse("\n ACG\nTAC\n"));
+    assertEquals(List.of("null=ACGTTT"), parse("sequence\tclass\nACGT\t4\nTT\t0\n"));
+  }
+
+  @Test
+  void packsAndCountsAcrossChunkBoundaries() throws IOException {
+    Random random = new Random(12);
+    StringBuilder fasta = new StringBuilder();
+    StringBuilder joined = new StringBuilder();
+    for (int r = 0; r < 3; r++) {
+      fasta.append(">rec").append(r).append('\n');
+      if (r > 0) joined.append('N');
+      for (int i = 0; i < 150_000; i++) {
+        char c = random.nextInt(500) == 0 ? 'N' : "ACGT".charAt(random.nextInt(4));
+        fasta.append(c);
+        joined.append(c);
+        if (i % 61 == 60) fasta.append('\n');
+      }
+      fasta.append('\n');
+    }
+    byte[] data = gzip(fasta.toString());
+
+    PackedSequence packed = new PackedSequence();
+    KmerCounter fed = new KmerCounter(7);
+    FastxParser.parse(new ByteArrayInputStream(data), new FastxHandler() {
+      private boolean first = true;
+
+      @Override
+      public void beginRecord(String name) {
+        if (!first) packed.append('N');
+        first = false;
+        fed.endFeed();
+      }
+
+      @Override
+      public void sequence(byte[] buf, int from, int to) {
+        for (int i = from; i < to; i++) {
+          packed.append((char) buf[i]);
+          fed.feed((char) buf[i]);
+        }
+      }
+    });
+    assertEquals(joined.toString(), packed.toString());
+    assertEquals('N', packed.charAt(150_000));
+    assertEquals(-1, packed.codeAt(150_000));
+
+    KmerCounter counted = new KmerCounter(7);
+    counted.count(joined);
+    assertEquals(counted.toMap(), fed.toMap());
+  }
+}
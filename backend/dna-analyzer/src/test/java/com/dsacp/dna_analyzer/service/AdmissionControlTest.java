@@ -0,0 +1,168 @@
+package com.dsacp.dna_analyzer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.dsacp.dna_analyzer.config.AnalysisProperties;
+import com.dsacp.dna_analyzer.dsa.ProgressMonitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class AdmissionControlTest {
+
+  private static final long MB = 1 << 20;
+  private static final long LARGE = 1_000;
+
+  private static AdmissionControl admissionWith(long budgetMb, int largeSlots) {
+    AnalysisProperties properties = new AnalysisProperties();
+    AnalysisProperties.Admission config = properties.getAdmission();
+    config.setMemoryBudget(DataSize.ofMegabytes(budgetMb));
+    config.setLargeWork(LARGE);
+    config.setLargeSlots(largeSlots);
+    config.setQueueTimeout(Duration.ofMillis(50));
+    return new AdmissionControl(properties, new AnalysisMetrics(new SimpleMeterRegistry()));
+  }
+
+  @Test
+  void reservesUntilClosed() {
+    AdmissionControl admission = admissionWith(10, 1);
+    AdmissionControl.Permit first = admission.admit("test", 6 * MB, 0, ProgressMonitor.NONE);
+    assertEquals(6 * MB, admission.reservedBytes());
+
+    AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+        () -> admission.admit("test", 6 * MB, 0, ProgressMonitor.NONE));
+    assertTrue(rejected.getRetryAfter().toSeconds() >= 1);
+
+    first.close();
+    first.close(); // closing twice gives nothing back twice
+    assertEquals(0, admission.reservedBytes());
+    try (AdmissionControl.Permit second = admission.admit("test", 6 * MB, 0, ProgressMonitor.NONE)) {
+      assertEquals(6 * MB, admission.reservedBytes());
+    }
+    assertEquals(0, admission.reservedBytes());
+  }
+
+  @Test
+  void rejectsMoreThanTheWholeBudgetAsABadRequest() {
+    AdmissionControl admission = admissionWith(10, 1);
+    assertThrows(IllegalArgumentException.class,
+        () -> admission.admit("test", 11 * MB, 0, ProgressMonitor.NONE));
+    assertEquals(0, admission.reservedBytes());
+  }
+
+  @Test
+  void smallAnalysesRunWhileTheLargeSlotsAreTaken() {
+    AdmissionControl admission = admissionWith(100, 1);
+    try (AdmissionControl.Permit large = admission.admit("test", MB, LARGE, ProgressMonitor.NONE)) {
+      assertEquals(1, admission.largeRunning());
+      assertThrows(AdmissionRejectedException.class,
+          () -> admission.admit("test", MB, LARGE, ProgressMonitor.NONE));
+      // the failed large admission must not keep any memory
+      assertEquals(MB, admission.reservedBytes());
+      try (AdmissionControl.Permit small = admission.admit("test", MB, LARGE - 1, ProgressMonitor.NONE)) {
+        assertEquals(2 * MB, admission.reservedBytes());
+      }
+    }
+    assertEquals(0, admission.largeRunning());
+    assertEquals(0, admission.reservedBytes());
+  }
+
+  @Test
+  void jobsWaitForRoomUntilCancelled() throws Exception {
+    AdmissionControl admission = admissionWith(10, 1);
+    AdmissionControl.Permit held = admission.admit("test", 8 * MB, 0, ProgressMonitor.NONE);
+
+    // waits well past the queue timeout, then gets in once the memory is given back
+    CompletableFuture<AdmissionControl.Permit> waiting =
+        CompletableFuture.supplyAsync(() -> admission.admit("test", 8 * MB, 0, monitor(new AtomicBoolean())));
+    Thread.sleep(300);
+    assertFalse(waiting.isDone());
+    held.close();
+    waiting.get(5, TimeUnit.SECONDS).close();
+
+    held = admission.admit("test", 8 * MB, 0, ProgressMonitor.NONE);
+    AtomicBoolean cancelled = new AtomicBoolean();
+    CompletableFuture<AdmissionControl.Permit> cancelledJob =
+        CompletableFuture.supplyAsync(() -> admission.admit("test", 8 * MB, 0, monitor(cancelled)));
+    cancelled.set(true);
+    Exception failure = assertThrows(Exception.class, () -> cancelledJob.get(5, TimeUnit.SECONDS));
+    assertTrue(failure.getCause() instanceof CancellationException, failure.toString());
+    assertEquals(8 * MB, admission.reservedBytes());
+    held.close();
+  }
+
+  @Test
+  void smallAnalysesCannotStarveAWaitingLargeOne() throws Exception {
+    AdmissionControl admission = admissionWith(10, 1);
+    AdmissionControl.Permit held = admission.admit("test", 6 * MB, 0, ProgressMonitor.NONE);
+    CompletableFuture<AdmissionControl.Permit> large =
+        CompletableFuture.supplyAsync(() -> admission.admit("test", 8 * MB, LARGE, monitor(new AtomicBoolean())));
+    Thread.sleep(100);
+
+    // 4 MB are free, but the large job at the head of the queue needs 8
+    assertThrows(AdmissionRejectedException.class,
+        () -> admission.admit("test", 3 * MB, 0, ProgressMonitor.NONE));
+    held.close();
+    AdmissionControl.Permit admitted = large.get(5, TimeUnit.SECONDS);
+    assertEquals(1, admission.largeRunning());
+    // with no large analysis waiting, small ones use what is left
+    admission.admit("test", 2 * MB, 0, ProgressMonitor.NONE).close();
+
+    // large analyses get the slot in arrival order
+    CompletableFuture<AdmissionControl.Permit> second =
+        CompletableFuture.supplyAsync(() -> admission.admit("test", MB, LARGE, monitor(new AtomicBoolean())));
+    Thread.sleep(100);
+    CompletableFuture<AdmissionControl.Permit> third =
+        CompletableFuture.supplyAsync(() -> admission.admit("test", MB, LARGE, monitor(new AtomicBoolean())));
+    Thread.sleep(100);
+    // the slot is taken, so small ones still go ahead of both
+    admission.admit("test", MB, 0, ProgressMonitor.NONE).close();
+    admitted.close();
+    AdmissionControl.Permit next = second.get(5, TimeUnit.SECONDS);
+    Thread.sleep(100);
+    assertFalse(third.isDone());
+    next.close();
+    third.get(5, TimeUnit.SECONDS).close();
+    assertEquals(0, admission.reservedBytes());
+    assertEquals(0, admission.largeRunning());
+  }
+
+  @Test
+  void reservationsGrowWithinTheBudget() {
+    AdmissionControl admission = admissionWith(10, 1);
+    try (AdmissionControl.Permit growing = admission.admit("test", MB, 0, ProgressMonitor.NONE)) {
+      growing.reserve(4 * MB);
+      assertEquals(4 * MB, admission.reservedBytes());
+      growing.reserve(2 * MB); // never shrinks
+      assertEquals(4 * MB, admission.reservedBytes());
+
+      AdmissionControl.Permit other = admission.admit("test", 5 * MB, 0, ProgressMonitor.NONE);
+      assertThrows(AdmissionRejectedException.class, () -> growing.reserve(6 * MB));
+      assertThrows(IllegalArgumentException.class, () -> growing.reserve(11 * MB));
+      other.close();
+      growing.reserve(6 * MB);
+      assertEquals(6 * MB, admission.reservedBytes());
+    }
+    assertEquals(0, admission.reservedBytes());
+  }
+
+  private static ProgressMonitor monitor(AtomicBoolean cancelled) {
+    return new ProgressMonitor() {
+      @Override
+      public void begin(String phase, long totalUnits) {}
+
+      @Override
+      public void worked(long units) {
+        if (cancelled.get()) throw new CancellationException();
+      }
+    };
+  }
+}
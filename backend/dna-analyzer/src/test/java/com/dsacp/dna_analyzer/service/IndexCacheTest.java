@@ -0,0 +1,78 @@
+package com.dsacp.dna_analyzer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.dsacp.dna_analyzer.config.AnalysisProperties;
+import com.dsacp.dna_analyzer.dsa.SuffixArray;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class IndexCacheTest {
+
+  private static IndexCache cacheOf(long maxBytes) {
+    AnalysisProperties properties = new AnalysisProperties();
+    properties.getIndexCache().setMaxSize(DataSize.ofBytes(maxBytes));
+    return new IndexCache(properties);
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedWhenOverBudget() {
+    // each 99-base index costs 8 * 100 + 99 = 899 bytes, so two fit and three do not
+    IndexCache cache = cacheOf(2_000);
+    String a = "A".repeat(99);
+    String b = "C".repeat(99);
+    String c = "G".repeat(99);
+    SuffixArray first = cache.getOrBuild("a", () -> new SuffixArray(a));
+    cache.getOrBuild("b", () -> new SuffixArray(b));
+    assertSame(first, cache.getOrBuild("a", () -> new SuffixArray(a))); // a is now most recent
+    cache.getOrBuild("c", () -> new SuffixArray(c)); // evicts b
+
+    assertSame(first, cache.getOrBuild("a", () -> new SuffixArray(a)));
+    assertEquals(1, cache.stats().getEvictions());
+    assertEquals(2, cache.stats().getEntries());
+    assertEquals(3, cache.stats().getMisses());
+    assertEquals(2, cache.stats().getHits());
+  }
+
+  @Test
+  void concurrentMissesShareOneBuild() throws Exception {
+    IndexCache cache = cacheOf(1 << 20);
+    AtomicInteger builds = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<SuffixArray>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(
+            pool.submit(
+                () ->
+                    cache.getOrBuild(
+                        "same",
+                        () -> {
+                          builds.incrementAndGet();
+                          try {
+                            release.await();
+                          } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                          }
+                          return new SuffixArray("ACGTACGT");
+                        })));
+      }
+      Thread.sleep(200);
+      release.countDown();
+      SuffixArray built = results.get(0).get();
+      for (Future<SuffixArray> result : results) assertSame(built, result.get());
+      assertEquals(1, builds.get());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+}
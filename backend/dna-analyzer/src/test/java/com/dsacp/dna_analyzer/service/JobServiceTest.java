@@ -0,0 +1,128 @@
+package com.dsacp.dna_analyzer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.dsacp.dna_analyzer.config.AnalysisProperties;
+import com.dsacp.dna_analyzer.dto.JobPriority;
+import com.dsacp.dna_analyzer.dto.JobState;
+import com.dsacp.dna_analyzer.dto.JobStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class JobServiceTest {
+
+  private ThreadPoolExecutor executor;
+
+  private JobService serviceWith(int workers, int queueCapacity) {
+    AnalysisProperties properties = new AnalysisProperties();
+    properties.getJobs().setQueueCapacity(queueCapacity);
+    executor =
+        new ThreadPoolExecutor(
+            workers, workers, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>());
+    return new JobService(executor, properties);
+  }
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private static JobStatus awaitFinished(JobService service, String id) throws InterruptedException {
+    for (int i = 0; i < 500; i++) {
+      JobStatus status = service.find(id).status();
+      if (status.getState().isFinished()) return status;
+      Thread.sleep(10);
+    }
+    throw new AssertionError("job " + id + " did not finish");
+  }
+
+  @Test
+  void runsByPriorityThenSubmissionOrder() throws Exception {
+    JobService service = serviceWith(1, 10);
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> order = new CopyOnWriteArrayList<>();
+    service.submit("block", JobPriority.NORMAL, monitor -> await(release));
+    String[] names = {"low", "normal-1", "high", "normal-2"};
+    JobPriority[] priorities = {JobPriority.LOW, JobPriority.NORMAL, JobPriority.HIGH, JobPriority.NORMAL};
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < names.length; i++) {
+      String name = names[i];
+      ids.add(service.submit(name, priorities[i], monitor -> order.add(name)).getId());
+    }
+    release.countDown();
+    for (String id : ids) awaitFinished(service, id);
+    assertEquals(List.of("high", "normal-1", "normal-2", "low"), order);
+  }
+
+  @Test
+  void cancelStopsARunningJobAtItsNextCheckpoint() throws Exception {
+    JobService service = serviceWith(1, 10);
+    CountDownLatch started = new CountDownLatch(1);
+    String id =
+        service
+            .submit(
+                "spin",
+                null,
+                monitor -> {
+                  monitor.begin("spinning", 1_000);
+                  monitor.worked(250);
+                  started.countDown();
+                  while (true) monitor.worked(0);
+                })
+            .getId();
+    assertTrue(started.await(5, TimeUnit.SECONDS));
+    JobStatus running = service.find(id).status();
+    assertEquals(JobState.RUNNING, running.getState());
+    assertEquals("spinning", running.getPhase());
+    assertEquals(0.25, running.getProgress(), 1e-9);
+
+    service.cancel(id);
+    assertEquals(JobState.CANCELLED, awaitFinished(service, id).getState());
+  }
+
+  @Test
+  void cancelledQueuedJobsNeverRunAndFullQueuesReject() throws Exception {
+    JobService service = serviceWith(1, 1);
+    CountDownLatch release = new CountDownLatch(1);
+    String blocker = service.submit("block", null, monitor -> await(release)).getId();
+    String queued = service.submit("queued", null, monitor -> "ran").getId();
+    assertThrows(
+        RejectedExecutionException.class, () -> service.submit("third", null, monitor -> "ran"));
+
+    assertEquals(JobState.CANCELLED, service.cancel(queued).getState());
+    String failing =
+        service
+            .submit(
+                "fails",
+                null,
+                monitor -> {
+                  throw new IllegalArgumentException("k must be positive");
+                })
+            .getId();
+    release.countDown();
+    assertEquals(JobState.SUCCEEDED, awaitFinished(service, blocker).getState());
+    JobStatus failed = awaitFinished(service, failing);
+    assertEquals(JobState.FAILED, failed.getState());
+    assertEquals("k must be positive", failed.getError());
+    assertEquals(JobState.CANCELLED, service.find(queued).state());
+  }
+
+  private static Object await(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package com.dsacp.dna_analyzer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.dsacp.dna_analyzer.config.AnalysisProperties;
+import com.dsacp.dna_analyzer.dsa.DirectPackedSequence;
+import com.dsacp.dna_analyzer.dto.SequenceInfo;
+import com.dsacp.dna_analyzer.dsa.PackedSequence;
+import com.dsacp.dna_analyzer.dsa.ProgressMonitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class SequenceRegistryTest {
+
+  // 100 bases pack into four 64-bit words, 32 bytes
+  private static final String A = "ACGT".repeat(25);
+  private static final String B = "CCGA".repeat(25);
+  private static final String C = "GATT".repeat(25);
+
+  private static SequenceRegistry registryOf(long maxBytes, Path directory) {
+    AnalysisProperties properties = new AnalysisProperties();
+    properties.getSequences().setMaxSize(DataSize.ofBytes(maxBytes));
+    properties.getSequences().setDirectory(directory == null ? "" : directory.toString());
+    AdmissionControl admission =
+        new AdmissionControl(properties, new AnalysisMetrics(new SimpleMeterRegistry()));
+    return new SequenceRegistry(properties, admission);
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedWithinTheByteBudget() {
+    SequenceRegistry registry = registryOf(64, null);
+    String a = registry.register(A).getId();
+    String b = registry.register(B).getId();
+    assertEquals(64, registry.usedBytes());
+    DirectPackedSequence first = registry.get(a); // a is now most recent
+    String c = registry.register(C).getId(); // evicts b
+
+    assertEquals(2, registry.size());
+    assertEquals(64, registry.usedBytes());
+    assertSame(first, registry.get(a));
+    assertEquals(C, registry.get(c).toString());
+    assertThrows(NoSuchElementException.class, () -> registry.get(b));
+
+    registry.delete(a);
+    assertEquals(1, registry.size());
+    assertEquals(32, registry.usedBytes());
+    assertThrows(IllegalArgumentException.class, () -> registry.register("A".repeat(300)));
+  }
+
+  @Test
+  void unknownIdsAreNotFound() {
+    SequenceRegistry registry = registryOf(1 << 20, null);
+    String unknown = "0".repeat(64);
+    assertThrows(NoSuchElementException.class, () -> registry.get(unknown));
+    assertThrows(NoSuchElementException.class, () -> registry.info(unknown));
+    assertThrows(NoSuchElementException.class, () -> registry.delete(unknown));
+    assertThrows(NoSuchElementException.class, () -> registry.resolve(unknown, null));
+  }
+
+  @Test
+  void evictedSequencesAreMappedAgainFromTheDirectory(@TempDir Path dir) {
+    SequenceRegistry registry = registryOf(64, dir);
+    String a = registry.register(A).getId();
+    registry.register(B);
+    registry.register(C); // evicts a from memory, not from the directory
+    assertEquals(2, registry.size());
+    assertTrue(Files.isRegularFile(dir.resolve(a + ".2bit")));
+
+    DirectPackedSequence reloaded = registry.get(a);
+    assertTrue(reloaded.isMapped());
+    assertEquals(A, reloaded.toString());
+    assertEquals(2, registry.size());
+    assertEquals(64, registry.usedBytes());
+
+    // and after a restart
+    assertEquals(A, registryOf(64, dir).get(a).toString());
+  }
+
+  @Test
+  void onlyHexIdsAreLookedUpOnDisk(@TempDir Path dir) throws IOException {
+    SequenceRegistry registry = registryOf(1 << 20, dir);
+    String a = registry.register(A).getId();
+    Files.createDirectories(dir.resolve("sub"));
+    Files.copy(dir.resolve(a + ".2bit"), dir.resolve("sub").resolve(a + ".2bit"));
+    Files.copy(dir.resolve(a + ".2bit"), dir.resolve(a.toUpperCase() + ".2bit"));
+
+    SequenceRegistry restarted = registryOf(1 << 20, dir);
+    String traversal = "sub/" + a;
+    assertThrows(NoSuchElementException.class, () -> restarted.get(traversal));
+    assertThrows(NoSuchElementException.class, () -> restarted.get(a.toUpperCase()));
+    assertThrows(NoSuchElementException.class, () -> restarted.delete(traversal));
+    assertTrue(Files.isRegularFile(dir.resolve("sub").resolve(a + ".2bit")));
+    assertEquals(A, restarted.get(a).toString());
+  }
+
+  @Test
+  void requestsGiveEitherAnIdOrASequence() {
+    SequenceRegistry registry = registryOf(1 << 20, null);
+    String a = registry.register(A).getId();
+    assertThrows(IllegalArgumentException.class, () -> registry.resolve(a, "ACGT"));
+    assertSame(registry.get(a), registry.resolve(a, null));
+    assertEquals("ACGT", registry.resolve(null, "ACGT"));
+    assertEquals(a, registry.idOf(registry.get(a)));
+    assertEquals(null, registry.idOf(A));
+  }
+
+  @Test
+  void duplicateRegistrationsShareOneId() {
+    SequenceRegistry registry = registryOf(1 << 20, null);
+    SequenceInfo first = registry.register(A + "NN" + B);
+    // stored upper-case with every other symbol read as N, so these are the same sequence
+    SequenceInfo second = registry.register(A.toLowerCase() + "RY" + B);
+    assertEquals(first.getId(), second.getId());
+    assertEquals(1, first.getRunsOfN());
+    assertEquals(1, registry.size());
+    assertEquals(first.getSizeInBytes(), registry.usedBytes());
+    assertNotEquals(first.getId(), registry.register(A + "NA" + B).getId());
+    assertEquals(2, registry.size());
+  }
+
+  @Test
+  void uploadsAreBoundedAndReservedWhileTheyAreRead() throws IOException {
+    AnalysisProperties properties = new AnalysisProperties();
+    AdmissionControl admission =
+        new AdmissionControl(properties, new AnalysisMetrics(new SimpleMeterRegistry()));
+    byte[] fasta = (">a\n" + A + "\n>b\n" + B + "\n").getBytes(StandardCharsets.US_ASCII);
+
+    try (AdmissionControl.Permit permit = admission.admit("test", 0, 0, ProgressMonitor.NONE)) {
+      PackedSequence dna = SequenceRegistry.readPacked(new ByteArrayInputStream(fasta), 201, permit);
+      assertEquals(A + "N" + B, dna.toString());
+      // reserved ahead of what was read
+      assertTrue(admission.reservedBytes() >= SequenceRegistry.packedBytes(201, 1));
+    }
+    try (AdmissionControl.Permit permit = admission.admit("test", 0, 0, ProgressMonitor.NONE)) {
+      assertThrows(IllegalArgumentException.class,
+          () -> SequenceRegistry.readPacked(new ByteArrayInputStream(fasta), 200, permit));
+    }
+    assertEquals(0, admission.reservedBytes());
+  }
+}
@@ -1,5 +1,6 @@
 import axios from 'axios';
 const API_BASE_URL = 'http://localhost:8080/api/v1/analyze';
+const JOBS_BASE_URL = 'http://localhost:8080/api/v1/jobs';
 const api = axios.create({
     baseURL: API_BASE_URL,
     headers: {
@@ -47,6 +48,17 @@ export const dnaAnalysisService = {
         return response.data;
     },
 
+    // Frequency Analysis of a FASTA/FASTQ file, parsed on the server as it uploads
+    analyzeFrequencyFile: async (file, k) => {
+        const formData = new FormData();
+        formData.append('file', file);
+        const response = await api.post('/frequency/upload', formData, {
+            params: { k: parseInt(k) },
+            headers: { 'Content-Type': 'multipart/form-data' },
+        });
+        return response.data;
+    },
+
     // Motif Search
     analyzeMotif: async (dnaSequence, motif) => {
         const response = await api.post('/motif', {
@@ -56,6 +68,17 @@ export const dnaAnalysisService = {
         return response.data;
     },
 
+    // Motif Search over a FASTA/FASTQ file (multiple records are joined with a single N)
+    analyzeMotifFile: async (file, motif) => {
+        const formData = new FormData();
+        formData.append('file', file);
+        const response = await api.post('/motif/upload', formData, {
+            params: { motif: motif.trim() },
+            headers: { 'Content-Type': 'multipart/form-data' },
+        });
+        return response.data;
+    },
+
     // Mutation Detection
     analyzeMutation: async (sequenceA, sequenceB) => {
         const response = await api.post('/mutation', {
@@ -66,4 +89,38 @@ export const dnaAnalysisService = {
     }
 };
 
+// Long analyses run as server-side jobs: submit, then poll instead of holding a request open
+export const jobService = {
+    // type is the analyze path, e.g. 'motif' or 'mutation/align'; priority is HIGH, NORMAL or LOW
+    submit: async (type, body, priority = 'NORMAL') => {
+        const response = await api.post(`${JOBS_BASE_URL}/${type}`, body, { params: { priority } });
+        return response.data;
+    },
+
+    status: async (id) => {
+        const response = await api.get(`${JOBS_BASE_URL}/${id}`);
+        return response.data;
+    },
+
+    cancel: async (id) => {
+        const response = await api.delete(`${JOBS_BASE_URL}/${id}`);
+        return response.data;
+    },
+
+    // Submits and polls until the result is ready; onProgress gets each status while it runs
+    run: async (type, body, { priority = 'NORMAL', onProgress, intervalMs = 1000 } = {}) => {
+        const job = await jobService.submit(type, body, priority);
+        for (;;) {
+            const response = await api.get(`${JOBS_BASE_URL}/${job.id}/result`);
+            if (response.status === 200) {
+                return response.data;
+            }
+            if (onProgress) {
+                onProgress(response.data);
+            }
+            await new Promise((resolve) => setTimeout(resolve, intervalMs));
+        }
+    }
+};
+
 export default api;
\ No newline at end of file